@@ -1,19 +1,12 @@
-DROP TABLE IF EXISTS execution_log;
+-- Resets the results schema. Tables are created by the versioned scripts in sql/migrations, which
+-- SchemaMigrator applies on the first suite start (or run it directly: org.automation.utils.SchemaMigrator).
 
-CREATE TABLE execution_log (
-    id INT AUTO_INCREMENT PRIMARY KEY,
-    test_name VARCHAR(255),
-    status VARCHAR(20),
-    test_type VARCHAR(50),
-    us_id VARCHAR(50),
-    tc_id VARCHAR(255),
-    artifact LONGTEXT,
-    screenshot_path VARCHAR(500),
-    execution_time DATETIME DEFAULT CURRENT_TIMESTAMP,
-    suite_id INT,
-    run_id INT,
-    created_at DATETIME,
-    start_time DATETIME,
-    end_time DATETIME,
-    duration VARCHAR(50)
-);
+DROP TABLE IF EXISTS load_result;
+DROP TABLE IF EXISTS load_run;
+DROP TABLE IF EXISTS result_rollup_weekly;
+DROP TABLE IF EXISTS result_rollup_daily;
+DROP TABLE IF EXISTS execution_log;
+DROP TABLE IF EXISTS execution_logs;
+DROP TABLE IF EXISTS test_run;
+DROP TABLE IF EXISTS test_suite;
+DROP TABLE IF EXISTS schema_version;
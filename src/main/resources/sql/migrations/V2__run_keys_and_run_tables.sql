@@ -0,0 +1,88 @@
+-- Upgrades a baseline execution_log to what the result writer expects: run/test keys with their unique key
+-- (idempotent upserts), duration in ms as BIGINT and the per-run index; adds the run and suite tables and
+-- execution_logs. Every step checks information_schema first, so databases that already got some of it from a
+-- later db-init.sql are upgraded in place.
+
+-- ---------- execution_log ----------
+SET @ddl = IF((SELECT COUNT(*) FROM information_schema.COLUMNS
+               WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'execution_log' AND COLUMN_NAME = 'run_key') = 0,
+    'ALTER TABLE execution_log ADD COLUMN run_key VARCHAR(64), ADD COLUMN test_key VARCHAR(255)',
+    'DO 0');
+PREPARE upgrade FROM @ddl;
+EXECUTE upgrade;
+DEALLOCATE PREPARE upgrade;
+
+-- Old durations were free text; anything that is not a whole number of ms is dropped rather than guessed
+UPDATE execution_log SET duration = NULL
+WHERE duration IS NOT NULL AND CAST(duration AS CHAR) NOT REGEXP '^[0-9]+$';
+
+SET @ddl = IF((SELECT DATA_TYPE FROM information_schema.COLUMNS
+               WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'execution_log' AND COLUMN_NAME = 'duration') <> 'bigint',
+    'ALTER TABLE execution_log MODIFY duration BIGINT',
+    'DO 0');
+PREPARE upgrade FROM @ddl;
+EXECUTE upgrade;
+DEALLOCATE PREPARE upgrade;
+
+SET @ddl = IF((SELECT COUNT(*) FROM information_schema.STATISTICS
+               WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'execution_log' AND INDEX_NAME = 'uk_execution_log_run_test') = 0,
+    'ALTER TABLE execution_log ADD UNIQUE KEY uk_execution_log_run_test (run_key, test_key)',
+    'DO 0');
+PREPARE upgrade FROM @ddl;
+EXECUTE upgrade;
+DEALLOCATE PREPARE upgrade;
+
+SET @ddl = IF((SELECT COUNT(*) FROM information_schema.STATISTICS
+               WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'execution_log' AND INDEX_NAME = 'idx_execution_log_run') = 0,
+    'ALTER TABLE execution_log ADD KEY idx_execution_log_run (run_id, execution_time)',
+    'DO 0');
+PREPARE upgrade FROM @ddl;
+EXECUTE upgrade;
+DEALLOCATE PREPARE upgrade;
+
+-- ---------- Runs and suites ----------
+CREATE TABLE IF NOT EXISTS test_suite (
+    suite_id INT AUTO_INCREMENT PRIMARY KEY,
+    suite_name VARCHAR(255) NOT NULL,
+    UNIQUE KEY uk_test_suite_name (suite_name)
+);
+
+-- One row per ISuite execution, registered by RunRegistry at onStart
+CREATE TABLE IF NOT EXISTS test_run (
+    run_id INT AUTO_INCREMENT PRIMARY KEY,
+    run_key VARCHAR(64) NOT NULL,
+    suite_id INT,
+    suite_name VARCHAR(255),
+    status VARCHAR(20),
+    started_at DATETIME,
+    finished_at DATETIME,
+    UNIQUE KEY uk_test_run_key (run_key)
+);
+
+-- ---------- execution_logs ----------
+CREATE TABLE IF NOT EXISTS execution_logs (
+    id INT AUTO_INCREMENT PRIMARY KEY,
+    test_type VARCHAR(50),
+    us_id VARCHAR(50),
+    test_case_id VARCHAR(255),
+    test_name VARCHAR(255),
+    message TEXT,
+    level VARCHAR(20),
+    log_time DATETIME,
+    tc_id VARCHAR(255),
+    screenshot_path VARCHAR(500),
+    start_time DATETIME,
+    end_time DATETIME,
+    duration BIGINT,
+    run_key VARCHAR(64),
+    test_key VARCHAR(255),
+    UNIQUE KEY uk_execution_logs_run_test (run_key, test_key)
+);
+
+SET @ddl = IF((SELECT COUNT(*) FROM information_schema.COLUMNS
+               WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'execution_logs' AND COLUMN_NAME = 'run_key') = 0,
+    'ALTER TABLE execution_logs ADD COLUMN run_key VARCHAR(64), ADD COLUMN test_key VARCHAR(255), ADD UNIQUE KEY uk_execution_logs_run_test (run_key, test_key)',
+    'DO 0');
+PREPARE upgrade FROM @ddl;
+EXECUTE upgrade;
+DEALLOCATE PREPARE upgrade;
@@ -0,0 +1,22 @@
+-- Indexes for the report access paths and monthly RANGE partitioning on execution_time.
+-- MySQL requires every unique key of a partitioned table to contain the partitioning column, so the primary key
+-- and the run/test key are widened with execution_time (ExecutionRecord stamps it with the test's start time, so
+-- the same run and test always map to the same key).
+
+UPDATE execution_log SET execution_time = COALESCE(created_at, start_time, NOW()) WHERE execution_time IS NULL;
+
+ALTER TABLE execution_log
+    MODIFY execution_time DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    DROP PRIMARY KEY,
+    ADD PRIMARY KEY (id, execution_time),
+    DROP INDEX uk_execution_log_run_test,
+    ADD UNIQUE KEY uk_execution_log_run_test (run_key, test_key, execution_time),
+    ADD KEY idx_execution_log_time_status (execution_time, status, test_type),
+    ADD KEY idx_execution_log_test_time (test_name, execution_time);
+
+-- Monthly partitions are split out of p_future by PartitionMaintainer
+ALTER TABLE execution_log
+    PARTITION BY RANGE COLUMNS (execution_time) (
+        PARTITION p_start VALUES LESS THAN ('2000-01-01'),
+        PARTITION p_future VALUES LESS THAN (MAXVALUE)
+    );
@@ -0,0 +1,37 @@
+-- Daily and weekly pass/fail/skip rollups, maintained by ResultRollups with every result batch.
+-- The backfill below seeds them from existing history; RollupBackfill rebuilds them on demand.
+
+CREATE TABLE IF NOT EXISTS result_rollup_daily (
+    bucket_date DATE NOT NULL,
+    test_type VARCHAR(50) NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    result_count BIGINT NOT NULL DEFAULT 0,
+    total_duration_ms BIGINT NOT NULL DEFAULT 0,
+    min_duration_ms BIGINT,
+    max_duration_ms BIGINT,
+    PRIMARY KEY (bucket_date, test_type, status)
+);
+
+-- week_start is the Monday of the week
+CREATE TABLE IF NOT EXISTS result_rollup_weekly (
+    week_start DATE NOT NULL,
+    test_type VARCHAR(50) NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    result_count BIGINT NOT NULL DEFAULT 0,
+    total_duration_ms BIGINT NOT NULL DEFAULT 0,
+    min_duration_ms BIGINT,
+    max_duration_ms BIGINT,
+    PRIMARY KEY (week_start, test_type, status)
+);
+
+INSERT INTO result_rollup_daily (bucket_date, test_type, status, result_count, total_duration_ms, min_duration_ms, max_duration_ms)
+SELECT DATE(execution_time), COALESCE(test_type, 'UNKNOWN'), COALESCE(status, 'UNKNOWN'),
+       COUNT(*), COALESCE(SUM(duration), 0), MIN(duration), MAX(duration)
+FROM execution_log
+GROUP BY DATE(execution_time), COALESCE(test_type, 'UNKNOWN'), COALESCE(status, 'UNKNOWN');
+
+INSERT INTO result_rollup_weekly (week_start, test_type, status, result_count, total_duration_ms, min_duration_ms, max_duration_ms)
+SELECT DATE_SUB(bucket_date, INTERVAL WEEKDAY(bucket_date) DAY), test_type, status,
+       SUM(result_count), SUM(total_duration_ms), MIN(min_duration_ms), MAX(max_duration_ms)
+FROM result_rollup_daily
+GROUP BY DATE_SUB(bucket_date, INTERVAL WEEKDAY(bucket_date) DAY), test_type, status;
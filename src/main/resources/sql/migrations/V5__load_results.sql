@@ -0,0 +1,38 @@
+-- Load runs driven by LoadRunner from the API test scenarios, and their latency percentiles per scenario.
+-- Latencies are in ms. Response times count from each call's scheduled start, so time spent queueing behind a slow
+-- system is included (coordinated-omission corrected); service times count from the call's actual start.
+
+CREATE TABLE IF NOT EXISTS load_run (
+    load_run_id INT AUTO_INCREMENT PRIMARY KEY,
+    run_key VARCHAR(64) NOT NULL,
+    model VARCHAR(10) NOT NULL,
+    target_rate DOUBLE,
+    concurrency INT,
+    duration_ms BIGINT NOT NULL,
+    base_url VARCHAR(500),
+    dropped BIGINT NOT NULL DEFAULT 0,
+    started_at DATETIME NOT NULL,
+    finished_at DATETIME,
+    KEY idx_load_run_started (started_at)
+);
+
+-- One row per scenario, plus scenario '*' for all calls of the run together
+CREATE TABLE IF NOT EXISTS load_result (
+    load_run_id INT NOT NULL,
+    scenario VARCHAR(255) NOT NULL,
+    endpoint VARCHAR(500),
+    requests BIGINT NOT NULL,
+    errors BIGINT NOT NULL,
+    throughput_rps DOUBLE NOT NULL,
+    p50_ms DOUBLE,
+    p90_ms DOUBLE,
+    p95_ms DOUBLE,
+    p99_ms DOUBLE,
+    p999_ms DOUBLE,
+    max_ms DOUBLE,
+    mean_ms DOUBLE,
+    service_p99_ms DOUBLE,
+    service_max_ms DOUBLE,
+    first_error VARCHAR(1000),
+    PRIMARY KEY (load_run_id, scenario)
+);
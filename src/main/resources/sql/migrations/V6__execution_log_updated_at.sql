@@ -0,0 +1,7 @@
+-- An upsert that changes a result in place keeps the row's id, so the incremental CSV export cannot see it by id.
+-- updated_at is stamped by MySQL on insert and on every update that changes a value (a replayed identical record
+-- leaves it alone); CsvReportGenerator re-exports rows updated since its previous export.
+
+ALTER TABLE execution_log
+    ADD COLUMN updated_at DATETIME(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3) ON UPDATE CURRENT_TIMESTAMP(3),
+    ADD KEY idx_execution_log_updated (updated_at);
@@ -0,0 +1,6 @@
+-- execution_time keeps the test's start to the millisecond. Truncated to whole seconds it changed the recorded data,
+-- and two invocations of a test starting within the same second shared (run_key, test_key, execution_time).
+-- Existing values simply gain a .000 fraction; the monthly partition bounds are unaffected.
+
+ALTER TABLE execution_log
+    MODIFY execution_time DATETIME(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3);
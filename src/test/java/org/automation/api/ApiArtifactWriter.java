@@ -0,0 +1,230 @@
+package org.automation.api;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import org.automation.artifacts.ArtifactStore;
+import org.automation.config.ConfigManager;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writes API artifacts on a background thread, so JSON encoding and storage never add to a test's duration.
+ * {@link #submit} queues the captured {@link ApiCapture.Exchange}s; once the artifact is in the {@link ArtifactStore}
+ * its content id (or, with the store disabled, its artifacts/api/&lt;test&gt;_&lt;ts&gt;.json path) is handed to the
+ * caller's callback, which records it in execution_log.
+ *
+ * The JSON is streamed through a Jackson generator, so bodies are escaped correctly whatever they contain; a body
+ * that is not valid UTF-8 is written as base64. It carries no timestamp in the store, so an unchanged exchange is
+ * stored once across runs. Loose files are written as .json.gz with api.capture.gzip=true (packs compress anyway).
+ * Backpressure as in ResultWriter: when api.capture.queueCapacity artifacts are waiting, the test thread writes its own.
+ */
+public final class ApiArtifactWriter {
+
+    private static final String API_DIR = "api/";
+    private static final JsonFactory JSON = new JsonFactory();
+    private static volatile ApiArtifactWriter instance;
+
+    private final BlockingQueue<Artifact> queue;
+    private final boolean gzip;
+    private final Thread worker;
+    private final AtomicLong submitted = new AtomicLong();
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong callerRuns = new AtomicLong();
+    private final Object progress = new Object();
+    private volatile boolean running = true;
+
+    public static ApiArtifactWriter getInstance() {
+        ApiArtifactWriter writer = instance;
+        if (writer == null) {
+            synchronized (ApiArtifactWriter.class) {
+                writer = instance;
+                if (writer == null) {
+                    writer = new ApiArtifactWriter();
+                    instance = writer;
+                }
+            }
+        }
+        return writer;
+    }
+
+    /** Waits for queued artifacts if any were ever submitted; a no-op for suites without API tests. */
+    public static void flushPending() {
+        ApiArtifactWriter writer = instance;
+        if (writer != null) writer.flush(ConfigManager.getLong("api.capture.flushTimeoutMs", 30_000));
+    }
+
+    private ApiArtifactWriter() {
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, ConfigManager.getInt("api.capture.queueCapacity", 256)));
+        this.gzip = ConfigManager.getBoolean("api.capture.gzip", false);
+        this.worker = new Thread(this::drainLoop, "api-artifact-writer");
+        worker.setDaemon(true);
+        worker.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(this::shutdown, "api-artifact-writer-shutdown"));
+    }
+
+    // ---------- Producer side ----------
+    /**
+     * Queues the artifact of one test. onSaved receives its content id (or loose-file path) once stored, or "" when
+     * it could not be written; it runs on the writer thread.
+     */
+    public void submit(String testName, String status, String request, List<ApiCapture.Exchange> exchanges, Consumer<String> onSaved) {
+        String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss"));
+        Artifact artifact = new Artifact(testName, timestamp, status, request, exchanges, onSaved);
+        submitted.incrementAndGet();
+        if (queue.offer(artifact)) return;
+
+        if (callerRuns.incrementAndGet() == 1) {
+            System.err.println("[ApiArtifactWriter] Queue full – writing on the test thread (backpressure)");
+        }
+        write(artifact);
+    }
+
+    /** Blocks until every artifact submitted before this call has been written (or has failed). */
+    public boolean flush(long timeoutMs) {
+        long target = submitted.get();
+        long deadline = System.currentTimeMillis() + timeoutMs;
+        try {
+            synchronized (progress) {
+                while (written.get() < target) {
+                    long remaining = deadline - System.currentTimeMillis();
+                    if (remaining <= 0) {
+                        System.err.println("[ApiArtifactWriter] Flush timed out with " + (target - written.get()) + " artifact(s) pending");
+                        return false;
+                    }
+                    progress.wait(remaining);
+                }
+            }
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    // ---------- Consumer side ----------
+    private void drainLoop() {
+        while (running || !queue.isEmpty()) {
+            try {
+                Artifact artifact = queue.poll(200, TimeUnit.MILLISECONDS);
+                if (artifact != null) write(artifact);
+            } catch (InterruptedException e) {
+                if (!running) break;
+            }
+        }
+    }
+
+    private void write(Artifact artifact) {
+        String id = "";
+        try {
+            boolean stored = ArtifactStore.enabled();
+            boolean compress = gzip && !stored;
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream(8192);
+            try (OutputStream out = compress ? new GZIPOutputStream(buffer, 8192) : buffer;
+                 JsonGenerator json = JSON.createGenerator(out, JsonEncoding.UTF8)) {
+                json.useDefaultPrettyPrinter();
+                writeArtifact(json, artifact, !stored);
+            }
+            String name = API_DIR + artifact.testName + "_" + artifact.timestamp + (compress ? ".json.gz" : ".json");
+            id = ArtifactStore.put(buffer.toByteArray(), name);
+            System.out.println("[Artifact] API artifact saved: " + id);
+        } catch (IOException e) {
+            System.err.println("[ApiArtifactWriter] ❌ Could not store the artifact of " + artifact.testName + ": " + e.getMessage());
+        } finally {
+            try {
+                artifact.onSaved.accept(id);
+            } catch (RuntimeException e) {
+                System.err.println("[ApiArtifactWriter] ⚠️ Callback failed for " + artifact.testName + ": " + e.getMessage());
+            }
+            synchronized (progress) {
+                written.incrementAndGet();
+                progress.notifyAll();
+            }
+        }
+    }
+
+    private static void writeArtifact(JsonGenerator json, Artifact artifact, boolean withTimestamp) throws IOException {
+        json.writeStartObject();
+        json.writeStringField("testName", artifact.testName);
+        if (withTimestamp) json.writeStringField("timestamp", artifact.timestamp);
+        json.writeStringField("status", artifact.status);
+        json.writeStringField("request", artifact.request);
+        json.writeArrayFieldStart("exchanges");
+        for (ApiCapture.Exchange exchange : artifact.exchanges) {
+            json.writeStartObject();
+            json.writeStringField("method", exchange.method);
+            json.writeStringField("uri", exchange.uri);
+            ApiCapture.Body response = exchange.getResponseBody();
+            if (response != null) json.writeNumberField("status", exchange.getStatus());
+            if (exchange.getContentType() != null) json.writeStringField("contentType", exchange.getContentType());
+            writeBody(json, "requestBody", exchange.requestBody);
+            writeBody(json, "responseBody", response);
+            json.writeEndObject();
+        }
+        json.writeEndArray();
+        json.writeEndObject();
+    }
+
+    // {"bytes": <full size>, "truncated": bool, "text"|"base64": <captured part>}
+    private static void writeBody(JsonGenerator json, String field, ApiCapture.Body body) throws IOException {
+        if (body == null) return;
+        json.writeObjectFieldStart(field);
+        json.writeNumberField("bytes", body.totalBytes());
+        json.writeBooleanField("truncated", body.truncated());
+        byte[] bytes = body.bytes();
+        try {
+            String text = StandardCharsets.UTF_8.newDecoder()
+                    .onMalformedInput(CodingErrorAction.REPORT)
+                    .onUnmappableCharacter(CodingErrorAction.REPORT)
+                    .decode(ByteBuffer.wrap(bytes)).toString();
+            json.writeStringField("text", text);
+        } catch (CharacterCodingException e) {
+            json.writeFieldName("base64");
+            json.writeBinary(bytes);
+        }
+        json.writeEndObject();
+    }
+
+    private void shutdown() {
+        flush(ConfigManager.getLong("api.capture.flushTimeoutMs", 30_000));
+        running = false;
+        worker.interrupt();
+        if (callerRuns.get() > 0) {
+            System.out.println("[ApiArtifactWriter] " + callerRuns.get() + " of " + submitted.get() + " artifact(s) written on test threads");
+        }
+    }
+
+    private static final class Artifact {
+        final String testName;
+        final String timestamp;
+        final String status;
+        final String request;
+        final List<ApiCapture.Exchange> exchanges;
+        final Consumer<String> onSaved;
+
+        Artifact(String testName, String timestamp, String status, String request, List<ApiCapture.Exchange> exchanges,
+                 Consumer<String> onSaved) {
+            this.testName = testName;
+            this.timestamp = timestamp;
+            this.status = status;
+            this.request = request;
+            this.exchanges = exchanges;
+            this.onSaved = onSaved;
+        }
+    }
+}
@@ -1,19 +1,45 @@
 package org.automation.api;
 
-import io.restassured.RestAssured;
-import io.restassured.config.DecoderConfig;
-import org.testng.annotations.BeforeClass;
+import io.restassured.specification.RequestSpecification;
+import org.testng.ITestResult;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
 
-import static io.restassured.config.DecoderConfig.decoderConfig;
+import java.util.List;
 
 public class ApiBaseTest {
 
-    @BeforeClass
+    @BeforeMethod(alwaysRun = true)
     public void setup() {
-        RestAssured.baseURI = "https://jsonplaceholder.typicode.com";
+        // ✅ Time every request of this test – no global REST Assured state is touched
+        ApiClient.begin();
+        // ✅ Capture request/response bodies for the artifact (bounded, written off the test thread)
+        ApiCapture.begin();
+    }
+
+    /** A new request on the shared, pooled client (base URI, timeouts and charset already applied). */
+    protected RequestSpecification request() {
+        return ApiClient.request();
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void tearDown(ITestResult result) {
+        // The result listeners ran before this method and have already handed the capture to ApiArtifactWriter
+        ApiCapture.end();
+        List<ApiClient.Timing> timings = ApiClient.end();
+        if (timings.isEmpty()) return;
 
-        // Avoid NullPointer for default charset
-        RestAssured.config = RestAssured.config()
-                .decoderConfig(decoderConfig().defaultContentCharset("UTF-8"));
+        long acquire = 0;
+        long ttfb = 0;
+        for (ApiClient.Timing timing : timings) {
+            acquire += Math.max(0, timing.acquireNanos);
+            ttfb += timing.ttfbNanos;
+        }
+        result.setAttribute("httpRequests", timings.size());
+        result.setAttribute("httpAcquireMs", ApiClient.millis(acquire));
+        result.setAttribute("httpTtfbMs", ApiClient.millis(ttfb));
+        result.setAttribute("httpTimings", timings.toString());
+        System.out.println("⏱️ " + result.getMethod().getMethodName() + ": " + timings.size() + " request(s), acquire "
+                + ApiClient.millis(acquire) + " ms, TTFB " + ApiClient.millis(ttfb) + " ms");
     }
 }
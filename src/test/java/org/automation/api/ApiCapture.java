@@ -0,0 +1,195 @@
+package org.automation.api;
+
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+import org.automation.config.ConfigManager;
+
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Flow;
+
+/**
+ * Captures the request and response bodies of a test's API calls for its artifact, instead of every test copying
+ * response.asString() into a result attribute. Each body is copied into a {@link Body} of at most
+ * api.capture.maxBodyBytes, so a large list endpoint costs one bounded copy; the whole body is never turned into a
+ * String on the test thread. {@link ApiArtifactWriter} encodes the captured bytes off the test thread.
+ *
+ * Installed as a REST Assured filter on {@link ApiClient}'s specification; {@link AsyncApiClient} tees its response
+ * stream into a Body as it arrives. Nothing is captured outside {@link #begin()} / {@link #end()} (e.g. in load mode).
+ */
+public final class ApiCapture implements Filter {
+
+    private static final ThreadLocal<List<Exchange>> EXCHANGES = new ThreadLocal<>();
+    private static final boolean ENABLED = ConfigManager.getBoolean("api.capture.enabled", true);
+    private static final int MAX_BODY_BYTES = Math.max(0, ConfigManager.getInt("api.capture.maxBodyBytes", 256 * 1024));
+
+    /** Starts capturing the calling thread's requests for a new test. */
+    public static void begin() {
+        if (ENABLED) EXCHANGES.set(Collections.synchronizedList(new ArrayList<>()));
+    }
+
+    /** The exchanges captured since {@link #begin()}, in request order; empty when not capturing. */
+    public static List<Exchange> current() {
+        List<Exchange> exchanges = EXCHANGES.get();
+        if (exchanges == null) return List.of();
+        synchronized (exchanges) {
+            return new ArrayList<>(exchanges);
+        }
+    }
+
+    public static void end() {
+        EXCHANGES.remove();
+    }
+
+    // Read on the requesting thread: async exchanges complete elsewhere but belong to the test that started them
+    static List<Exchange> exchanges() {
+        return EXCHANGES.get();
+    }
+
+    // ---------- REST Assured ----------
+    @Override
+    public Response filter(FilterableRequestSpecification request, FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        List<Exchange> exchanges = EXCHANGES.get();
+        if (exchanges == null) return ctx.next(request, responseSpec);
+
+        Exchange exchange = new Exchange(request.getMethod(), request.getURI(), Body.of(requestBytes(request.getBody())));
+        exchanges.add(exchange);
+        Response response = ctx.next(request, responseSpec);
+        // REST Assured has already buffered the body; only the first maxBodyBytes of it are copied
+        exchange.complete(response.getStatusCode(), response.getContentType(), Body.of(response.asByteArray()));
+        return response;
+    }
+
+    private static byte[] requestBytes(Object body) {
+        if (body == null) return null;
+        if (body instanceof byte[] bytes) return bytes;
+        return body.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    // ---------- java.net.http ----------
+    /** Wraps a body handler so the response bytes are copied into the exchange as they stream past. */
+    static <T> HttpResponse.BodyHandler<T> tee(Exchange exchange, HttpResponse.BodyHandler<T> handler) {
+        return info -> {
+            Body body = new Body();
+            HttpResponse.BodySubscriber<T> downstream = handler.apply(info);
+            String contentType = info.headers().firstValue("Content-Type").orElse(null);
+            return new HttpResponse.BodySubscriber<T>() {
+                @Override
+                public CompletionStage<T> getBody() {
+                    return downstream.getBody();
+                }
+
+                @Override
+                public void onSubscribe(Flow.Subscription subscription) {
+                    downstream.onSubscribe(subscription);
+                }
+
+                @Override
+                public void onNext(List<ByteBuffer> buffers) {
+                    for (ByteBuffer buffer : buffers) body.write(buffer.duplicate());
+                    downstream.onNext(buffers);
+                }
+
+                @Override
+                public void onError(Throwable throwable) {
+                    exchange.complete(info.statusCode(), contentType, body);
+                    downstream.onError(throwable);
+                }
+
+                @Override
+                public void onComplete() {
+                    exchange.complete(info.statusCode(), contentType, body);
+                    downstream.onComplete();
+                }
+            };
+        };
+    }
+
+    // ---------- Model ----------
+    /** One request and its response; the response fields stay unset until it has arrived. */
+    public static final class Exchange {
+        public final String method;
+        public final String uri;
+        public final Body requestBody;
+        private volatile int status;
+        private volatile String contentType;
+        private volatile Body responseBody;
+
+        Exchange(String method, String uri, Body requestBody) {
+            this.method = method;
+            this.uri = uri;
+            this.requestBody = requestBody;
+        }
+
+        void complete(int status, String contentType, Body responseBody) {
+            this.status = status;
+            this.contentType = contentType;
+            this.responseBody = responseBody;
+        }
+
+        public int getStatus() { return status; }
+        public String getContentType() { return contentType; }
+        public Body getResponseBody() { return responseBody; }
+
+        @Override
+        public String toString() {
+            return method + " " + uri + " → " + (responseBody == null ? "no response" : status);
+        }
+    }
+
+    /** The first api.capture.maxBodyBytes bytes of a body and its full length. */
+    public static final class Body {
+        private byte[] bytes = new byte[0];
+        private int length;
+        private long totalBytes;
+
+        static Body of(byte[] content) {
+            if (content == null) return null;
+            Body body = new Body();
+            body.write(ByteBuffer.wrap(content));
+            return body;
+        }
+
+        void write(ByteBuffer buffer) {
+            int n = buffer.remaining();
+            totalBytes += n;
+            int take = Math.min(n, MAX_BODY_BYTES - length);
+            if (take <= 0) return;
+            if (length + take > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.min(MAX_BODY_BYTES, Math.max(length + take, bytes.length * 2)));
+            }
+            buffer.get(bytes, length, take);
+            length += take;
+        }
+
+        /** The captured bytes; a truncated body is cut back to a whole UTF-8 character. */
+        public byte[] bytes() {
+            int end = length;
+            if (truncated()) {
+                while (end > 0 && (bytes[end - 1] & 0xC0) == 0x80) end--;
+                if (end > 0 && (bytes[end - 1] & 0x80) != 0) end--;
+            }
+            return end == bytes.length ? bytes : Arrays.copyOf(bytes, end);
+        }
+
+        public long totalBytes() { return totalBytes; }
+        public boolean truncated() { return totalBytes > length; }
+
+        /** Up to maxChars characters of the body as text, for logs and consoles. */
+        public String preview(int maxChars) {
+            int n = Math.min(length, Math.max(0, maxChars) * 4);
+            String text = new String(bytes, 0, n, StandardCharsets.UTF_8);
+            return text.length() > maxChars || totalBytes > n ? text.substring(0, Math.min(maxChars, text.length())) + "…" : text;
+        }
+    }
+}
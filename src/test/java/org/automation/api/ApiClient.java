@@ -0,0 +1,281 @@
+package org.automation.api;
+
+import io.restassured.RestAssured;
+import io.restassured.builder.RequestSpecBuilder;
+import io.restassured.config.HttpClientConfig;
+import io.restassured.config.RestAssuredConfig;
+import io.restassured.specification.RequestSpecification;
+import org.apache.http.HttpHost;
+import org.apache.http.HttpRequest;
+import org.apache.http.HttpResponse;
+import org.apache.http.client.params.ClientPNames;
+import org.apache.http.conn.ClientConnectionOperator;
+import org.apache.http.conn.ClientConnectionRequest;
+import org.apache.http.conn.ConnectionKeepAliveStrategy;
+import org.apache.http.conn.ConnectionPoolTimeoutException;
+import org.apache.http.conn.ManagedClientConnection;
+import org.apache.http.conn.OperatedClientConnection;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.conn.scheme.SchemeRegistry;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.DefaultHttpClient;
+import org.apache.http.impl.conn.DefaultClientConnectionOperator;
+import org.apache.http.impl.conn.PoolingClientConnectionManager;
+import org.apache.http.impl.conn.SchemeRegistryFactory;
+import org.apache.http.params.CoreConnectionPNames;
+import org.apache.http.params.HttpParams;
+import org.apache.http.pool.PoolStats;
+import org.apache.http.protocol.HttpContext;
+import org.automation.config.ConfigManager;
+import org.automation.server.JsonPlaceholderServer;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static io.restassured.config.DecoderConfig.decoderConfig;
+
+/**
+ * The HTTP layer of the API tests: one immutable request specification per JVM on top of one pooled, keep-alive
+ * connection manager, so parallel tests share warm connections instead of global REST Assured state.
+ *
+ * REST Assured re-registers its content-encoding interceptors on the client of every request, so each test thread
+ * gets its own light {@link DefaultHttpClient}; all of them lease from the same thread-safe pool. Every request's
+ * connection-acquire time (pool wait plus connect) and time to first byte are recorded for the calling test.
+ */
+@SuppressWarnings("deprecation") // REST Assured 5 runs on the HttpClient 4.x classic API
+public final class ApiClient {
+
+    private static final ThreadLocal<List<Timing>> TIMINGS = new ThreadLocal<>();
+    private static final ThreadLocal<Pending> PENDING = ThreadLocal.withInitial(Pending::new);
+    private static final ThreadLocal<DefaultHttpClient> CLIENTS = ThreadLocal.withInitial(ApiClient::newClient);
+
+    private static final AtomicLong requests = new AtomicLong();
+    private static final AtomicLong connectsOpened = new AtomicLong();
+    private static final AtomicLong acquireNanos = new AtomicLong();
+    private static final AtomicLong ttfbNanos = new AtomicLong();
+
+    private static volatile RequestSpecification spec;
+    private static TimedConnectionManager connections;
+    private static ConnectionKeepAliveStrategy keepAlive;
+
+    private ApiClient() {
+    }
+
+    /** A fresh request on the shared specification – base URI, pooled client, timeouts and UTF-8 decoding. */
+    public static RequestSpecification request() {
+        return RestAssured.given().spec(spec());
+    }
+
+    static RequestSpecification spec() {
+        RequestSpecification current = spec;
+        if (current == null) {
+            synchronized (ApiClient.class) {
+                if (spec == null) spec = build();
+                current = spec;
+            }
+        }
+        return current;
+    }
+
+    // ---------- Setup ----------
+    private static RequestSpecification build() {
+        int perRoute = Math.max(1, ConfigManager.getInt("api.http.maxPerRoute", 20));
+        int total = Math.max(perRoute, ConfigManager.getInt("api.http.maxTotal", 50));
+        long keepAliveMs = Math.max(0, ConfigManager.getLong("api.http.keepAliveMs", 15000));
+        int connectTimeoutMs = ConfigManager.getInt("api.http.connectTimeoutMs", 5000);
+        int readTimeoutMs = ConfigManager.getInt("api.http.readTimeoutMs", 30000);
+        long leaseTimeoutMs = ConfigManager.getLong("api.http.leaseTimeoutMs", 10000);
+
+        connections = new TimedConnectionManager(SchemeRegistryFactory.createDefault());
+        connections.setDefaultMaxPerRoute(perRoute);
+        connections.setMaxTotal(total);
+        // Honour the server's Keep-Alive header, otherwise keep idle connections for api.http.keepAliveMs
+        DefaultConnectionKeepAliveStrategy server = DefaultConnectionKeepAliveStrategy.INSTANCE;
+        keepAlive = (response, context) -> {
+            long announced = server.getKeepAliveDuration(response, context);
+            return announced > 0 ? Math.min(announced, keepAliveMs) : keepAliveMs;
+        };
+
+        // REST Assured applies these to the thread's client before each request; the client itself is never shared
+        HttpClientConfig httpClient = HttpClientConfig.httpClientConfig()
+                .httpClientFactory(CLIENTS::get)
+                .setParam(CoreConnectionPNames.CONNECTION_TIMEOUT, connectTimeoutMs)
+                .setParam(CoreConnectionPNames.SO_TIMEOUT, readTimeoutMs)
+                .setParam(CoreConnectionPNames.TCP_NODELAY, true)
+                .setParam(ClientPNames.CONN_MANAGER_TIMEOUT, leaseTimeoutMs);
+        RestAssuredConfig config = RestAssuredConfig.config()
+                .httpClient(httpClient)
+                // Avoid NullPointer for default charset
+                .decoderConfig(decoderConfig().defaultContentCharset("UTF-8"));
+
+        // api.baseUrl, or the in-process JSONPlaceholder stand-in with api.stub.enabled=true
+        String baseUri = JsonPlaceholderServer.baseUrl();
+        RequestSpecification built = new RequestSpecBuilder().setBaseUri(baseUri).setConfig(config)
+                .addFilter(new ApiCapture())
+                .build();
+        Runtime.getRuntime().addShutdownHook(new Thread(ApiClient::shutdown, "api-client-shutdown"));
+        System.out.println("[ApiClient] 🔌 " + baseUri + " via pooled keep-alive connections (" + perRoute + " per route, "
+                + total + " total, keep-alive " + keepAliveMs + " ms)");
+        return built;
+    }
+
+    private static DefaultHttpClient newClient() {
+        DefaultHttpClient client = new DefaultHttpClient(connections);
+        client.setKeepAliveStrategy(keepAlive);
+        client.addRequestInterceptor(ApiClient::requestSent);
+        client.addResponseInterceptor(ApiClient::responseStarted, 0);
+        return client;
+    }
+
+    private static synchronized void shutdown() {
+        if (connections == null) return;
+        PoolStats pool = connections.getTotalStats();
+        long count = requests.get();
+        if (count > 0) {
+            System.out.println("[ApiClient] 📊 " + count + " request(s) over " + connectsOpened.get() + " connection(s), avg acquire "
+                    + millis(acquireNanos.get() / count) + " ms, avg TTFB " + millis(ttfbNanos.get() / count) + " ms; pool "
+                    + pool.getAvailable() + " idle / " + pool.getLeased() + " leased");
+        }
+        connections.shutdown();
+        connections = null;
+    }
+
+    // ---------- Per test ----------
+    /** Starts collecting this thread's request timings. */
+    public static void begin() {
+        // Synchronized: AsyncApiClient completes on other threads
+        TIMINGS.set(Collections.synchronizedList(new ArrayList<>()));
+        PENDING.get().clear();
+    }
+
+    /** Timings of this thread's test so far, one per request; clears them. */
+    public static List<Timing> end() {
+        List<Timing> timings = TIMINGS.get();
+        TIMINGS.remove();
+        return timings == null ? Collections.emptyList() : timings;
+    }
+
+    /** This thread's timing list, for requests that complete elsewhere; null outside a test. */
+    static List<Timing> timings() {
+        return TIMINGS.get();
+    }
+
+    // ---------- Timing hooks ----------
+    private static void requestSent(HttpRequest request, HttpContext context) {
+        Pending pending = PENDING.get();
+        pending.request = request.getRequestLine().getMethod() + " " + request.getRequestLine().getUri();
+        pending.sentAt = System.nanoTime();
+    }
+
+    private static void responseStarted(HttpResponse response, HttpContext context) {
+        Pending pending = PENDING.get();
+        if (pending.sentAt == 0) return;
+        long ttfb = System.nanoTime() - pending.sentAt;
+        Timing timing = new Timing(pending.request, response.getStatusLine().getStatusCode(), pending.acquireNanos, ttfb, pending.connected);
+        requests.incrementAndGet();
+        acquireNanos.addAndGet(timing.acquireNanos);
+        ttfbNanos.addAndGet(ttfb);
+        List<Timing> timings = TIMINGS.get();
+        if (timings != null) timings.add(timing);
+        pending.clear();
+    }
+
+    static String millis(long nanos) {
+        return String.format(Locale.ROOT, "%.2f", nanos / 1_000_000.0);
+    }
+
+    /** Times how long a request waits for a pooled connection, and how long opening a new one takes. */
+    private static final class TimedConnectionManager extends PoolingClientConnectionManager {
+
+        TimedConnectionManager(SchemeRegistry schemes) {
+            super(schemes);
+        }
+
+        @Override
+        public ClientConnectionRequest requestConnection(HttpRoute route, Object state) {
+            ClientConnectionRequest lease = super.requestConnection(route, state);
+            return new ClientConnectionRequest() {
+                @Override
+                public ManagedClientConnection getConnection(long timeout, TimeUnit unit)
+                        throws InterruptedException, ConnectionPoolTimeoutException {
+                    long start = System.nanoTime();
+                    try {
+                        return lease.getConnection(timeout, unit);
+                    } finally {
+                        PENDING.get().acquireNanos += System.nanoTime() - start;
+                    }
+                }
+
+                @Override
+                public void abortRequest() {
+                    lease.abortRequest();
+                }
+            };
+        }
+
+        @Override
+        protected ClientConnectionOperator createConnectionOperator(SchemeRegistry schemes) {
+            return new DefaultClientConnectionOperator(schemes) {
+                @Override
+                public void openConnection(OperatedClientConnection conn, HttpHost target, InetAddress local,
+                                           HttpContext context, HttpParams params) throws IOException {
+                    long start = System.nanoTime();
+                    try {
+                        super.openConnection(conn, target, local, context, params);
+                    } finally {
+                        Pending pending = PENDING.get();
+                        pending.acquireNanos += System.nanoTime() - start;
+                        pending.connected = true;
+                        connectsOpened.incrementAndGet();
+                    }
+                }
+            };
+        }
+    }
+
+    private static final class Pending {
+        String request;
+        long sentAt;
+        long acquireNanos;
+        boolean connected;
+
+        void clear() {
+            request = null;
+            sentAt = 0;
+            acquireNanos = 0;
+            connected = false;
+        }
+    }
+
+    /**
+     * One request: its connection-acquire time (-1 when the client does not expose it), time to first byte, and
+     * whether it had to open a new connection.
+     */
+    public static final class Timing {
+        public final String request;
+        public final int status;
+        public final long acquireNanos;
+        public final long ttfbNanos;
+        public final boolean newConnection;
+
+        Timing(String request, int status, long acquireNanos, long ttfbNanos, boolean newConnection) {
+            this.request = request;
+            this.status = status;
+            this.acquireNanos = acquireNanos;
+            this.ttfbNanos = ttfbNanos;
+            this.newConnection = newConnection;
+        }
+
+        @Override
+        public String toString() {
+            return request + " → " + status + " (" + (acquireNanos >= 0 ? "acquire " + millis(acquireNanos) + " ms, " : "")
+                    + "TTFB " + millis(ttfbNanos) + " ms" + (newConnection ? ", new connection" : "") + ")";
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package org.automation.api;
+
+import org.automation.config.ConfigManager;
+import org.automation.server.JsonPlaceholderServer;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+
+/**
+ * Non-blocking companion to {@link ApiClient} for tests that fan out many calls: one shared java.net.http client
+ * whose responses complete on virtual threads. Against an https API it negotiates HTTP/2, so concurrent requests
+ * share one multiplexed connection; plain http stays on keep-alive HTTP/1.1.
+ *
+ * Requests made during a test are timed like ApiClient's, by time to first byte only – the JDK client does not
+ * expose connection acquisition – and their bodies are captured for the test's artifact ({@link ApiCapture}).
+ */
+public final class AsyncApiClient {
+
+    private static volatile HttpClient client;
+    private static volatile String baseUri;
+
+    private AsyncApiClient() {
+    }
+
+    public static CompletableFuture<HttpResponse<String>> get(String path) {
+        return send("GET", path, null);
+    }
+
+    /** Sends a request with an optional JSON body; the future fails only on I/O errors, not on HTTP status codes. */
+    public static CompletableFuture<HttpResponse<String>> send(String method, String path, String json) {
+        HttpClient http = client();
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUri + path))
+                .timeout(Duration.ofMillis(ConfigManager.getLong("api.http.readTimeoutMs", 30000)))
+                .header("Accept", "application/json")
+                .method(method, json == null ? HttpRequest.BodyPublishers.noBody()
+                        : HttpRequest.BodyPublishers.ofString(json, StandardCharsets.UTF_8));
+        if (json != null) request.header("Content-Type", "application/json; charset=UTF-8");
+
+        List<ApiClient.Timing> timings = ApiClient.timings();
+        String label = method + " " + path + " (async)";
+        long sent = System.nanoTime();
+        // The body handler is chosen once the status line and headers are in – that moment is the first byte
+        HttpResponse.BodyHandler<String> timed = info -> {
+            long ttfb = System.nanoTime() - sent;
+            if (timings != null) timings.add(new ApiClient.Timing(label, info.statusCode(), -1, ttfb, false));
+            return HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8).apply(info);
+        };
+        List<ApiCapture.Exchange> exchanges = ApiCapture.exchanges();
+        if (exchanges != null) {
+            ApiCapture.Exchange exchange = new ApiCapture.Exchange(method, baseUri + path,
+                    json == null ? null : ApiCapture.Body.of(json.getBytes(StandardCharsets.UTF_8)));
+            exchanges.add(exchange);
+            timed = ApiCapture.tee(exchange, timed);
+        }
+        return http.sendAsync(request.build(), timed);
+    }
+
+    private static HttpClient client() {
+        HttpClient current = client;
+        if (current == null) {
+            synchronized (AsyncApiClient.class) {
+                if (client == null) {
+                    // api.baseUrl, or the in-process JSONPlaceholder stand-in with api.stub.enabled=true
+                    String base = JsonPlaceholderServer.baseUrl();
+                    baseUri = base.endsWith("/") ? base.substring(0, base.length() - 1) : base;
+                    boolean tls = baseUri.toLowerCase(Locale.ROOT).startsWith("https:");
+                    client = HttpClient.newBuilder()
+                            .version(tls ? HttpClient.Version.HTTP_2 : HttpClient.Version.HTTP_1_1)
+                            .connectTimeout(Duration.ofMillis(ConfigManager.getLong("api.http.connectTimeoutMs", 5000)))
+                            .followRedirects(HttpClient.Redirect.NORMAL)
+                            .executor(Executors.newVirtualThreadPerTaskExecutor())
+                            .build();
+                }
+                current = client;
+            }
+        }
+        return current;
+    }
+}
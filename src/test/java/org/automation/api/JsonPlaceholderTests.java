@@ -1,13 +1,19 @@
 package org.automation.api;
 
 import io.restassured.http.ContentType;
-import io.restassured.response.Response;
+import io.restassured.path.json.JsonPath;
 import org.automation.listeners.TestSuiteListener;
+import org.testng.Assert;
 import org.testng.Reporter;
 import org.testng.annotations.Listeners;
 import org.testng.annotations.Test;
 
-import static io.restassured.RestAssured.*;
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
 import static org.hamcrest.Matchers.*;
 
 @Listeners(TestSuiteListener.class)
@@ -17,40 +23,35 @@ public class JsonPlaceholderTests extends ApiBaseTest {
     public void testGetAllPosts() {
         Reporter.getCurrentTestResult().setAttribute("US_ID", "US201");
 
-        Response response = given().contentType(ContentType.JSON) // set content type
+        request().contentType(ContentType.JSON) // set content type
                 .when().get("/posts")   // send GET request
-                .then().statusCode(200).body("size()", greaterThan(0))  // Validate HTTP 200 OK and Validate response size > 0
-                .extract().response();   // Extract full response for logging
+                .then().statusCode(200).body("size()", greaterThan(0));  // Validate HTTP 200 OK and Validate response size > 0
 
         Reporter.getCurrentTestResult().setAttribute("requestPayload", "GET /posts");
-        Reporter.getCurrentTestResult().setAttribute("responseBody", response.asString());
     }
 
     @Test(description = "Get single post by ID")
     public void testGetSinglePost() {
         Reporter.getCurrentTestResult().setAttribute("US_ID", "US202");
 
-        Response response = given().contentType(ContentType.JSON)
+        request().contentType(ContentType.JSON)
                 .when().get("/posts/1")
-                .then().statusCode(200).body("id", equalTo(1))
-                .extract().response();
+                .then().statusCode(200).body("id", equalTo(1));
 
         Reporter.getCurrentTestResult().setAttribute("requestPayload", "GET /posts/1");
-        Reporter.getCurrentTestResult().setAttribute("responseBody", response.asString());
     }
 
 //    // Intentionally change the expected value to something incorrect:
 //    public void testGetSinglePost() {
 //        Reporter.getCurrentTestResult().setAttribute("US_ID", "US202");
 //
-//        Response response = given().contentType(ContentType.JSON)
+//        Response response = request().contentType(ContentType.JSON)
 //                .when().get("/posts/1")
 //                // ❌ Intentionally wrong expected value (will fail)
 //                .then().statusCode(200).body("id", equalTo(999))
 //                .extract().response();
 //
 //        Reporter.getCurrentTestResult().setAttribute("requestPayload", "GET /posts/1");
-//        Reporter.getCurrentTestResult().setAttribute("responseBody", response.asString());
 //    }
 
     @Test(description = "Create a new post")
@@ -59,13 +60,11 @@ public class JsonPlaceholderTests extends ApiBaseTest {
 
         String payload = "{ \"title\":\"foo\", \"body\":\"bar\", \"userId\":1 }";
 
-        Response response = given().contentType(ContentType.JSON).body(payload)
+        request().contentType(ContentType.JSON).body(payload)
                 .when().post("/posts")
-                .then().statusCode(201).body("title", equalTo("foo"))
-                .extract().response();
+                .then().statusCode(201).body("title", equalTo("foo"));
 
         Reporter.getCurrentTestResult().setAttribute("requestPayload", payload);
-        Reporter.getCurrentTestResult().setAttribute("responseBody", response.asString());
     }
 
     @Test(description = "Update an existing post")
@@ -74,13 +73,11 @@ public class JsonPlaceholderTests extends ApiBaseTest {
 
         String payload = "{ \"id\":1, \"title\":\"updated\", \"body\":\"bar\", \"userId\":1 }";
 
-        Response response = given().contentType(ContentType.JSON).body(payload)
+        request().contentType(ContentType.JSON).body(payload)
                 .when().put("/posts/1")
-                .then().statusCode(200).body("title", equalTo("updated"))
-                .extract().response();
+                .then().statusCode(200).body("title", equalTo("updated"));
 
         Reporter.getCurrentTestResult().setAttribute("requestPayload", payload);
-        Reporter.getCurrentTestResult().setAttribute("responseBody", response.asString());
     }
 
     @Test(description = "Patch an existing post")
@@ -89,61 +86,51 @@ public class JsonPlaceholderTests extends ApiBaseTest {
 
         String payload = "{ \"title\":\"patched\" }";
 
-        Response response = given().contentType(ContentType.JSON).body(payload)
+        request().contentType(ContentType.JSON).body(payload)
                 .when().patch("/posts/1")
-                .then().statusCode(200).body("title", equalTo("patched"))
-                .extract().response();
+                .then().statusCode(200).body("title", equalTo("patched"));
 
         Reporter.getCurrentTestResult().setAttribute("requestPayload", payload);
-        Reporter.getCurrentTestResult().setAttribute("responseBody", response.asString());
     }
 
     @Test(description = "Delete a post")
     public void testDeletePost() {
         Reporter.getCurrentTestResult().setAttribute("US_ID", "US206");
 
-        Response response = when().delete("/posts/1")
-                .then().statusCode(200)
-                .extract().response();
+        request().when().delete("/posts/1")
+                .then().statusCode(200);
 
         Reporter.getCurrentTestResult().setAttribute("requestPayload", "DELETE /posts/1");
-        Reporter.getCurrentTestResult().setAttribute("responseBody", response.asString());
     }
 
     @Test(description = "Get all users")
     public void testGetAllUsers() {
         Reporter.getCurrentTestResult().setAttribute("US_ID", "US207");
 
-        Response response = when().get("/users")
-                .then().statusCode(200).body("size()", greaterThan(0))
-                .extract().response();
+        request().when().get("/users")
+                .then().statusCode(200).body("size()", greaterThan(0));
 
         Reporter.getCurrentTestResult().setAttribute("requestPayload", "GET /users");
-        Reporter.getCurrentTestResult().setAttribute("responseBody", response.asString());
     }
 
     @Test(description = "Get single user by ID")
     public void testGetSingleUser() {
         Reporter.getCurrentTestResult().setAttribute("US_ID", "US208");
 
-        Response response = when().get("/users/1")
-                .then().statusCode(200).body("id", equalTo(1))
-                .extract().response();
+        request().when().get("/users/1")
+                .then().statusCode(200).body("id", equalTo(1));
 
         Reporter.getCurrentTestResult().setAttribute("requestPayload", "GET /users/1");
-        Reporter.getCurrentTestResult().setAttribute("responseBody", response.asString());
     }
 
     @Test(description = "Get comments for a post")
     public void testGetCommentsForPost() {
         Reporter.getCurrentTestResult().setAttribute("US_ID", "US209");
 
-        Response response = when().get("/posts/1/comments")
-                .then().statusCode(200).body("size()", greaterThan(0))
-                .extract().response();
+        request().when().get("/posts/1/comments")
+                .then().statusCode(200).body("size()", greaterThan(0));
 
         Reporter.getCurrentTestResult().setAttribute("requestPayload", "GET /posts/1/comments");
-        Reporter.getCurrentTestResult().setAttribute("responseBody", response.asString());
     }
 
     @Test(description = "Create a comment")
@@ -152,12 +139,29 @@ public class JsonPlaceholderTests extends ApiBaseTest {
 
         String payload = "{ \"postId\":1, \"name\":\"Test\", \"email\":\"test@test.com\", \"body\":\"Test comment\" }";
 
-        Response response = given().contentType(ContentType.JSON).body(payload)
+        request().contentType(ContentType.JSON).body(payload)
                 .when().post("/comments")
-                .then().statusCode(201).body("name", equalTo("Test"))
-                .extract().response();
+                .then().statusCode(201).body("name", equalTo("Test"));
 
         Reporter.getCurrentTestResult().setAttribute("requestPayload", payload);
-        Reporter.getCurrentTestResult().setAttribute("responseBody", response.asString());
+    }
+
+    @Test(description = "Get several posts concurrently")
+    public void testGetPostsConcurrently() {
+        Reporter.getCurrentTestResult().setAttribute("US_ID", "US211");
+
+        // Fan out through the non-blocking client, then check every response
+        List<CompletableFuture<HttpResponse<String>>> calls = IntStream.rangeClosed(1, 10)
+                .mapToObj(id -> AsyncApiClient.get("/posts/" + id))
+                .collect(Collectors.toList());
+        CompletableFuture.allOf(calls.toArray(new CompletableFuture<?>[0])).join();
+
+        for (int i = 0; i < calls.size(); i++) {
+            HttpResponse<String> response = calls.get(i).join();
+            Assert.assertEquals(response.statusCode(), 200);
+            Assert.assertEquals(JsonPath.from(response.body()).getInt("id"), i + 1);
+        }
+
+        Reporter.getCurrentTestResult().setAttribute("requestPayload", "GET /posts/1..10 (concurrent)");
     }
 }
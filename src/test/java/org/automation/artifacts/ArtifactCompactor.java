@@ -0,0 +1,190 @@
+package org.automation.artifacts;
+
+import org.automation.config.ConfigManager;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Retention and compaction for {@link ArtifactStore}.
+ *
+ * A run's pack is retained while it is one of the newest artifacts.store.retainRuns runs or younger than
+ * artifacts.store.retainDays days. Blobs stored or reused by a retained run are live. Expired run packs, and
+ * compact packs holding dead blobs, are rewritten: their live blobs are copied (still compressed) into one new
+ * compact_&lt;ts&gt;.pack and the old packs are deleted. The new pack is complete before anything is deleted, so an
+ * interrupted compaction leaves duplicates at worst; a compact pack it left without an index is removed next time.
+ *
+ * Compaction holds the store lock exclusively, so forks finishing together compact once and no fork records a reuse
+ * of a blob while its pack is being rewritten.
+ *
+ *   java -cp ... org.automation.artifacts.ArtifactCompactor
+ *
+ * Also runs after each suite with artifacts.store.compactOnFinish=true (only when something has expired).
+ */
+public final class ArtifactCompactor {
+
+    private static final String COMPACT_PREFIX = "compact_";
+
+    private ArtifactCompactor() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        compact();
+    }
+
+    /** Called from TestSuiteListener once a suite has finished; never fails the suite. */
+    public static void compactOnFinish() {
+        if (!ArtifactStore.enabled() || !ConfigManager.getBoolean("artifacts.store.compactOnFinish", true)) return;
+        try {
+            // A fork finishing at the same time is already compacting
+            if (!compact(false)) System.out.println("[ArtifactCompactor] 🔒 Store locked by another process – compaction skipped");
+        } catch (IOException e) {
+            System.err.println("[ArtifactCompactor] ⚠️ Compaction skipped: " + e.getMessage());
+        }
+    }
+
+    public static void compact() throws IOException {
+        compact(true);
+    }
+
+    /** False when wait is false and another process holds the store lock. */
+    static boolean compact(boolean wait) throws IOException {
+        int retainRuns = Math.max(1, ConfigManager.getInt("artifacts.store.retainRuns", 50));
+        long retainDays = Math.max(0, ConfigManager.getLong("artifacts.store.retainDays", 30));
+        Path dir = ArtifactStore.dir();
+        if (!Files.isDirectory(dir)) return true;
+
+        synchronized (ArtifactStore.class) {
+            try (FileChannel lock = ArtifactStore.lock(false, wait)) {
+                if (lock == null) return false;
+                removeOrphans(dir);
+                rewrite(dir, retainRuns, retainDays);
+            }
+        }
+        return true;
+    }
+
+    // Leftovers of an interrupted compaction: a pack whose index never appeared, or its unfinished index
+    private static void removeOrphans(Path dir) throws IOException {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dir, COMPACT_PREFIX + "*.{pack,idx.tmp}")) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                if (name.endsWith(".idx.tmp") || !Files.exists(file.resolveSibling(name.replaceFirst("\\.pack$", ".idx")))) {
+                    Files.deleteIfExists(file);
+                    System.out.println("[ArtifactCompactor] 🧹 Removed unfinished " + name);
+                }
+            }
+        }
+    }
+
+    private static void rewrite(Path dir, int retainRuns, long retainDays) throws IOException {
+        // ---------- Classify packs ----------
+        List<Pack> runs = new ArrayList<>();
+        List<Pack> compacts = new ArrayList<>();
+        try (DirectoryStream<Path> indexes = Files.newDirectoryStream(dir, "*.idx")) {
+            for (Path index : indexes) {
+                Pack pack = new Pack(index, IndexEntry.read(index), Files.getLastModifiedTime(index));
+                (pack.name.startsWith(COMPACT_PREFIX) ? compacts : runs).add(pack);
+            }
+        }
+        runs.sort(Comparator.comparing((Pack p) -> p.modified).reversed());
+        Instant cutoff = Instant.now().minus(retainDays, ChronoUnit.DAYS);
+        String current = ArtifactStore.runPackName();
+
+        Set<String> live = new HashSet<>();
+        Set<String> inRetainedPacks = new HashSet<>();
+        List<Pack> victims = new ArrayList<>();
+        for (int i = 0; i < runs.size(); i++) {
+            Pack run = runs.get(i);
+            if (i < retainRuns || run.modified.toInstant().isAfter(cutoff) || run.name.equals(current)) {
+                for (IndexEntry e : run.entries) {
+                    live.add(e.hash);
+                    if (e.stored()) inRetainedPacks.add(e.hash);
+                }
+            } else {
+                victims.add(run);
+            }
+        }
+        for (Pack compact : compacts) {
+            boolean dead = compact.entries.stream().anyMatch(e -> e.stored() && !live.contains(e.hash));
+            if (dead || !victims.isEmpty()) victims.add(compact);
+        }
+        if (victims.isEmpty()) return;
+
+        // ---------- Rewrite ----------
+        // Live blobs that only the victims hold, first copy wins
+        Map<String, IndexEntry> keep = new LinkedHashMap<>();
+        long before = 0;
+        for (Pack victim : victims) {
+            before += victim.size();
+            for (IndexEntry e : victim.entries) {
+                if (e.stored() && live.contains(e.hash) && !inRetainedPacks.contains(e.hash)) keep.putIfAbsent(e.hash, e);
+            }
+        }
+        long after = 0;
+        if (!keep.isEmpty()) {
+            String name = COMPACT_PREFIX + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss_SSS"));
+            Path tmpIndex = dir.resolve(name + ".idx.tmp");
+            PackWriter writer = PackWriter.open(dir.resolve(name + ".pack"), tmpIndex);
+            try {
+                for (IndexEntry e : keep.values()) {
+                    writer.append(e.hash, e.ext, e.location.codec, ArtifactStore.read(e.location), e.location.rawLength);
+                }
+            } finally {
+                writer.close();
+            }
+            // The index appears only once the pack is complete
+            Files.move(tmpIndex, dir.resolve(name + ".idx"), StandardCopyOption.ATOMIC_MOVE);
+            after = writer.bytes();
+        }
+        for (Pack victim : victims) victim.delete();
+        ArtifactStore.reload();
+
+        System.out.println("[ArtifactCompactor] 🧹 " + victims.size() + " pack(s) (" + before + " bytes) rewritten into "
+                + keep.size() + " live blob(s) (" + after + " bytes); " + (runs.size() - victims.stream()
+                .filter(v -> !v.name.startsWith(COMPACT_PREFIX)).count()) + " run(s) retained");
+    }
+
+    private static final class Pack {
+        final Path index;
+        final Path pack;
+        final String name;
+        final List<IndexEntry> entries;
+        final FileTime modified;
+
+        Pack(Path index, List<IndexEntry> entries, FileTime modified) {
+            String file = index.getFileName().toString();
+            this.index = index;
+            this.name = file.substring(0, file.length() - ".idx".length());
+            this.pack = index.resolveSibling(name + ".pack");
+            this.entries = entries;
+            this.modified = modified;
+        }
+
+        long size() throws IOException {
+            return Files.exists(pack) ? Files.size(pack) : 0;
+        }
+
+        void delete() throws IOException {
+            // Index first: a pack without an index is ignored, an index without its pack is not
+            Files.deleteIfExists(index);
+            Files.deleteIfExists(pack);
+        }
+    }
+}
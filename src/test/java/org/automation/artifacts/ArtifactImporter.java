@@ -0,0 +1,111 @@
+package org.automation.artifacts;
+
+import org.automation.utils.DatabaseUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * One-off migration of loose artifact files (artifacts/api, artifacts/screenshots) into the {@link ArtifactStore}:
+ * each file is stored by content, execution_log / execution_logs rows that point at it are rewritten to its content
+ * id, and the file is deleted. Files stay where they are when the database cannot be updated, so running it again
+ * is safe (already-stored content only costs an index line).
+ *
+ *   java -cp ... org.automation.artifacts.ArtifactImporter
+ */
+public final class ArtifactImporter {
+
+    private static final List<String> DIRS = List.of("artifacts/api", "artifacts/screenshots");
+    private static final int BATCH_SIZE = 500;
+
+    private ArtifactImporter() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (!ArtifactStore.enabled()) {
+            System.err.println("[ArtifactImporter] ❌ artifacts.store.enabled=false – nothing to import into");
+            System.exit(1);
+        }
+        // ---------- Store ----------
+        Map<String, String> ids = new LinkedHashMap<>();
+        long bytes = 0;
+        for (String dir : DIRS) {
+            Path root = Paths.get(dir);
+            if (!Files.isDirectory(root)) continue;
+            List<Path> files;
+            try (Stream<Path> walk = Files.walk(root)) {
+                files = walk.filter(Files::isRegularFile).sorted().collect(Collectors.toList());
+            }
+            for (Path file : files) {
+                String name = root.getFileName() + "/" + file.getFileName();
+                byte[] content;
+                if (name.endsWith(".gz")) {
+                    // Stored under its .json name: the pack compresses it anyway, and it is served as JSON
+                    try (InputStream in = new GZIPInputStream(Files.newInputStream(file))) {
+                        content = in.readAllBytes();
+                    }
+                    name = name.substring(0, name.length() - ".gz".length());
+                } else {
+                    content = Files.readAllBytes(file);
+                }
+                ids.put(file.toString().replace('\\', '/'), ArtifactStore.put(content, name));
+                bytes += Files.size(file);
+            }
+        }
+        System.out.println("[ArtifactImporter] 📦 " + ids.size() + " file(s), " + bytes + " bytes stored");
+        if (ids.isEmpty()) return;
+
+        // ---------- Repoint rows ----------
+        try (Connection conn = DatabaseUtils.getConnection()) {
+            conn.setAutoCommit(false);
+            int rows = update(conn, "UPDATE execution_log SET artifact = ? WHERE artifact = ?", ids)
+                    + update(conn, "UPDATE execution_log SET screenshot_path = ? WHERE screenshot_path = ?", ids)
+                    + update(conn, "UPDATE execution_logs SET screenshot_path = ? WHERE screenshot_path = ?", ids);
+            conn.commit();
+            System.out.println("[ArtifactImporter] 🔁 " + rows + " row(s) now reference content ids");
+        } catch (SQLException e) {
+            System.err.println("[ArtifactImporter] ❌ Rows not updated, files kept: " + e.getMessage());
+            System.exit(1);
+        }
+
+        // ---------- Remove loose files ----------
+        for (String path : ids.keySet()) Files.deleteIfExists(Paths.get(path));
+        System.out.println("[ArtifactImporter] 🧹 Loose files removed");
+    }
+
+    private static int update(Connection conn, String sql, Map<String, String> ids) throws SQLException {
+        int rows = 0;
+        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+            int pending = 0;
+            for (Map.Entry<String, String> e : ids.entrySet()) {
+                ps.setString(1, e.getValue());
+                ps.setString(2, e.getKey());
+                ps.addBatch();
+                if (++pending == BATCH_SIZE) {
+                    rows += sum(ps.executeBatch());
+                    pending = 0;
+                }
+            }
+            if (pending > 0) rows += sum(ps.executeBatch());
+        }
+        return rows;
+    }
+
+    private static int sum(int[] counts) {
+        int total = 0;
+        for (int c : counts) total += Math.max(0, c);
+        return total;
+    }
+}
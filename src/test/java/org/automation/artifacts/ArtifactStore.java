@@ -0,0 +1,325 @@
+package org.automation.artifacts;
+
+import org.automation.config.ConfigManager;
+import org.automation.utils.ReportUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Content-addressed store for test artifacts (API exchanges, screenshots). Each payload is hashed (SHA-256) and
+ * stored once: a payload already in the store – the same response as yesterday's run – costs one index line.
+ * Artifacts are referenced by content id, "cas:&lt;sha256&gt;.&lt;ext&gt;", in execution_log.artifact / screenshot_path.
+ *
+ *   artifacts/store/run_&lt;runKey&gt;.pack   the blobs first stored by one run, gzip-compressed unless that does not pay
+ *   artifacts/store/run_&lt;runKey&gt;.idx    one line per blob stored ("B") or reused ("R") by that run
+ *
+ * So a run adds two files however many artifacts it produces. Packs are append-only; {@link ArtifactCompactor}
+ * applies retention and rewrites what expired runs still share with live ones. JVMs sharing the store (surefire
+ * forks) coordinate through a file lock on artifacts/store/.lock: reuse references are written under it shared,
+ * compaction holds it exclusively. AnalyticsServer serves
+ * /artifacts/&lt;id&gt;, which the HTML report and the dashboard link to.
+ *
+ * With artifacts.store.enabled=false artifacts are written as loose files under artifacts/ as before, and
+ * {@link #put} returns their path instead of a content id.
+ */
+public final class ArtifactStore {
+
+    public static final String PREFIX = "cas:";
+    static final String INDEX_HEADER = "# artifact-store v1";
+    static final String CODEC_GZIP = "gz";
+    static final String CODEC_RAW = "raw";
+    private static final String LOCK_FILE = ".lock";
+    // Compressed output above 90 % of the input (PNG, already-gzipped data) is not worth inflating on every read
+    private static final double MIN_GAIN = 0.9;
+
+    private static final Map<String, Location> BLOBS = new HashMap<>();
+    private static final Set<String> RUN_REFS = new HashSet<>();
+    private static boolean loaded;
+    private static PackWriter runPack;
+
+    private ArtifactStore() {
+    }
+
+    public static boolean enabled() {
+        return ConfigManager.getBoolean("artifacts.store.enabled", true);
+    }
+
+    static Path dir() {
+        return Paths.get(ConfigManager.get("artifacts.store.dir", "artifacts/store"));
+    }
+
+    static String runPackName() {
+        return "run_" + ReportUtils.getRunKey();
+    }
+
+    // ---------- Writing ----------
+    /**
+     * Stores a payload and returns its content id. name ("api/testX_20250101_120000.json") supplies the extension,
+     * and is the file written under artifacts/ when the store is disabled.
+     */
+    public static String put(byte[] content, String name) throws IOException {
+        if (!enabled()) {
+            Path file = Paths.get("artifacts", name);
+            Files.createDirectories(file.getParent());
+            Files.write(file, content);
+            return file.toString().replace('\\', '/');
+        }
+        String ext = extension(name);
+        String hash = sha256(content);
+        synchronized (ArtifactStore.class) {
+            load();
+            Location known = BLOBS.get(hash);
+            if (known != null && !RUN_REFS.contains(hash)) {
+                // Another fork's compaction may have moved or dropped the blob; none can start until the reference is written
+                FileChannel lock = lock(true, true);
+                try {
+                    if (!Files.exists(known.pack)) {
+                        reload();
+                        known = BLOBS.get(hash);
+                    }
+                    if (known != null) {
+                        runPack().reference(hash, ext);
+                        RUN_REFS.add(hash);
+                    }
+                } finally {
+                    lock.close();
+                }
+            }
+            if (known != null) return PREFIX + hash + "." + ext;
+        }
+        // Compress outside the lock; a concurrent put of the same payload is settled below
+        byte[] gzipped = gzip(content);
+        boolean compress = gzipped.length < content.length * MIN_GAIN;
+        synchronized (ArtifactStore.class) {
+            if (!BLOBS.containsKey(hash)) {
+                PackWriter pack = runPack();
+                BLOBS.put(hash, pack.append(hash, ext, compress ? CODEC_GZIP : CODEC_RAW, compress ? gzipped : content, content.length));
+                RUN_REFS.add(hash);
+            }
+        }
+        return PREFIX + hash + "." + ext;
+    }
+
+    private static PackWriter runPack() throws IOException {
+        if (runPack == null) {
+            runPack = PackWriter.open(dir(), runPackName());
+            try {
+                Runtime.getRuntime().addShutdownHook(new Thread(ArtifactStore::closeRunPack, "artifact-store-close"));
+            } catch (IllegalStateException shuttingDown) {
+                // a late artifact from another shutdown hook; every entry is flushed as it is written anyway
+            }
+        }
+        return runPack;
+    }
+
+    private static synchronized void closeRunPack() {
+        if (runPack == null) return;
+        runPack.close();
+        System.out.println("[ArtifactStore] 📦 " + runPack.blobs() + " new blob(s), " + runPack.bytes() + " bytes in "
+                + dir().resolve(runPackName() + ".pack") + "; " + (RUN_REFS.size() - runPack.blobs()) + " reused");
+        runPack = null;
+    }
+
+    // ---------- Reading ----------
+    public static boolean isContentId(String value) {
+        return value != null && value.startsWith(PREFIX);
+    }
+
+    public static synchronized boolean contains(String id) {
+        String hash = hash(id);
+        if (hash == null) return false;
+        load();
+        return BLOBS.containsKey(hash);
+    }
+
+    /** The stored blob behind a content id, or null when the id is unknown (e.g. removed by retention). */
+    public static Blob get(String id) throws IOException {
+        String hash = hash(id);
+        if (hash == null) return null;
+        Location location;
+        synchronized (ArtifactStore.class) {
+            load();
+            location = BLOBS.get(hash);
+        }
+        if (location == null) return null;
+        try {
+            return new Blob(location.codec, extension(id), read(location));
+        } catch (NoSuchFileException compacted) {
+            // Another process compacted the store since it was loaded: the blob has moved, or expired
+            synchronized (ArtifactStore.class) {
+                reload();
+                location = BLOBS.get(hash);
+            }
+            return location == null ? null : new Blob(location.codec, extension(id), read(location));
+        }
+    }
+
+    static byte[] read(Location location) throws IOException {
+        byte[] stored = new byte[Math.toIntExact(location.length)];
+        try (FileChannel channel = FileChannel.open(location.pack, StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.wrap(stored);
+            long position = location.offset;
+            while (buffer.hasRemaining()) {
+                int n = channel.read(buffer, position);
+                if (n < 0) throw new IOException("Truncated pack " + location.pack);
+                position += n;
+            }
+        }
+        return stored;
+    }
+
+    // ---------- Inter-process lock ----------
+    /**
+     * Locks the store against other JVMs; closing the returned channel releases it. Null when wait is false and the
+     * lock is held elsewhere. Callers hold the ArtifactStore monitor, so one JVM never requests it twice.
+     */
+    static FileChannel lock(boolean shared, boolean wait) throws IOException {
+        Files.createDirectories(dir());
+        FileChannel channel = FileChannel.open(dir().resolve(LOCK_FILE),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            FileLock lock = wait ? channel.lock(0, Long.MAX_VALUE, shared) : channel.tryLock(0, Long.MAX_VALUE, shared);
+            if (lock != null) return channel;
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+        channel.close();
+        return null;
+    }
+
+    // ---------- Index ----------
+    // Every pack's blobs, read once per JVM and kept current by put(); ArtifactCompactor forces a reload
+    private static void load() {
+        if (loaded) return;
+        loaded = true;
+        try (DirectoryStream<Path> indexes = Files.newDirectoryStream(dir(), "*.idx")) {
+            for (Path index : indexes) {
+                for (IndexEntry entry : IndexEntry.read(index)) {
+                    if (entry.stored()) BLOBS.putIfAbsent(entry.hash, entry.location);
+                }
+            }
+        } catch (IOException e) {
+            if (Files.isDirectory(dir())) System.err.println("[ArtifactStore] ⚠️ Index not fully read: " + e.getMessage());
+        }
+    }
+
+    static synchronized void reload() {
+        BLOBS.clear();
+        loaded = false;
+        load();
+    }
+
+    // ---------- Helpers ----------
+    private static String hash(String id) {
+        if (!isContentId(id)) return null;
+        int dot = id.indexOf('.', PREFIX.length());
+        String hash = id.substring(PREFIX.length(), dot < 0 ? id.length() : dot);
+        return hash.length() == 64 ? hash.toLowerCase(Locale.ROOT) : null;
+    }
+
+    // "bin" for names without a usable extension; only [a-z0-9] survive so ids stay URL- and path-safe
+    static String extension(String name) {
+        int dot = name.lastIndexOf('.');
+        String ext = dot < 0 ? "" : name.substring(dot + 1).toLowerCase(Locale.ROOT).replaceAll("[^a-z0-9]", "");
+        return ext.isEmpty() || ext.length() > 8 ? "bin" : ext;
+    }
+
+    static String sha256(byte[] content) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static byte[] gzip(byte[] content) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, content.length / 4));
+        try (GZIPOutputStream gz = new GZIPOutputStream(out, 8192)) {
+            gz.write(content);
+        }
+        return out.toByteArray();
+    }
+
+    // ---------- Model ----------
+    /** Where a blob lives: a byte range of a pack file. */
+    static final class Location {
+        final Path pack;
+        final long offset;
+        final long length;
+        final long rawLength;
+        final String codec;
+
+        Location(Path pack, long offset, long length, long rawLength, String codec) {
+            this.pack = pack;
+            this.offset = offset;
+            this.length = length;
+            this.rawLength = rawLength;
+            this.codec = codec;
+        }
+    }
+
+    /** A stored payload; gzipped ones can be sent as-is to clients that accept gzip. */
+    public static final class Blob {
+        private final String codec;
+        private final String extension;
+        private final byte[] stored;
+
+        Blob(String codec, String extension, byte[] stored) {
+            this.codec = codec;
+            this.extension = extension;
+            this.stored = stored;
+        }
+
+        public boolean isGzipped() {
+            return CODEC_GZIP.equals(codec);
+        }
+
+        /** The bytes as stored: gzip data when {@link #isGzipped()}, the payload otherwise. */
+        public byte[] stored() {
+            return stored;
+        }
+
+        public byte[] bytes() throws IOException {
+            if (!isGzipped()) return stored;
+            try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(stored))) {
+                return in.readAllBytes();
+            }
+        }
+
+        public String contentType() {
+            switch (extension) {
+                case "json": return "application/json; charset=utf-8";
+                case "png": return "image/png";
+                case "jpg":
+                case "jpeg": return "image/jpeg";
+                case "html": return "text/html; charset=utf-8";
+                case "txt":
+                case "log": return "text/plain; charset=utf-8";
+                default: return "application/octet-stream";
+            }
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package org.automation.artifacts;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * One line of a pack index:
+ *
+ *   B &lt;sha256&gt; &lt;ext&gt; &lt;gz|raw&gt; &lt;offset&gt; &lt;stored bytes&gt; &lt;raw bytes&gt;   blob stored in this pack
+ *   R &lt;sha256&gt; &lt;ext&gt;                                            blob of another pack used by this run
+ */
+final class IndexEntry {
+
+    final String hash;
+    final String ext;
+    final ArtifactStore.Location location;
+
+    private IndexEntry(String hash, String ext, ArtifactStore.Location location) {
+        this.hash = hash;
+        this.ext = ext;
+        this.location = location;
+    }
+
+    boolean stored() {
+        return location != null;
+    }
+
+    static String stored(String hash, String ext, String codec, long offset, long length, long rawLength) {
+        return "B " + hash + " " + ext + " " + codec + " " + offset + " " + length + " " + rawLength + "\n";
+    }
+
+    static String reference(String hash, String ext) {
+        return "R " + hash + " " + ext + "\n";
+    }
+
+    /** The entries of an index; malformed lines and blobs beyond the end of the pack (a crash mid-write) are skipped. */
+    static List<IndexEntry> read(Path index) throws IOException {
+        String name = index.getFileName().toString();
+        Path pack = index.resolveSibling(name.substring(0, name.length() - ".idx".length()) + ".pack");
+        long packSize = Files.exists(pack) ? Files.size(pack) : 0;
+        List<IndexEntry> entries = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(index, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] f = line.split(" ");
+                try {
+                    if (f.length == 3 && "R".equals(f[0]) && f[1].length() == 64) {
+                        entries.add(new IndexEntry(f[1], f[2], null));
+                    } else if (f.length == 7 && "B".equals(f[0]) && f[1].length() == 64) {
+                        long offset = Long.parseLong(f[4]);
+                        long length = Long.parseLong(f[5]);
+                        if (offset + length > packSize) continue;
+                        entries.add(new IndexEntry(f[1], f[2], new ArtifactStore.Location(pack, offset, length, Long.parseLong(f[6]), f[3])));
+                    }
+                } catch (NumberFormatException ignored) {
+                    // torn line
+                }
+            }
+        }
+        return entries;
+    }
+}
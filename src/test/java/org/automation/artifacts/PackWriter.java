@@ -0,0 +1,82 @@
+package org.automation.artifacts;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+
+/**
+ * Appends blobs to one pack file and their entries to its index. The index line is written (and flushed) after the
+ * blob, so an entry never points past the end of its pack; a torn last line is skipped by {@link IndexEntry#read}.
+ * Not thread-safe: {@link ArtifactStore} and {@link ArtifactCompactor} serialise access.
+ */
+final class PackWriter {
+
+    private final Path pack;
+    private final FileChannel channel;
+    private final Writer index;
+    private int blobs;
+    private long bytes;
+
+    private PackWriter(Path pack, FileChannel channel, Writer index) {
+        this.pack = pack;
+        this.channel = channel;
+        this.index = index;
+    }
+
+    /** Opens (or continues) &lt;dir&gt;/&lt;name&gt;.pack and &lt;name&gt;.idx. */
+    static PackWriter open(Path dir, String name) throws IOException {
+        return open(dir.resolve(name + ".pack"), dir.resolve(name + ".idx"));
+    }
+
+    static PackWriter open(Path pack, Path index) throws IOException {
+        Files.createDirectories(pack.getParent());
+        boolean fresh = !Files.exists(index);
+        FileChannel channel = FileChannel.open(pack, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        Writer writer = Files.newBufferedWriter(index, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        if (fresh) {
+            writer.write(ArtifactStore.INDEX_HEADER + " created=" + LocalDateTime.now() + "\n");
+            writer.flush();
+        }
+        return new PackWriter(pack, channel, writer);
+    }
+
+    ArtifactStore.Location append(String hash, String ext, String codec, byte[] stored, long rawLength) throws IOException {
+        long offset = channel.size();
+        ByteBuffer buffer = ByteBuffer.wrap(stored);
+        while (buffer.hasRemaining()) channel.write(buffer);
+        index.write(IndexEntry.stored(hash, ext, codec, offset, stored.length, rawLength));
+        index.flush();
+        blobs++;
+        bytes += stored.length;
+        return new ArtifactStore.Location(pack, offset, stored.length, rawLength, codec);
+    }
+
+    /** Records that this run uses a blob stored by another pack, so retention keeps it alive. */
+    void reference(String hash, String ext) throws IOException {
+        index.write(IndexEntry.reference(hash, ext));
+        index.flush();
+    }
+
+    int blobs() {
+        return blobs;
+    }
+
+    long bytes() {
+        return bytes;
+    }
+
+    void close() {
+        try {
+            index.close();
+            channel.close();
+        } catch (IOException e) {
+            System.err.println("[ArtifactStore] ⚠️ Could not close " + pack + ": " + e.getMessage());
+        }
+    }
+}
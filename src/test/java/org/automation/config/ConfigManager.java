@@ -1,9 +1,89 @@
 package org.automation.config;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
 public class ConfigManager {
+
+    private static final String DB_PROPERTIES = "config/db.properties";
+    private static final String FRAMEWORK_PROPERTIES = "config/framework.properties";
+
+    // Environment variable names already used by CI that don't follow the KEY_NAME convention
+    private static final Map<String, String> ENV_ALIASES = Map.of(
+            "db.username", "DB_USER",
+            "db.password", "DB_PASS"
+    );
+
+    private static final Properties PROPERTIES = loadProperties();
+
     public static final String BASE_URL_UI = "https://blazedemo.com";
     public static final String BASE_URL_API = "https://jsonplaceholder.typicode.com";
-    public static final String DB_URL = "jdbc:mysql://localhost:3306/automation_tests";
-    public static final String DB_USER = "root";
-    public static final String DB_PASS = "Ck@709136";
+    public static final String DB_URL = get("db.url", "jdbc:mysql://localhost:3306/automation_tests");
+    public static final String DB_USER = get("db.username", "root");
+    public static final String DB_PASS = get("db.password", "Ck@709136");
+
+    // ---------- Lookup ----------
+    // Resolution order: -Dkey system property, KEY_NAME environment variable, config/db.properties or
+    // config/framework.properties, default
+    public static String get(String key, String defaultValue) {
+        String value = System.getProperty(key);
+        if (isBlank(value)) value = System.getenv(ENV_ALIASES.getOrDefault(key, toEnvName(key)));
+        if (isBlank(value)) value = PROPERTIES.getProperty(key);
+        return isBlank(value) ? defaultValue : value.trim();
+    }
+
+    public static int getInt(String key, int defaultValue) {
+        String value = get(key, null);
+        try {
+            return value == null ? defaultValue : Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            System.err.println("[ConfigManager] Invalid integer for " + key + ": " + value);
+            return defaultValue;
+        }
+    }
+
+    public static long getLong(String key, long defaultValue) {
+        String value = get(key, null);
+        try {
+            return value == null ? defaultValue : Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            System.err.println("[ConfigManager] Invalid number for " + key + ": " + value);
+            return defaultValue;
+        }
+    }
+
+    public static boolean getBoolean(String key, boolean defaultValue) {
+        String value = get(key, null);
+        return value == null ? defaultValue : Boolean.parseBoolean(value);
+    }
+
+    // ---------- Helpers ----------
+    // The database connection settings and everything else live in separate files that share one key space
+    private static Properties loadProperties() {
+        Properties props = new Properties();
+        for (String file : List.of(DB_PROPERTIES, FRAMEWORK_PROPERTIES)) {
+            Path path = Paths.get(file);
+            if (!Files.exists(path)) continue;
+            try (InputStream in = Files.newInputStream(path)) {
+                props.load(in);
+            } catch (IOException e) {
+                System.err.println("[ConfigManager] Could not read " + file + ": " + e.getMessage());
+            }
+        }
+        return props;
+    }
+
+    private static String toEnvName(String key) {
+        return key.toUpperCase().replace('.', '_').replace('-', '_');
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.trim().isEmpty();
+    }
 }
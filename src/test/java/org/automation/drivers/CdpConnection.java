@@ -0,0 +1,129 @@
+package org.automation.drivers;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.WebSocket;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Minimal DevTools protocol client on the browser-level endpoint of a running Chrome. Browser contexts can only be
+ * created from the browser target, which a ChromeDriver session (always attached to a page) does not expose. Only
+ * request/response is supported; events are ignored.
+ */
+final class CdpConnection implements AutoCloseable {
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    private final WebSocket socket;
+    private final long timeoutMs;
+    private final AtomicInteger ids = new AtomicInteger();
+    private final Map<Integer, CompletableFuture<JsonNode>> pending = new ConcurrentHashMap<>();
+
+    private CdpConnection(WebSocket.Builder builder, URI uri, long timeoutMs) {
+        this.timeoutMs = timeoutMs;
+        this.socket = builder.buildAsync(uri, new Listener()).join();
+    }
+
+    /** Connects to the browser endpoint advertised by http://debuggerAddress/json/version. */
+    static CdpConnection open(String debuggerAddress, long timeoutMs) throws Exception {
+        HttpClient http = HttpClient.newBuilder().connectTimeout(Duration.ofMillis(timeoutMs)).build();
+        HttpResponse<String> version = http.send(
+                HttpRequest.newBuilder(URI.create("http://" + debuggerAddress + "/json/version"))
+                        .timeout(Duration.ofMillis(timeoutMs)).build(),
+                HttpResponse.BodyHandlers.ofString());
+        JsonNode url = JSON.readTree(version.body()).get("webSocketDebuggerUrl");
+        if (url == null) throw new IllegalStateException("No browser DevTools endpoint at " + debuggerAddress);
+        return new CdpConnection(http.newWebSocketBuilder().connectTimeout(Duration.ofMillis(timeoutMs)),
+                URI.create(url.asText()), timeoutMs);
+    }
+
+    /** Sends one command and waits for its result object. */
+    JsonNode send(String method, Map<String, Object> params) {
+        int id = ids.incrementAndGet();
+        CompletableFuture<JsonNode> reply = new CompletableFuture<>();
+        pending.put(id, reply);
+        try {
+            ObjectNode message = JSON.createObjectNode();
+            message.put("id", id);
+            message.put("method", method);
+            message.set("params", JSON.valueToTree(params));
+            String text = JSON.writeValueAsString(message);
+            // WebSocket allows one outstanding send at a time
+            synchronized (socket) {
+                socket.sendText(text, true).get(timeoutMs, TimeUnit.MILLISECONDS);
+            }
+            return reply.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(method + " failed: " + e.getCause().getMessage(), e.getCause());
+        } catch (TimeoutException e) {
+            throw new IllegalStateException(method + " timed out after " + timeoutMs + " ms", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(method + " interrupted", e);
+        } catch (Exception e) {
+            throw new IllegalStateException(method + " failed: " + e.getMessage(), e);
+        } finally {
+            pending.remove(id);
+        }
+    }
+
+    @Override
+    public void close() {
+        socket.sendClose(WebSocket.NORMAL_CLOSURE, "").exceptionally(e -> null);
+        pending.values().forEach(reply -> reply.completeExceptionally(new IllegalStateException("connection closed")));
+    }
+
+    private final class Listener implements WebSocket.Listener {
+        private final StringBuilder buffer = new StringBuilder();
+
+        @Override
+        public CompletionStage<?> onText(WebSocket webSocket, CharSequence data, boolean last) {
+            buffer.append(data);
+            if (last) {
+                dispatch(buffer.toString());
+                buffer.setLength(0);
+            }
+            webSocket.request(1);
+            return null;
+        }
+
+        @Override
+        public CompletionStage<?> onClose(WebSocket webSocket, int statusCode, String reason) {
+            pending.values().forEach(reply -> reply.completeExceptionally(new IllegalStateException("browser closed the connection")));
+            return null;
+        }
+
+        @Override
+        public void onError(WebSocket webSocket, Throwable error) {
+            pending.values().forEach(reply -> reply.completeExceptionally(error));
+        }
+
+        private void dispatch(String text) {
+            try {
+                JsonNode message = JSON.readTree(text);
+                JsonNode id = message.get("id");
+                CompletableFuture<JsonNode> reply = id == null ? null : pending.get(id.asInt());
+                if (reply == null) return;
+                JsonNode error = message.get("error");
+                if (error != null) reply.completeExceptionally(new IllegalStateException(error.path("message").asText(error.toString())));
+                else reply.complete(message.path("result"));
+            } catch (Exception e) {
+                System.err.println("[CdpConnection] ⚠️ Unreadable DevTools message: " + e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package org.automation.drivers;
+
+import org.automation.config.ConfigManager;
+import org.openqa.selenium.PageLoadStrategy;
+import org.openqa.selenium.chrome.ChromeOptions;
+
+/**
+ * The one place Chrome options are built. Headless in CI (CI=true) with the flags that keep a headless browser from
+ * doing work no test looks at; maximized locally; CHROME_BIN (or a Chrome downloaded by Selenium Manager) if set.
+ */
+public final class ChromeOptionsFactory {
+
+    private static final String[] HEADLESS_FLAGS = {
+            "--headless=new", "--no-sandbox", "--disable-dev-shm-usage", "--disable-gpu", "--disable-extensions",
+            "--disable-background-networking", "--disable-background-timer-throttling",
+            "--disable-backgrounding-occluded-windows", "--disable-renderer-backgrounding", "--disable-sync",
+            "--disable-default-apps", "--disable-component-update", "--no-first-run", "--mute-audio",
+            "--metrics-recording-only", "--window-size=1920,1080"
+    };
+
+    private ChromeOptionsFactory() {
+    }
+
+    public static boolean isHeadless() {
+        String ciEnv = System.getenv("CI");
+        return (ciEnv != null && ciEnv.equalsIgnoreCase("true")) || ConfigManager.getBoolean("ui.headless", false);
+    }
+
+    /** Options for a new browser using the given page-load strategy. */
+    public static ChromeOptions build(PageLoadStrategy pageLoad) {
+        ChromeOptions options = new ChromeOptions();
+        options.setPageLoadStrategy(pageLoad);
+
+        if (isHeadless()) {
+            System.out.println("🚀 Running in CI mode – enabling headless Chrome...");
+            options.addArguments(HEADLESS_FLAGS);
+        } else {
+            System.out.println("🖥️ Running locally – launching full Chrome browser...");
+            options.addArguments("--start-maximized");
+        }
+
+        String chromeBinary = System.getenv("CHROME_BIN");
+        if (chromeBinary != null && !chromeBinary.isEmpty()) {
+            options.setBinary(chromeBinary);
+        } else if (SharedDriverService.isEnabled()) {
+            SharedDriverService.start();
+            if (SharedDriverService.browserPath() != null) options.setBinary(SharedDriverService.browserPath());
+        }
+        return options;
+    }
+
+    /** Options for a session on an already running Chrome; only session-level settings apply there. */
+    public static ChromeOptions attach(String debuggerAddress, PageLoadStrategy pageLoad) {
+        ChromeOptions options = new ChromeOptions();
+        options.setPageLoadStrategy(pageLoad);
+        options.setExperimentalOption("debuggerAddress", debuggerAddress);
+        return options;
+    }
+}
@@ -0,0 +1,156 @@
+package org.automation.drivers;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.automation.config.ConfigManager;
+import org.openqa.selenium.HasCapabilities;
+import org.openqa.selenium.NoSuchWindowException;
+import org.openqa.selenium.PageLoadStrategy;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.decorators.Decorated;
+import org.openqa.selenium.support.decorators.WebDriverDecorator;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * One Chrome process per JVM (per surefire fork) hosting every UI test of that JVM in its own browser context –
+ * the DevTools equivalent of an incognito profile, with separate cookies, storage and cache. Test threads drive it
+ * through lightweight ChromeDriver sessions attached to the shared browser ({@link WebDriverFactory#attachToChrome});
+ * a context is created and disposed with a couple of DevTools calls instead of a browser launch and quit.
+ *
+ * An attached session sees the windows of every context, so tests get it through {@link #scope}, which limits window
+ * handles to the test's own context.
+ */
+final class SharedChrome {
+
+    private final WebDriver host;
+    private final String debuggerAddress;
+    private final CdpConnection cdp;
+
+    private SharedChrome(WebDriver host, String debuggerAddress, CdpConnection cdp) {
+        this.host = host;
+        this.debuggerAddress = debuggerAddress;
+        this.cdp = cdp;
+    }
+
+    /** Launches the shared browser and checks it can create contexts; throws if this Chrome cannot. */
+    static SharedChrome launch() throws Exception {
+        WebDriver host = WebDriverFactory.createChromeDriver();
+        CdpConnection cdp = null;
+        try {
+            Object chromeOptions = ((HasCapabilities) host).getCapabilities().getCapability("goog:chromeOptions");
+            Object address = chromeOptions instanceof Map ? ((Map<?, ?>) chromeOptions).get("debuggerAddress") : null;
+            if (address == null) throw new IllegalStateException("ChromeDriver did not report a debuggerAddress");
+
+            cdp = CdpConnection.open(address.toString(), ConfigManager.getLong("ui.context.cdpTimeoutMs", 10000));
+            String probe = cdp.send("Target.createBrowserContext", Map.of("disposeOnDetach", false)).path("browserContextId").asText();
+            cdp.send("Target.disposeBrowserContext", Map.of("browserContextId", probe));
+            return new SharedChrome(host, address.toString(), cdp);
+        } catch (Exception | LinkageError e) {
+            if (cdp != null) cdp.close();
+            host.quit();
+            throw e;
+        }
+    }
+
+    /** A new driver for a test thread; it sees the shared browser and is moved into a context by {@link #openContext}. */
+    WebDriver attach(PageLoadStrategy pageLoad) {
+        return WebDriverFactory.attachToChrome(debuggerAddress, pageLoad);
+    }
+
+    /** Creates a fresh context with one blank window, switches the driver to it and returns the context id. */
+    String openContext(WebDriver driver) {
+        String contextId = cdp.send("Target.createBrowserContext", Map.of("disposeOnDetach", false))
+                .path("browserContextId").asText();
+        try {
+            JsonNode target = cdp.send("Target.createTarget",
+                    Map.of("url", "about:blank", "browserContextId", contextId, "newWindow", true));
+            switchTo(driver, target.path("targetId").asText());
+            return contextId;
+        } catch (RuntimeException e) {
+            closeContext(contextId);
+            throw e;
+        }
+    }
+
+    /**
+     * The driver as a test sees it: getWindowHandles() lists only the windows of the session's current context, and
+     * switching to a window of another context fails as if it did not exist.
+     */
+    WebDriver scope(WebDriver driver, Supplier<String> contextId) {
+        return new WebDriverDecorator<>() {
+            @Override
+            public Object call(Decorated<?> target, Method method, Object[] args) throws Throwable {
+                Object original = target.getOriginal();
+                if (original instanceof WebDriver && method.getName().equals("getWindowHandles")) {
+                    return ownHandles(driver.getWindowHandles(), contextId.get());
+                }
+                if (original instanceof WebDriver.TargetLocator && method.getName().equals("window")
+                        && !ownHandles(driver.getWindowHandles(), contextId.get()).contains((String) args[0])) {
+                    throw new NoSuchWindowException("No window " + args[0] + " in this test's browser context");
+                }
+                return super.call(target, method, args);
+            }
+        }.decorate(driver);
+    }
+
+    private Set<String> ownHandles(Set<String> handles, String contextId) {
+        List<String> targetIds = new ArrayList<>();
+        for (JsonNode target : cdp.send("Target.getTargets", Map.of()).path("targetInfos")) {
+            if (contextId.equals(target.path("browserContextId").asText())) targetIds.add(target.path("targetId").asText());
+        }
+        Set<String> own = new LinkedHashSet<>();
+        for (String handle : handles) {
+            for (String targetId : targetIds) {
+                if (isTarget(handle, targetId)) own.add(handle);
+            }
+        }
+        return own;
+    }
+
+    /** Disposes a context together with every window and popup opened in it. */
+    void closeContext(String contextId) {
+        if (contextId != null) cdp.send("Target.disposeBrowserContext", Map.of("browserContextId", contextId));
+    }
+
+    void shutdown() {
+        cdp.close();
+        try {
+            host.quit();
+        } catch (RuntimeException ignored) {
+            // already gone
+        }
+    }
+
+    // ChromeDriver names windows after their DevTools target id
+    private static boolean isTarget(String handle, String targetId) {
+        return handle.regionMatches(true, Math.max(0, handle.length() - targetId.length()), targetId, 0, targetId.length());
+    }
+
+    // ChromeDriver may take a moment to notice a new target
+    private static void switchTo(WebDriver driver, String targetId) {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (true) {
+            for (String handle : driver.getWindowHandles()) {
+                if (isTarget(handle, targetId)) {
+                    driver.switchTo().window(handle);
+                    return;
+                }
+            }
+            if (System.currentTimeMillis() > deadline) {
+                throw new IllegalStateException("Window for target " + targetId + " not visible to ChromeDriver");
+            }
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted waiting for target " + targetId, e);
+            }
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package org.automation.drivers;
+
+import org.automation.config.ConfigManager;
+import org.openqa.selenium.chrome.ChromeDriverService;
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.remote.service.DriverFinder;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.net.URISyntaxException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One chromedriver server per JVM (per surefire fork) that every ChromeDriver session connects to, instead of each
+ * session spawning its own server and waiting for it to bind a port. Started eagerly by SuiteExecutionListener
+ * (lazily otherwise), pinged every ui.driverService.healthCheckMs and restarted on the same port when it stops
+ * answering. Sessions still open on a dead server fail and are recycled by {@link WebDriverPool}.
+ */
+public final class SharedDriverService {
+
+    private static Service service;
+    private static String browserPath;
+    private static ScheduledExecutorService monitor;
+
+    private SharedDriverService() {
+    }
+
+    public static boolean isEnabled() {
+        return ConfigManager.getBoolean("ui.driverService.shared", true);
+    }
+
+    /** The running service, starting (or restarting) it when needed. */
+    public static synchronized ChromeDriverService get() {
+        if (service == null) start();
+        else if (!service.isRunning()) restart("not running");
+        return service;
+    }
+
+    /** Starts the server and its health monitor; a no-op when already started. */
+    public static synchronized void start() {
+        if (service != null) return;
+        long begin = System.nanoTime();
+        try {
+            Builder builder = new Builder();
+            builder.usingAnyFreePort();
+            Service created = builder.buildShared();
+            // Resolve chromedriver (and a managed Chrome, if Selenium Manager provides one) once, not per session
+            DriverFinder finder = new DriverFinder(created, new ChromeOptions());
+            created.setExecutable(finder.getDriverPath());
+            browserPath = finder.hasBrowserPath() ? finder.getBrowserPath() : null;
+            created.start();
+            service = created;
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not start chromedriver: " + e.getMessage(), e);
+        }
+        System.out.printf("[SharedDriverService] 🚗 chromedriver listening on %s (%d ms)%n",
+                service.getUrl(), (System.nanoTime() - begin) / 1_000_000);
+
+        if (monitor != null) return;
+        Runtime.getRuntime().addShutdownHook(new Thread(SharedDriverService::shutdown, "chromedriver-shutdown"));
+        long interval = Math.max(100, ConfigManager.getLong("ui.driverService.healthCheckMs", 5000));
+        monitor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "chromedriver-monitor");
+            t.setDaemon(true);
+            return t;
+        });
+        monitor.scheduleWithFixedDelay(SharedDriverService::checkHealth, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /** Browser binary downloaded by Selenium Manager when no Chrome is installed, otherwise null. */
+    static synchronized String browserPath() {
+        return browserPath;
+    }
+
+    // ---------- Health ----------
+    private static void checkHealth() {
+        Service current;
+        synchronized (SharedDriverService.class) {
+            current = service;
+        }
+        if (current == null || (current.isRunning() && answers(current))) return;
+        synchronized (SharedDriverService.class) {
+            if (service == current) restart(current.isRunning() ? "not answering /status" : "process exited");
+        }
+    }
+
+    private static boolean answers(Service current) {
+        try {
+            HttpURLConnection conn = (HttpURLConnection) current.getUrl().toURI().resolve("/status").toURL().openConnection();
+            conn.setConnectTimeout(2000);
+            conn.setReadTimeout(2000);
+            try {
+                return conn.getResponseCode() == 200;
+            } finally {
+                conn.disconnect();
+            }
+        } catch (IOException | URISyntaxException e) {
+            return false;
+        }
+    }
+
+    private static void restart(String reason) {
+        System.err.println("[SharedDriverService] ⚠️ chromedriver " + reason + " – restarting");
+        service.shutdown();
+        try {
+            service.start();
+        } catch (IOException e) {
+            System.err.println("[SharedDriverService] ❌ Restart failed: " + e.getMessage());
+        }
+    }
+
+    private static synchronized void shutdown() {
+        if (monitor != null) monitor.shutdownNow();
+        if (service != null) service.shutdown();
+    }
+
+    // ---------- Selenium hooks ----------
+    // ChromeDriver stops its service when a session quits; the shared one outlives its sessions
+    private static final class Service extends ChromeDriverService {
+        Service(File executable, int port, Duration timeout, List<String> args, Map<String, String> environment) throws IOException {
+            super(executable, port, timeout, args, environment);
+        }
+
+        @Override
+        public void stop() {
+            // ignored – see shutdown()
+        }
+
+        void shutdown() {
+            try {
+                super.stop();
+            } catch (RuntimeException e) {
+                System.err.println("[SharedDriverService] ⚠️ chromedriver did not stop cleanly: " + e.getMessage());
+            }
+        }
+    }
+
+    private static final class Builder extends ChromeDriverService.Builder {
+        @Override
+        protected ChromeDriverService createDriverService(File exe, int port, Duration timeout, List<String> args, Map<String, String> environment) {
+            try {
+                return new Service(exe, port, timeout, args, environment);
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        Service buildShared() {
+            return (Service) build();
+        }
+    }
+}
@@ -1,28 +1,45 @@
 package org.automation.drivers;
 
+import org.automation.ui.DriverManager;
+import org.openqa.selenium.PageLoadStrategy;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.chrome.ChromeDriver;
 import org.openqa.selenium.chrome.ChromeOptions;
 
 public class WebDriverFactory {
-    private static final ThreadLocal<WebDriver> driverThreadLocal = new ThreadLocal<>();
 
+    // Thread state lives in DriverManager only; these keep the old entry points working
     public static void initDriver() {
-        if (driverThreadLocal.get() == null) {
-            ChromeOptions options = new ChromeOptions();
-            options.addArguments("--start-maximized");
-            driverThreadLocal.set(new ChromeDriver(options));
+        if (DriverManager.getDriver() == null) {
+            DriverManager.startSession(1);
         }
     }
 
     public static WebDriver getDriver() {
-        return driverThreadLocal.get();
+        return DriverManager.getDriver();
     }
 
     public static void quitDriver() {
-        if (driverThreadLocal.get() != null) {
-            driverThreadLocal.get().quit();
-            driverThreadLocal.remove();
-        }
+        DriverManager.endSession(null);
+    }
+
+    // ---------- Chrome for UI tests ----------
+    /** Launches Chrome with the options from {@link ChromeOptionsFactory}. */
+    public static WebDriver createChromeDriver() {
+        return createChromeDriver(PageLoadStrategy.NORMAL);
+    }
+
+    public static WebDriver createChromeDriver(PageLoadStrategy pageLoad) {
+        return newChromeDriver(ChromeOptionsFactory.build(pageLoad));
+    }
+
+    /** A ChromeDriver session on an already running Chrome (host:port of its DevTools endpoint); it starts no browser. */
+    public static WebDriver attachToChrome(String debuggerAddress, PageLoadStrategy pageLoad) {
+        return newChromeDriver(ChromeOptionsFactory.attach(debuggerAddress, pageLoad));
+    }
+
+    // Sessions share the JVM's chromedriver server unless ui.driverService.shared=false
+    private static WebDriver newChromeDriver(ChromeOptions options) {
+        return SharedDriverService.isEnabled() ? new ChromeDriver(SharedDriverService.get(), options) : new ChromeDriver(options);
     }
 }
@@ -0,0 +1,533 @@
+package org.automation.drivers;
+
+import org.automation.config.ConfigManager;
+import org.openqa.selenium.Dimension;
+import org.openqa.selenium.NoAlertPresentException;
+import org.openqa.selenium.PageLoadStrategy;
+import org.openqa.selenium.Point;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WindowType;
+import org.openqa.selenium.chromium.HasCdp;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * Bounded pool of pre-launched browser sessions that {@link org.automation.ui.DriverManager} leases to test threads,
+ * so a UI test pays for a browser launch only when a session is first created or recycled.
+ *
+ * Capacity follows the TestNG thread count passed to {@link #ensureCapacity} (or ui.pool.size when set), and new
+ * capacity is filled in the background on up to ui.pool.startupConcurrency threads. On return a session is reset to
+ * what a fresh browser looks like: alerts dismissed, a new blank tab opened and every other window closed (which
+ * also drops history and sessionStorage), cookies, cache and the storage of every origin in the windows' history
+ * cleared over CDP, window size and timeouts restored. A session is health-checked on lease and retired – quit and
+ * replaced – after ui.pool.maxUses leases, when its test died of a browser error, or when any step of the reset fails.
+ *
+ * With ui.pool.mode=context the sessions are instead attached to one shared Chrome ({@link SharedChrome}) and each
+ * test runs in its own browser context; returning a session disposes its context and opens a new one. When the
+ * shared browser cannot be launched or cannot create contexts, the pool falls back to one browser per session.
+ *
+ * Idle sessions are kept per page-load strategy, since chromedriver fixes the strategy when a session is created, but
+ * every strategy shares the one capacity: when a test needs a strategy none of the idle sessions has and the pool is
+ * full, an idle session of another strategy is quit to make room.
+ *
+ * Metrics (lease wait, startup time, context open/close time, recycle reasons) are printed at shutdown and available
+ * from {@link #stats()}.
+ */
+public final class WebDriverPool {
+
+    private static WebDriverPool instance;
+    private static SharedChrome sharedChrome;
+    private static boolean sharedChecked;
+
+    private final Function<PageLoadStrategy, WebDriver> factory;
+    private final SharedChrome shared;
+    private final int maxUses;
+    private final long leaseTimeoutMs;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition available = lock.newCondition();
+    private final Map<PageLoadStrategy, Deque<Session>> idle = new EnumMap<>(PageLoadStrategy.class);
+    private final Set<Session> all = ConcurrentHashMap.newKeySet();
+    private final ExecutorService launcher;
+    private int capacity;
+    private int live;
+    private boolean closed;
+
+    private final LongAdder leases = new LongAdder();
+    private final LongAdder leaseWaitNanos = new LongAdder();
+    private final AtomicLong maxLeaseWaitNanos = new AtomicLong();
+    private final LongAdder startups = new LongAdder();
+    private final LongAdder startupNanos = new LongAdder();
+    private final AtomicLong maxStartupNanos = new AtomicLong();
+    private final LongAdder contexts = new LongAdder();
+    private final LongAdder contextOpenNanos = new LongAdder();
+    private final LongAdder contextCloses = new LongAdder();
+    private final LongAdder contextCloseNanos = new LongAdder();
+    private final Map<String, LongAdder> recycled = new ConcurrentHashMap<>();
+
+    private WebDriverPool(Function<PageLoadStrategy, WebDriver> factory, SharedChrome shared) {
+        this.factory = factory;
+        this.shared = shared;
+        this.maxUses = Math.max(1, ConfigManager.getInt("ui.pool.maxUses", 50));
+        this.leaseTimeoutMs = ConfigManager.getLong("ui.pool.leaseTimeoutMs", 120000);
+        this.launcher = Executors.newFixedThreadPool(Math.max(1, ConfigManager.getInt("ui.pool.startupConcurrency", 4)), r -> {
+            Thread t = new Thread(r, "webdriver-pool-launcher");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /** The JVM's pool, holding the sessions of every page-load strategy. */
+    public static synchronized WebDriverPool getInstance() {
+        if (instance == null) {
+            SharedChrome shared = sharedChrome();
+            instance = new WebDriverPool(shared != null ? shared::attach : WebDriverFactory::createChromeDriver, shared);
+            Runtime.getRuntime().addShutdownHook(new Thread(instance::shutdown, "webdriver-pool-shutdown"));
+        }
+        return instance;
+    }
+
+    public static boolean isEnabled() {
+        return ConfigManager.getBoolean("ui.pool.enabled", true);
+    }
+
+    // Launched at most once per JVM
+    private static SharedChrome sharedChrome() {
+        if (sharedChecked) return sharedChrome;
+        sharedChecked = true;
+        if (!"context".equalsIgnoreCase(ConfigManager.get("ui.pool.mode", "process"))) return null;
+        try {
+            sharedChrome = SharedChrome.launch();
+            Runtime.getRuntime().addShutdownHook(new Thread(sharedChrome::shutdown, "shared-chrome-shutdown"));
+            System.out.println("[WebDriverPool] 🧩 Shared Chrome started – one browser context per test");
+        } catch (Exception | LinkageError e) {
+            System.err.println("[WebDriverPool] ⚠️ Browser contexts unavailable (" + e.getMessage() + ") – using one browser per session");
+        }
+        return sharedChrome;
+    }
+
+    // ---------- Sizing ----------
+    /**
+     * Grows the pool to the given number of sessions (ui.pool.size overrides) and starts launching them with the
+     * given page-load strategy.
+     */
+    public void ensureCapacity(int threads, PageLoadStrategy pageLoad) {
+        int configured = ConfigManager.getInt("ui.pool.size", 0);
+        int target = Math.max(1, configured > 0 ? configured : threads);
+        int toLaunch;
+        lock.lock();
+        try {
+            if (closed || target <= capacity) return;
+            capacity = target;
+            toLaunch = capacity - live;
+            live += toLaunch;
+        } finally {
+            lock.unlock();
+        }
+        System.out.println("[WebDriverPool] capacity " + target + " – pre-launching " + toLaunch + " " + pageLoad + " browser(s)");
+        for (int i = 0; i < toLaunch; i++) launcher.submit(() -> launchIdle(pageLoad));
+    }
+
+    // The slot was reserved (live++) by the caller
+    private void launchIdle(PageLoadStrategy pageLoad) {
+        Session session;
+        try {
+            session = create(pageLoad);
+        } catch (RuntimeException e) {
+            System.err.println("[WebDriverPool] ❌ Browser launch failed: " + e.getMessage());
+            lock.lock();
+            try {
+                live--;
+                available.signalAll();
+            } finally {
+                lock.unlock();
+            }
+            return;
+        }
+        lock.lock();
+        try {
+            if (closed) {
+                if (all.remove(session)) quitQuietly(session);
+                return;
+            }
+            idle(pageLoad).addLast(session);
+            available.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // ---------- Lease / release ----------
+    /** A session created with the given page-load strategy; waits up to ui.pool.leaseTimeoutMs for one to be free. */
+    public Session lease(PageLoadStrategy pageLoad) {
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.MILLISECONDS.toNanos(leaseTimeoutMs);
+        while (true) {
+            Session session = null;
+            Session evicted = null;
+            boolean launch = false;
+            lock.lock();
+            try {
+                while (session == null && !launch) {
+                    if (closed) throw new IllegalStateException("WebDriverPool is shut down");
+                    session = idle(pageLoad).pollFirst();
+                    if (session == null && live < capacity) {
+                        live++;
+                        launch = true;
+                    }
+                    // The replacement takes over the slot of the evicted session
+                    if (session == null && !launch) {
+                        evicted = pollOtherIdle(pageLoad);
+                        launch = evicted != null;
+                    }
+                    if (session == null && !launch) {
+                        long remaining = deadline - System.nanoTime();
+                        if (remaining <= 0) {
+                            throw new IllegalStateException("No browser session free after " + leaseTimeoutMs + " ms (capacity " + capacity + ")");
+                        }
+                        available.awaitNanos(remaining);
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted waiting for a browser session", e);
+            } finally {
+                lock.unlock();
+            }
+
+            if (evicted != null) {
+                recycled.computeIfAbsent("page-load-strategy", r -> new LongAdder()).increment();
+                discard(evicted);
+            }
+            long waited = System.nanoTime() - start;
+            if (launch) {
+                try {
+                    session = create(pageLoad);
+                } catch (RuntimeException e) {
+                    releaseSlot();
+                    throw e;
+                }
+            } else if (!isHealthy(session)) {
+                retire(session, "unhealthy");
+                continue;
+            }
+            leases.increment();
+            leaseWaitNanos.add(waited);
+            maxLeaseWaitNanos.accumulateAndGet(waited, Math::max);
+            session.uses++;
+            return session;
+        }
+    }
+
+    /** Returns a session after a test; testError is the test's throwable, if any. */
+    public void release(Session session, Throwable testError) {
+        String reason = null;
+        if (testError != null && !(testError instanceof AssertionError)) reason = "test-error";
+        else if (session.uses >= maxUses) reason = "max-uses";
+        if (reason == null) {
+            try {
+                reset(session);
+            } catch (RuntimeException e) {
+                reason = "reset-failed";
+            }
+        }
+        if (reason != null) {
+            retire(session, reason);
+            return;
+        }
+        lock.lock();
+        try {
+            if (closed) {
+                if (all.remove(session)) quitQuietly(session);
+                return;
+            }
+            idle(session.pageLoad).addFirst(session);
+            available.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Quits off the test thread and launches a replacement so the pool stays warm
+    private void retire(Session session, String reason) {
+        recycled.computeIfAbsent(reason, r -> new LongAdder()).increment();
+        discard(session);
+        boolean replace;
+        lock.lock();
+        try {
+            live--;
+            replace = !closed && live < capacity;
+            if (replace) live++;
+            available.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        if (replace) launcher.submit(() -> launchIdle(session.pageLoad));
+    }
+
+    // Whoever removes a session from all quits it, so shutdown() never quits it a second time
+    private void discard(Session session) {
+        if (all.remove(session)) {
+            launcher.submit(() -> {
+                closeContextQuietly(session);
+                quitQuietly(session);
+            });
+        }
+    }
+
+    // Called with the lock held; the least recently returned idle session of any other strategy
+    private Session pollOtherIdle(PageLoadStrategy pageLoad) {
+        for (Map.Entry<PageLoadStrategy, Deque<Session>> entry : idle.entrySet()) {
+            if (entry.getKey() != pageLoad && !entry.getValue().isEmpty()) return entry.getValue().pollLast();
+        }
+        return null;
+    }
+
+    private Deque<Session> idle(PageLoadStrategy pageLoad) {
+        return idle.computeIfAbsent(pageLoad, p -> new ArrayDeque<>());
+    }
+
+    private void releaseSlot() {
+        lock.lock();
+        try {
+            live--;
+            available.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // ---------- Sessions ----------
+    private Session create(PageLoadStrategy pageLoad) {
+        long start = System.nanoTime();
+        WebDriver driver = factory.apply(pageLoad);
+        long elapsed = System.nanoTime() - start;
+        startups.increment();
+        startupNanos.add(elapsed);
+        maxStartupNanos.accumulateAndGet(elapsed, Math::max);
+
+        Session session = new Session(this, driver, pageLoad);
+        if (shared != null) {
+            session.view = shared.scope(driver, () -> session.contextId);
+            try {
+                session.contextId = openContext(driver);
+            } catch (RuntimeException e) {
+                quitQuietly(session);
+                throw e;
+            }
+            all.add(session);
+            return session;
+        }
+        try {
+            session.homeSize = driver.manage().window().getSize();
+            session.homePosition = driver.manage().window().getPosition();
+        } catch (RuntimeException ignored) {
+            // window geometry is only restored when it could be read
+        }
+        all.add(session);
+        return session;
+    }
+
+    private static boolean isHealthy(Session session) {
+        try {
+            session.driver.getWindowHandle();
+            return true;
+        } catch (RuntimeException e) {
+            return false;
+        }
+    }
+
+    private void reset(Session session) {
+        if (shared != null) {
+            resetContext(session);
+            return;
+        }
+        WebDriver driver = session.driver;
+        Set<String> origins = new LinkedHashSet<>();
+        Set<String> oldWindows = driver.getWindowHandles();
+        for (String handle : oldWindows) {
+            driver.switchTo().window(handle);
+            dismissAlert(driver);
+            if (driver instanceof HasCdp) origins.addAll(historyOrigins((HasCdp) driver));
+        }
+
+        // A new tab has no history and no sessionStorage; closing the old windows drops theirs
+        driver.switchTo().newWindow(WindowType.TAB);
+        String fresh = driver.getWindowHandle();
+        for (String handle : oldWindows) {
+            driver.switchTo().window(handle);
+            driver.close();
+        }
+        driver.switchTo().window(fresh);
+
+        if (driver instanceof HasCdp) {
+            HasCdp cdp = (HasCdp) driver;
+            cdp.executeCdpCommand("Network.clearBrowserCookies", Collections.emptyMap());
+            cdp.executeCdpCommand("Network.clearBrowserCache", Collections.emptyMap());
+            for (String origin : origins) {
+                cdp.executeCdpCommand("Storage.clearDataForOrigin", Map.of("origin", origin, "storageTypes", "all"));
+            }
+        } else {
+            driver.manage().deleteAllCookies();
+        }
+
+        resetTimeouts(driver);
+        WebDriver.Options manage = driver.manage();
+        if (session.homeSize != null && !session.homeSize.equals(manage.window().getSize())) {
+            manage.window().setPosition(session.homePosition);
+            manage.window().setSize(session.homeSize);
+        }
+    }
+
+    // The next test gets a brand-new context; disposing the old one drops its windows, cookies, storage and cache
+    private void resetContext(Session session) {
+        String previous = session.contextId;
+        session.contextId = openContext(session.driver);
+        long start = System.nanoTime();
+        shared.closeContext(previous);
+        contextCloses.increment();
+        contextCloseNanos.add(System.nanoTime() - start);
+        resetTimeouts(session.driver);
+    }
+
+    private String openContext(WebDriver driver) {
+        long start = System.nanoTime();
+        String contextId = shared.openContext(driver);
+        contexts.increment();
+        contextOpenNanos.add(System.nanoTime() - start);
+        return contextId;
+    }
+
+    private void closeContextQuietly(Session session) {
+        try {
+            if (shared != null) shared.closeContext(session.contextId);
+        } catch (RuntimeException ignored) {
+            // the shared browser is going away as well
+        }
+    }
+
+    private static void resetTimeouts(WebDriver driver) {
+        WebDriver.Timeouts timeouts = driver.manage().timeouts();
+        timeouts.implicitlyWait(Duration.ZERO);
+        timeouts.pageLoadTimeout(Duration.ofSeconds(300));
+        timeouts.scriptTimeout(Duration.ofSeconds(30));
+    }
+
+    private static void dismissAlert(WebDriver driver) {
+        try {
+            driver.switchTo().alert().dismiss();
+        } catch (NoAlertPresentException ignored) {
+            // nothing open
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Set<String> historyOrigins(HasCdp cdp) {
+        Set<String> origins = new LinkedHashSet<>();
+        Map<String, Object> history = cdp.executeCdpCommand("Page.getNavigationHistory", Collections.emptyMap());
+        Object entries = history.get("entries");
+        if (!(entries instanceof List)) return origins;
+        for (Object entry : (List<Object>) entries) {
+            Object url = entry instanceof Map ? ((Map<String, Object>) entry).get("url") : null;
+            if (url == null) continue;
+            try {
+                URI uri = URI.create(url.toString());
+                if (!"http".equals(uri.getScheme()) && !"https".equals(uri.getScheme())) continue;
+                origins.add(uri.getScheme() + "://" + uri.getHost() + (uri.getPort() > 0 ? ":" + uri.getPort() : ""));
+            } catch (IllegalArgumentException ignored) {
+                // not a URL we can clear storage for
+            }
+        }
+        return origins;
+    }
+
+    private static void quitQuietly(Session session) {
+        try {
+            session.driver.quit();
+        } catch (RuntimeException ignored) {
+            // already gone
+        }
+    }
+
+    // ---------- Metrics ----------
+    public String stats() {
+        long leaseCount = leases.sum();
+        long startupCount = startups.sum();
+        Map<String, Long> reasons = new TreeMap<>();
+        recycled.forEach((reason, count) -> reasons.put(reason, count.sum()));
+        long contextCount = contexts.sum();
+        long closeCount = contextCloses.sum();
+        String contextStats = shared == null ? "" : String.format(", contexts=%d, context open avg=%.1f ms close avg=%.1f ms",
+                contextCount, contextCount == 0 ? 0 : contextOpenNanos.sum() / 1e6 / contextCount,
+                closeCount == 0 ? 0 : contextCloseNanos.sum() / 1e6 / closeCount);
+        return String.format("leases=%d, leaseWait avg=%.1f ms max=%.1f ms, startups=%d, startup avg=%.0f ms max=%.0f ms, recycled=%s",
+                leaseCount, leaseCount == 0 ? 0 : leaseWaitNanos.sum() / 1e6 / leaseCount, maxLeaseWaitNanos.get() / 1e6,
+                startupCount, startupCount == 0 ? 0 : startupNanos.sum() / 1e6 / startupCount, maxStartupNanos.get() / 1e6,
+                reasons) + contextStats;
+    }
+
+    private void shutdown() {
+        lock.lock();
+        try {
+            closed = true;
+            idle.clear();
+            available.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        for (Session session : all) {
+            if (!all.remove(session)) continue;
+            closeContextQuietly(session);
+            quitQuietly(session);
+        }
+        launcher.shutdownNow();
+        System.out.println("[WebDriverPool] 📊 " + stats());
+    }
+
+    /** One pooled browser; test code only ever sees its driver. */
+    public static final class Session {
+        private final WebDriverPool pool;
+        private final WebDriver driver;
+        private final PageLoadStrategy pageLoad;
+        private WebDriver view;
+        private int uses;
+        private String contextId;
+        private Dimension homeSize;
+        private Point homePosition;
+
+        private Session(WebDriverPool pool, WebDriver driver, PageLoadStrategy pageLoad) {
+            this.pool = pool;
+            this.driver = driver;
+            this.pageLoad = pageLoad;
+            this.view = driver;
+        }
+
+        /** The driver for test code; in context mode it only sees the windows of its own context. */
+        public WebDriver getDriver() {
+            return view;
+        }
+
+        /** Returns the session to the pool it was leased from. */
+        public void release(Throwable testError) {
+            pool.release(this, testError);
+        }
+    }
+}
@@ -1,8 +1,14 @@
 package org.automation.listeners;
 
+import org.automation.api.ApiArtifactWriter;
 import org.automation.reports.CsvReportGenerator;
 import org.automation.reports.ExcelReportGenerator;
 import org.automation.reports.HtmlReportGenerator;
+import org.automation.reports.ReportPipeline;
+import org.automation.reports.ReportScope;
+import org.automation.utils.ResultWriter;
+import org.automation.utils.RunRegistry;
+import org.automation.utils.ScreenshotEncoder;
 import org.testng.ISuite;
 import org.testng.ISuiteListener;
 
@@ -11,10 +17,22 @@ public class ReportListener implements ISuiteListener {
     @Override
     public void onFinish(ISuite suite) {
         try {
-            System.out.println("[ReportListener] ✅ Generating reports...");
-            HtmlReportGenerator.generateReport();
-            CsvReportGenerator.generateReport();
-            ExcelReportGenerator.generateReport();
+            // Reports read execution_log, so close the run and wait for the async writers to drain first;
+            // API and failed UI rows are queued only once their artifact or screenshot is stored
+            RunRegistry.finish(suite);
+            ApiArtifactWriter.flushPending();
+            ScreenshotEncoder.flushPending();
+            ResultWriter.getInstance().flush();
+            ReportScope scope = ReportScope.forSuite(suite);
+            System.out.println("[ReportListener] ✅ Generating reports (" + scope + ")...");
+            // One scan of execution_log feeds the formats, each on its own thread; over the full history the CSV
+            // export is incremental and reads only the rows past its watermark, so it runs its own query instead
+            if (scope.isAll()) {
+                ReportPipeline.run(scope, HtmlReportGenerator.sink(), ExcelReportGenerator.sink());
+                CsvReportGenerator.generateReport();
+            } else {
+                ReportPipeline.run(scope, HtmlReportGenerator.sink(), CsvReportGenerator.sink(scope), ExcelReportGenerator.sink());
+            }
             System.out.println("[ReportListener] 📊 Reports generated successfully!");
         } catch (Exception e) {
             e.printStackTrace();
@@ -1,5 +1,6 @@
 package org.automation.listeners;
 
+import org.automation.drivers.SharedDriverService;
 import org.automation.ui.BaseTest;
 import org.testng.ISuite;
 import org.testng.ISuiteListener;
@@ -9,6 +10,17 @@ public class SuiteExecutionListener extends BaseTest implements ISuiteListener {
     @Override
     public void onStart(ISuite suite) {
         System.out.println("Suite Execution Started: " + suite.getName());
+
+        // Start the shared chromedriver before the first UI test needs it
+        boolean hasUiTests = suite.getAllMethods().stream()
+                .anyMatch(m -> BaseTest.class.isAssignableFrom(m.getRealClass()));
+        if (hasUiTests && SharedDriverService.isEnabled()) {
+            try {
+                SharedDriverService.start();
+            } catch (RuntimeException e) {
+                System.err.println("⚠️ chromedriver not started eagerly: " + e.getMessage());
+            }
+        }
     }
 
     @Override
@@ -1,58 +1,50 @@
 package org.automation.listeners;
 
-import org.openqa.selenium.OutputType;
-import org.openqa.selenium.TakesScreenshot;
-import org.openqa.selenium.WebDriver;
+import org.automation.api.ApiArtifactWriter;
+import org.automation.api.ApiCapture;
+import org.automation.artifacts.ArtifactCompactor;
+import org.automation.artifacts.ArtifactStore;
+import org.automation.config.ConfigManager;
+import org.automation.server.AnalyticsServer;
+import org.automation.server.RunEventBus;
 import org.automation.ui.DriverManager;
+import org.automation.utils.ExecutionRecord;
+import org.automation.utils.ResultWriter;
+import org.automation.utils.RunRegistry;
+import org.automation.utils.ScreenshotEncoder;
+import org.automation.utils.ScreenshotUtils;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
 import org.testng.ITestContext;
 import org.testng.ITestListener;
 import org.testng.ITestResult;
 
-import java.io.File;
-import java.io.FileWriter;
-import java.nio.file.Files;
-import java.nio.file.Paths;
-import java.sql.Connection;
-import java.sql.PreparedStatement;
-import java.sql.SQLException;
-import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
-public class TestSuiteListener implements ITestListener {
-
-    private static final String DB_URL = "jdbc:mysql://localhost:3306/automation_tests";
-    private static final String DB_USER = "root";
-    private static final String DB_PASS = "Ck@709136";
-    private static final String ARTIFACTS_DIR = "artifacts/";
+public class TestSuiteListener implements ITestListener, ISuiteListener {
 
     private static final int MAX_US_ID_LENGTH = 50;
     private static final int MAX_TC_ID_LENGTH = 255;
+    private static final String LIVE_KEY_ATTRIBUTE = "liveEventKey";
+    private static final int PREVIEW_CHARS = ConfigManager.getInt("api.capture.previewChars", 500);
 
     // ---------- Database Helper ----------
-    private Connection getConnection() throws SQLException {
-        return java.sql.DriverManager.getConnection(DB_URL, DB_USER, DB_PASS);
-    }
-
-    private void insertExecutionLog(String testName, String status, String type,
+    // Queued for the background ResultWriter so the test thread never waits on MySQL
+    // One upsert per run and test carries the status, timings and screenshot/artifact path together
+    private void insertExecutionLog(ITestResult result, String testName, String status, String type,
                                     String usId, String tcId, String artifact, String screenshotPath) {
         usId = truncate(usId, MAX_US_ID_LENGTH);
         tcId = truncate(tcId, MAX_TC_ID_LENGTH);
 
-        String sql = "INSERT INTO execution_log (test_name, status, test_type, us_id, tc_id, artifact, screenshot_path, execution_time) " +
-                "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
-        try (Connection conn = getConnection(); PreparedStatement ps = conn.prepareStatement(sql)) {
-            ps.setString(1, testName);
-            ps.setString(2, status);
-            ps.setString(3, type);
-            ps.setString(4, usId);
-            ps.setString(5, tcId);
-            ps.setString(6, artifact);
-            ps.setString(7, screenshotPath);
-            ps.setString(8, LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")));
-            ps.executeUpdate();
-        } catch (SQLException e) {
-            e.printStackTrace();
-        }
+        String runKey = RunRegistry.runKey(result.getTestContext().getSuite());
+        String testKey = ExecutionRecord.testKey(result);
+        ResultWriter.getInstance().enqueue(ExecutionRecord.executionLog(runKey, testKey,
+                testName, status, type, usId, tcId, artifact, screenshotPath, result.getStartMillis(), result.getEndMillis()));
+        Object liveKey = result.getAttribute(LIVE_KEY_ATTRIBUTE);
+        RunEventBus.testFinished(runKey, liveKey != null ? liveKey.toString() : testKey, testName, status,
+                Math.max(0, result.getEndMillis() - result.getStartMillis()), screenshotPath);
     }
 
     private String truncate(String value, int maxLength) {
@@ -60,49 +52,18 @@ public class TestSuiteListener implements ITestListener {
         return value.length() > maxLength ? value.substring(0, maxLength) : value;
     }
 
-    // ---------- Screenshot Helper ----------
-    private String saveScreenshot(String testName) {
-        String path = "";
-        try {
-            Files.createDirectories(Paths.get(ARTIFACTS_DIR + "screenshots/"));
-            WebDriver driver = DriverManager.getDriver();
-            if (driver != null) {
-                byte[] screenshotBytes = ((TakesScreenshot) driver).getScreenshotAs(OutputType.BYTES);
-                String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss"));
-                path = ARTIFACTS_DIR + "screenshots/" + testName + "_FAILED_" + timestamp + ".png";
-                Files.write(Paths.get(path), screenshotBytes);
-
-                System.out.println("[Artifact] Screenshot saved: " + path);
-            }
-        } catch (Exception e) {
-            e.printStackTrace();
-        }
-        return path;
-    }
-
     // ---------- API Artifact Helper ----------
-    private String saveAPIArtifact(String testName, String request, String response) {
-        String filePath = "";
-        try {
-            Files.createDirectories(Paths.get(ARTIFACTS_DIR + "api/"));
-            String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss"));
-            filePath = ARTIFACTS_DIR + "api/" + testName + "_" + timestamp + ".json";
-
-            String content = "{\n" +
-                    "  \"testName\": \"" + testName + "\",\n" +
-                    "  \"timestamp\": \"" + timestamp + "\",\n" +
-                    "  \"request\": \"" + request.replace("\"", "\\\"") + "\",\n" +
-                    "  \"response\": \"" + response.replace("\"", "\\\"") + "\"\n" +
-                    "}";
-
-            try (FileWriter writer = new FileWriter(new File(filePath))) {
-                writer.write(content);
-            }
-            System.out.println("[Artifact] API artifact saved: " + filePath);
-        } catch (Exception e) {
-            e.printStackTrace();
+    // Bodies were captured during the test (ApiCapture); ApiArtifactWriter stores the artifact on its own thread
+    // and hands its content id to onSaved
+    private void saveAPIArtifact(String testName, String status, String request, Consumer<String> onSaved) {
+        List<ApiCapture.Exchange> exchanges = ApiCapture.current();
+        if (status.equals("FAIL") && !exchanges.isEmpty()) {
+            ApiCapture.Exchange last = exchanges.get(exchanges.size() - 1);
+            ApiCapture.Body body = last.getResponseBody();
+            System.out.println("[Artifact] " + testName + " last response: " + last
+                    + (body != null ? " " + body.preview(PREVIEW_CHARS) : ""));
         }
-        return filePath;
+        ApiArtifactWriter.getInstance().submit(testName, status, request, exchanges, onSaved);
     }
 
     // ---------- Save UI Test Result ----------
@@ -119,12 +80,17 @@ public class TestSuiteListener implements ITestListener {
         tcId = truncate(tcId, MAX_TC_ID_LENGTH);
         usId = truncate(usId, MAX_US_ID_LENGTH);
 
-        String screenshotPath = "";
-        if (result.getStatus() == ITestResult.FAILURE) {
-            screenshotPath = saveScreenshot(testName);
+        // One capture per failure (shared with BaseTest.tearDown); the row is written once it is stored,
+        // so it carries the screenshot's content id while the browser is already back in the pool
+        CompletableFuture<String> screenshot = result.getStatus() == ITestResult.FAILURE
+                ? ScreenshotUtils.captureFailure(result, DriverManager.getDriver()) : null;
+        if (screenshot == null) {
+            insertExecutionLog(result, testName, status, "UI", usId, tcId, "", "");
+            return;
         }
-
-        insertExecutionLog(testName, status, "UI", usId, tcId, "", screenshotPath);
+        String finalUsId = usId;
+        String finalTcId = tcId;
+        screenshot.thenAccept(path -> insertExecutionLog(result, testName, status, "UI", finalUsId, finalTcId, "", path));
     }
 
     // ---------- Save API Test Result ----------
@@ -142,15 +108,23 @@ public class TestSuiteListener implements ITestListener {
         usId = truncate(usId, MAX_US_ID_LENGTH);
 
         String requestPayload = result.getAttribute("requestPayload") != null ? result.getAttribute("requestPayload").toString() : "{}";
-        String responseBody = result.getAttribute("responseBody") != null ? result.getAttribute("responseBody").toString() : "{}";
-
-        // Save API JSON artifact
-        String artifactPath = saveAPIArtifact(testName, requestPayload, responseBody);
 
-        insertExecutionLog(testName, status, "API", usId, tcId, artifactPath, null);
+        // The row is written once the artifact is stored, so it carries the artifact's content id
+        String finalUsId = usId;
+        String finalTcId = tcId;
+        saveAPIArtifact(testName, status, requestPayload,
+                artifact -> insertExecutionLog(result, testName, status, "API", finalUsId, finalTcId, artifact, null));
     }
 
     // ---------- TestNG Hooks ----------
+    // The key is kept on the result so the finish event matches its start even if the invocation count moves on
+    @Override
+    public void onTestStart(ITestResult result) {
+        String liveKey = ExecutionRecord.testKey(result);
+        result.setAttribute(LIVE_KEY_ATTRIBUTE, liveKey);
+        RunEventBus.testStarted(RunRegistry.runKey(result.getTestContext().getSuite()), liveKey, result.getName());
+    }
+
     @Override
     public void onTestSuccess(ITestResult result) {
         if (result.getTestClass().getName().contains(".ui.")) saveUITestResult(result);
@@ -178,4 +152,22 @@ public class TestSuiteListener implements ITestListener {
     public void onFinish(ITestContext context) {
         System.out.println("Test Suite Finished: " + context.getName());
     }
+
+    @Override
+    public void onStart(ISuite suite) {
+        RunRegistry.start(suite);
+        AnalyticsServer.acquire();
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+        RunRegistry.finish(suite);
+        // Suites without ReportListener (testng-api.xml / testng-ui.xml) still get every result persisted;
+        // API and failed UI rows are queued as their artifacts are stored, so those writers drain first
+        ApiArtifactWriter.flushPending();
+        ScreenshotEncoder.flushPending();
+        ResultWriter.getInstance().flush();
+        ArtifactCompactor.compactOnFinish();
+        AnalyticsServer.release();
+    }
 }
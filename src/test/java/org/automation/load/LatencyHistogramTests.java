@@ -0,0 +1,99 @@
+package org.automation.load;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/** Bucket precision, percentiles and merging of {@link LatencyHistogram}. */
+public class LatencyHistogramTests {
+
+    @Test(description = "An empty histogram reports zeros")
+    public void testEmpty() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        Assert.assertEquals(histogram.count(), 0);
+        Assert.assertEquals(histogram.percentileMicros(99), 0);
+        Assert.assertEquals(histogram.maxMicros(), 0);
+        Assert.assertEquals(histogram.meanMicros(), 0.0);
+    }
+
+    @Test(description = "Buckets are contiguous and every value lands within 1/64 of itself")
+    public void testBucketPrecision() {
+        for (int i = 0; i < 127 + 30 * 64 - 1; i++) {
+            Assert.assertEquals(LatencyHistogram.index(LatencyHistogram.highestEquivalent(i) + 1), i + 1, "gap after bucket " + i);
+        }
+        for (long value = 1; value < 1L << 36; value = value * 3 / 2 + 1) {
+            long reported = LatencyHistogram.highestEquivalent(LatencyHistogram.index(value));
+            Assert.assertTrue(reported >= value && reported - value <= value / 64, value + " reported as " + reported);
+        }
+    }
+
+    @Test(description = "Values below 128 µs are exact")
+    public void testSmallValuesAreExact() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int v = 1; v <= 100; v++) histogram.record(v);
+        Assert.assertEquals(histogram.percentileMicros(50), 50);
+        Assert.assertEquals(histogram.percentileMicros(99), 99);
+        Assert.assertEquals(histogram.percentileMicros(100), 100);
+        Assert.assertEquals(histogram.meanMicros(), 50.5);
+    }
+
+    @Test(description = "Percentiles of larger values stay within bucket precision, never above the max")
+    public void testPercentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int v = 1; v <= 100_000; v++) histogram.record(v);
+        assertWithin(histogram.percentileMicros(50), 50_000);
+        assertWithin(histogram.percentileMicros(99), 99_000);
+        assertWithin(histogram.percentileMicros(99.9), 99_900);
+        Assert.assertEquals(histogram.percentileMicros(100), 100_000);
+        Assert.assertEquals(histogram.maxMicros(), 100_000);
+    }
+
+    @Test(description = "Negative values count as 0 and huge ones are capped instead of failing")
+    public void testOutOfRangeValues() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(-5);
+        histogram.record(Long.MAX_VALUE);
+        Assert.assertEquals(histogram.count(), 2);
+        Assert.assertEquals(histogram.percentileMicros(50), 0);
+        Assert.assertTrue(histogram.maxMicros() > 0 && histogram.maxMicros() < Long.MAX_VALUE);
+    }
+
+    @Test(description = "Merging gives the histogram of all values")
+    public void testAdd() {
+        LatencyHistogram fast = new LatencyHistogram();
+        LatencyHistogram slow = new LatencyHistogram();
+        for (int i = 0; i < 90; i++) fast.record(1_000);
+        for (int i = 0; i < 10; i++) slow.record(50_000);
+
+        LatencyHistogram all = new LatencyHistogram();
+        all.add(fast);
+        all.add(slow);
+        Assert.assertEquals(all.count(), 100);
+        assertWithin(all.percentileMicros(90), 1_000);
+        assertWithin(all.percentileMicros(95), 50_000);
+        Assert.assertEquals(all.maxMicros(), 50_000);
+        Assert.assertEquals(all.meanMicros(), 5_900.0);
+    }
+
+    @Test(description = "Concurrent recording from many virtual threads loses nothing")
+    public void testConcurrentRecording() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        try (ExecutorService threads = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int t = 0; t < 100; t++) {
+                threads.execute(() -> {
+                    for (int i = 1; i <= 1_000; i++) histogram.record(i);
+                });
+            }
+        }
+        Assert.assertEquals(histogram.count(), 100_000);
+        Assert.assertEquals(histogram.maxMicros(), 1_000);
+        Assert.assertEquals(histogram.meanMicros(), 500.5);
+    }
+
+    private static void assertWithin(long reported, long expected) {
+        Assert.assertTrue(reported >= expected && reported - expected <= expected / 64,
+                "expected ~" + expected + " µs, got " + reported);
+    }
+}
@@ -0,0 +1,77 @@
+package org.automation.load;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/** The outcome of one load run: its settings and one row of percentiles per scenario, plus '*' for all calls. */
+public final class LoadResult {
+
+    public static final String ALL = "*";
+
+    final String runKey;
+    final String model;
+    final double targetRate;
+    final int concurrency;
+    final long durationMs;
+    final String baseUrl;
+    final long dropped;
+    final LocalDateTime startedAt;
+    final LocalDateTime finishedAt;
+    final List<Row> rows = new ArrayList<>();
+
+    LoadResult(String runKey, String model, double targetRate, int concurrency, long durationMs, String baseUrl,
+               long dropped, LocalDateTime startedAt, LocalDateTime finishedAt) {
+        this.runKey = runKey;
+        this.model = model;
+        this.targetRate = targetRate;
+        this.concurrency = concurrency;
+        this.durationMs = durationMs;
+        this.baseUrl = baseUrl;
+        this.dropped = dropped;
+        this.startedAt = startedAt;
+        this.finishedAt = finishedAt;
+    }
+
+    long requests() {
+        return rows.stream().filter(r -> !ALL.equals(r.scenario)).mapToLong(r -> r.requests).sum();
+    }
+
+    long errors() {
+        return rows.stream().filter(r -> !ALL.equals(r.scenario)).mapToLong(r -> r.errors).sum();
+    }
+
+    static final class Row {
+        final String scenario;
+        final String endpoint;
+        final long requests;
+        final long errors;
+        final double throughputRps;
+        final double p50Ms, p90Ms, p95Ms, p99Ms, p999Ms, maxMs, meanMs;
+        final double serviceP99Ms, serviceMaxMs;
+        final String firstError;
+
+        Row(String scenario, String endpoint, LatencyHistogram response, LatencyHistogram service, long errors,
+            String firstError, double seconds) {
+            this.scenario = scenario;
+            this.endpoint = endpoint;
+            this.requests = response.count();
+            this.errors = errors;
+            this.throughputRps = seconds <= 0 ? 0 : requests / seconds;
+            this.p50Ms = ms(response.percentileMicros(50));
+            this.p90Ms = ms(response.percentileMicros(90));
+            this.p95Ms = ms(response.percentileMicros(95));
+            this.p99Ms = ms(response.percentileMicros(99));
+            this.p999Ms = ms(response.percentileMicros(99.9));
+            this.maxMs = ms(response.maxMicros());
+            this.meanMs = response.meanMicros() / 1000.0;
+            this.serviceP99Ms = ms(service.percentileMicros(99));
+            this.serviceMaxMs = ms(service.maxMicros());
+            this.firstError = firstError;
+        }
+
+        private static double ms(long micros) {
+            return micros / 1000.0;
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package org.automation.load;
+
+import org.automation.utils.DatabaseUtils;
+import org.automation.utils.SchemaMigrator;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.Locale;
+
+/** Writes a {@link LoadResult} to the load_run / load_result tables (migration V5) and to a CSV file. */
+final class LoadResultStore {
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private LoadResultStore() {
+    }
+
+    /** Inserts the run and its rows in one transaction; returns the new load_run_id. */
+    static int save(LoadResult result) throws SQLException {
+        SchemaMigrator.ensureMigrated();
+        try (Connection conn = DatabaseUtils.getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                int runId = insertRun(conn, result);
+                insertRows(conn, runId, result);
+                conn.commit();
+                return runId;
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        }
+    }
+
+    private static int insertRun(Connection conn, LoadResult result) throws SQLException {
+        try (PreparedStatement ps = conn.prepareStatement(
+                "INSERT INTO load_run (run_key, model, target_rate, concurrency, duration_ms, base_url, dropped, started_at, finished_at) "
+                        + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)", Statement.RETURN_GENERATED_KEYS)) {
+            ps.setString(1, result.runKey);
+            ps.setString(2, result.model);
+            ps.setDouble(3, result.targetRate);
+            ps.setInt(4, result.concurrency);
+            ps.setLong(5, result.durationMs);
+            ps.setString(6, result.baseUrl);
+            ps.setLong(7, result.dropped);
+            ps.setTimestamp(8, Timestamp.valueOf(result.startedAt));
+            ps.setTimestamp(9, Timestamp.valueOf(result.finishedAt));
+            ps.executeUpdate();
+            try (ResultSet keys = ps.getGeneratedKeys()) {
+                if (!keys.next()) throw new SQLException("No load_run_id generated");
+                return keys.getInt(1);
+            }
+        }
+    }
+
+    private static void insertRows(Connection conn, int runId, LoadResult result) throws SQLException {
+        try (PreparedStatement ps = conn.prepareStatement(
+                "INSERT INTO load_result (load_run_id, scenario, endpoint, requests, errors, throughput_rps, p50_ms, p90_ms, "
+                        + "p95_ms, p99_ms, p999_ms, max_ms, mean_ms, service_p99_ms, service_max_ms, first_error) "
+                        + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)")) {
+            for (LoadResult.Row row : result.rows) {
+                int i = 1;
+                ps.setInt(i++, runId);
+                ps.setString(i++, row.scenario);
+                ps.setString(i++, row.endpoint);
+                ps.setLong(i++, row.requests);
+                ps.setLong(i++, row.errors);
+                ps.setDouble(i++, row.throughputRps);
+                ps.setDouble(i++, row.p50Ms);
+                ps.setDouble(i++, row.p90Ms);
+                ps.setDouble(i++, row.p95Ms);
+                ps.setDouble(i++, row.p99Ms);
+                ps.setDouble(i++, row.p999Ms);
+                ps.setDouble(i++, row.maxMs);
+                ps.setDouble(i++, row.meanMs);
+                ps.setDouble(i++, row.serviceP99Ms);
+                ps.setDouble(i++, row.serviceMaxMs);
+                String error = row.firstError;
+                ps.setString(i, error != null && error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error);
+                ps.addBatch();
+            }
+            ps.executeBatch();
+        }
+    }
+
+    // ---------- CSV ----------
+    static void writeCsv(LoadResult result, Path file) throws IOException {
+        Files.createDirectories(file.getParent());
+        try (Writer out = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            out.write("scenario,endpoint,requests,errors,throughput_rps,p50_ms,p90_ms,p95_ms,p99_ms,p999_ms,max_ms,mean_ms,"
+                    + "service_p99_ms,service_max_ms,first_error\r\n");
+            for (LoadResult.Row row : result.rows) {
+                out.write(field(row.scenario) + "," + field(row.endpoint) + "," + row.requests + "," + row.errors + ","
+                        + String.format(Locale.ROOT, "%.2f,%.3f,%.3f,%.3f,%.3f,%.3f,%.3f,%.3f,%.3f,%.3f", row.throughputRps,
+                        row.p50Ms, row.p90Ms, row.p95Ms, row.p99Ms, row.p999Ms, row.maxMs, row.meanMs, row.serviceP99Ms,
+                        row.serviceMaxMs) + "," + field(row.firstError) + "\r\n");
+            }
+        }
+    }
+
+    // RFC 4180: quoted only when the value contains a comma, quote or line break
+    private static String field(String value) {
+        if (value == null) return "";
+        if (value.chars().noneMatch(c -> c == ',' || c == '"' || c == '\r' || c == '\n')) return value;
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
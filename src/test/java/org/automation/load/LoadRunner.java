@@ -0,0 +1,243 @@
+package org.automation.load;
+
+import org.automation.config.ConfigManager;
+import org.automation.server.JsonPlaceholderServer;
+import org.automation.utils.ReportUtils;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Load mode for the API tests: drives the existing @Test methods of load.testClass (JsonPlaceholderTests) as
+ * scenarios for a set time and reports response-time percentiles and throughput per scenario.
+ *
+ *   open   – load.rate calls per second start on schedule, however slowly the system answers (arrival rate)
+ *   closed – load.concurrency virtual users call back to back, or once every load.pacingMs each
+ *
+ *   java -Dload.model=open -Dload.rate=100 -Dload.durationSec=60 -cp ... org.automation.load.LoadRunner
+ *
+ * Every call runs on its own virtual thread and is timed from when it was due, so a call that had to wait for a
+ * slow system counts that wait (coordinated-omission correction); back-to-back closed users have no schedule,
+ * so there response and service time are the same. The first load.warmupSec seconds are not recorded.
+ *
+ * Settings: load.model (open), load.rate (20/s), load.concurrency (10), load.pacingMs (0), load.durationSec (30),
+ * load.warmupSec (5), load.scenarios (all, or "name[:weight],..."), load.maxInFlight (1000), load.drainSec (30),
+ * load.maxErrorRate (0.01). With CI=true or load.stub=true the calls go to the in-process JsonPlaceholderServer.
+ * Results are printed, saved to load_run/load_result (shown in the HTML report) and to artifacts/reports/load_&lt;ts&gt;.csv;
+ * the exit status is 1 when the error rate exceeds load.maxErrorRate.
+ */
+public final class LoadRunner {
+
+    private LoadRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        // CI has no business load-testing a public API: use the in-process stand-in there
+        if ("true".equalsIgnoreCase(System.getenv("CI")) || ConfigManager.getBoolean("load.stub", false)) {
+            System.setProperty("api.stub.enabled", "true");
+        }
+        String model = ConfigManager.get("load.model", "open").toLowerCase(Locale.ROOT);
+        if (!"open".equals(model) && !"closed".equals(model)) throw new IllegalArgumentException("load.model must be open or closed: " + model);
+        double rate = Double.parseDouble(ConfigManager.get("load.rate", "20"));
+        int concurrency = Math.max(1, ConfigManager.getInt("load.concurrency", 10));
+        long pacingMs = Math.max(0, ConfigManager.getLong("load.pacingMs", 0));
+        long durationMs = Math.max(1, ConfigManager.getLong("load.durationSec", 30)) * 1000;
+        long warmupMs = Math.max(0, ConfigManager.getLong("load.warmupSec", 5)) * 1000;
+        double maxErrorRate = Double.parseDouble(ConfigManager.get("load.maxErrorRate", "0.01"));
+
+        Class<?> testClass = Class.forName(ConfigManager.get("load.testClass", "org.automation.api.JsonPlaceholderTests"));
+        List<LoadScenario> scenarios = LoadScenario.discover(testClass, ConfigManager.get("load.scenarios", ""));
+        if (scenarios.isEmpty()) throw new IllegalArgumentException("No scenarios in " + testClass.getName());
+        String baseUrl = JsonPlaceholderServer.baseUrl();
+
+        System.out.println("[LoadRunner] 🚀 " + ("open".equals(model) ? rate + " calls/s (open model)"
+                : concurrency + " users" + (pacingMs > 0 ? " every " + pacingMs + " ms" : " back to back") + " (closed model)")
+                + " for " + durationMs / 1000 + " s after " + warmupMs / 1000 + " s warm-up, " + scenarios.size()
+                + " scenario(s) of " + testClass.getSimpleName() + " against " + baseUrl);
+
+        LocalDateTime startedAt = LocalDateTime.now();
+        LoadScenario[] mix = mix(scenarios);
+        long dropped = "open".equals(model)
+                ? runOpen(mix, rate, warmupMs, durationMs)
+                : runClosed(mix, concurrency, pacingMs, warmupMs, durationMs);
+        LocalDateTime finishedAt = LocalDateTime.now();
+
+        LoadResult result = summarize(scenarios, model, rate, concurrency, durationMs, baseUrl, dropped, startedAt, finishedAt);
+        print(result);
+        persist(result);
+
+        long requests = result.requests();
+        double errorRate = requests == 0 ? 1 : (double) (result.errors() + dropped) / (requests + dropped);
+        if (errorRate > maxErrorRate) {
+            System.err.println(String.format(Locale.ROOT, "[LoadRunner] ❌ Error rate %.2f %% exceeds load.maxErrorRate %.2f %%",
+                    errorRate * 100, maxErrorRate * 100));
+            System.exit(1);
+        }
+        System.exit(0);
+    }
+
+    // ---------- Models ----------
+    /** Starts one call every 1/rate seconds on its own virtual thread; returns the arrivals dropped at load.maxInFlight. */
+    private static long runOpen(LoadScenario[] mix, double rate, long warmupMs, long durationMs) throws InterruptedException {
+        long interval = Math.max(1, (long) (1_000_000_000L / rate));
+        Semaphore inFlight = new Semaphore(Math.max(1, ConfigManager.getInt("load.maxInFlight", 1000)));
+        long dropped = 0;
+        try (ExecutorService calls = Executors.newVirtualThreadPerTaskExecutor()) {
+            long start = System.nanoTime();
+            long measureFrom = start + warmupMs * 1_000_000;
+            long end = measureFrom + durationMs * 1_000_000;
+            for (long i = 0; ; i++) {
+                long due = start + i * interval;
+                if (due >= end) break;
+                for (long wait = due - System.nanoTime(); wait > 0; wait = due - System.nanoTime()) LockSupport.parkNanos(wait);
+                // Beyond the in-flight budget the system is not keeping up; count the arrival instead of queueing it
+                if (!inFlight.tryAcquire()) {
+                    if (due >= measureFrom) dropped++;
+                    continue;
+                }
+                LoadScenario scenario = mix[(int) (i % mix.length)];
+                calls.execute(() -> {
+                    try {
+                        call(scenario, due, due >= measureFrom);
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+            }
+            drain(calls);
+        }
+        return dropped;
+    }
+
+    /** Runs the given number of virtual users for the duration; each paced user is due every pacingMs. */
+    private static long runClosed(LoadScenario[] mix, int users, long pacingMs, long warmupMs, long durationMs)
+            throws InterruptedException {
+        long pacing = pacingMs * 1_000_000;
+        AtomicLong next = new AtomicLong();
+        try (ExecutorService calls = Executors.newVirtualThreadPerTaskExecutor()) {
+            long start = System.nanoTime();
+            long measureFrom = start + warmupMs * 1_000_000;
+            long end = measureFrom + durationMs * 1_000_000;
+            for (int u = 0; u < users; u++) {
+                // Paced users are spread over one pacing interval rather than all starting at once
+                long firstDue = start + (pacing > 0 ? pacing * u / users : 0);
+                calls.execute(() -> {
+                    for (long due = firstDue; ; due += pacing) {
+                        if (pacing > 0) {
+                            for (long wait = due - System.nanoTime(); wait > 0; wait = due - System.nanoTime()) LockSupport.parkNanos(wait);
+                        } else {
+                            due = System.nanoTime();
+                        }
+                        if (due >= end) return;
+                        call(mix[(int) (next.getAndIncrement() % mix.length)], due, due >= measureFrom);
+                    }
+                });
+            }
+            drain(calls);
+        }
+        return 0;
+    }
+
+    /*
+     * RestAssured blocks for a pooled connection while pinned to its carrier (Groovy/HttpClient monitors), so more
+     * callers than connections would pin every carrier and starve the holders; waiting here unmounts instead. The
+     * wait still counts in the response time, which is measured from the due time.
+     */
+    private static final Semaphore CONNECTIONS = new Semaphore(Math.max(1, ConfigManager.getInt("api.http.maxPerRoute", 20)), true);
+
+    private static void call(LoadScenario scenario, long due, boolean record) {
+        CONNECTIONS.acquireUninterruptibly();
+        try {
+            scenario.call(due, record);
+        } finally {
+            CONNECTIONS.release();
+        }
+    }
+
+    private static void drain(ExecutorService calls) throws InterruptedException {
+        calls.shutdown();
+        long drainSec = Math.max(1, ConfigManager.getLong("load.drainSec", 30));
+        if (!calls.awaitTermination(drainSec, TimeUnit.SECONDS)) {
+            System.err.println("[LoadRunner] ⚠️ Calls still running after " + drainSec + " s – abandoned");
+            calls.shutdownNow();
+        }
+    }
+
+    // Each scenario appears weight times, shuffled with a fixed seed so runs are repeatable and the mix is even
+    private static LoadScenario[] mix(List<LoadScenario> scenarios) {
+        List<LoadScenario> mix = new ArrayList<>();
+        for (LoadScenario scenario : scenarios) {
+            for (int i = 0; i < scenario.weight(); i++) mix.add(scenario);
+        }
+        Collections.shuffle(mix, new Random(42));
+        return mix.toArray(new LoadScenario[0]);
+    }
+
+    // ---------- Results ----------
+    private static LoadResult summarize(List<LoadScenario> scenarios, String model, double rate, int concurrency,
+                                        long durationMs, String baseUrl, long dropped, LocalDateTime startedAt,
+                                        LocalDateTime finishedAt) {
+        LoadResult result = new LoadResult(ReportUtils.getRunKey(), model, "open".equals(model) ? rate : 0,
+                "closed".equals(model) ? concurrency : 0, durationMs, baseUrl, dropped, startedAt, finishedAt);
+        double seconds = durationMs / 1000.0;
+        LatencyHistogram allResponse = new LatencyHistogram();
+        LatencyHistogram allService = new LatencyHistogram();
+        long allErrors = 0;
+        String allFirstError = null;
+        for (LoadScenario s : scenarios) {
+            result.rows.add(new LoadResult.Row(s.name(), s.endpoint(), s.response, s.service, s.errors.sum(), s.firstError.get(), seconds));
+            allResponse.add(s.response);
+            allService.add(s.service);
+            allErrors += s.errors.sum();
+            if (allFirstError == null) allFirstError = s.firstError.get();
+        }
+        result.rows.add(new LoadResult.Row(LoadResult.ALL, null, allResponse, allService, allErrors, allFirstError, seconds));
+        return result;
+    }
+
+    private static void print(LoadResult result) {
+        System.out.printf("%n%-26s %-28s %8s %7s %8s %9s %9s %9s %9s %9s %10s%n", "Scenario", "Endpoint", "Calls", "Errors",
+                "Calls/s", "p50 ms", "p95 ms", "p99 ms", "p99.9 ms", "max ms", "svc p99");
+        for (LoadResult.Row r : result.rows) {
+            System.out.printf(Locale.ROOT, "%-26s %-28s %8d %7d %8.1f %9.2f %9.2f %9.2f %9.2f %9.2f %10.2f%n",
+                    LoadResult.ALL.equals(r.scenario) ? "all scenarios" : r.scenario, r.endpoint == null ? "" : r.endpoint,
+                    r.requests, r.errors, r.throughputRps, r.p50Ms, r.p95Ms, r.p99Ms, r.p999Ms, r.maxMs, r.serviceP99Ms);
+            if (r.firstError != null && !LoadResult.ALL.equals(r.scenario)) System.out.println("    first error: " + r.firstError);
+        }
+        if (result.dropped > 0) {
+            System.out.println("[LoadRunner] ⚠️ " + result.dropped + " arrival(s) dropped at load.maxInFlight – the system did not keep up");
+        }
+    }
+
+    private static void persist(LoadResult result) {
+        Path csv = Paths.get("artifacts", "reports", "load_"
+                + result.startedAt.format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss")) + ".csv");
+        try {
+            LoadResultStore.writeCsv(result, csv);
+            System.out.println("[LoadRunner] ✅ Results written to " + csv.toAbsolutePath());
+        } catch (Exception e) {
+            System.err.println("[LoadRunner] ❌ Could not write " + csv + ": " + e.getMessage());
+        }
+        try {
+            int id = LoadResultStore.save(result);
+            System.out.println("[LoadRunner] ✅ Saved as load_run " + id);
+        } catch (SQLException | IllegalStateException e) {
+            // IllegalStateException: the schema could not be migrated
+            System.err.println("[LoadRunner] ⚠️ Database unavailable – results kept in the CSV only: " + e.getMessage());
+        }
+    }
+}
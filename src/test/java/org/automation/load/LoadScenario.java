@@ -0,0 +1,132 @@
+package org.automation.load;
+
+import org.automation.api.ApiClient;
+import org.testng.Reporter;
+import org.testng.annotations.Test;
+import org.testng.internal.TestResult;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * One existing @Test method of an API test class, driven as a load scenario: each call runs the method exactly as
+ * TestNG would (its assertions included) on a throwaway test result, and records how long it took.
+ *
+ * Two histograms are kept per scenario: response time, measured from the moment the call was due to start, and
+ * service time, measured from when it actually started. When the system under test falls behind, calls start late
+ * and service time alone hides the queueing (coordinated omission); response time is what a caller would have seen.
+ */
+public final class LoadScenario {
+
+    private final String name;
+    private final Method method;
+    private final Object instance;
+    private final int weight;
+
+    final LatencyHistogram response = new LatencyHistogram();
+    final LatencyHistogram service = new LatencyHistogram();
+    final LongAdder errors = new LongAdder();
+    final AtomicReference<String> firstError = new AtomicReference<>();
+    private volatile String endpoint;
+
+    private LoadScenario(String name, Method method, Object instance, int weight) {
+        this.name = name;
+        this.method = method;
+        this.instance = instance;
+        this.weight = weight;
+    }
+
+    /**
+     * The @Test methods of a class, in name order, or those listed as "name[:weight],..." with their
+     * weights (default 1). One instance of the class serves every call, as it does under TestNG.
+     */
+    public static List<LoadScenario> discover(Class<?> testClass, String selection) throws ReflectiveOperationException {
+        Map<String, Method> tests = new LinkedHashMap<>();
+        Method[] methods = testClass.getMethods();
+        Arrays.sort(methods, Comparator.comparing(Method::getName));
+        for (Method m : methods) {
+            Test test = m.getAnnotation(Test.class);
+            if (test != null && test.enabled() && m.getParameterCount() == 0 && !Modifier.isStatic(m.getModifiers())) {
+                tests.put(m.getName(), m);
+            }
+        }
+        Object instance = testClass.getDeclaredConstructor().newInstance();
+
+        List<LoadScenario> scenarios = new ArrayList<>();
+        if (selection == null || selection.isBlank()) {
+            for (Method m : tests.values()) scenarios.add(new LoadScenario(m.getName(), m, instance, 1));
+            return scenarios;
+        }
+        for (String entry : selection.split(",")) {
+            String[] parts = entry.trim().split(":");
+            Method m = tests.get(parts[0].trim());
+            if (m == null) throw new IllegalArgumentException("No @Test method '" + parts[0].trim() + "' in " + testClass.getName());
+            int weight = parts.length > 1 ? Math.max(1, Integer.parseInt(parts[1].trim())) : 1;
+            scenarios.add(new LoadScenario(m.getName(), m, instance, weight));
+        }
+        return scenarios;
+    }
+
+    /** Runs the test method once; latencies are recorded only when record is set (i.e. after warm-up). */
+    void call(long dueNanos, boolean record) {
+        long start = System.nanoTime();
+        boolean failed = false;
+        Reporter.setCurrentTestResult(TestResult.newEmptyTestResult());
+        ApiClient.begin();
+        try {
+            method.invoke(instance);
+        } catch (InvocationTargetException e) {
+            failed = true;
+            if (record) firstError.compareAndSet(null, String.valueOf(e.getCause()));
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        } finally {
+            long end = System.nanoTime();
+            List<ApiClient.Timing> timings = ApiClient.end();
+            Reporter.setCurrentTestResult(null);
+            if (endpoint == null && !timings.isEmpty()) endpoint = endpoint(timings);
+            if (record) {
+                response.record((end - dueNanos) / 1000);
+                service.record((end - start) / 1000);
+                if (failed) errors.increment();
+            }
+        }
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public int weight() {
+        return weight;
+    }
+
+    /** The requests one call makes, e.g. "GET /posts/{id}" or "GET /posts/{id} ×10"; null before the first call. */
+    public String endpoint() {
+        return endpoint;
+    }
+
+    // Numeric path segments become {id} so every call of a scenario maps to the same endpoint
+    private static String endpoint(List<ApiClient.Timing> timings) {
+        Set<String> distinct = new LinkedHashSet<>();
+        for (ApiClient.Timing timing : timings) {
+            String[] line = timing.request.replace(" (async)", "").split(" ", 2);
+            String path = line.length > 1 ? URI.create(line[1]).getPath() : "";
+            distinct.add(line[0] + " " + path.replaceAll("/\\d+(?=/|$)", "/{id}"));
+        }
+        String label = String.join(", ", distinct);
+        return timings.size() > distinct.size() ? label + " ×" + timings.size() : label;
+    }
+}
@@ -1,42 +1,399 @@
 package org.automation.reports;
 
-import java.io.FileWriter;
-import java.sql.*;
+import java.io.BufferedOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.HashSet;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPOutputStream;
+import org.automation.config.ConfigManager;
+import org.automation.utils.DatabaseUtils;
 import org.automation.utils.ReportUtils;
 
+/**
+ * CSV export of execution_log in RFC 4180 format (CRLF line endings, fields quoted when they contain a comma,
+ * quote or line break).
+ *
+ * generateReport() is incremental: it appends rows with an id above the last exported one to
+ * artifacts/reports/execution_log.csv and records the new watermark in execution_log.csv.watermark, so each
+ * suite finish only reads and writes that run's rows. It runs its own id &gt; watermark query instead of joining the
+ * {@link ReportPipeline} scan, which would read the full history only to discard it. generateSnapshot() and
+ * {@link #sink} write the whole table (or one run, see {@link ReportScope}) to a new CSV_Report_&lt;ts&gt;.csv.
+ *
+ * Ids are allocated at insert but become visible at commit, so a fork's row can appear below the watermark after a
+ * later id has been exported. Ids skipped by an export are kept in the watermark as pending and re-read by the next
+ * exports until they show up (appended then, out of id order) or fall more than report.csv.lateRowWindow ids behind
+ * the watermark (rolled back, or never used by the auto-increment).
+ *
+ * An upsert changes a row in place under the same id. Rows whose updated_at is later than the start of the previous
+ * export (less report.csv.lateUpdateMs, for updates that committed late) are appended again with their new values,
+ * so a reader keeps the last line of each ID. A row updated inside that overlap may be appended twice, unchanged.
+ *
+ * report.csv.compression=gzip writes .csv.gz instead; every export is appended as its own gzip member, and
+ * concatenated members read back as one stream with gunzip/zcat.
+ */
 public class CsvReportGenerator {
 
-    private static final String DB_URL = "jdbc:mysql://localhost:3306/automation_tests";
-    private static final String DB_USER = "root";
-    private static final String DB_PASS = "Ck@709136";
+    private static final String HEADER = "ID,TestName,Status,Type,US_ID,TC_ID,Artifact,ExecutionTime";
+    private static final String CRLF = "\r\n";
+    private static final int BUFFER_SIZE = 1 << 20;
+    private static final Path REPORT_DIR = Paths.get("artifacts/reports");
 
+    // ---------- Incremental export ----------
+    // Reads only the rows above the watermark (and the pending ones just below it), then the older rows updated since
     public static void generateReport() throws Exception {
-        String timestamp = ReportUtils.getTimestamp();
-        String fileName = "artifacts/reports/CSV_Report_" + timestamp + ".csv";
+        IncrementalSink sink = new IncrementalSink();
+        sink.open(ReportScope.all());
+        try (Connection conn = DatabaseUtils.getConnection()) {
+            sink.startedAt = databaseTime(conn);
+            try (PreparedStatement ps = DatabaseUtils.streamingStatement(conn,
+                    "SELECT " + ReportRow.COLUMNS + " FROM execution_log WHERE id > ? ORDER BY id")) {
+                ps.setLong(1, sink.watermark.floor());
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) sink.accept(ReportRow.from(rs));
+                }
+            }
+            // Unknown before the first export, and in watermarks written before updated_at existed
+            if (sink.watermark.exportedAt > 0) {
+                try (PreparedStatement ps = DatabaseUtils.streamingStatement(conn,
+                        "SELECT " + ReportRow.COLUMNS + " FROM execution_log WHERE updated_at > ? AND id <= ? ORDER BY id")) {
+                    ps.setTimestamp(1, new Timestamp(sink.watermark.exportedAt - sink.lateUpdateMs));
+                    ps.setLong(2, sink.watermark.lastId);
+                    try (ResultSet rs = ps.executeQuery()) {
+                        while (rs.next()) sink.update(ReportRow.from(rs));
+                    }
+                }
+            }
+            sink.finish();
+        } catch (Exception e) {
+            sink.abort();
+            throw e;
+        }
+    }
+
+    // A single run or time window is written to its own file; the full history keeps using the incremental export
+    public static void generateReport(ReportScope scope) throws Exception {
+        if (scope.isAll()) generateReport();
+        else ReportPipeline.run(scope, sink(scope));
+    }
+
+    public static void generateCsvReport() throws Exception {
+        generateReport();
+    }
+
+    /** Snapshot of the scope for a shared pipeline scan; the full history is exported by {@link #generateReport()}. */
+    public static ReportSink sink(ReportScope scope) {
+        return new SnapshotSink();
+    }
+
+    /**
+     * Appends rows with an id above the watermark, or pending below it, to execution_log.csv[.gz], holding the file
+     * lock until finish.
+     */
+    private static final class IncrementalSink implements ReportSink {
+        private final long lateRowWindow = Math.max(0, ConfigManager.getLong("report.csv.lateRowWindow", 1000));
+        private final long lateUpdateMs = Math.max(0, ConfigManager.getLong("report.csv.lateUpdateMs", 1000));
+        private Path file;
+        private Path watermarkFile;
+        private FileChannel channel;
+        private FileLock lock;
+        private Watermark watermark;
+        private Encoder encoder;
+        private long lastSeen;
+        private long startedAt;
+        private long updated;
+        private final TreeSet<Long> skipped = new TreeSet<>();
+        private final Set<Long> lateWritten = new HashSet<>();
+
+        @Override
+        public String name() {
+            return "csv";
+        }
+
+        @Override
+        public void open(ReportScope scope) throws IOException {
+            boolean gzip = gzipEnabled();
+            file = REPORT_DIR.resolve(gzip ? "execution_log.csv.gz" : "execution_log.csv");
+            watermarkFile = REPORT_DIR.resolve(file.getFileName() + ".watermark");
+            Files.createDirectories(REPORT_DIR);
+
+            channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+            try {
+                lock = channel.lock();
+                watermark = Watermark.load(watermarkFile);
+                // Bytes past the recorded length come from an export that died before saving its watermark
+                if (channel.size() > watermark.length) channel.truncate(watermark.length);
+                channel.position(watermark.length);
+                lastSeen = watermark.lastId;
+                encoder = new Encoder(Channels.newOutputStream(channel), watermark.length == 0, gzip);
+            } catch (IOException e) {
+                channel.close();
+                throw e;
+            }
+        }
+
+        @Override
+        public void accept(ReportRow row) throws IOException {
+            long id = row.getId();
+            if (id > lastSeen) {
+                // Ids passed over are pending: still uncommitted, or never to appear (none before a first export)
+                if (lastSeen > 0) {
+                    for (long gap = Math.max(lastSeen + 1, id - lateRowWindow); gap < id; gap++) skipped.add(gap);
+                }
+                lastSeen = id;
+                encoder.write(row);
+            } else if (watermark.pending.remove(id)) {
+                lateWritten.add(id);
+                encoder.write(row);
+            }
+        }
 
-        try (FileWriter writer = new FileWriter(fileName);
-             Connection conn = DriverManager.getConnection(DB_URL, DB_USER, DB_PASS);
-             Statement stmt = conn.createStatement();
-             ResultSet rs = stmt.executeQuery("SELECT * FROM execution_log")) {
+        // An exported row changed in place. Only ids up to the previous watermark are read here, and of those only the
+        // pending ones can already have been written by this export.
+        void update(ReportRow row) throws IOException {
+            if (lateWritten.contains((long) row.getId())) return;
+            encoder.write(row);
+            updated++;
+        }
 
-            writer.append("ID,TestName,Status,Type,US_ID,TC_ID,Artifact,ExecutionTime\n");
+        @Override
+        public void finish() throws IOException {
+            long lastId = Math.max(watermark.lastId, lastSeen);
+            TreeSet<Long> pending = new TreeSet<>(watermark.pending);
+            pending.addAll(skipped);
+            pending.headSet(lastId - lateRowWindow).clear();
+            try {
+                encoder.close();
+                if (encoder.rows > 0 || watermark.length == 0 || !pending.equals(watermark.pending) || watermark.exportedAt <= 0) {
+                    channel.force(false);
+                    new Watermark(lastId, channel.size(), pending, startedAt).save(watermarkFile);
+                }
+            } finally {
+                channel.close();
+            }
+            System.out.println("✅ CSV report updated: " + file + " (+" + encoder.rows + " rows, " + updated + " of them updated, last id " + lastId
+                    + (pending.isEmpty() ? "" : ", " + pending.size() + " id(s) pending") + ")");
+        }
 
-            while (rs.next()) {
-                writer.append(rs.getInt("id") + ",")
-                        .append(rs.getString("test_name") + ",")
-                        .append(rs.getString("status") + ",")
-                        .append(rs.getString("test_type") + ",")
-                        .append(rs.getString("us_id") + ",")
-                        .append(rs.getString("tc_id") + ",")
-                        .append("\"" + rs.getString("artifact") + "\"" + ",")
-                        .append(rs.getString("execution_time") + "\n");
+        // The watermark is left as it was, so the next export truncates whatever this one appended
+        @Override
+        public void abort() {
+            try {
+                if (channel != null) channel.close();
+            } catch (IOException ignored) {
+                // releasing the lock is all that matters here
             }
         }
+    }
 
-        System.out.println("✅ CSV report generated: " + fileName);
+    // ---------- Full snapshot ----------
+    public static Path generateSnapshot() throws Exception {
+        return generateSnapshot(ReportScope.all());
     }
 
-    public static void generateCsvReport() throws Exception {
-        generateReport();
+    public static Path generateSnapshot(ReportScope scope) throws Exception {
+        SnapshotSink sink = new SnapshotSink();
+        ReportPipeline.run(scope, sink);
+        return sink.file;
+    }
+
+    /** Writes every row of the scope to a new CSV_Report_&lt;ts&gt;.csv[.gz]. */
+    private static final class SnapshotSink implements ReportSink {
+        private ReportScope scope;
+        private Path file;
+        private OutputStream out;
+        private Encoder encoder;
+
+        @Override
+        public String name() {
+            return "csv";
+        }
+
+        @Override
+        public void open(ReportScope scope) throws IOException {
+            this.scope = scope;
+            boolean gzip = gzipEnabled();
+            file = REPORT_DIR.resolve("CSV_Report_" + ReportUtils.getTimestamp() + scope.fileSuffix() + (gzip ? ".csv.gz" : ".csv"));
+            Files.createDirectories(REPORT_DIR);
+            out = Files.newOutputStream(file);
+            encoder = new Encoder(out, true, gzip);
+        }
+
+        @Override
+        public void accept(ReportRow row) throws IOException {
+            encoder.write(row);
+        }
+
+        @Override
+        public void finish() throws IOException {
+            try {
+                encoder.close();
+            } finally {
+                out.close();
+            }
+            System.out.println("✅ CSV snapshot generated: " + file + " (" + scope + ", " + encoder.rows + " rows)");
+        }
+
+        @Override
+        public void abort() {
+            try {
+                if (out != null) out.close();
+                if (file != null) Files.deleteIfExists(file);
+            } catch (IOException ignored) {
+                // nothing else to clean up
+            }
+        }
+    }
+
+    // ---------- Encoding ----------
+    /** RFC 4180 rows over a caller-owned stream (the appending channel must stay open to record its size). */
+    private static final class Encoder {
+        private final Writer writer;
+        long rows;
+
+        Encoder(OutputStream target, boolean header, boolean gzip) throws IOException {
+            OutputStream buffered = new BufferedOutputStream(new NonClosing(target), BUFFER_SIZE);
+            OutputStream out = gzip ? new GZIPOutputStream(buffered, 64 * 1024) : buffered;
+            this.writer = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+            if (header) writer.write(HEADER + CRLF);
+        }
+
+        void write(ReportRow row) throws IOException {
+            writer.write(Integer.toString(row.getId()));
+            field(writer, row.getTestName());
+            field(writer, row.getStatus());
+            field(writer, row.getTestType());
+            field(writer, row.getUsId());
+            field(writer, row.getTcId());
+            field(writer, row.getArtifact());
+            field(writer, row.getExecutionTimeText());
+            writer.write(CRLF);
+            rows++;
+        }
+
+        // Finishes the gzip member and flushes; the target itself stays open
+        void close() throws IOException {
+            writer.close();
+        }
+    }
+
+    private static void field(Writer writer, String value) throws IOException {
+        writer.write(',');
+        if (value == null || value.isEmpty()) return;
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\r' || c == '\n';
+        }
+        if (!quote) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+
+    // updated_at is stamped by the server, so the export compares it against the server's clock
+    private static long databaseTime(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT CURRENT_TIMESTAMP(3)")) {
+            rs.next();
+            return rs.getTimestamp(1).getTime();
+        }
+    }
+
+    private static boolean gzipEnabled() {
+        return "gzip".equalsIgnoreCase(ConfigManager.get("report.csv.compression", "none"));
+    }
+
+    // ---------- Helpers ----------
+    /**
+     * Last exported id, the ids below it not exported yet, the file length that export left behind, and when (database
+     * time) it started reading.
+     */
+    private static final class Watermark {
+        final long lastId;
+        final long length;
+        final TreeSet<Long> pending;
+        final long exportedAt;
+
+        Watermark(long lastId, long length, TreeSet<Long> pending, long exportedAt) {
+            this.lastId = lastId;
+            this.length = length;
+            this.pending = pending;
+            this.exportedAt = exportedAt;
+        }
+
+        // The scan starts below the oldest pending id
+        long floor() {
+            return pending.isEmpty() ? lastId : pending.first() - 1;
+        }
+
+        static Watermark load(Path file) throws IOException {
+            if (!Files.exists(file)) return new Watermark(0, 0, new TreeSet<>(), 0);
+            Properties props = new Properties();
+            try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                props.load(reader);
+            }
+            TreeSet<Long> pending = new TreeSet<>();
+            for (String id : props.getProperty("pending", "").split(",")) {
+                if (!id.isBlank()) pending.add(Long.parseLong(id.trim()));
+            }
+            return new Watermark(Long.parseLong(props.getProperty("lastId", "0")),
+                    Long.parseLong(props.getProperty("length", "0")), pending, Long.parseLong(props.getProperty("exportedAt", "0")));
+        }
+
+        // Written to a temp file and moved into place so a crash never leaves a half-written watermark
+        void save(Path file) throws IOException {
+            Properties props = new Properties();
+            props.setProperty("lastId", Long.toString(lastId));
+            props.setProperty("length", Long.toString(length));
+            props.setProperty("pending", pending.stream().map(String::valueOf).collect(Collectors.joining(",")));
+            props.setProperty("exportedAt", Long.toString(exportedAt));
+            Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+            try (Writer writer = Files.newBufferedWriter(tmp, StandardCharsets.UTF_8)) {
+                props.store(writer, "CsvReportGenerator incremental export state");
+            }
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+    }
+
+    private static final class NonClosing extends FilterOutputStream {
+        NonClosing(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+        }
+
+        @Override
+        public void close() throws IOException {
+            flush();
+        }
     }
 }
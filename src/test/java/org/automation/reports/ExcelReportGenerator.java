@@ -1,54 +1,244 @@
 package org.automation.reports;
 
+import org.apache.poi.ss.SpreadsheetVersion;
 import org.apache.poi.ss.usermodel.*;
-import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import java.io.BufferedOutputStream;
+import java.io.File;
 import java.io.FileOutputStream;
-import java.sql.*;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import org.automation.config.ConfigManager;
 import org.automation.utils.ReportUtils;
 
+/**
+ * Streams execution_log (or one run of it, see {@link ReportScope}) into an .xlsx with constant memory: rows arrive
+ * from {@link ReportPipeline} and go into an SXSSF workbook that keeps only report.excel.rowWindow rows per sheet in
+ * memory and spills the rest to compressed temp files. Data rolls over to "Execution Log (2)", "(3)"… at Excel's
+ * row limit. Over the full history the "By Week" and "By Type" summary sheets are read from the rollup tables
+ * ({@link RollupRepository}); for a run or time window, or when the rollups cannot be read, they are counted from the
+ * same rows.
+ */
 public class ExcelReportGenerator {
 
-    private static final String DB_URL = "jdbc:mysql://localhost:3306/automation_tests";
-    private static final String DB_USER = "root";
-    private static final String DB_PASS = "Ck@709136";
+    private static final String[] COLUMNS = {"ID", "TestName", "Status", "Type", "US_ID", "TC_ID", "Artifact", "ExecutionTime"};
+    private static final int MAX_ROWS = SpreadsheetVersion.EXCEL2007.getMaxRows();
+    private static final int MAX_TEXT = SpreadsheetVersion.EXCEL2007.getMaxTextLength();
 
     public static void generateReport() throws Exception {
-        String timestamp = ReportUtils.getTimestamp();
-        String fileName = "artifacts/reports/Excel_Report_" + timestamp + ".xlsx";
+        generateReport(ReportScope.all());
+    }
 
-        try (Workbook workbook = new XSSFWorkbook();
-             Connection conn = DriverManager.getConnection(DB_URL, DB_USER, DB_PASS);
-             Statement stmt = conn.createStatement();
-             ResultSet rs = stmt.executeQuery("SELECT * FROM execution_log")) {
+    public static void generateReport(ReportScope scope) throws Exception {
+        ReportPipeline.run(scope, sink());
+    }
 
-            Sheet sheet = workbook.createSheet("Execution Log");
-            String[] columns = {"ID", "TestName", "Status", "Type", "US_ID", "TC_ID", "Artifact", "ExecutionTime"};
+    public static void generateExcelReport() throws Exception {
+        generateReport();
+    }
+
+    public static ReportSink sink() {
+        return new ExcelSink(Math.max(1, ConfigManager.getInt("report.excel.rowWindow", 500)));
+    }
 
-            Row header = sheet.createRow(0);
-            for (int i = 0; i < columns.length; i++) header.createCell(i).setCellValue(columns[i]);
+    // ---------- Data sheets ----------
+    private static final class ExcelSink implements ReportSink {
+        private final int rowWindow;
+        private final Map<Integer, Counts> byWeek = new TreeMap<>(Collections.reverseOrder());
+        private final Map<String, Counts> byType = new TreeMap<>();
+        private ReportScope scope;
+        private String fileName;
+        private SXSSFWorkbook workbook;
+        private Sheet sheet;
+        private int part;
+        private int rowNum = MAX_ROWS;
+        private long total;
+
+        ExcelSink(int rowWindow) {
+            this.rowWindow = rowWindow;
+        }
+
+        @Override
+        public String name() {
+            return "excel";
+        }
+
+        @Override
+        public void open(ReportScope scope) {
+            this.scope = scope;
+            this.fileName = "artifacts/reports/Excel_Report_" + ReportUtils.getTimestamp() + scope.fileSuffix() + ".xlsx";
+            workbook = new SXSSFWorkbook(rowWindow);
+            workbook.setCompressTempFiles(true);
+        }
 
-            int rowNum = 1;
-            while (rs.next()) {
-                Row row = sheet.createRow(rowNum++);
-                row.createCell(0).setCellValue(rs.getInt("id"));
-                row.createCell(1).setCellValue(rs.getString("test_name"));
-                row.createCell(2).setCellValue(rs.getString("status"));
-                row.createCell(3).setCellValue(rs.getString("test_type"));
-                row.createCell(4).setCellValue(rs.getString("us_id"));
-                row.createCell(5).setCellValue(rs.getString("tc_id"));
-                row.createCell(6).setCellValue(rs.getString("artifact"));
-                row.createCell(7).setCellValue(rs.getString("execution_time"));
+        @Override
+        public void accept(ReportRow r) {
+            if (rowNum >= MAX_ROWS) {
+                part++;
+                sheet = workbook.createSheet(part == 1 ? "Execution Log" : "Execution Log (" + part + ")");
+                header(sheet, COLUMNS);
+                rowNum = 1;
             }
 
-            try (FileOutputStream fos = new FileOutputStream(fileName)) {
-                workbook.write(fos);
+            Row row = sheet.createRow(rowNum++);
+            row.createCell(0).setCellValue(r.getId());
+            row.createCell(1).setCellValue(text(r.getTestName()));
+            row.createCell(2).setCellValue(text(r.getStatus()));
+            row.createCell(3).setCellValue(text(r.getTestType()));
+            row.createCell(4).setCellValue(text(r.getUsId()));
+            row.createCell(5).setCellValue(text(r.getTcId()));
+            row.createCell(6).setCellValue(text(r.getArtifact()));
+            row.createCell(7).setCellValue(text(r.getExecutionTimeText()));
+            total++;
+
+            byType.computeIfAbsent(r.getTestType() != null ? r.getTestType() : "UNKNOWN", t -> new Counts()).count(r.getStatus(), null);
+            if (r.getExecutionTime() != null) {
+                LocalDate date = r.getExecutionTime().toLocalDate();
+                byWeek.computeIfAbsent(ReportRow.weekKey(date), k -> new Counts()).count(r.getStatus(), date);
+            }
+        }
+
+        @Override
+        public void finish() throws Exception {
+            int sheets;
+            try {
+                if (sheet == null) header(workbook.createSheet("Execution Log"), COLUMNS);
+                if (scope.isAll()) readRollups();
+                writeWeekSummary(workbook.createSheet("By Week"), byWeek);
+                writeTypeSummary(workbook.createSheet("By Type"), byType);
+
+                try (OutputStream fos = new BufferedOutputStream(new FileOutputStream(fileName))) {
+                    workbook.write(fos);
+                }
+                sheets = workbook.getNumberOfSheets();
+            } finally {
+                close();
+            }
+
+            System.out.println("✅ Excel report generated: " + fileName + " (" + scope + ", " + total + " rows, "
+                    + sheets + " sheets)");
+        }
+
+        // Replaces the counts taken from the rows; a week the scan saw but the rollups lack means they are out of
+        // step (not backfilled yet), so the row counts are kept then
+        private void readRollups() {
+            Map<Integer, Counts> weeks = new TreeMap<>(Collections.reverseOrder());
+            Map<String, Counts> types = new TreeMap<>();
+            try {
+                for (RollupRepository.TrendPoint day : RollupRepository.dailyHistory()) {
+                    weeks.computeIfAbsent(ReportRow.weekKey(day.date()), k -> new Counts()).add(day, day.date());
+                }
+                for (Map.Entry<String, RollupRepository.Summary> type : RollupRepository.byType().entrySet()) {
+                    types.computeIfAbsent(type.getKey(), t -> new Counts()).add(type.getValue(), null);
+                }
+            } catch (SQLException e) {
+                System.err.println("[ExcelReportGenerator] ⚠️ Rollups unavailable, summaries counted from the rows: " + e.getMessage());
+                return;
             }
+            if (!weeks.keySet().containsAll(byWeek.keySet())) {
+                System.err.println("[ExcelReportGenerator] ⚠️ Rollups behind execution_log (run RollupBackfill), summaries counted from the rows");
+                return;
+            }
+            byWeek.clear();
+            byWeek.putAll(weeks);
+            byType.clear();
+            byType.putAll(types);
+        }
+
+        // Removes the SXSSF temp files; a half-written .xlsx would not open, so it goes too
+        @Override
+        public void abort() {
+            close();
+            if (fileName != null) new File(fileName).delete();
         }
 
-        System.out.println("✅ Excel report generated: " + fileName);
+        private void close() {
+            if (workbook == null) return;
+            try {
+                workbook.close();
+            } catch (IOException ignored) {
+                // temp files are removed by dispose()
+            }
+            workbook.dispose();
+            workbook = null;
+        }
     }
 
-    public static void generateExcelReport() throws Exception {
-        generateReport();
+    // Excel rejects cells over 32,767 characters, which long API artifacts can exceed
+    private static String text(String value) {
+        if (value == null) return null;
+        return value.length() <= MAX_TEXT ? value : value.substring(0, MAX_TEXT - 3) + "...";
+    }
+
+    // ---------- Summary sheets ----------
+    private static void writeWeekSummary(Sheet sheet, Map<Integer, Counts> byWeek) {
+        header(sheet, new String[]{"Week", "Start", "End", "Total", "Pass", "Fail", "Skip", "PassRate%"});
+        int rowNum = 1;
+        for (Map.Entry<Integer, Counts> entry : byWeek.entrySet()) {
+            Counts c = entry.getValue();
+            Row row = sheet.createRow(rowNum++);
+            row.createCell(0).setCellValue(ReportRow.weekId(entry.getKey()));
+            row.createCell(1).setCellValue(c.start.toString());
+            row.createCell(2).setCellValue(c.end.toString());
+            counts(row, 3, c);
+        }
+    }
+
+    private static void writeTypeSummary(Sheet sheet, Map<String, Counts> byType) {
+        header(sheet, new String[]{"Type", "Total", "Pass", "Fail", "Skip", "PassRate%"});
+        int rowNum = 1;
+        for (Map.Entry<String, Counts> entry : byType.entrySet()) {
+            Row row = sheet.createRow(rowNum++);
+            row.createCell(0).setCellValue(entry.getKey());
+            counts(row, 1, entry.getValue());
+        }
+    }
+
+    private static void counts(Row row, int firstCell, Counts c) {
+        row.createCell(firstCell).setCellValue(c.total());
+        row.createCell(firstCell + 1).setCellValue(c.pass);
+        row.createCell(firstCell + 2).setCellValue(c.fail);
+        row.createCell(firstCell + 3).setCellValue(c.skip);
+        row.createCell(firstCell + 4).setCellValue(c.total() == 0 ? 0 : Math.round(c.pass * 10000.0 / c.total()) / 100.0);
+    }
+
+    private static void header(Sheet sheet, String[] columns) {
+        Row header = sheet.createRow(0);
+        for (int i = 0; i < columns.length; i++) header.createCell(i).setCellValue(columns[i]);
+    }
+
+    private static final class Counts {
+        long pass, fail, skip;
+        LocalDate start, end;
+
+        void count(String status, LocalDate date) {
+            if ("PASS".equalsIgnoreCase(status)) pass++;
+            else if ("FAIL".equalsIgnoreCase(status)) fail++;
+            else skip++;
+            if (date != null) {
+                if (start == null || date.isBefore(start)) start = date;
+                if (end == null || date.isAfter(end)) end = date;
+            }
+        }
+
+        // Statuses other than PASS and FAIL count as skipped, as in count()
+        void add(RollupRepository.Summary summary, LocalDate date) {
+            pass += summary.getPassed();
+            fail += summary.getFailed();
+            skip += summary.getTotal() - summary.getPassed() - summary.getFailed();
+            if (date != null) {
+                if (start == null || date.isBefore(start)) start = date;
+                if (end == null || date.isAfter(end)) end = date;
+            }
+        }
+
+        long total() {
+            return pass + fail + skip;
+        }
     }
 }
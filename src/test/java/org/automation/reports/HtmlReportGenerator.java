@@ -1,265 +1,422 @@
 package org.automation.reports;
 
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import org.automation.artifacts.ArtifactStore;
+import org.automation.config.ConfigManager;
+
 import java.io.File;
-import java.io.FileWriter;
-import java.sql.*;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.sql.SQLException;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
-
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Builds the HTML dashboard from the rows of execution_log (or one run of it, see {@link ReportScope}) into a
+ * report directory:
+ *
+ *   artifacts/reports/TestReport_&lt;ts&gt;/index.html          static shell (src/main/resources/static/report.html)
+ *   artifacts/reports/TestReport_&lt;ts&gt;/data/manifest.js     overall counts and one summary entry per week
+ *   artifacts/reports/TestReport_&lt;ts&gt;/data/week_&lt;id&gt;.js   rows of one week, loaded when the week is selected
+ *   artifacts/reports/TestReport_&lt;ts&gt;/data/load.js         the newest report.loadRuns load runs (see LoadRunner)
+ *   artifacts/reports/TestReport_&lt;ts&gt;/data/artifacts/       stored screenshots and API artifacts the shards link to
+ *
+ * Shards are JSON wrapped in a reportShard(...) call so the page also works when opened from disk, where browsers
+ * refuse fetch(). Only the newest report.maxWeekShards weeks get a shard; older weeks stay in the manifest as
+ * summaries, which keeps the report size bounded as history grows.
+ *
+ * Screenshots and API artifacts recorded as content ids ("cas:...", see {@link ArtifactStore}) are copied out of the
+ * store into data/artifacts/&lt;sha256&gt;.&lt;ext&gt; for the weeks that keep a shard, so the report opens them without the
+ * AnalyticsServer and keeps working after the store has expired them.
+ *
+ * Over the full history the manifest counts are read from the rollup tables ({@link RollupRepository}); the rows
+ * still fill the shards. For a run or time window, or when the rollups cannot be read, they are counted from the rows.
+ *
+ * Runs as a {@link ReportSink} of {@link ReportPipeline}, so rows arrive in id order: roughly oldest first, with
+ * weeks interleaving around their boundaries. A shard is appended to whenever its week comes round again and is
+ * deleted as soon as report.maxWeekShards newer weeks have been seen.
+ */
 public class HtmlReportGenerator {
 
-    private static final String DB_URL = "jdbc:mysql://localhost:3306/automation_tests";
-    private static final String DB_USER = "root";
-    private static final String DB_PASS = "Ck@709136";
+    private static final String SHELL_RESOURCE = "/static/report.html";
+    private static final JsonFactory JSON = new JsonFactory();
 
     public static void generateReport() throws Exception {
-        String timestampForFile = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss"));
-        String fileName = "artifacts/reports/TestReport_" + timestampForFile + ".html";
-
-        int passCount = 0, failCount = 0, skipCount = 0;
-        int total = 0;
-        double successRate = 0;
-        StringBuilder overallRows = new StringBuilder();
-
-        StringBuilder weeksArrayJs = new StringBuilder();
-        StringBuilder weeklySummaryJs = new StringBuilder();
-        StringBuilder weeklyDetailsJs = new StringBuilder();
-        StringBuilder overallTrendJs = new StringBuilder();
-
-        try (Connection conn = DriverManager.getConnection(DB_URL, DB_USER, DB_PASS)) {
-            try (Statement stmt = conn.createStatement();
-                 ResultSet rs = stmt.executeQuery("SELECT * FROM execution_log ORDER BY execution_time DESC")) {
-                boolean hasData = false;
-                while (rs.next()) {
-                    hasData = true;
-                    String status = rs.getString("status");
-                    if ("PASS".equalsIgnoreCase(status)) passCount++;
-                    else if ("FAIL".equalsIgnoreCase(status)) failCount++;
-                    else skipCount++;
-
-                    String screenshotCell = "—";
-                    String screenshotPath = rs.getString("screenshot_path");
-                    if (screenshotPath != null && !screenshotPath.isEmpty()) {
-                        File screenshotFile = new File(screenshotPath);
-                        screenshotCell = screenshotFile.exists()
-                                ? "<a class='screenshot-btn' href='../../" + escapeHtml(screenshotPath) + "' target='_blank'>📸</a>"
-                                : "<span class='no-screenshot'>⚠️</span>";
-                    }
-
-                    String artifactCell = "—";
-                    String artifactPath = rs.getString("artifact");
-                    if (artifactPath != null && !artifactPath.isEmpty()) {
-                        File artifactFile = new File(artifactPath);
-                        artifactCell = artifactFile.exists()
-                                ? "<a class='screenshot-btn' href='../../" + escapeHtml(artifactPath) + "' target='_blank'>📄</a>"
-                                : "<span class='no-screenshot'>⚠️</span>";
-                    }
-
-                    String statusClass = statusBadgeClass(status);
-                    overallRows.append("<tr>")
-                            .append("<td>").append(rs.getInt("id")).append("</td>")
-                            .append("<td>").append(escapeHtml(rs.getString("test_name"))).append("</td>")
-                            .append("<td><span class='").append(statusClass).append("'>").append(escapeHtml(status)).append("</span></td>")
-                            .append("<td>").append(escapeHtml(rs.getString("test_type"))).append("</td>")
-                            .append("<td>").append(escapeHtml(rs.getString("us_id"))).append("</td>")
-                            .append("<td>").append(escapeHtml(rs.getString("tc_id"))).append("</td>")
-                            .append("<td>").append(escapeHtml(rs.getString("execution_time"))).append("</td>")
-                            .append("<td>").append(screenshotCell).append("</td>")
-                            .append("<td>").append(artifactCell).append("</td>")
-                            .append("</tr>");
-                }
-                if (!hasData) overallRows.append("<tr><td colspan='9'>No records found</td></tr>");
+        generateReport(ReportScope.all());
+    }
+
+    public static void generateReport(ReportScope scope) throws Exception {
+        ReportPipeline.run(scope, sink());
+    }
+
+    public static ReportSink sink() {
+        return new HtmlSink(Math.max(0, ConfigManager.getInt("report.maxWeekShards", 52)));
+    }
+
+    // ---------- Sink ----------
+    private static final class HtmlSink implements ReportSink {
+        private final int maxShards;
+        private final Aggregates totals = new Aggregates();
+        private final Map<Integer, WeekStats> weeks = new HashMap<>();
+        private final TreeSet<Integer> shardedWeeks = new TreeSet<>();
+        private ReportScope scope;
+        private Path reportDir;
+        private Path dataDir;
+        private Shard shard;
+
+        HtmlSink(int maxShards) {
+            this.maxShards = maxShards;
+        }
+
+        @Override
+        public String name() {
+            return "html";
+        }
+
+        @Override
+        public void open(ReportScope scope) throws IOException {
+            this.scope = scope;
+            String timestampForFile = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss"));
+            reportDir = Paths.get("artifacts/reports/TestReport_" + timestampForFile + scope.fileSuffix());
+            dataDir = reportDir.resolve("data");
+            Files.createDirectories(dataDir);
+        }
+
+        @Override
+        public void accept(ReportRow row) throws IOException {
+            totals.count(row.getStatus());
+            if (row.getExecutionTime() == null) return;
+
+            LocalDate date = row.getExecutionTime().toLocalDate();
+            int key = ReportRow.weekKey(date);
+            WeekStats week = weeks.get(key);
+            if (week == null) {
+                week = new WeekStats(key, date);
+                weeks.put(key, week);
+                admit(week);
+            }
+            week.count(row.getStatus(), date);
+            if (week.shardFile == null) return;
+
+            if (shard == null || shard.week != week) {
+                if (shard != null) shard.close();
+                shard = new Shard(dataDir.resolve(week.shardFile), week);
             }
+            shard.write(row);
+        }
 
-            total = passCount + failCount + skipCount;
-            successRate = total == 0 ? 0 : ((double) passCount / total) * 100;
-
-            String weekListQuery = "SELECT YEAR(execution_time) AS yr, WEEK(execution_time,1) AS wk, " +
-                    "MIN(DATE(execution_time)) AS week_start, MAX(DATE(execution_time)) AS week_end " +
-                    "FROM execution_log GROUP BY yr, wk ORDER BY week_start DESC";
-
-            try (Statement weekStmt = conn.createStatement(); ResultSet weekListRs = weekStmt.executeQuery(weekListQuery)) {
-                weeksArrayJs.append("[");
-                weeklySummaryJs.append("{");
-                weeklyDetailsJs.append("{");
-                overallTrendJs.append("{");
-
-                boolean firstWeek = true;
-                while (weekListRs.next()) {
-                    int yr = weekListRs.getInt("yr");
-                    int wk = weekListRs.getInt("wk");
-                    String weekId = yr + "_" + wk;
-                    String weekStart = weekListRs.getString("week_start");
-                    String weekEnd = weekListRs.getString("week_end");
-
-                    if (!firstWeek) weeksArrayJs.append(",");
-                    weeksArrayJs.append("{\"id\":\"").append(escapeJs(weekId)).append("\",\"label\":\"")
-                            .append(escapeJs("Week " + wk + " (" + weekStart + " → " + weekEnd + ")")).append("\",\"start\":\"")
-                            .append(escapeJs(weekStart)).append("\",\"end\":\"").append(escapeJs(weekEnd)).append("\"}");
-
-                    // Weekly summary
-                    String summaryQuery = "SELECT status, COUNT(*) AS cnt FROM execution_log " +
-                            "WHERE YEAR(execution_time)=" + yr + " AND WEEK(execution_time,1)=" + wk + " GROUP BY status";
-                    int wPass = 0, wFail = 0, wSkip = 0;
-                    try (Statement sumStmt = conn.createStatement(); ResultSet sumRs = sumStmt.executeQuery(summaryQuery)) {
-                        while (sumRs.next()) {
-                            String s = sumRs.getString("status");
-                            int c = sumRs.getInt("cnt");
-                            if ("PASS".equalsIgnoreCase(s)) wPass = c;
-                            else if ("FAIL".equalsIgnoreCase(s)) wFail = c;
-                            else wSkip += c;
-                        }
-                    }
-                    int wTotal = wPass + wFail + wSkip;
-
-                    if (!firstWeek) weeklySummaryJs.append(",");
-                    weeklySummaryJs.append("\"").append(escapeJs(weekId)).append("\":{\"pass\":").append(wPass)
-                            .append(",\"fail\":").append(wFail).append(",\"skip\":").append(wSkip).append(",\"total\":").append(wTotal).append("}");
-
-                    // Weekly details
-                    String detailQuery = "SELECT id, test_name, status, test_type, us_id, tc_id, execution_time, screenshot_path, artifact " +
-                            "FROM execution_log WHERE YEAR(execution_time)=" + yr + " AND WEEK(execution_time,1)=" + wk + " ORDER BY execution_time DESC";
-                    try (Statement detStmt = conn.createStatement(); ResultSet detRs = detStmt.executeQuery(detailQuery)) {
-                        StringBuilder detailArray = new StringBuilder();
-                        detailArray.append("[");
-                        boolean firstDet = true;
-                        while (detRs.next()) {
-                            if (!firstDet) detailArray.append(",");
-                            detailArray.append("{")
-                                    .append("\"id\":\"").append(detRs.getInt("id")).append("\",")
-                                    .append("\"test_name\":\"").append(escapeJs(detRs.getString("test_name"))).append("\",")
-                                    .append("\"status\":\"").append(escapeJs(detRs.getString("status"))).append("\",")
-                                    .append("\"test_type\":\"").append(escapeJs(detRs.getString("test_type"))).append("\",")
-                                    .append("\"us_id\":\"").append(escapeJs(detRs.getString("us_id"))).append("\",")
-                                    .append("\"tc_id\":\"").append(escapeJs(detRs.getString("tc_id"))).append("\",")
-                                    .append("\"execution_time\":\"").append(escapeJs(detRs.getString("execution_time"))).append("\",")
-                                    .append("\"screenshot\":\"").append(escapeJs(detRs.getString("screenshot_path"))).append("\",")
-                                    .append("\"artifact\":\"").append(escapeJs(detRs.getString("artifact"))).append("\"")
-                                    .append("}");
-                            firstDet = false;
-                        }
-                        detailArray.append("]");
-                        if (!firstWeek) weeklyDetailsJs.append(",");
-                        weeklyDetailsJs.append("\"").append(escapeJs(weekId)).append("\":").append(detailArray.toString());
-                    }
-
-                    // Overall trend
-                    if (!firstWeek) overallTrendJs.append(",");
-                    overallTrendJs.append("\"").append(escapeJs(weekId)).append("\":{\"pass\":").append(wPass)
-                            .append(",\"fail\":").append(wFail).append(",\"skip\":").append(wSkip).append("}");
-
-                    firstWeek = false;
+        // Keeps shards for the newest maxShards weeks seen so far; an older week never gets one back
+        private void admit(WeekStats week) throws IOException {
+            shardedWeeks.add(week.key);
+            week.shardFile = "week_" + week.id() + ".js";
+            if (shardedWeeks.size() <= maxShards) return;
+
+            WeekStats evicted = weeks.get(shardedWeeks.pollFirst());
+            if (shard != null && shard.week == evicted) {
+                shard.close();
+                shard = null;
+            }
+            Files.deleteIfExists(dataDir.resolve(evicted.shardFile));
+            evicted.shardFile = null;
+            evicted.shardRows = 0;
+            evicted.artifacts.clear();
+        }
+
+        @Override
+        public void finish() throws IOException {
+            if (shard != null) shard.close();
+            shard = null;
+            Set<String> artifacts = new HashSet<>();
+            for (Integer key : shardedWeeks) {
+                Shard.seal(dataDir.resolve(weeks.get(key).shardFile));
+                artifacts.addAll(weeks.get(key).artifacts);
+            }
+            exportArtifacts(dataDir.resolve("artifacts"), artifacts);
+
+            Aggregates counted = scope.isAll() ? readRollups() : null;
+            if (counted == null) counted = totals;
+            List<WeekStats> newestFirst = new ArrayList<>(weeks.values());
+            newestFirst.sort((a, b) -> Integer.compare(b.key, a.key));
+            writeManifest(dataDir.resolve("manifest.js"), counted, newestFirst);
+            writeLoad(dataDir.resolve("load.js"));
+            writeShell(reportDir.resolve("index.html"));
+
+            System.out.println("✅ HTML Dashboard generated: " + reportDir.resolve("index.html")
+                    + " (" + scope + ", " + counted.total() + " results, " + weeks.size() + " weeks)");
+        }
+
+        // Replaces the week counts taken from the rows and returns the totals, or null to keep the row counts: a week
+        // the scan saw but the rollups lack means they are out of step (not backfilled yet)
+        private Aggregates readRollups() {
+            Map<Integer, WeekStats> rolled = new HashMap<>();
+            Aggregates rolledTotals = new Aggregates();
+            try {
+                for (RollupRepository.TrendPoint day : RollupRepository.dailyHistory()) {
+                    LocalDate date = day.date();
+                    rolled.computeIfAbsent(ReportRow.weekKey(date), k -> new WeekStats(k, date)).add(day, date);
+                    rolledTotals.add(day);
                 }
-                weeksArrayJs.append("]");
-                weeklySummaryJs.append("}");
-                weeklyDetailsJs.append("}");
-                overallTrendJs.append("}");
+            } catch (SQLException e) {
+                System.err.println("[HtmlReportGenerator] ⚠️ Rollups unavailable, counts taken from the rows: " + e.getMessage());
+                return null;
+            }
+            if (!rolled.keySet().containsAll(weeks.keySet())) {
+                System.err.println("[HtmlReportGenerator] ⚠️ Rollups behind execution_log (run RollupBackfill), counts taken from the rows");
+                return null;
+            }
+            for (WeekStats week : rolled.values()) {
+                WeekStats scanned = weeks.get(week.key);
+                if (scanned != null) week.shardFile = scanned.shardFile;
+                weeks.put(week.key, week);
             }
+            return rolledTotals;
         }
 
-        // Write HTML
-        try (FileWriter writer = new FileWriter(fileName)) {
-            writer.write("<!doctype html><html lang='en'><head><meta charset='utf-8'>");
-            writer.write("<meta name='viewport' content='width=device-width, initial-scale=1'>");
-            writer.write("<title>Automation Test Report</title>");
-            writer.write("<script src='https://cdn.jsdelivr.net/npm/chart.js'></script>");
-            // Professional, colorful CSS
-            writer.write("<style>" +
-                    "body{font-family:Arial,sans-serif;background:#f5f6fa;margin:0;padding:0;}" +
-                    "h1,h2{color:#2f3640;}" +
-                    ".container{padding:20px;max-width:1200px;margin:auto;}" +
-                    ".card-grid{display:flex;flex-wrap:wrap;gap:15px;margin-bottom:20px;}" +
-                    ".card{background:#ffffff;padding:15px;border-radius:10px;flex:1 1 150px;text-align:center;box-shadow:0 2px 10px rgba(0,0,0,0.1);}" +
-                    ".charts{display:flex;justify-content:center;margin-bottom:20px;}" +
-                    ".chart-card{background:#fff;padding:15px;border-radius:10px;box-shadow:0 2px 10px rgba(0,0,0,0.1);max-width:450px;width:100%;}" +
-                    "table{width:100%;border-collapse:collapse;margin-top:20px;background:#fff;border-radius:10px;overflow:hidden;box-shadow:0 2px 10px rgba(0,0,0,0.1);}" +
-                    "th,td{padding:10px;text-align:center;border-bottom:1px solid #ddd;}" +
-                    "th{background:#4cd137;color:#fff;}" +
-                    "tr:hover{background:#f1f2f6;}" +
-                    ".status-pass{color:#00c853;font-weight:bold;}" +
-                    ".status-fail{color:#d50000;font-weight:bold;}" +
-                    ".status-skip{color:#ff9100;font-weight:bold;}" +
-                    "select.select{padding:8px;margin-bottom:15px;border-radius:5px;border:1px solid #ccc;}" +
-                    "footer{text-align:center;margin:20px 0;color:#636e72;}" +
-                    "</style>");
-
-            writer.write("</head><body><div class='container'>");
-
-            // Header + Summary Cards
-            writer.write("<h1>Automation Test Execution Report</h1>");
-            writer.write("<div class='card-grid'>");
-            writer.write("<div class='card'><h2>" + total + "</h2><p>Total Tests</p></div>");
-            writer.write("<div class='card'><h2>" + passCount + "</h2><p>Passed</p></div>");
-            writer.write("<div class='card'><h2>" + failCount + "</h2><p>Failed</p></div>");
-            writer.write("<div class='card'><h2>" + skipCount + "</h2><p>Skipped</p></div>");
-            writer.write("<div class='card'><h2>" + String.format("%.2f", successRate) + "%</h2><p>Success Rate</p></div>");
-            writer.write("</div>");
-
-            // Overall doughnut chart
-            writer.write("<div class='charts'><div class='chart-card'><canvas id='overallDoughChart' width='350' height='350'></canvas></div></div>");
-
-            // Weekly analysis selector + cards + chart
-            writer.write("<section id='weekly'><div class='section-title'><h2>Weekly Analysis</h2><select class='select' id='weekSelector'></select></div>");
-            writer.write("<div class='card-grid' id='weeklyCards'></div>");
-            writer.write("<div class='charts'><div class='chart-card'><canvas id='weeklyDoughChart' width='350' height='350'></canvas></div></div>");
-
-            // Results Table
-            writer.write("<section id='results'><table id='resultsTable'><thead><tr>" +
-                    "<th>ID</th><th>Test Name</th><th>Status</th><th>Type</th><th>US ID</th><th>TC ID</th><th>Execution Time</th><th>Screenshot</th><th>Artifact</th>" +
-                    "</tr></thead><tbody>");
-            writer.write(overallRows.toString());
-            writer.write("</tbody></table></section>");
-
-            // JS for charts, week selection, table update
-            writer.write("<script>");
-            writer.write("const weeks=" + weeksArrayJs.toString() + ";");
-            writer.write("const weeklySummary=" + weeklySummaryJs.toString() + ";");
-            writer.write("const weeklyDetails=" + weeklyDetailsJs.toString() + ";");
-
-            writer.write(
-                    "const weekSelect=document.getElementById('weekSelector');" +
-                            "const weeklyCardsDiv=document.getElementById('weeklyCards');" +
-                            "const resultsTable=document.getElementById('resultsTable').getElementsByTagName('tbody')[0];" +
-                            "weeks.forEach(w=>{const opt=document.createElement('option');opt.value=w.id;opt.textContent=w.label;weekSelect.appendChild(opt);});" +
-                            "const overallCtx=document.getElementById('overallDoughChart').getContext('2d');" +
-                            "const overallDoughChart=new Chart(overallCtx,{type:'doughnut',data:{labels:['PASS','FAIL','SKIP'],datasets:[{data:[" + passCount + "," + failCount + "," + skipCount + "],backgroundColor:['#00c853','#d50000','#ff9100']}]},options:{responsive:true,plugins:{legend:{position:'bottom'}}}});" +
-                            "const weeklyCtx=document.getElementById('weeklyDoughChart').getContext('2d');" +
-                            "let weeklyDoughChart=new Chart(weeklyCtx,{type:'doughnut',data:{labels:['PASS','FAIL','SKIP'],datasets:[{data:[0,0,0],backgroundColor:['#00c853','#d50000','#ff9100']}]},options:{responsive:true,plugins:{legend:{position:'bottom'}}}});" +
-                            "function updateWeeklyView(weekId){const data=weeklySummary[weekId];if(!data)return;" +
-                            "weeklyDoughChart.data.datasets[0].data=[data.pass,data.fail,data.skip];" +
-                            "weeklyDoughChart.update();" +
-                            "weeklyCardsDiv.innerHTML='';['Total','Pass','Fail','Skip'].forEach(k=>{let val=k==='Total'?data.total:k==='Pass'?data.pass:k==='Fail'?data.fail:data.skip;" +
-                            "const card=document.createElement('div');card.className='card';card.innerHTML='<h2>'+val+'</h2><p>'+k+'</p>';weeklyCardsDiv.appendChild(card);});" +
-                            "const details=weeklyDetails[weekId]||[];resultsTable.innerHTML='';" +
-                            "if(details.length===0){resultsTable.innerHTML='<tr><td colspan=\"9\">No records found</td></tr>';} else {details.forEach(r=>{const row=document.createElement('tr');" +
-                            "row.innerHTML='<td>'+r.id+'</td><td>'+r.test_name+'</td><td><span class=\"'+(r.status==='PASS'?'status-pass':r.status==='FAIL'?'status-fail':'status-skip')+'\">'+r.status+'</span></td><td>'+r.test_type+'</td><td>'+r.us_id+'</td><td>'+r.tc_id+'</td><td>'+r.execution_time+'</td><td>'+(r.screenshot?'<a href=\"../../'+r.screenshot+'\" target=\"_blank\">📸</a>':'—')+'</td><td>'+(r.artifact?'<a href=\"../../'+r.artifact+'\" target=\"_blank\">📄</a>':'—')+'</td>';resultsTable.appendChild(row);});}}" +
-                            "weekSelect.addEventListener('change',e=>updateWeeklyView(e.target.value));if(weeks.length>0)updateWeeklyView(weeks[0].id);"
-            );
-
-            writer.write("</script>");
-            writer.write("<footer>Generated on " + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")) + "</footer>");
-            writer.write("</div></body></html>");
+        @Override
+        public void abort() {
+            try {
+                if (shard != null) shard.close();
+            } catch (IOException ignored) {
+                // the directory is incomplete either way
+            }
+            System.err.println("[HtmlReportGenerator] ❌ Report left incomplete: " + reportDir);
+        }
+    }
+
+    /**
+     * One week's rows as reportShard("id", [[...], ...]); each row is a positional array in ReportRow.COLUMNS order.
+     * The file is reopened in append mode whenever its week comes round again and sealed with "]);" at the end.
+     */
+    private static final class Shard {
+        final WeekStats week;
+        private final JsonGenerator json;
+
+        Shard(Path file, WeekStats week) throws IOException {
+            this.week = week;
+            Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            this.json = JSON.createGenerator(writer);
+            json.setRootValueSeparator(null);
+            if (week.shardRows == 0) {
+                json.writeRaw("reportShard(");
+                json.writeString(week.id());
+                json.writeRaw(",[");
+            }
+        }
+
+        void write(ReportRow row) throws IOException {
+            if (week.shardRows++ > 0) json.writeRaw(',');
+            json.writeStartArray();
+            json.writeNumber(row.getId());
+            json.writeString(row.getTestName());
+            json.writeString(row.getStatus());
+            json.writeString(row.getTestType());
+            json.writeString(row.getUsId());
+            json.writeString(row.getTcId());
+            json.writeString(row.getExecutionTimeText());
+            json.writeString(link(row.getScreenshotPath()));
+            json.writeString(link(row.getArtifact()));
+            json.writeEndArray();
         }
 
-        System.out.println("✅ HTML Dashboard generated: " + fileName);
+        // Content ids are exported with the report once the shards are complete
+        private String link(String path) {
+            String target = linkTarget(path);
+            if (ArtifactStore.isContentId(target)) week.artifacts.add(target);
+            return target;
+        }
+
+        void close() throws IOException {
+            json.close();
+        }
+
+        static void seal(Path file) throws IOException {
+            Files.write(file, "]);".getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+        }
+    }
+
+    // null renders as "—", an empty string as ⚠️ (path recorded but the file or blob is gone)
+    private static String linkTarget(String path) {
+        if (path == null || path.isEmpty()) return null;
+        if (ArtifactStore.isContentId(path)) return ArtifactStore.contains(path) ? path : "";
+        return new File(path).exists() ? path : "";
+    }
+
+    // ---------- Output ----------
+    // The blobs as plain files (decompressed), named by the content id without its "cas:" prefix as report.html expects
+    private static void exportArtifacts(Path dir, Set<String> ids) throws IOException {
+        if (ids.isEmpty()) return;
+        Files.createDirectories(dir);
+        int exported = 0;
+        long bytes = 0;
+        for (String id : ids) {
+            ArtifactStore.Blob blob = ArtifactStore.get(id);
+            if (blob == null) continue;
+            byte[] content = blob.bytes();
+            Files.write(dir.resolve(id.substring(ArtifactStore.PREFIX.length())), content);
+            exported++;
+            bytes += content.length;
+        }
+        System.out.println("[HtmlReportGenerator] 📎 " + exported + " artifact(s), " + bytes + " bytes copied to " + dir);
+    }
+
+    private static void writeManifest(Path file, Aggregates totals, List<WeekStats> weeks) throws IOException {
+        Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8);
+        writer.write("reportManifest(");
+        try (JsonGenerator json = JSON.createGenerator(writer)) {
+            json.writeStartObject();
+            json.writeStringField("generatedAt", LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")));
+            json.writeNumberField("total", totals.total());
+            json.writeNumberField("pass", totals.pass);
+            json.writeNumberField("fail", totals.fail);
+            json.writeNumberField("skip", totals.skip);
+            json.writeArrayFieldStart("weeks");
+            for (WeekStats w : weeks) {
+                json.writeStartObject();
+                json.writeStringField("id", w.id());
+                json.writeStringField("label", "Week " + (w.key % 100) + " (" + w.start + " → " + w.end + ")");
+                json.writeStringField("start", w.start.toString());
+                json.writeStringField("end", w.end.toString());
+                json.writeNumberField("pass", w.pass);
+                json.writeNumberField("fail", w.fail);
+                json.writeNumberField("skip", w.skip);
+                json.writeNumberField("total", w.total());
+                json.writeStringField("shard", w.shardFile);
+                json.writeEndObject();
+            }
+            json.writeEndArray();
+            json.writeEndObject();
+            json.writeRaw(");");
+        }
+    }
+
+    // Load runs are optional: without them (or without their tables) the section stays hidden
+    private static void writeLoad(Path file) throws IOException {
+        List<LoadResultRepository.LoadRun> runs;
+        try {
+            runs = LoadResultRepository.recentRuns(Math.max(1, ConfigManager.getInt("report.loadRuns", 5)));
+        } catch (SQLException e) {
+            System.err.println("[HtmlReportGenerator] ⚠️ Load results unavailable: " + e.getMessage());
+            runs = List.of();
+        }
+        Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8);
+        writer.write("reportLoad(");
+        try (JsonGenerator json = JSON.createGenerator(writer)) {
+            json.writeStartArray();
+            for (LoadResultRepository.LoadRun run : runs) {
+                json.writeStartObject();
+                json.writeNumberField("id", run.getId());
+                json.writeStringField("runKey", run.getRunKey());
+                json.writeStringField("model", run.getModel());
+                json.writeNumberField("targetRate", run.getTargetRate());
+                json.writeNumberField("concurrency", run.getConcurrency());
+                json.writeNumberField("durationMs", run.getDurationMs());
+                json.writeNumberField("dropped", run.getDropped());
+                json.writeStringField("startedAt", run.getStartedAt());
+                json.writeArrayFieldStart("rows");
+                for (LoadResultRepository.Row r : run.getRows()) {
+                    json.writeStartObject();
+                    json.writeStringField("scenario", r.getScenario());
+                    json.writeStringField("endpoint", r.getEndpoint());
+                    json.writeNumberField("requests", r.getRequests());
+                    json.writeNumberField("errors", r.getErrors());
+                    json.writeNumberField("rps", r.getThroughputRps());
+                    json.writeNumberField("p50", r.getP50Ms());
+                    json.writeNumberField("p95", r.getP95Ms());
+                    json.writeNumberField("p99", r.getP99Ms());
+                    json.writeNumberField("max", r.getMaxMs());
+                    json.writeNumberField("serviceP99", r.getServiceP99Ms());
+                    json.writeEndObject();
+                }
+                json.writeEndArray();
+                json.writeEndObject();
+            }
+            json.writeEndArray();
+            json.writeRaw(");");
+        }
     }
 
-    private static String statusBadgeClass(String status) {
-        switch (status.toUpperCase()) {
-            case "PASS": return "status-pass";
-            case "FAIL": return "status-fail";
-            case "SKIP": return "status-skip";
-            default: return "";
+    private static void writeShell(Path file) throws IOException {
+        try (InputStream in = HtmlReportGenerator.class.getResourceAsStream(SHELL_RESOURCE)) {
+            if (in == null) throw new IOException("Report shell not found on classpath: " + SHELL_RESOURCE);
+            Files.copy(in, file, StandardCopyOption.REPLACE_EXISTING);
         }
     }
 
-    private static String escapeHtml(String s) {
-        if (s == null) return "";
-        return s.replace("&","&amp;").replace("<","&lt;").replace(">","&gt;").replace("\"","&quot;").replace("'","&#39;");
+    // ---------- Counters ----------
+    private static final class Aggregates {
+        int pass, fail, skip;
+
+        void count(String status) {
+            if ("PASS".equalsIgnoreCase(status)) pass++;
+            else if ("FAIL".equalsIgnoreCase(status)) fail++;
+            else skip++;
+        }
+
+        // Statuses other than PASS and FAIL count as skipped, as in count()
+        void add(RollupRepository.Summary summary) {
+            pass += (int) summary.getPassed();
+            fail += (int) summary.getFailed();
+            skip += (int) (summary.getTotal() - summary.getPassed() - summary.getFailed());
+        }
+
+        int total() {
+            return pass + fail + skip;
+        }
     }
 
-    private static String escapeJs(String s) {
-        if (s == null) return "";
-        return s.replace("\\","\\\\").replace("\"","\\\"").replace("'","\\'").replace("\n","\\n").replace("\r","\\r");
+    private static final class WeekStats {
+        final int key;
+        int pass, fail, skip;
+        LocalDate start, end;
+        String shardFile;
+        int shardRows;
+        final Set<String> artifacts = new HashSet<>();
+
+        WeekStats(int key, LocalDate firstSeen) {
+            this.key = key;
+            this.start = firstSeen;
+            this.end = firstSeen;
+        }
+
+        void count(String status, LocalDate date) {
+            if ("PASS".equalsIgnoreCase(status)) pass++;
+            else if ("FAIL".equalsIgnoreCase(status)) fail++;
+            else skip++;
+            if (date.isBefore(start)) start = date;
+            if (date.isAfter(end)) end = date;
+        }
+
+        void add(RollupRepository.Summary summary, LocalDate date) {
+            pass += (int) summary.getPassed();
+            fail += (int) summary.getFailed();
+            skip += (int) (summary.getTotal() - summary.getPassed() - summary.getFailed());
+            if (date.isBefore(start)) start = date;
+            if (date.isAfter(end)) end = date;
+        }
+
+        int total() {
+            return pass + fail + skip;
+        }
+
+        String id() {
+            return ReportRow.weekId(key);
+        }
     }
 }
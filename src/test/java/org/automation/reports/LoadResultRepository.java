@@ -0,0 +1,120 @@
+package org.automation.reports;
+
+import org.automation.utils.DatabaseUtils;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/** Recent load runs (load_run / load_result, written by LoadRunner) for the report's Load Tests section. */
+public final class LoadResultRepository {
+
+    private LoadResultRepository() {
+    }
+
+    /** The newest n runs, newest first, each with its scenario rows; the all-scenarios row ('*') comes last. */
+    public static List<LoadRun> recentRuns(int n) throws SQLException {
+        Map<Integer, LoadRun> runs = new LinkedHashMap<>();
+        try (Connection conn = DatabaseUtils.getConnection()) {
+            try (PreparedStatement ps = conn.prepareStatement(
+                    "SELECT load_run_id, run_key, model, target_rate, concurrency, duration_ms, dropped, started_at "
+                            + "FROM load_run ORDER BY started_at DESC, load_run_id DESC LIMIT ?")) {
+                ps.setInt(1, Math.max(1, n));
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) {
+                        runs.put(rs.getInt(1), new LoadRun(rs.getInt(1), rs.getString(2), rs.getString(3), rs.getDouble(4),
+                                rs.getInt(5), rs.getLong(6), rs.getLong(7), String.valueOf(rs.getTimestamp(8).toLocalDateTime())));
+                    }
+                }
+            }
+            if (runs.isEmpty()) return new ArrayList<>();
+
+            String ids = String.join(",", runs.keySet().stream().map(String::valueOf).toList());
+            try (PreparedStatement ps = conn.prepareStatement(
+                    "SELECT load_run_id, scenario, endpoint, requests, errors, throughput_rps, p50_ms, p95_ms, p99_ms, max_ms, "
+                            + "service_p99_ms FROM load_result WHERE load_run_id IN (" + ids + ") "
+                            + "ORDER BY load_run_id, scenario = '*', scenario");
+                 ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    runs.get(rs.getInt(1)).rows.add(new Row(rs.getString(2), rs.getString(3), rs.getLong(4), rs.getLong(5),
+                            rs.getDouble(6), rs.getDouble(7), rs.getDouble(8), rs.getDouble(9), rs.getDouble(10), rs.getDouble(11)));
+                }
+            }
+        }
+        return new ArrayList<>(runs.values());
+    }
+
+    // ---------- Views ----------
+    public static final class LoadRun {
+        private final int id;
+        private final String runKey;
+        private final String model;
+        private final double targetRate;
+        private final int concurrency;
+        private final long durationMs;
+        private final long dropped;
+        private final String startedAt;
+        private final List<Row> rows = new ArrayList<>();
+
+        LoadRun(int id, String runKey, String model, double targetRate, int concurrency, long durationMs, long dropped,
+                String startedAt) {
+            this.id = id;
+            this.runKey = runKey;
+            this.model = model;
+            this.targetRate = targetRate;
+            this.concurrency = concurrency;
+            this.durationMs = durationMs;
+            this.dropped = dropped;
+            this.startedAt = startedAt;
+        }
+
+        public int getId() { return id; }
+        public String getRunKey() { return runKey; }
+        public String getModel() { return model; }
+        public double getTargetRate() { return targetRate; }
+        public int getConcurrency() { return concurrency; }
+        public long getDurationMs() { return durationMs; }
+        public long getDropped() { return dropped; }
+        public String getStartedAt() { return startedAt; }
+        public List<Row> getRows() { return rows; }
+    }
+
+    public static final class Row {
+        private final String scenario;
+        private final String endpoint;
+        private final long requests;
+        private final long errors;
+        private final double throughputRps;
+        private final double p50Ms, p95Ms, p99Ms, maxMs, serviceP99Ms;
+
+        Row(String scenario, String endpoint, long requests, long errors, double throughputRps, double p50Ms,
+            double p95Ms, double p99Ms, double maxMs, double serviceP99Ms) {
+            this.scenario = scenario;
+            this.endpoint = endpoint;
+            this.requests = requests;
+            this.errors = errors;
+            this.throughputRps = throughputRps;
+            this.p50Ms = p50Ms;
+            this.p95Ms = p95Ms;
+            this.p99Ms = p99Ms;
+            this.maxMs = maxMs;
+            this.serviceP99Ms = serviceP99Ms;
+        }
+
+        public String getScenario() { return scenario; }
+        public String getEndpoint() { return endpoint; }
+        public long getRequests() { return requests; }
+        public long getErrors() { return errors; }
+        public double getThroughputRps() { return throughputRps; }
+        public double getP50Ms() { return p50Ms; }
+        public double getP95Ms() { return p95Ms; }
+        public double getP99Ms() { return p99Ms; }
+        public double getMaxMs() { return maxMs; }
+        public double getServiceP99Ms() { return serviceP99Ms; }
+    }
+}
@@ -0,0 +1,193 @@
+package org.automation.reports;
+
+import org.automation.config.ConfigManager;
+import org.automation.utils.DatabaseUtils;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Reads execution_log for a {@link ReportScope} once and fans the rows out to any number of {@link ReportSink}s,
+ * each running on its own thread behind a bounded queue. Rows travel in chunks of report.pipeline.chunkRows and
+ * each queue holds report.pipeline.queueChunks chunks, so a slow sink holds the scan back instead of buffering the
+ * table in memory. Report time is the scan or the slowest sink, whichever is longer, rather than the sum of all.
+ *
+ * A sink that throws is aborted and drained; the others carry on. Once every sink has run, the failures are thrown
+ * together (the first as the cause, the rest suppressed). Per-sink timings are printed at the end.
+ */
+public final class ReportPipeline {
+
+    private static final List<ReportRow> END = Collections.emptyList();
+
+    private ReportPipeline() {
+    }
+
+    public static void run(ReportScope scope, ReportSink... sinks) throws Exception {
+        run(scope, Arrays.asList(sinks));
+    }
+
+    public static void run(ReportScope scope, List<ReportSink> sinks) throws Exception {
+        int chunkRows = Math.max(1, ConfigManager.getInt("report.pipeline.chunkRows", 512));
+        int queueChunks = Math.max(1, ConfigManager.getInt("report.pipeline.queueChunks", 16));
+        long start = System.nanoTime();
+
+        List<Worker> workers = new ArrayList<>();
+        for (ReportSink sink : sinks) {
+            Worker worker = new Worker(sink, scope, queueChunks);
+            workers.add(worker);
+            worker.thread.start();
+        }
+
+        long rows = 0;
+        long blockedNanos = 0;
+        Exception scanError = null;
+        try (Connection conn = DatabaseUtils.getConnection();
+             PreparedStatement ps = DatabaseUtils.streamingStatement(conn, scope.query("id"))) {
+            scope.bind(ps);
+            try (ResultSet rs = ps.executeQuery()) {
+                List<ReportRow> chunk = new ArrayList<>(chunkRows);
+                while (rs.next()) {
+                    chunk.add(ReportRow.from(rs));
+                    rows++;
+                    if (chunk.size() == chunkRows) {
+                        blockedNanos += publish(workers, chunk);
+                        chunk = new ArrayList<>(chunkRows);
+                        if (allFailed(workers)) break;
+                    }
+                }
+                if (!chunk.isEmpty()) blockedNanos += publish(workers, chunk);
+            }
+        } catch (Exception e) {
+            scanError = e;
+        }
+        long scanNanos = System.nanoTime() - start;
+
+        for (Worker worker : workers) worker.end(scanError != null);
+        for (Worker worker : workers) worker.thread.join();
+
+        printTimings(scope, rows, scanNanos, blockedNanos, System.nanoTime() - start, workers);
+        rethrow(scanError, workers);
+    }
+
+    // ---------- Fan-out ----------
+    // Chunks are shared between sinks and never modified after publishing; returns the time spent blocked on full queues
+    private static long publish(List<Worker> workers, List<ReportRow> chunk) throws InterruptedException {
+        List<ReportRow> shared = Collections.unmodifiableList(chunk);
+        long blocked = 0;
+        for (Worker worker : workers) {
+            if (worker.failure != null) continue;
+            if (!worker.queue.offer(shared)) {
+                long t0 = System.nanoTime();
+                worker.queue.put(shared);
+                blocked += System.nanoTime() - t0;
+            }
+        }
+        return blocked;
+    }
+
+    private static boolean allFailed(List<Worker> workers) {
+        for (Worker worker : workers) {
+            if (worker.failure == null) return false;
+        }
+        return !workers.isEmpty();
+    }
+
+    /** Runs one sink on its own thread; after a failure it keeps taking chunks so the scan never blocks on it. */
+    private static final class Worker implements Runnable {
+        final ReportSink sink;
+        final ReportScope scope;
+        final BlockingQueue<List<ReportRow>> queue;
+        final Thread thread;
+        volatile Throwable failure;
+        volatile boolean scanFailed;
+        private boolean ended;
+        long rows;
+        long elapsedNanos;
+
+        Worker(ReportSink sink, ReportScope scope, int capacity) {
+            this.sink = sink;
+            this.scope = scope;
+            this.queue = new ArrayBlockingQueue<>(capacity);
+            this.thread = new Thread(this, "report-" + sink.name());
+        }
+
+        @Override
+        public void run() {
+            long start = System.nanoTime();
+            try {
+                sink.open(scope);
+                for (List<ReportRow> chunk = take(); chunk != END; chunk = take()) {
+                    for (ReportRow row : chunk) sink.accept(row);
+                    rows += chunk.size();
+                }
+                if (scanFailed) sink.abort();
+                else sink.finish();
+            } catch (Throwable t) {
+                failure = t;
+                try {
+                    sink.abort();
+                } catch (Throwable ignored) {
+                    // keep the original failure
+                }
+                drain();
+            } finally {
+                elapsedNanos = System.nanoTime() - start;
+            }
+        }
+
+        void end(boolean scanFailed) throws InterruptedException {
+            this.scanFailed = scanFailed;
+            queue.put(END);
+        }
+
+        private List<ReportRow> take() throws InterruptedException {
+            List<ReportRow> chunk = queue.take();
+            if (chunk == END) ended = true;
+            return chunk;
+        }
+
+        private void drain() {
+            try {
+                while (!ended) take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    // ---------- Results ----------
+    private static void printTimings(ReportScope scope, long rows, long scanNanos, long blockedNanos, long totalNanos,
+                                     List<Worker> workers) {
+        System.out.println("[ReportPipeline] 📊 " + rows + " rows (" + scope + ") scanned once in " + millis(scanNanos)
+                + " ms (" + millis(blockedNanos) + " ms waiting on sinks), reports done in " + millis(totalNanos) + " ms");
+        for (Worker worker : workers) {
+            String outcome = worker.failure == null ? "✅" : "❌ " + worker.failure;
+            System.out.printf("[ReportPipeline]   %-8s %8d ms %10d rows  %s%n",
+                    worker.sink.name(), millis(worker.elapsedNanos), worker.rows, outcome);
+        }
+    }
+
+    private static void rethrow(Exception scanError, List<Worker> workers) throws Exception {
+        Exception error = scanError;
+        for (Worker worker : workers) {
+            if (worker.failure == null) continue;
+            if (error == null) {
+                error = new Exception("Report sink '" + worker.sink.name() + "' failed", worker.failure);
+            } else {
+                error.addSuppressed(worker.failure);
+            }
+        }
+        if (error != null) throw error;
+    }
+
+    private static long millis(long nanos) {
+        return nanos / 1_000_000;
+    }
+}
@@ -0,0 +1,84 @@
+package org.automation.reports;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * One execution_log row as the report generators see it, read once from a streaming ResultSet.
+ */
+public final class ReportRow {
+
+    public static final String COLUMNS =
+            "id, test_name, status, test_type, us_id, tc_id, execution_time, screenshot_path, artifact";
+
+    private static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private final int id;
+    private final String testName;
+    private final String status;
+    private final String testType;
+    private final String usId;
+    private final String tcId;
+    private final LocalDateTime executionTime;
+    private final String screenshotPath;
+    private final String artifact;
+
+    private ReportRow(int id, String testName, String status, String testType, String usId, String tcId,
+                      LocalDateTime executionTime, String screenshotPath, String artifact) {
+        this.id = id;
+        this.testName = testName;
+        this.status = status;
+        this.testType = testType;
+        this.usId = usId;
+        this.tcId = tcId;
+        this.executionTime = executionTime;
+        this.screenshotPath = screenshotPath;
+        this.artifact = artifact;
+    }
+
+    public static ReportRow from(ResultSet rs) throws SQLException {
+        Timestamp time = rs.getTimestamp("execution_time");
+        return new ReportRow(rs.getInt("id"), rs.getString("test_name"), rs.getString("status"),
+                rs.getString("test_type"), rs.getString("us_id"), rs.getString("tc_id"),
+                time != null ? time.toLocalDateTime() : null,
+                rs.getString("screenshot_path"), rs.getString("artifact"));
+    }
+
+    // ---------- Week bucketing ----------
+    /**
+     * Year and week encoded as yyyy*100+ww, matching MySQL's YEAR(t) and WEEK(t,1): weeks start on Monday,
+     * week 1 is the first week with four or more days in the year, and earlier days fall in week 0.
+     */
+    public static int weekKey(LocalDate date) {
+        LocalDate jan1 = date.withDayOfYear(1);
+        int jan1Dow = jan1.getDayOfWeek().getValue();
+        LocalDate week1Start = jan1Dow <= 4 ? jan1.minusDays(jan1Dow - 1) : jan1.plusDays(8 - jan1Dow);
+        long days = ChronoUnit.DAYS.between(week1Start, date);
+        int week = days < 0 ? 0 : (int) (days / 7) + 1;
+        return date.getYear() * 100 + week;
+    }
+
+    public static String weekId(int weekKey) {
+        return (weekKey / 100) + "_" + (weekKey % 100);
+    }
+
+    // ---------- Getters ----------
+    public int getId() { return id; }
+    public String getTestName() { return testName; }
+    public String getStatus() { return status; }
+    public String getTestType() { return testType; }
+    public String getUsId() { return usId; }
+    public String getTcId() { return tcId; }
+    public LocalDateTime getExecutionTime() { return executionTime; }
+    public String getScreenshotPath() { return screenshotPath; }
+    public String getArtifact() { return artifact; }
+
+    public String getExecutionTimeText() {
+        return executionTime != null ? executionTime.format(TIME_FORMAT) : null;
+    }
+}
@@ -0,0 +1,115 @@
+package org.automation.reports;
+
+import org.automation.config.ConfigManager;
+import org.automation.utils.RunRegistry;
+import org.testng.ISuite;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Which execution_log rows a report covers: the whole history, a single run (read through idx_execution_log_run),
+ * or a time window. Time windows are half-open ranges on the bare column – execution_time &gt;= from AND
+ * execution_time &lt; to – so MySQL can use idx_execution_log_time_status and prune monthly partitions; never wrap
+ * execution_time in YEAR()/WEEK()/DATE() in a WHERE clause.
+ * ReportListener picks the scope from report.scope: all | run | days:&lt;n&gt;.
+ */
+public final class ReportScope {
+
+    private static final ReportScope ALL = new ReportScope(null, null, null);
+
+    private final Integer runId;
+    private final LocalDateTime from;
+    private final LocalDateTime to;
+
+    private ReportScope(Integer runId, LocalDateTime from, LocalDateTime to) {
+        this.runId = runId;
+        this.from = from;
+        this.to = to;
+    }
+
+    public static ReportScope all() {
+        return ALL;
+    }
+
+    public static ReportScope run(int runId) {
+        return new ReportScope(runId, null, null);
+    }
+
+    /** Rows with from &lt;= execution_time &lt; to. */
+    public static ReportScope between(LocalDateTime from, LocalDateTime to) {
+        return new ReportScope(null, from, to);
+    }
+
+    /** The last n calendar days including today. */
+    public static ReportScope lastDays(int days) {
+        LocalDate tomorrow = LocalDate.now().plusDays(1);
+        return between(tomorrow.minusDays(Math.max(1, days)).atStartOfDay(), tomorrow.atStartOfDay());
+    }
+
+    // Falls back to the full history when the run row cannot be found (e.g. the database was down all run)
+    public static ReportScope forSuite(ISuite suite) {
+        String scope = ConfigManager.get("report.scope", "all").toLowerCase();
+        if (scope.startsWith("days:")) {
+            try {
+                return lastDays(Integer.parseInt(scope.substring(5).trim()));
+            } catch (NumberFormatException e) {
+                System.err.println("[ReportScope] Invalid report.scope '" + scope + "' – reporting on the full history");
+                return ALL;
+            }
+        }
+        if (!"run".equals(scope)) return ALL;
+        String runKey = RunRegistry.runKey(suite);
+        Integer runId = RunRegistry.findRunId(runKey);
+        if (runId == null) {
+            System.err.println("[ReportScope] Run " + runKey + " not found – reporting on the full history");
+            return ALL;
+        }
+        return run(runId);
+    }
+
+    public boolean isRun() {
+        return runId != null;
+    }
+
+    public boolean isAll() {
+        return runId == null && from == null;
+    }
+
+    /** SELECT over execution_log restricted to this scope, with the given ORDER BY. */
+    public String query(String orderBy) {
+        return "SELECT " + ReportRow.COLUMNS + " FROM execution_log" + where() + " ORDER BY " + orderBy;
+    }
+
+    public String where() {
+        if (isRun()) return " WHERE run_id = ?";
+        if (from != null) return " WHERE execution_time >= ? AND execution_time < ?";
+        return "";
+    }
+
+    public void bind(PreparedStatement ps) throws SQLException {
+        if (isRun()) {
+            ps.setInt(1, runId);
+        } else if (from != null) {
+            ps.setTimestamp(1, Timestamp.valueOf(from));
+            ps.setTimestamp(2, Timestamp.valueOf(to));
+        }
+    }
+
+    /** Suffix for report file names, e.g. "_run42" or "_20250101-20250201". */
+    public String fileSuffix() {
+        if (isRun()) return "_run" + runId;
+        if (from != null) return "_" + from.toLocalDate().toString().replace("-", "") + "-" + to.toLocalDate().toString().replace("-", "");
+        return "";
+    }
+
+    @Override
+    public String toString() {
+        if (isRun()) return "run " + runId;
+        if (from != null) return "[" + from + ", " + to + ")";
+        return "all runs";
+    }
+}
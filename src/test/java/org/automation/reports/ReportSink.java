@@ -0,0 +1,21 @@
+package org.automation.reports;
+
+/**
+ * One report format fed by {@link ReportPipeline}. All three methods are called on the sink's own thread, in order:
+ * open once, accept for every row of the scope (ordered by id), then finish – or abort instead of finish when the
+ * scan or the sink itself failed, so partial output can be cleaned up.
+ */
+public interface ReportSink {
+
+    /** Short name used in thread names and timing output, e.g. "html". */
+    String name();
+
+    void open(ReportScope scope) throws Exception;
+
+    void accept(ReportRow row) throws Exception;
+
+    void finish() throws Exception;
+
+    default void abort() {
+    }
+}
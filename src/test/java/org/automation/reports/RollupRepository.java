@@ -0,0 +1,129 @@
+package org.automation.reports;
+
+import org.automation.utils.DatabaseUtils;
+import org.automation.utils.ResultRollups;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Summary and trend views read from result_rollup_daily / result_rollup_weekly instead of execution_log:
+ * a year of history is a few thousand rollup rows however many results it holds. Read by the analytics server and
+ * for the full-history summaries of the HTML and Excel reports.
+ */
+public final class RollupRepository {
+
+    private RollupRepository() {
+    }
+
+    /** Totals over the whole history. */
+    public static Summary summary() throws SQLException {
+        return summary(null);
+    }
+
+    /** Totals for bucket_date &gt;= since (the whole history when since is null). */
+    public static Summary summary(LocalDate since) throws SQLException {
+        String sql = "SELECT status, SUM(result_count), SUM(total_duration_ms) FROM result_rollup_daily"
+                + (since != null ? " WHERE bucket_date >= ?" : "") + " GROUP BY status";
+        Summary summary = new Summary();
+        try (Connection conn = DatabaseUtils.getConnection();
+             PreparedStatement ps = conn.prepareStatement(sql)) {
+            if (since != null) ps.setObject(1, since);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) summary.add(rs.getString(1), rs.getLong(2), rs.getLong(3));
+            }
+        }
+        return summary;
+    }
+
+    /** One point per day for the last n days including today; days without results are omitted. */
+    public static List<TrendPoint> dailyTrend(int days) throws SQLException {
+        LocalDate from = LocalDate.now().minusDays(Math.max(1, days) - 1L);
+        return trend("result_rollup_daily", "bucket_date", from);
+    }
+
+    /** One point per day with results over the whole history, oldest first. */
+    public static List<TrendPoint> dailyHistory() throws SQLException {
+        return trend("result_rollup_daily", "bucket_date", null);
+    }
+
+    /** Totals per test type over the whole history. */
+    public static Map<String, Summary> byType() throws SQLException {
+        Map<String, Summary> types = new TreeMap<>();
+        try (Connection conn = DatabaseUtils.getConnection();
+             PreparedStatement ps = conn.prepareStatement("SELECT test_type, status, SUM(result_count), SUM(total_duration_ms) " +
+                     "FROM result_rollup_daily GROUP BY test_type, status");
+             ResultSet rs = ps.executeQuery()) {
+            while (rs.next()) types.computeIfAbsent(rs.getString(1), t -> new Summary()).add(rs.getString(2), rs.getLong(3), rs.getLong(4));
+        }
+        return types;
+    }
+
+    /** One point per ISO week (keyed by its Monday) for the last n weeks including this one. */
+    public static List<TrendPoint> weeklyTrend(int weeks) throws SQLException {
+        LocalDate from = ResultRollups.weekStart(LocalDate.now()).minusWeeks(Math.max(1, weeks) - 1L);
+        return trend("result_rollup_weekly", "week_start", from);
+    }
+
+    // From the given date on, or over the whole history when from is null
+    private static List<TrendPoint> trend(String table, String dateColumn, LocalDate from) throws SQLException {
+        String sql = "SELECT " + dateColumn + ", status, SUM(result_count), SUM(total_duration_ms) FROM " + table
+                + (from != null ? " WHERE " + dateColumn + " >= ?" : "") + " GROUP BY " + dateColumn + ", status";
+        Map<LocalDate, TrendPoint> points = new TreeMap<>();
+        try (Connection conn = DatabaseUtils.getConnection();
+             PreparedStatement ps = conn.prepareStatement(sql)) {
+            if (from != null) ps.setObject(1, from);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    LocalDate date = rs.getObject(1, LocalDate.class);
+                    points.computeIfAbsent(date, TrendPoint::new).add(rs.getString(2), rs.getLong(3), rs.getLong(4));
+                }
+            }
+        }
+        return new ArrayList<>(points.values());
+    }
+
+    // ---------- Views ----------
+    public static class Summary {
+        private long total;
+        private long passed;
+        private long failed;
+        private long skipped;
+        private long totalDurationMs;
+
+        void add(String status, long count, long durationMs) {
+            total += count;
+            totalDurationMs += durationMs;
+            String s = status == null ? "" : status.toUpperCase();
+            if (s.startsWith("PASS")) passed += count;
+            else if (s.startsWith("FAIL")) failed += count;
+            else if (s.startsWith("SKIP")) skipped += count;
+        }
+
+        public long getTotal() { return total; }
+        public long getPassed() { return passed; }
+        public long getFailed() { return failed; }
+        public long getSkipped() { return skipped; }
+        public double getPassRate() { return total == 0 ? 0 : passed * 100.0 / total; }
+        public double getAvgDurationMs() { return total == 0 ? 0 : (double) totalDurationMs / total; }
+    }
+
+    public static final class TrendPoint extends Summary {
+        private final LocalDate date;
+
+        TrendPoint(LocalDate date) {
+            this.date = date;
+        }
+
+        public String getDate() { return date.toString(); }
+
+        LocalDate date() { return date; }
+    }
+}
@@ -0,0 +1,159 @@
+package org.automation.scheduler;
+
+import org.automation.config.ConfigManager;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Memory versus throughput of the UI browser models on the BlazeDemoTests suite. Each mode runs the suite in its
+ * own JVM – exactly like one surefire fork – while the resident memory of that JVM and every process it started
+ * (chromedriver, Chrome and its renderers) is sampled from /proc:
+ *
+ *   fresh   – a new Chrome per test (ui.pool.enabled=false)
+ *   process – the warm WebDriverPool, one Chrome per TestNG thread
+ *   context – one shared Chrome, one browser context per test (ui.pool.mode=context)
+ *
+ *   java -Dbench.modes=process,context -cp ... org.automation.scheduler.BrowserModeBenchmark
+ *
+ * Settings: bench.modes (fresh,process,context), bench.suite (testng-ui.xml), bench.sampleMs (250).
+ * Results are printed and written to artifacts/reports/browser-mode-benchmark.csv. Memory needs Linux (/proc).
+ */
+public final class BrowserModeBenchmark {
+
+    private static final Pattern TOTALS = Pattern.compile("<testng-results[^>]*?total=\"(\\d+)\"[^>]*?passed=\"(\\d+)\"");
+    private static final Path OUTPUT = Paths.get("artifacts", "reports", "browser-mode-benchmark.csv");
+
+    private BrowserModeBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        String[] modes = ConfigManager.get("bench.modes", "fresh,process,context").split("\\s*,\\s*");
+        String suite = ConfigManager.get("bench.suite", "testng-ui.xml");
+        long sampleMs = ConfigManager.getLong("bench.sampleMs", 250);
+
+        List<Result> results = new ArrayList<>();
+        for (String mode : modes) {
+            System.out.println("[BrowserModeBenchmark] ▶️ Running " + suite + " in " + mode + " mode...");
+            results.add(run(mode, suite, sampleMs));
+        }
+
+        System.out.printf("%n%-8s %6s %6s %9s %10s %14s %16s %14s%n",
+                "Mode", "Tests", "Passed", "Wall (s)", "Tests/min", "Peak RSS (MB)", "Peak Chrome (MB)", "Peak Chromes");
+        for (Result r : results) {
+            System.out.printf("%-8s %6d %6d %9.1f %10.1f %14s %16s %14d%n", r.mode, r.tests, r.passed, r.wallMs / 1000.0,
+                    r.wallMs == 0 ? 0 : r.tests * 60000.0 / r.wallMs, mb(r.peakRss), mb(r.peakChromeRss), r.peakChromes);
+        }
+
+        Files.createDirectories(OUTPUT.getParent());
+        try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(OUTPUT, StandardCharsets.UTF_8))) {
+            out.println("mode,tests,passed,wall_ms,peak_rss_bytes,peak_chrome_rss_bytes,peak_chrome_processes");
+            for (Result r : results) {
+                out.println(r.mode + "," + r.tests + "," + r.passed + "," + r.wallMs + "," + r.peakRss + ","
+                        + r.peakChromeRss + "," + r.peakChromes);
+            }
+        }
+        System.out.println("\n[BrowserModeBenchmark] ✅ Results written to " + OUTPUT.toAbsolutePath());
+    }
+
+    // ---------- One mode ----------
+    private static Result run(String mode, String suite, long sampleMs) throws Exception {
+        Path outputDir = Paths.get("target", "browser-mode-benchmark", mode);
+        List<String> command = new ArrayList<>();
+        command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+        command.add("-cp");
+        command.add(System.getProperty("java.class.path"));
+        command.add("-Dui.pool.enabled=" + !"fresh".equals(mode));
+        command.add("-Dui.pool.mode=" + ("context".equals(mode) ? "context" : "process"));
+        command.add("-Danalytics.server.enabled=false");
+        command.add("org.testng.TestNG");
+        command.add("-d");
+        command.add(outputDir.toString());
+        command.add(suite);
+
+        Result result = new Result(mode);
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command).inheritIO().start();
+        AtomicLong peakRss = new AtomicLong(), peakChromeRss = new AtomicLong(), peakChromes = new AtomicLong();
+        while (process.isAlive()) {
+            sample(process.toHandle(), peakRss, peakChromeRss, peakChromes);
+            Thread.sleep(sampleMs);
+        }
+        result.wallMs = (System.nanoTime() - start) / 1_000_000;
+        result.peakRss = peakRss.get();
+        result.peakChromeRss = peakChromeRss.get();
+        result.peakChromes = (int) peakChromes.get();
+
+        Path xml = outputDir.resolve("testng-results.xml");
+        if (Files.exists(xml)) {
+            Matcher m = TOTALS.matcher(new String(Files.readAllBytes(xml), StandardCharsets.UTF_8));
+            if (m.find()) {
+                result.tests = Integer.parseInt(m.group(1));
+                result.passed = Integer.parseInt(m.group(2));
+            }
+        }
+        return result;
+    }
+
+    // Sums resident memory over the JVM and all its descendants; "chrome" processes are counted separately
+    private static void sample(ProcessHandle root, AtomicLong peakRss, AtomicLong peakChromeRss, AtomicLong peakChromes) {
+        long rss = 0, chromeRss = 0, chromes = 0;
+        List<ProcessHandle> tree;
+        try (Stream<ProcessHandle> descendants = root.descendants()) {
+            tree = Stream.concat(Stream.of(root), descendants).collect(Collectors.toList());
+        }
+        for (ProcessHandle p : tree) {
+            long bytes = residentBytes(p.pid());
+            rss += bytes;
+            String name = p.info().command().map(c -> new File(c).getName().toLowerCase()).orElse("");
+            if ((name.startsWith("chrome") || name.startsWith("chromium")) && !name.startsWith("chromedriver")) {
+                chromeRss += bytes;
+                chromes++;
+            }
+        }
+        peakRss.accumulateAndGet(rss, Math::max);
+        peakChromeRss.accumulateAndGet(chromeRss, Math::max);
+        peakChromes.accumulateAndGet(chromes, Math::max);
+    }
+
+    private static long residentBytes(long pid) {
+        try {
+            for (String line : Files.readAllLines(Paths.get("/proc", Long.toString(pid), "status"))) {
+                if (line.startsWith("VmRSS:")) return Long.parseLong(line.replaceAll("\\D", "")) * 1024;
+            }
+        } catch (IOException | NumberFormatException ignored) {
+            // process gone, or no /proc on this platform
+        }
+        return 0;
+    }
+
+    private static String mb(long bytes) {
+        return bytes == 0 ? "n/a" : String.format("%.0f", bytes / 1048576.0);
+    }
+
+    private static final class Result {
+        final String mode;
+        int tests;
+        int passed;
+        long wallMs;
+        long peakRss;
+        long peakChromeRss;
+        int peakChromes;
+
+        Result(String mode) {
+            this.mode = mode;
+        }
+    }
+}
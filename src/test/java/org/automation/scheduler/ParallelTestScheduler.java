@@ -3,6 +3,8 @@ package org.automation.scheduler;
 import org.automation.reports.CsvReportGenerator;
 import org.automation.reports.ExcelReportGenerator;
 import org.automation.reports.HtmlReportGenerator;
+import org.automation.reports.ReportPipeline;
+import org.automation.reports.ReportScope;
 import org.testng.TestNG;
 import org.testng.reporters.JUnitReportReporter;
 import org.testng.reporters.XMLReporter;
@@ -84,9 +86,9 @@ public class ParallelTestScheduler {
 
         // -------------------- Generate Custom Reports --------------------
         try {
+            ReportScope scope = ReportScope.all();
+            ReportPipeline.run(scope, HtmlReportGenerator.sink(), ExcelReportGenerator.sink());
             CsvReportGenerator.generateReport();
-            ExcelReportGenerator.generateReport();
-            HtmlReportGenerator.generateReport();
             System.out.println("✅ Reports generated successfully!");
         } catch (Exception e) {
             System.err.println("❌ Error generating reports: " + e.getMessage());
@@ -0,0 +1,124 @@
+package org.automation.scheduler;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Reports virtual threads that blocked while pinned to their carrier – typically inside {@code synchronized} code
+ * of a listener or util – from JFR's jdk.VirtualThreadPinned events, grouped by the first frame of this framework
+ * (or the top frame when none is ours).
+ */
+public final class PinningMonitor {
+
+    private static final String OWN_PACKAGE = "org.automation.";
+    private static final int TOP_SITES = 10;
+
+    private static final Map<String, Site> sites = new ConcurrentHashMap<>();
+    private static RecordingStream stream;
+    private static int users;
+
+    private PinningMonitor() {
+    }
+
+    /** Starts listening for pinned virtual threads that block for at least the threshold; one call per {@link #report}. */
+    public static synchronized void start(long thresholdMs) {
+        users++;
+        if (stream != null) return;
+        try {
+            RecordingStream recording = new RecordingStream();
+            recording.enable("jdk.VirtualThreadPinned").withThreshold(Duration.ofMillis(thresholdMs)).withStackTrace();
+            recording.onEvent("jdk.VirtualThreadPinned", PinningMonitor::onPinned);
+            recording.startAsync();
+            stream = recording;
+        } catch (RuntimeException e) {
+            System.err.println("[PinningMonitor] ⚠️ JFR unavailable – pinned virtual threads will not be reported: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Prints the pinning sites seen since the last report and clears them. The last user stops the recording, which
+     * first delivers the events JFR still holds; earlier reports show what has arrived so far.
+     */
+    public static synchronized void report(String label) {
+        if (users > 0) users--;
+        if (stream == null) return;
+        if (users == 0) {
+            stream.stop();
+            stream.close();
+            stream = null;
+        }
+        List<Site> seen = new ArrayList<>(sites.values());
+        sites.clear();
+
+        if (seen.isEmpty()) {
+            System.out.println("[PinningMonitor] ✅ " + label + ": no pinned virtual threads");
+            return;
+        }
+        seen.sort(Comparator.comparingLong((Site s) -> s.totalNanos).reversed());
+        long events = seen.stream().mapToLong(s -> s.count).sum();
+        System.out.println("[PinningMonitor] 📌 " + label + ": " + events + " pinned block(s) at " + seen.size() + " site(s)");
+        for (Site site : seen.subList(0, Math.min(TOP_SITES, seen.size()))) {
+            System.out.println("    " + site.count + "× total " + site.totalNanos / 1_000_000 + " ms, max "
+                    + site.maxNanos / 1_000_000 + " ms  " + site.frame);
+        }
+    }
+
+    private static void onPinned(RecordedEvent event) {
+        String frame = site(event.getStackTrace());
+        long nanos = event.getDuration().toNanos();
+        sites.computeIfAbsent(frame, Site::new).add(nanos);
+    }
+
+    private static String site(RecordedStackTrace stack) {
+        if (stack == null || stack.getFrames().isEmpty()) return "(no stack trace)";
+        List<RecordedFrame> frames = stack.getFrames();
+        RecordedFrame site = null;
+        for (RecordedFrame frame : frames) {
+            if (frame.getMethod().getType().getName().startsWith(OWN_PACKAGE)) {
+                site = frame;
+                break;
+            }
+        }
+        // JFR keeps the top 64 frames only; deep library stacks fall back to their first non-JDK frame
+        if (site == null) site = frames.stream().filter(f -> !isJdk(f)).findFirst().orElse(frames.get(0));
+        // A class initializer blocking pins once per class – worth knowing apart from a lock held on every call
+        boolean classInit = frames.stream().anyMatch(f -> "<clinit>".equals(f.getMethod().getName()));
+        return describe(site) + (classInit ? " [class init]" : "");
+    }
+
+    private static boolean isJdk(RecordedFrame frame) {
+        String type = frame.getMethod().getType().getName();
+        return type.startsWith("java.") || type.startsWith("jdk.") || type.startsWith("sun.");
+    }
+
+    private static String describe(RecordedFrame frame) {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName()
+                + (frame.getLineNumber() > 0 ? ":" + frame.getLineNumber() : "");
+    }
+
+    private static final class Site {
+        final String frame;
+        long count;
+        long totalNanos;
+        long maxNanos;
+
+        Site(String frame) {
+            this.frame = frame;
+        }
+
+        synchronized void add(long nanos) {
+            count++;
+            totalNanos += nanos;
+            maxNanos = Math.max(maxNanos, nanos);
+        }
+    }
+}
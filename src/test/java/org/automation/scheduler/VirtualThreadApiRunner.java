@@ -0,0 +1,45 @@
+package org.automation.scheduler;
+
+import org.automation.config.ConfigManager;
+import org.testng.IAlterSuiteListener;
+import org.testng.TestNG;
+import org.testng.xml.XmlSuite;
+import org.testng.xml.XmlTest;
+
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Runs a suite (testng-api.xml by default) with the API tests on virtual threads: their methods run in parallel,
+ * bounded by api.vt.permits instead of thread-count; everything else in the suite runs as configured.
+ *
+ *   java ... org.automation.scheduler.VirtualThreadApiRunner [suite.xml ...]
+ */
+public class VirtualThreadApiRunner {
+
+    public static void main(String[] args) {
+        List<String> files = args.length == 0 ? List.of("testng-api.xml") : List.of(args);
+        Pattern apiTests = Pattern.compile(ConfigManager.get("api.vt.tests", "(?i).*api.*"));
+
+        TestNG testng = new TestNG();
+        testng.setTestSuites(files);
+        testng.addListener(new IAlterSuiteListener() {
+            @Override
+            public void alter(List<XmlSuite> suites) {
+                for (XmlSuite suite : suites) {
+                    for (XmlTest test : suite.getTests()) {
+                        // Per-method parallelism is what gives each API method its own virtual thread
+                        if (apiTests.matcher(test.getName()).matches()) test.setParallel(XmlSuite.ParallelMode.METHODS);
+                    }
+                }
+            }
+        });
+        testng.setExecutorServiceFactory(new VirtualThreadExecutorFactory());
+
+        long start = System.nanoTime();
+        testng.run();
+        System.out.println("[VirtualThreadApiRunner] 🏁 " + String.join(", ", files) + " finished in "
+                + (System.nanoTime() - start) / 1_000_000 + " ms (status " + testng.getStatus() + ")");
+        System.exit(testng.getStatus());
+    }
+}
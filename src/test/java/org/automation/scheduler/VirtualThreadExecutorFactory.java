@@ -0,0 +1,133 @@
+package org.automation.scheduler;
+
+import org.automation.config.ConfigManager;
+import org.testng.IExecutorServiceFactory;
+
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+
+/**
+ * TestNG thread-pool factory that runs the methods of API {@code <test>}s on virtual threads.
+ *
+ * A test whose name matches api.vt.tests gets one virtual thread per method, with concurrency bounded by a budget
+ * of api.vt.permits rather than its thread-count; every other pool (UI tests, suite-level pools, data providers) is
+ * the platform-thread pool TestNG would have used. Listeners run on the method's thread as before. Blocking while
+ * pinned to a carrier is reported by {@link PinningMonitor} when each virtual pool finishes.
+ *
+ * Use it through {@link VirtualThreadApiRunner}, or with {@code -threadpoolfactoryclass} on the TestNG command line.
+ */
+public class VirtualThreadExecutorFactory implements IExecutorServiceFactory {
+
+    private final Pattern apiTests = Pattern.compile(ConfigManager.get("api.vt.tests", "(?i).*api.*"));
+    private final int permits = permits();
+    private final long pinnedThresholdMs = Math.max(0, ConfigManager.getLong("api.vt.pinnedThresholdMs", 5));
+
+    @Override
+    public ExecutorService create(int corePoolSize, int maximumPoolSize, long keepAliveTime, TimeUnit unit,
+                                  BlockingQueue<Runnable> workQueue, ThreadFactory threadFactory) {
+        // TestNG names a test's method pool "test-<test name>"; its threads carry that name
+        String pool = threadFactory.newThread(() -> { }).getName().replaceFirst("-\\d+$", "");
+        String test = pool.startsWith("TestNG-test-") ? pool.substring("TestNG-test-".length()) : null;
+        if (test == null || !apiTests.matcher(test).matches()) {
+            return new ThreadPoolExecutor(corePoolSize, maximumPoolSize, keepAliveTime, unit, workQueue, threadFactory);
+        }
+        PinningMonitor.start(pinnedThresholdMs);
+        System.out.println("[VirtualThreads] 🧵 '" + test + "' runs its methods on virtual threads, " + permits
+                + " at a time (thread-count " + maximumPoolSize + " ignored)");
+        return new VirtualPool(test, permits);
+    }
+
+    /*
+     * RestAssured waits for a pooled connection while pinned to its carrier, so more permits than connections per
+     * route would let waiting methods pin every carrier and starve the ones holding connections (as in LoadRunner).
+     */
+    private static int permits() {
+        int configured = Math.max(1, ConfigManager.getInt("api.vt.permits", 20));
+        int connections = Math.max(1, ConfigManager.getInt("api.http.maxPerRoute", 20));
+        if (configured <= connections) return configured;
+        System.err.println("[VirtualThreads] ⚠️ api.vt.permits=" + configured + " capped at api.http.maxPerRoute="
+                + connections);
+        return connections;
+    }
+
+    /** One virtual thread per task; a task waits for a permit before it runs. */
+    private static final class VirtualPool extends AbstractExecutorService {
+
+        private final String test;
+        private final Semaphore permits;
+        private final int budget;
+        private final ExecutorService threads;
+        private final AtomicInteger tasks = new AtomicInteger();
+        private final AtomicInteger running = new AtomicInteger();
+        private final AtomicInteger peak = new AtomicInteger();
+        private volatile boolean reported;
+
+        VirtualPool(String test, int budget) {
+            this.test = test;
+            this.budget = budget;
+            this.permits = new Semaphore(budget, true);
+            this.threads = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("TestNG-vt-" + test + "-", 1).factory());
+        }
+
+        @Override
+        public void execute(Runnable task) {
+            tasks.incrementAndGet();
+            threads.execute(() -> {
+                try {
+                    permits.acquire();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                peak.accumulateAndGet(running.incrementAndGet(), Math::max);
+                try {
+                    task.run();
+                } finally {
+                    running.decrementAndGet();
+                    permits.release();
+                }
+            });
+        }
+
+        @Override
+        public void shutdown() {
+            threads.shutdown();
+        }
+
+        @Override
+        public List<Runnable> shutdownNow() {
+            return threads.shutdownNow();
+        }
+
+        @Override
+        public boolean isShutdown() {
+            return threads.isShutdown();
+        }
+
+        @Override
+        public boolean isTerminated() {
+            return threads.isTerminated();
+        }
+
+        @Override
+        public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+            boolean terminated = threads.awaitTermination(timeout, unit);
+            if (terminated && !reported) {
+                reported = true;
+                System.out.println("[VirtualThreads] 🧵 '" + test + "': " + tasks.get() + " task(s), peak " + peak.get()
+                        + " concurrent of " + budget + " permit(s)");
+                PinningMonitor.report(test);
+            }
+            return terminated;
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package org.automation.server;
+
+import org.automation.utils.ResultVersion;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Rendered analytics responses keyed by endpoint and parameters. An entry is reused until the result writer
+ * commits again ({@link ResultVersion}) and at least minRefreshMs has passed, or until maxAgeMs has passed (to pick
+ * up writes from other processes). Concurrent requests for a stale entry wait for a single reload, so MySQL sees at
+ * most one query per endpoint per refresh however many dashboards are open. If a reload fails, the previous
+ * response is served until MySQL answers again.
+ */
+final class AnalyticsCache {
+
+    interface Loader {
+        /** The JSON body, or null when the resource does not exist. */
+        byte[] load() throws Exception;
+    }
+
+    private static final int GZIP_MIN_BYTES = 1024;
+
+    private final ConcurrentHashMap<String, Slot> slots = new ConcurrentHashMap<>();
+    private final long minRefreshMs;
+    private final long maxAgeMs;
+    private final int maxEntries;
+
+    AnalyticsCache(long minRefreshMs, long maxAgeMs, int maxEntries) {
+        this.minRefreshMs = minRefreshMs;
+        this.maxAgeMs = maxAgeMs;
+        this.maxEntries = maxEntries;
+    }
+
+    Payload get(String key, Loader loader) throws Exception {
+        Slot slot = slots.get(key);
+        if (slot == null) {
+            // Per-run keys grow without bound over a long session; starting over is cheaper than tracking LRU
+            if (slots.size() >= maxEntries) slots.clear();
+            slot = slots.computeIfAbsent(key, k -> new Slot());
+        }
+        Payload payload = slot.payload;
+        if (isFresh(payload)) return payload;
+
+        synchronized (slot) {
+            payload = slot.payload;
+            if (isFresh(payload)) return payload;
+            // Read before loading so a commit that lands mid-query still marks the result stale
+            long version = ResultVersion.current();
+            try {
+                payload = Payload.of(loader.load(), version);
+            } catch (Exception e) {
+                if (slot.payload == null) throw e;
+                System.err.println("[AnalyticsServer] ⚠️ Serving cached " + key + " – refresh failed: " + e.getMessage());
+                slot.payload = slot.payload.retryLater();
+                return slot.payload;
+            }
+            slot.payload = payload;
+            return payload;
+        }
+    }
+
+    private boolean isFresh(Payload payload) {
+        if (payload == null) return false;
+        long age = System.currentTimeMillis() - payload.loadedAt;
+        if (age < minRefreshMs) return true;
+        return payload.version == ResultVersion.current() && age < maxAgeMs;
+    }
+
+    private static final class Slot {
+        volatile Payload payload;
+    }
+
+    /** One rendered response: the body, its gzip form (for bodies worth compressing) and a strong ETag. */
+    static final class Payload {
+        final byte[] body;
+        final byte[] gzipped;
+        final String etag;
+        final long version;
+        final long loadedAt;
+
+        private Payload(byte[] body, byte[] gzipped, String etag, long version, long loadedAt) {
+            this.body = body;
+            this.gzipped = gzipped;
+            this.etag = etag;
+            this.version = version;
+            this.loadedAt = loadedAt;
+        }
+
+        static Payload of(byte[] body, long version) throws IOException {
+            if (body == null) return new Payload(null, null, null, version, System.currentTimeMillis());
+            return new Payload(body, body.length >= GZIP_MIN_BYTES ? gzip(body) : null, etag(body), version,
+                    System.currentTimeMillis());
+        }
+
+        // Keeps the old body but restarts the clock, so a down database is retried every minRefreshMs, not per request
+        Payload retryLater() {
+            return new Payload(body, gzipped, etag, version, System.currentTimeMillis());
+        }
+
+        boolean exists() {
+            return body != null;
+        }
+
+        private static byte[] gzip(byte[] body) throws IOException {
+            ByteArrayOutputStream out = new ByteArrayOutputStream(body.length / 4 + 64);
+            try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+                gzip.write(body);
+            }
+            return out.toByteArray();
+        }
+
+        private static String etag(byte[] body) {
+            try {
+                byte[] digest = MessageDigest.getInstance("SHA-256").digest(body);
+                StringBuilder tag = new StringBuilder("\"");
+                for (int i = 0; i < 16; i++) tag.append(String.format("%02x", digest[i]));
+                return tag.append('"').toString();
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package org.automation.server;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.automation.reports.RollupRepository;
+import org.automation.utils.DatabaseUtils;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The JSON bodies behind the /analytics endpoints. Summary and trends come from the rollup tables; run and result
+ * views read execution_log through idx_execution_log_run or idx_execution_log_time_status, never a full scan.
+ */
+final class AnalyticsQueries {
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+    private static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private static final String RUN_COLUMNS =
+            "r.run_id AS runId, r.run_key AS runKey, r.suite_name AS suiteName, r.status, " +
+            "r.started_at AS startedAt, r.finished_at AS finishedAt, COUNT(e.id) AS total, " +
+            "COALESCE(SUM(e.status LIKE 'PASS%'), 0) AS passed, COALESCE(SUM(e.status LIKE 'FAIL%'), 0) AS failed, " +
+            "COALESCE(SUM(e.status LIKE 'SKIP%'), 0) AS skipped, COALESCE(SUM(e.duration), 0) AS durationMs";
+    private static final String RUN_GROUP_BY =
+            " GROUP BY r.run_id, r.run_key, r.suite_name, r.status, r.started_at, r.finished_at";
+
+    private AnalyticsQueries() {
+    }
+
+    static byte[] summary() throws Exception {
+        return JSON.writeValueAsBytes(RollupRepository.summary());
+    }
+
+    static byte[] dailyTrend(int days) throws Exception {
+        return JSON.writeValueAsBytes(RollupRepository.dailyTrend(days));
+    }
+
+    static byte[] weeklyTrend(int weeks) throws Exception {
+        return JSON.writeValueAsBytes(RollupRepository.weeklyTrend(weeks));
+    }
+
+    static byte[] recent(int limit) throws Exception {
+        return JSON.writeValueAsBytes(rows(
+                "SELECT e.id, e.test_name AS testName, e.status, e.test_type AS testType, e.duration AS durationMs, " +
+                "e.execution_time AS executionTime, e.screenshot_path AS screenshot, e.run_id AS runId, " +
+                "r.run_key AS runKey, r.suite_name AS suiteName " +
+                "FROM execution_log e LEFT JOIN test_run r ON r.run_id = e.run_id " +
+                "ORDER BY e.execution_time DESC, e.id DESC LIMIT ?", limit));
+    }
+
+    // The newest runs are picked from test_run first so only their rows are aggregated
+    static byte[] runs(int limit) throws Exception {
+        return JSON.writeValueAsBytes(rows(
+                "SELECT " + RUN_COLUMNS + " FROM (SELECT * FROM test_run ORDER BY run_id DESC LIMIT ?) r " +
+                "LEFT JOIN execution_log e ON e.run_id = r.run_id" + RUN_GROUP_BY + " ORDER BY r.run_id DESC", limit));
+    }
+
+    static byte[] run(int runId) throws Exception {
+        List<Map<String, Object>> rows = rows("SELECT " + RUN_COLUMNS + " FROM test_run r " +
+                "LEFT JOIN execution_log e ON e.run_id = r.run_id WHERE r.run_id = ?" + RUN_GROUP_BY, runId);
+        return rows.isEmpty() ? null : JSON.writeValueAsBytes(rows.get(0));
+    }
+
+    static byte[] results(int runId) throws Exception {
+        return JSON.writeValueAsBytes(rows(
+                "SELECT id, test_name AS testName, status, test_type AS testType, us_id AS usId, tc_id AS tcId, " +
+                "start_time AS startTime, end_time AS endTime, duration AS durationMs, screenshot_path AS screenshot " +
+                "FROM execution_log WHERE run_id = ? ORDER BY id", runId));
+    }
+
+    // ---------- Helpers ----------
+    // Column labels become JSON keys; timestamps are rendered like the reports render them
+    private static List<Map<String, Object>> rows(String sql, Object... params) throws SQLException {
+        List<Map<String, Object>> rows = new ArrayList<>();
+        try (Connection conn = DatabaseUtils.getConnection();
+             PreparedStatement ps = conn.prepareStatement(sql)) {
+            for (int i = 0; i < params.length; i++) ps.setObject(i + 1, params[i]);
+            try (ResultSet rs = ps.executeQuery()) {
+                ResultSetMetaData meta = rs.getMetaData();
+                while (rs.next()) {
+                    Map<String, Object> row = new LinkedHashMap<>();
+                    for (int c = 1; c <= meta.getColumnCount(); c++) {
+                        Object value = rs.getObject(c);
+                        if (value instanceof Timestamp) value = ((Timestamp) value).toLocalDateTime().format(TIME_FORMAT);
+                        else if (value instanceof LocalDateTime) value = ((LocalDateTime) value).format(TIME_FORMAT);
+                        row.put(meta.getColumnLabel(c), value);
+                    }
+                    rows.add(row);
+                }
+            }
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,360 @@
+package org.automation.server;
+
+import com.sun.net.httpserver.Headers;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.automation.artifacts.ArtifactStore;
+import org.automation.config.ConfigManager;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * In-process HTTP server for src/main/resources/static/dashboard.html, built on the JDK HTTP server with one virtual
+ * thread per request. Every response comes from {@link AnalyticsCache} with an ETag (If-None-Match answers 304) and
+ * is gzipped when the client accepts it.
+ *
+ *   GET /                             the dashboard
+ *   GET /analytics/summary            totals from the rollup tables
+ *   GET /analytics/trends?days=7      daily points; ?period=week&amp;weeks=12 for weekly ones
+ *   GET /analytics/recent?limit=50    newest results across runs (limit ≤ 500)
+ *   GET /analytics/runs?limit=20      newest runs with their pass/fail/skip counts (limit ≤ 200)
+ *   GET /analytics/runs/{runId}       one run with its counts
+ *   GET /analytics/results/{runId}    every result of one run
+ *   GET /analytics/live               Server-Sent Events from {@link RunEventBus}: "test" events as tests start and
+ *                                     finish, "progress" counters after each batch; resumes from Last-Event-ID
+ *   GET /artifacts/{contentId}        a screenshot or API artifact from {@link ArtifactStore} ("cas:" optional);
+ *                                     immutable, so cached for a year, and sent still gzipped when it was stored so
+ *
+ * Started by TestSuiteListener for the duration of the suites (analytics.server.enabled, analytics.server.port),
+ * or standalone through main().
+ */
+public final class AnalyticsServer {
+
+    private static final String DASHBOARD_RESOURCE = "/static/dashboard.html";
+
+    private static HttpServer server;
+    private static ExecutorService executor;
+    private static AnalyticsCache cache;
+    private static AnalyticsCache.Payload dashboard;
+    private static int users;
+    private static volatile boolean running;
+
+    private AnalyticsServer() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        start(ConfigManager.getInt("analytics.server.port", 8080));
+    }
+
+    // ---------- Lifecycle ----------
+    /** Starts the server for the first suite that needs it; a port already in use is reported, not fatal. */
+    public static synchronized void acquire() {
+        if (!ConfigManager.getBoolean("analytics.server.enabled", true)) return;
+        users++;
+        if (server != null) return;
+        try {
+            start(ConfigManager.getInt("analytics.server.port", 8080));
+        } catch (IOException e) {
+            System.err.println("[AnalyticsServer] ⚠️ Not started: " + e.getMessage());
+        }
+    }
+
+    /** Stops the server once the last suite that acquired it has finished. */
+    public static synchronized void release() {
+        if (users > 0) users--;
+        if (users == 0) stop();
+    }
+
+    public static synchronized void start(int port) throws IOException {
+        if (server != null) return;
+        cache = new AnalyticsCache(ConfigManager.getLong("analytics.cache.minRefreshMs", 1000),
+                ConfigManager.getLong("analytics.cache.maxAgeMs", 30000),
+                Math.max(1, ConfigManager.getInt("analytics.cache.maxEntries", 256)));
+        dashboard = AnalyticsCache.Payload.of(loadDashboard(), 0);
+        // Loopback unless analytics.server.host opts into a wider interface: results and artifacts are served unauthenticated
+        InetSocketAddress address = new InetSocketAddress(ConfigManager.get("analytics.server.host", "127.0.0.1"), port);
+        if (!address.isUnresolved() && !address.getAddress().isLoopbackAddress()) {
+            System.out.println("[AnalyticsServer] ⚠️ Listening on " + address.getHostString()
+                    + " – the dashboard and artifacts are reachable from other hosts");
+        }
+        HttpServer http = HttpServers.create(address, 0);
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+        http.setExecutor(executor);
+        http.createContext("/", AnalyticsServer::handle);
+        http.start();
+        server = http;
+        running = true;
+        System.out.println("[AnalyticsServer] 📈 Dashboard at http://localhost:" + http.getAddress().getPort() + "/");
+    }
+
+    public static synchronized void stop() {
+        if (server == null) return;
+        running = false;
+        server.stop(0);
+        executor.shutdown();
+        server = null;
+        executor = null;
+        System.out.println("[AnalyticsServer] Stopped");
+    }
+
+    // ---------- Routing ----------
+    private static void handle(HttpExchange exchange) throws IOException {
+        try {
+            String method = exchange.getRequestMethod();
+            if (!"GET".equals(method) && !"HEAD".equals(method)) {
+                sendError(exchange, 405, "Only GET and HEAD are supported");
+                return;
+            }
+            String path = exchange.getRequestURI().getPath();
+            if ("/".equals(path) || "/dashboard.html".equals(path)) {
+                send(exchange, "text/html; charset=utf-8", dashboard);
+                return;
+            }
+            if ("/analytics/live".equals(path)) {
+                streamLive(exchange);
+                return;
+            }
+            if (path.startsWith("/artifacts/")) {
+                sendArtifact(exchange, path.substring("/artifacts/".length()));
+                return;
+            }
+
+            AnalyticsCache.Payload payload;
+            try {
+                payload = route(path, parseQuery(exchange.getRequestURI().getRawQuery()));
+            } catch (IllegalArgumentException e) {
+                sendError(exchange, 400, e.getMessage());
+                return;
+            } catch (Exception e) {
+                System.err.println("[AnalyticsServer] ❌ " + exchange.getRequestURI() + ": " + e.getMessage());
+                sendError(exchange, 503, "Analytics unavailable: " + e.getMessage());
+                return;
+            }
+            if (payload == null) sendError(exchange, 404, "No such endpoint: " + path);
+            else send(exchange, "application/json; charset=utf-8", payload);
+        } finally {
+            exchange.close();
+        }
+    }
+
+    // null for an unknown endpoint
+    private static AnalyticsCache.Payload route(String path, Map<String, String> query) throws Exception {
+        if ("/analytics/summary".equals(path)) {
+            return cache.get("summary", AnalyticsQueries::summary);
+        }
+        if ("/analytics/trends".equals(path)) {
+            if ("week".equals(query.get("period"))) {
+                int weeks = intParam(query, "weeks", 12, 1, 520);
+                return cache.get("trends:week:" + weeks, () -> AnalyticsQueries.weeklyTrend(weeks));
+            }
+            int days = intParam(query, "days", 7, 1, 366);
+            return cache.get("trends:day:" + days, () -> AnalyticsQueries.dailyTrend(days));
+        }
+        if ("/analytics/recent".equals(path)) {
+            int limit = intParam(query, "limit", 50, 1, 500);
+            return cache.get("recent:" + limit, () -> AnalyticsQueries.recent(limit));
+        }
+        if ("/analytics/runs".equals(path)) {
+            int limit = intParam(query, "limit", 20, 1, 200);
+            return cache.get("runs:" + limit, () -> AnalyticsQueries.runs(limit));
+        }
+        if (path.startsWith("/analytics/runs/")) {
+            int runId = pathId(path, "/analytics/runs/");
+            return cache.get("run:" + runId, () -> AnalyticsQueries.run(runId));
+        }
+        if (path.startsWith("/analytics/results/")) {
+            int runId = pathId(path, "/analytics/results/");
+            return cache.get("results:" + runId, () -> AnalyticsQueries.results(runId));
+        }
+        return null;
+    }
+
+    // ---------- Live events ----------
+    // Each client polls the ring on its own virtual thread; a client that cannot keep up only delays itself
+    private static void streamLive(HttpExchange exchange) throws IOException {
+        long pollMs = Math.max(50, ConfigManager.getLong("analytics.live.pollMs", 250));
+        long heartbeatMs = Math.max(pollMs, ConfigManager.getLong("analytics.live.heartbeatMs", 15000));
+        long next = resumeFrom(exchange.getRequestHeaders().getFirst("Last-Event-ID"));
+
+        Headers headers = exchange.getResponseHeaders();
+        headers.set("Content-Type", "text/event-stream; charset=utf-8");
+        headers.set("Cache-Control", "no-cache");
+        exchange.sendResponseHeaders(200, 0);
+
+        Writer out = new BufferedWriter(new OutputStreamWriter(exchange.getResponseBody(), StandardCharsets.UTF_8));
+        out.write("retry: 2000\n\n");
+        boolean first = true;
+        long lastWrite = System.currentTimeMillis();
+        try {
+            while (running) {
+                RunEventBus.Batch batch = RunEventBus.read(next);
+                for (RunEventBus.Event event : batch.events) {
+                    out.write("id: " + RunEventBus.EPOCH + ":" + (event.seq + 1) + "\nevent: test\ndata: " + event.json() + "\n\n");
+                }
+                if (first || !batch.events.isEmpty() || batch.next != next) {
+                    out.write("id: " + RunEventBus.EPOCH + ":" + batch.next + "\nevent: progress\ndata: "
+                            + RunEventBus.progressJson() + "\n\n");
+                    out.flush();
+                    lastWrite = System.currentTimeMillis();
+                    first = false;
+                } else if (System.currentTimeMillis() - lastWrite >= heartbeatMs) {
+                    // Comment line: keeps proxies from timing out and tells us when the client has gone
+                    out.write(": ping\n\n");
+                    out.flush();
+                    lastWrite = System.currentTimeMillis();
+                }
+                next = batch.next;
+                Thread.sleep(pollMs);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            // client disconnected
+        }
+    }
+
+    // "<epoch>:<seq>" from this JVM resumes after that event; anything else starts with the latest few events
+    private static long resumeFrom(String lastEventId) {
+        if (lastEventId != null && lastEventId.startsWith(RunEventBus.EPOCH + ":")) {
+            try {
+                return Long.parseLong(lastEventId.substring(RunEventBus.EPOCH.length() + 1));
+            } catch (NumberFormatException ignored) {
+                // fall through
+            }
+        }
+        return Math.max(0, RunEventBus.head() - ConfigManager.getInt("analytics.live.initialEvents", 100));
+    }
+
+    private static byte[] loadDashboard() throws IOException {
+        try (InputStream in = AnalyticsServer.class.getResourceAsStream(DASHBOARD_RESOURCE)) {
+            if (in == null) throw new IOException("Dashboard not found on classpath: " + DASHBOARD_RESOURCE);
+            return in.readAllBytes();
+        }
+    }
+
+    // ---------- Responses ----------
+    private static void send(HttpExchange exchange, String contentType, AnalyticsCache.Payload payload) throws IOException {
+        if (!payload.exists()) {
+            sendError(exchange, 404, "Not found: " + exchange.getRequestURI().getPath());
+            return;
+        }
+        Headers headers = exchange.getResponseHeaders();
+        headers.set("Content-Type", contentType);
+        headers.set("ETag", payload.etag);
+        headers.set("Cache-Control", "no-cache");
+        headers.set("Vary", "Accept-Encoding");
+
+        if (matches(exchange.getRequestHeaders().getFirst("If-None-Match"), payload.etag)) {
+            exchange.sendResponseHeaders(304, -1);
+            return;
+        }
+        byte[] body = payload.body;
+        String acceptEncoding = exchange.getRequestHeaders().getFirst("Accept-Encoding");
+        if (payload.gzipped != null && acceptEncoding != null && acceptEncoding.contains("gzip")) {
+            headers.set("Content-Encoding", "gzip");
+            body = payload.gzipped;
+        }
+        write(exchange, 200, body);
+    }
+
+    // A content id names its bytes, so the hash is the ETag and the response never goes stale
+    private static void sendArtifact(HttpExchange exchange, String id) throws IOException {
+        String contentId = ArtifactStore.isContentId(id) ? id : ArtifactStore.PREFIX + id;
+        ArtifactStore.Blob blob = ArtifactStore.get(contentId);
+        if (blob == null) {
+            sendError(exchange, 404, "No such artifact: " + id);
+            return;
+        }
+        String etag = "\"" + contentId.substring(ArtifactStore.PREFIX.length()) + "\"";
+        Headers headers = exchange.getResponseHeaders();
+        headers.set("Content-Type", blob.contentType());
+        headers.set("ETag", etag);
+        headers.set("Cache-Control", "public, max-age=31536000, immutable");
+        headers.set("Vary", "Accept-Encoding");
+
+        if (matches(exchange.getRequestHeaders().getFirst("If-None-Match"), etag)) {
+            exchange.sendResponseHeaders(304, -1);
+            return;
+        }
+        String acceptEncoding = exchange.getRequestHeaders().getFirst("Accept-Encoding");
+        if (blob.isGzipped() && acceptEncoding != null && acceptEncoding.contains("gzip")) {
+            headers.set("Content-Encoding", "gzip");
+            write(exchange, 200, blob.stored());
+        } else {
+            write(exchange, 200, blob.bytes());
+        }
+    }
+
+    private static void sendError(HttpExchange exchange, int status, String message) throws IOException {
+        String escaped = message == null ? "" : message.replace("\\", "\\\\").replace("\"", "\\\"");
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.getResponseHeaders().set("Cache-Control", "no-store");
+        write(exchange, status, ("{\"error\":\"" + escaped + "\"}").getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void write(HttpExchange exchange, int status, byte[] body) throws IOException {
+        boolean head = "HEAD".equals(exchange.getRequestMethod());
+        exchange.sendResponseHeaders(status, head ? -1 : body.length);
+        if (head) return;
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    // If-None-Match may list several tags; the gzip variant shares the tag, so a W/ prefix still matches
+    private static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) return false;
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) tag = tag.substring(2);
+            if ("*".equals(tag) || etag.equals(tag)) return true;
+        }
+        return false;
+    }
+
+    // ---------- Parameters ----------
+    private static Map<String, String> parseQuery(String rawQuery) {
+        Map<String, String> params = new HashMap<>();
+        if (rawQuery == null || rawQuery.isEmpty()) return params;
+        for (String pair : rawQuery.split("&")) {
+            int eq = pair.indexOf('=');
+            String key = eq < 0 ? pair : pair.substring(0, eq);
+            String value = eq < 0 ? "" : pair.substring(eq + 1);
+            params.put(URLDecoder.decode(key, StandardCharsets.UTF_8),
+                    URLDecoder.decode(value, StandardCharsets.UTF_8));
+        }
+        return params;
+    }
+
+    private static int intParam(Map<String, String> query, String name, int defaultValue, int min, int max) {
+        String value = query.get(name);
+        if (value == null || value.isEmpty()) return defaultValue;
+        try {
+            return Math.max(min, Math.min(max, Integer.parseInt(value.trim())));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid " + name + ": " + value);
+        }
+    }
+
+    private static int pathId(String path, String prefix) {
+        String id = path.substring(prefix.length());
+        if (id.endsWith("/")) id = id.substring(0, id.length() - 1);
+        try {
+            return Integer.parseInt(id);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid run id: " + id);
+        }
+    }
+}
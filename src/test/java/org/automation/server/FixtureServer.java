@@ -0,0 +1,224 @@
+package org.automation.server;
+
+import com.sun.net.httpserver.Headers;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.automation.config.ConfigManager;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Local stand-in for the site under test, so UI runs need neither the network nor the site's goodwill.
+ *
+ *   ui.fixtures.mode=record  proxies every request to ui.baseUrl and stores each response in a {@link FixtureStore}
+ *   ui.fixtures.mode=replay  serves the stored responses only, after ui.fixtures.latencyMs (+ up to jitterMs)
+ *   ui.fixtures.mode=off     no server; tests use ui.baseUrl directly (the default)
+ *
+ * Responses are keyed by method, path and sorted query; POSTs also by their sorted form fields, so a purchase form
+ * submitted with the recorded values gets the recorded confirmation page, and any other values get the route's
+ * recorded response. Links to the upstream origin in text bodies and redirects are rewritten to this server.
+ * {@link #baseUrl()} is what UiTestMapper builds its URLs from.
+ */
+public final class FixtureServer {
+
+    private static final Set<String> FORWARDED_REQUEST_HEADERS = Set.of("accept", "accept-language", "content-type", "cookie", "user-agent");
+    private static final Set<String> TEXT_TYPES = Set.of("text/", "javascript", "json", "xml");
+
+    private static HttpServer server;
+    private static ExecutorService executor;
+    private static FixtureStore store;
+    private static HttpClient upstreamClient;
+    private static boolean recording;
+    private static String localOrigin;
+    private static long latencyMs;
+    private static long jitterMs;
+
+    private FixtureServer() {
+    }
+
+    /** Base URL of the site under test: this server in record/replay mode, ui.baseUrl otherwise. */
+    public static synchronized String baseUrl() {
+        String mode = ConfigManager.get("ui.fixtures.mode", "off").toLowerCase(Locale.ROOT);
+        String upstream = stripSlash(ConfigManager.get("ui.baseUrl", "https://blazedemo.com"));
+        if ("off".equals(mode)) return upstream;
+        if (server == null) {
+            try {
+                start("record".equals(mode), upstream);
+            } catch (IOException e) {
+                throw new IllegalStateException("[FixtureServer] Cannot " + mode + " fixtures: " + e.getMessage(), e);
+            }
+        }
+        return localOrigin;
+    }
+
+    // ---------- Lifecycle ----------
+    private static void start(boolean record, String upstream) throws IOException {
+        Path dir = Paths.get(ConfigManager.get("ui.fixtures.dir", "src/test/resources/fixtures/blazedemo"));
+        store = record ? FixtureStore.empty(dir, upstream) : FixtureStore.load(dir);
+        recording = record;
+        latencyMs = Math.max(0, ConfigManager.getLong("ui.fixtures.latencyMs", 0));
+        jitterMs = Math.max(0, ConfigManager.getLong("ui.fixtures.jitterMs", 0));
+        if (record) {
+            upstreamClient = HttpClient.newBuilder()
+                    .followRedirects(HttpClient.Redirect.NEVER)
+                    .connectTimeout(Duration.ofSeconds(30))
+                    .build();
+        }
+
+        HttpServer http = HttpServers.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), ConfigManager.getInt("ui.fixtures.port", 0)), 0);
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+        http.setExecutor(executor);
+        http.createContext("/", FixtureServer::handle);
+        http.start();
+        server = http;
+        localOrigin = "http://127.0.0.1:" + http.getAddress().getPort();
+        Runtime.getRuntime().addShutdownHook(new Thread(FixtureServer::stop, "fixture-server-shutdown"));
+
+        if (record) {
+            System.out.println("[FixtureServer] 🎙️ Recording " + upstream + " through " + localOrigin + " into " + dir);
+        } else {
+            System.out.println("[FixtureServer] ▶️ Replaying " + store.size() + " fixture(s) of " + store.upstream() + " at "
+                    + localOrigin + (latencyMs + jitterMs > 0 ? " with " + latencyMs + "+" + jitterMs + " ms latency" : ""));
+        }
+    }
+
+    /** Stops serving; in record mode the fixtures are saved. */
+    public static synchronized void stop() {
+        if (server == null) return;
+        server.stop(0);
+        executor.shutdown();
+        server = null;
+        if (recording) {
+            try {
+                store.save();
+                System.out.println("[FixtureServer] 💾 Saved " + store.size() + " fixture(s)");
+            } catch (IOException e) {
+                System.err.println("[FixtureServer] ❌ Could not save fixtures: " + e.getMessage());
+            }
+        }
+    }
+
+    // ---------- Serving ----------
+    private static void handle(HttpExchange exchange) throws IOException {
+        try {
+            String method = exchange.getRequestMethod();
+            URI uri = exchange.getRequestURI();
+            String query = FixtureStore.canonicalQuery(uri.getRawQuery());
+            byte[] requestBody = exchange.getRequestBody().readAllBytes();
+            String bodyKey = FixtureStore.bodyKey(exchange.getRequestHeaders().getFirst("Content-Type"), requestBody);
+
+            FixtureStore.Entry entry;
+            byte[] body;
+            if (recording) {
+                entry = store.find(method, uri.getRawPath(), query, bodyKey);
+                boolean exact = entry != null && (bodyKey == null || bodyKey.equals(entry.bodyKey));
+                if (!exact) entry = fetchAndRecord(exchange, method, uri, query, requestBody, bodyKey);
+                body = store.body(entry);
+            } else {
+                entry = store.find(method, uri.getRawPath(), query, bodyKey);
+                if (entry == null && "HEAD".equals(method)) entry = store.find("GET", uri.getRawPath(), query, null);
+                if (entry == null) {
+                    System.err.println("[FixtureServer] ⚠️ No fixture for " + FixtureStore.key(method, uri.getRawPath(), query, bodyKey));
+                    send(exchange, 404, "text/plain; charset=utf-8", null, null,
+                            ("No fixture recorded for " + method + " " + uri).getBytes(StandardCharsets.UTF_8));
+                    return;
+                }
+                body = store.body(entry);
+                delay();
+            }
+            send(exchange, entry.status, entry.contentType, rewrite(entry.location), entry.setCookies, rewriteBody(entry.contentType, body));
+        } catch (Exception e) {
+            System.err.println("[FixtureServer] ❌ " + exchange.getRequestURI() + ": " + e.getMessage());
+            send(exchange, 502, "text/plain; charset=utf-8", null, null, String.valueOf(e.getMessage()).getBytes(StandardCharsets.UTF_8));
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private static FixtureStore.Entry fetchAndRecord(HttpExchange exchange, String method, URI uri, String query,
+                                                     byte[] requestBody, String bodyKey) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(store.upstream() + uri.getRawPath()
+                        + (uri.getRawQuery() == null ? "" : "?" + uri.getRawQuery())))
+                .timeout(Duration.ofSeconds(60))
+                .method(method, requestBody.length == 0 ? HttpRequest.BodyPublishers.noBody() : HttpRequest.BodyPublishers.ofByteArray(requestBody));
+        exchange.getRequestHeaders().forEach((name, values) -> {
+            if (FORWARDED_REQUEST_HEADERS.contains(name.toLowerCase(Locale.ROOT))) values.forEach(v -> request.header(name, v));
+        });
+        HttpResponse<byte[]> response = upstreamClient.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+
+        FixtureStore.Entry entry = new FixtureStore.Entry();
+        entry.method = method;
+        entry.path = uri.getRawPath();
+        entry.query = query;
+        entry.bodyKey = bodyKey;
+        entry.status = response.statusCode();
+        entry.contentType = response.headers().firstValue("Content-Type").orElse(null);
+        entry.location = response.headers().firstValue("Location").orElse(null);
+        List<String> cookies = new ArrayList<>();
+        // The cookie must belong to this server now, whatever domain the site gave it
+        for (String cookie : response.headers().allValues("Set-Cookie")) cookies.add(cookie.replaceAll("(?i);\\s*domain=[^;]*", ""));
+        entry.setCookies = cookies.isEmpty() ? null : cookies;
+        store.record(entry, response.body());
+        return entry;
+    }
+
+    private static void send(HttpExchange exchange, int status, String contentType, String location, List<String> cookies,
+                             byte[] body) throws IOException {
+        Headers headers = exchange.getResponseHeaders();
+        if (contentType != null) headers.set("Content-Type", contentType);
+        if (location != null) headers.set("Location", location);
+        if (cookies != null) cookies.forEach(c -> headers.add("Set-Cookie", c));
+        headers.set("Cache-Control", "no-store");
+        boolean noBody = "HEAD".equals(exchange.getRequestMethod()) || status == 204 || status == 304;
+        exchange.sendResponseHeaders(status, noBody ? -1 : body.length);
+        if (!noBody) {
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        }
+    }
+
+    // ---------- Helpers ----------
+    private static void delay() throws InterruptedException {
+        long ms = latencyMs + (jitterMs > 0 ? ThreadLocalRandom.current().nextLong(jitterMs + 1) : 0);
+        if (ms > 0) Thread.sleep(ms);
+    }
+
+    private static String rewrite(String text) {
+        if (text == null) return null;
+        String authority = URI.create(store.upstream()).getRawAuthority();
+        return text.replace("https://" + authority, localOrigin).replace("http://" + authority, localOrigin)
+                .replace("//" + authority, "//" + localOrigin.substring("http://".length()));
+    }
+
+    private static byte[] rewriteBody(String contentType, byte[] body) {
+        if (contentType == null || body.length == 0) return body;
+        String type = contentType.toLowerCase(Locale.ROOT);
+        if (TEXT_TYPES.stream().noneMatch(type::contains)) return body;
+        String text = new String(body, StandardCharsets.UTF_8);
+        String rewritten = rewrite(text);
+        return rewritten.equals(text) ? body : rewritten.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String stripSlash(String url) {
+        return url.endsWith("/") ? url.substring(0, url.length() - 1) : url;
+    }
+}
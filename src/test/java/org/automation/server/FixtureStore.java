@@ -0,0 +1,200 @@
+package org.automation.server;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * On-disk fixtures for {@link FixtureServer}: index.json lists one entry per request (method, path, canonical query
+ * and, for POSTs, a hash of the canonical form body) with the recorded status and headers, and bodies/ holds each
+ * distinct response body once, gzipped and named by its SHA-256 – pages shared by many requests are stored once.
+ */
+final class FixtureStore {
+
+    private static final ObjectMapper JSON = new ObjectMapper()
+            .enable(SerializationFeature.INDENT_OUTPUT)
+            .setSerializationInclusion(JsonInclude.Include.NON_NULL);
+
+    private final Path dir;
+    private final String upstream;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    // First entry per method + path + query, for POSTs whose form body was never recorded
+    private final Map<String, Entry> byRoute = new ConcurrentHashMap<>();
+    private final Map<String, byte[]> bodies = new ConcurrentHashMap<>();
+
+    private FixtureStore(Path dir, String upstream) {
+        this.dir = dir;
+        this.upstream = upstream;
+    }
+
+    static FixtureStore empty(Path dir, String upstream) {
+        return new FixtureStore(dir, upstream);
+    }
+
+    static FixtureStore load(Path dir) throws IOException {
+        Path index = dir.resolve("index.json");
+        if (!Files.exists(index)) throw new IOException("No fixtures at " + index.toAbsolutePath() + " – record them first (ui.fixtures.mode=record)");
+        Index loaded = JSON.readValue(index.toFile(), Index.class);
+        FixtureStore store = new FixtureStore(dir, loaded.upstream);
+        for (Entry entry : loaded.entries) store.add(entry);
+        return store;
+    }
+
+    String upstream() {
+        return upstream;
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    // ---------- Lookup ----------
+    /** The recorded response for a request; a POST with an unrecorded body gets the route's response, or null. */
+    Entry find(String method, String path, String query, String bodyKey) {
+        Entry exact = entries.get(key(method, path, query, bodyKey));
+        if (exact != null || bodyKey == null) return exact;
+        return byRoute.get(key(method, path, query, null));
+    }
+
+    byte[] body(Entry entry) throws IOException {
+        if (entry.body == null) return new byte[0];
+        byte[] cached = bodies.get(entry.body);
+        if (cached != null) return cached;
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(bodyPath(entry.body)))) {
+            byte[] body = in.readAllBytes();
+            bodies.put(entry.body, body);
+            return body;
+        }
+    }
+
+    // ---------- Recording ----------
+    /** Stores one exchange; the first recording of a request wins, so a re-visited page replays consistently. */
+    void record(Entry entry, byte[] body) throws IOException {
+        if (body.length > 0) {
+            entry.body = sha256(body);
+            Path file = bodyPath(entry.body);
+            if (!Files.exists(file)) {
+                Files.createDirectories(file.getParent());
+                Path tmp = Files.createTempFile(file.getParent(), entry.body, ".tmp");
+                try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(tmp))) {
+                    out.write(body);
+                }
+                Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            }
+            bodies.putIfAbsent(entry.body, body);
+        }
+        if (entries.putIfAbsent(key(entry.method, entry.path, entry.query, entry.bodyKey), entry) == null) {
+            byRoute.putIfAbsent(key(entry.method, entry.path, entry.query, null), entry);
+        }
+    }
+
+    /** Writes index.json and removes bodies no entry refers to any more. */
+    void save() throws IOException {
+        Files.createDirectories(dir);
+        Index index = new Index();
+        index.upstream = upstream;
+        index.recordedAt = LocalDateTime.now().withNano(0).toString();
+        index.entries = entries.values().stream()
+                .sorted(Comparator.comparing((Entry e) -> e.path).thenComparing(e -> e.method)
+                        .thenComparing(e -> e.query == null ? "" : e.query).thenComparing(e -> e.bodyKey == null ? "" : e.bodyKey))
+                .collect(Collectors.toList());
+        Path tmp = Files.createTempFile(dir, "index", ".tmp");
+        JSON.writeValue(tmp.toFile(), index);
+        Files.move(tmp, dir.resolve("index.json"), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        Set<String> referenced = new HashSet<>();
+        for (Entry entry : index.entries) referenced.add(entry.body + ".gz");
+        Path bodiesDir = dir.resolve("bodies");
+        if (Files.isDirectory(bodiesDir)) {
+            try (Stream<Path> files = Files.walk(bodiesDir)) {
+                for (Path file : files.filter(Files::isRegularFile).collect(Collectors.toList())) {
+                    if (!referenced.contains(file.getFileName().toString())) Files.delete(file);
+                }
+            }
+        }
+    }
+
+    // ---------- Keys ----------
+    static String key(String method, String path, String query, String bodyKey) {
+        return method + ' ' + path + (query == null ? "" : "?" + query) + (bodyKey == null ? "" : " #" + bodyKey);
+    }
+
+    /** Query or form body with its parameters sorted, so parameter order does not change the key; null when empty. */
+    static String canonicalQuery(String raw) {
+        if (raw == null || raw.isEmpty()) return null;
+        String[] pairs = raw.split("&");
+        Arrays.sort(pairs, Comparator.comparing((String p) -> URLDecoder.decode(p, StandardCharsets.UTF_8)));
+        return String.join("&", pairs);
+    }
+
+    /** Identifies a request body: form bodies by their canonical form, anything else by its bytes; null when empty. */
+    static String bodyKey(String contentType, byte[] body) {
+        if (body == null || body.length == 0) return null;
+        String canonical = contentType != null && contentType.startsWith("application/x-www-form-urlencoded")
+                ? canonicalQuery(new String(body, StandardCharsets.UTF_8)) : null;
+        return sha256(canonical != null ? canonical.getBytes(StandardCharsets.UTF_8) : body).substring(0, 16);
+    }
+
+    private void add(Entry entry) {
+        entries.put(key(entry.method, entry.path, entry.query, entry.bodyKey), entry);
+        byRoute.putIfAbsent(key(entry.method, entry.path, entry.query, null), entry);
+    }
+
+    private Path bodyPath(String sha) {
+        return dir.resolve("bodies").resolve(sha.substring(0, 2)).resolve(sha + ".gz");
+    }
+
+    private static String sha256(byte[] data) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(data);
+            StringBuilder hex = new StringBuilder(64);
+            for (byte b : digest) hex.append(String.format("%02x", b));
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // ---------- Index format ----------
+    static final class Index {
+        public String upstream;
+        public String recordedAt;
+        public List<Entry> entries = new ArrayList<>();
+    }
+
+    static final class Entry {
+        public String method;
+        public String path;
+        public String query;
+        public String bodyKey;
+        public int status;
+        public String contentType;
+        public String location;
+        public List<String> setCookies;
+        public String body;
+    }
+}
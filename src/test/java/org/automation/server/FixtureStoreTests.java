@@ -0,0 +1,156 @@
+package org.automation.server;
+
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/** Request key canonicalisation and the on-disk round trip of {@link FixtureStore}, in a temporary directory. */
+@Test(singleThreaded = true)
+public class FixtureStoreTests {
+
+    private static final String FORM = "application/x-www-form-urlencoded; charset=UTF-8";
+    private Path dir;
+
+    @BeforeMethod
+    public void createDir() throws IOException {
+        dir = Files.createTempDirectory("fixtures-test");
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void deleteDir() throws IOException {
+        try (Stream<Path> files = Files.walk(dir)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) Files.deleteIfExists(file);
+        }
+    }
+
+    // ---------- Keys ----------
+    @Test(description = "Parameter order does not change the canonical query; empty queries have none")
+    public void testCanonicalQuery() {
+        Assert.assertEquals(FixtureStore.canonicalQuery("toPort=Rome&fromPort=Paris"), "fromPort=Paris&toPort=Rome");
+        Assert.assertEquals(FixtureStore.canonicalQuery("fromPort=Paris&toPort=Rome"), "fromPort=Paris&toPort=Rome");
+        Assert.assertNull(FixtureStore.canonicalQuery(""));
+        Assert.assertNull(FixtureStore.canonicalQuery(null));
+    }
+
+    @Test(description = "Parameters are ordered by their decoded form, and kept encoded")
+    public void testCanonicalQueryDecodesForOrdering() {
+        // "%41" decodes to "A", which sorts before "B"
+        Assert.assertEquals(FixtureStore.canonicalQuery("B=2&%41=1"), "%41=1&B=2");
+    }
+
+    @Test(description = "Form bodies are keyed by their canonical form, other bodies by their bytes")
+    public void testBodyKey() {
+        String form = FixtureStore.bodyKey(FORM, bytes("b=2&a=1"));
+        Assert.assertEquals(FixtureStore.bodyKey(FORM, bytes("a=1&b=2")), form);
+        Assert.assertEquals(form.length(), 16);
+        Assert.assertNotEquals(FixtureStore.bodyKey(FORM, bytes("a=1&b=3")), form);
+
+        Assert.assertNotEquals(FixtureStore.bodyKey("application/json", bytes("{\"b\":2,\"a\":1}")),
+                FixtureStore.bodyKey("application/json", bytes("{\"a\":1,\"b\":2}")));
+        Assert.assertNull(FixtureStore.bodyKey(FORM, new byte[0]));
+        Assert.assertNull(FixtureStore.bodyKey(FORM, null));
+    }
+
+    @Test(description = "Keys name method, path, query and body key, leaving out what is absent")
+    public void testKey() {
+        Assert.assertEquals(FixtureStore.key("GET", "/reserve.php", null, null), "GET /reserve.php");
+        Assert.assertEquals(FixtureStore.key("POST", "/purchase.php", "a=1", "0123456789abcdef"),
+                "POST /purchase.php?a=1 #0123456789abcdef");
+    }
+
+    // ---------- Lookup ----------
+    @Test(description = "A POST with an unrecorded body falls back to the route's response; a GET does not")
+    public void testFindFallsBackToRoute() throws IOException {
+        FixtureStore store = FixtureStore.empty(dir, "https://blazedemo.com");
+        String recordedBody = FixtureStore.bodyKey(FORM, bytes("fromPort=Paris"));
+        store.record(entry("POST", "/reserve.php", null, recordedBody, 200), bytes("<html>flights</html>"));
+
+        Assert.assertNotNull(store.find("POST", "/reserve.php", null, recordedBody));
+        FixtureStore.Entry fallback = store.find("POST", "/reserve.php", null, FixtureStore.bodyKey(FORM, bytes("fromPort=Rome")));
+        Assert.assertNotNull(fallback);
+        Assert.assertEquals(fallback.bodyKey, recordedBody);
+        Assert.assertNull(store.find("GET", "/reserve.php", null, null));
+        Assert.assertNull(store.find("POST", "/purchase.php", null, recordedBody));
+    }
+
+    @Test(description = "The first recording of a request wins")
+    public void testFirstRecordingWins() throws IOException {
+        FixtureStore store = FixtureStore.empty(dir, "https://blazedemo.com");
+        store.record(entry("GET", "/", null, null, 200), bytes("first"));
+        store.record(entry("GET", "/", null, null, 500), bytes("second"));
+
+        FixtureStore.Entry entry = store.find("GET", "/", null, null);
+        Assert.assertEquals(entry.status, 200);
+        Assert.assertEquals(new String(store.body(entry), StandardCharsets.UTF_8), "first");
+        Assert.assertEquals(store.size(), 1);
+    }
+
+    // ---------- Round trip ----------
+    @Test(description = "Saved fixtures load back with their bodies, each distinct body stored once")
+    public void testSaveAndLoad() throws IOException {
+        FixtureStore store = FixtureStore.empty(dir, "https://blazedemo.com");
+        store.record(entry("GET", "/", null, null, 200), bytes("<html>home</html>"));
+        store.record(entry("GET", "/index.php", null, null, 200), bytes("<html>home</html>"));
+        store.record(entry("GET", "/reserve.php", "fromPort=Paris&toPort=Rome", null, 200), bytes("<html>flights</html>"));
+        store.record(entry("GET", "/favicon.ico", null, null, 404), new byte[0]);
+        store.save();
+
+        FixtureStore loaded = FixtureStore.load(dir);
+        Assert.assertEquals(loaded.upstream(), "https://blazedemo.com");
+        Assert.assertEquals(loaded.size(), 4);
+        FixtureStore.Entry flights = loaded.find("GET", "/reserve.php", "fromPort=Paris&toPort=Rome", null);
+        Assert.assertEquals(new String(loaded.body(flights), StandardCharsets.UTF_8), "<html>flights</html>");
+        Assert.assertEquals(loaded.body(loaded.find("GET", "/favicon.ico", null, null)).length, 0);
+        Assert.assertEquals(bodyFiles().size(), 2);
+    }
+
+    @Test(description = "Saving removes body files no entry refers to")
+    public void testSaveRemovesUnreferencedBodies() throws IOException {
+        FixtureStore.empty(dir, "https://blazedemo.com").record(entry("GET", "/old", null, null, 200), bytes("stale"));
+        FixtureStore store = FixtureStore.empty(dir, "https://blazedemo.com");
+        store.record(entry("GET", "/", null, null, 200), bytes("fresh"));
+        Assert.assertEquals(bodyFiles().size(), 2);
+
+        store.save();
+        Assert.assertEquals(bodyFiles().size(), 1);
+    }
+
+    @Test(description = "Loading without recorded fixtures fails with a hint")
+    public void testLoadWithoutFixtures() {
+        IOException e = Assert.expectThrows(IOException.class, () -> FixtureStore.load(dir));
+        Assert.assertTrue(e.getMessage().contains("record"), e.getMessage());
+    }
+
+    // ---------- Helpers ----------
+    private static FixtureStore.Entry entry(String method, String path, String query, String bodyKey, int status) {
+        FixtureStore.Entry entry = new FixtureStore.Entry();
+        entry.method = method;
+        entry.path = path;
+        entry.query = query;
+        entry.bodyKey = bodyKey;
+        entry.status = status;
+        entry.contentType = "text/html";
+        return entry;
+    }
+
+    private List<Path> bodyFiles() throws IOException {
+        Path bodies = dir.resolve("bodies");
+        if (!Files.isDirectory(bodies)) return List.of();
+        try (Stream<Path> files = Files.walk(bodies)) {
+            return files.filter(Files::isRegularFile).toList();
+        }
+    }
+
+    private static byte[] bytes(String text) {
+        return text.getBytes(StandardCharsets.UTF_8);
+    }
+}
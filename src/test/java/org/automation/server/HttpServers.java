@@ -0,0 +1,22 @@
+package org.automation.server;
+
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+
+/** Creates the JDK HTTP servers behind the in-process servers of this package. */
+final class HttpServers {
+
+    private HttpServers() {
+    }
+
+    static HttpServer create(InetSocketAddress address, int backlog) throws IOException {
+        // The JDK server leaves Nagle on by default, which stalls small keep-alive responses on delayed ACKs.
+        // It reads the setting once per JVM, so it has to be in place before the first server is created.
+        if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+        }
+        return HttpServer.create(address, backlog);
+    }
+}
@@ -0,0 +1,330 @@
+package org.automation.server;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.automation.config.ConfigManager;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-process stand-in for https://jsonplaceholder.typicode.com with the same resources, routes and status codes the
+ * API tests rely on, so an API run is bound by the framework rather than by a rate-limited public service.
+ *
+ *   GET    /posts, /posts/{id}, /posts/{id}/comments, /comments, /comments/{id}, /users, /users/{id}, /users/{id}/posts
+ *          (collections filter on any field: /comments?postId=1)        200, or 404 with {} for an unknown id
+ *   POST   /posts, /comments                                             201 with the body and the next id
+ *   PUT    /posts/{id}, /comments/{id}, /users/{id}                      200 with the body and the id; 500 if unknown
+ *   PATCH  same                                                          200 with the resource merged with the body
+ *   DELETE same                                                          200 with {}
+ *
+ * Like the real service nothing is persisted, so every GET is answered from bytes serialized once at start-up; only
+ * filtered collections are serialized on first use. One virtual thread per request. api.stub.latencyMs,
+ * api.stub.jitterMs and api.stub.errorRate (0–1, answered with 503) make it behave like a slower, flakier service.
+ */
+public final class JsonPlaceholderServer {
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+    private static final String JSON_TYPE = "application/json; charset=utf-8";
+    private static final byte[] EMPTY_OBJECT = "{}".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] INJECTED_ERROR = "{\"error\":\"injected by api.stub.errorRate\"}".getBytes(StandardCharsets.UTF_8);
+    private static final int MAX_FILTER_CACHE = 1024;
+
+    private static HttpServer server;
+    private static ExecutorService executor;
+    private static String baseUrl;
+    private static long latencyMs;
+    private static long jitterMs;
+    private static double errorRate;
+
+    private static final Map<String, List<ObjectNode>> RESOURCES = new LinkedHashMap<>();
+    private static final Map<String, byte[]> GET_RESPONSES = new HashMap<>();
+    private static final Map<String, byte[]> FILTERED = new ConcurrentHashMap<>();
+    private static final LongAdder REQUESTS = new LongAdder();
+
+    private JsonPlaceholderServer() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        start(ConfigManager.getInt("api.stub.port", 3000));
+    }
+
+    /** Base URL for the API tests: this server with api.stub.enabled=true, api.baseUrl otherwise. */
+    public static synchronized String baseUrl() {
+        if (!ConfigManager.getBoolean("api.stub.enabled", false)) {
+            return ConfigManager.get("api.baseUrl", "https://jsonplaceholder.typicode.com");
+        }
+        if (server == null) {
+            try {
+                start(ConfigManager.getInt("api.stub.port", 0));
+                Runtime.getRuntime().addShutdownHook(new Thread(JsonPlaceholderServer::stop, "jsonplaceholder-stub-shutdown"));
+            } catch (IOException e) {
+                throw new IllegalStateException("[JsonPlaceholderServer] Not started: " + e.getMessage(), e);
+            }
+        }
+        return baseUrl;
+    }
+
+    // ---------- Lifecycle ----------
+    public static synchronized void start(int port) throws IOException {
+        if (server != null) return;
+        if (RESOURCES.isEmpty()) seed();
+        latencyMs = Math.max(0, ConfigManager.getLong("api.stub.latencyMs", 0));
+        jitterMs = Math.max(0, ConfigManager.getLong("api.stub.jitterMs", 0));
+        errorRate = Math.min(1, Math.max(0, Double.parseDouble(ConfigManager.get("api.stub.errorRate", "0"))));
+
+        HttpServer http = HttpServers.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port),
+                ConfigManager.getInt("api.stub.backlog", 1024));
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+        http.setExecutor(executor);
+        http.createContext("/", JsonPlaceholderServer::handle);
+        http.start();
+        server = http;
+        baseUrl = "http://127.0.0.1:" + http.getAddress().getPort();
+        System.out.println("[JsonPlaceholderServer] 🧪 JSONPlaceholder stand-in at " + baseUrl
+                + (latencyMs + jitterMs > 0 ? " (" + latencyMs + "+" + jitterMs + " ms latency)" : "")
+                + (errorRate > 0 ? " (error rate " + errorRate + ")" : ""));
+    }
+
+    public static synchronized void stop() {
+        if (server == null) return;
+        server.stop(0);
+        executor.shutdown();
+        server = null;
+        System.out.println("[JsonPlaceholderServer] Stopped after " + REQUESTS.sum() + " request(s)");
+    }
+
+    // ---------- Routing ----------
+    private static void handle(HttpExchange exchange) throws IOException {
+        REQUESTS.increment();
+        try {
+            delay();
+            if (errorRate > 0 && ThreadLocalRandom.current().nextDouble() < errorRate) {
+                send(exchange, 503, INJECTED_ERROR);
+                return;
+            }
+            String method = exchange.getRequestMethod();
+            String path = exchange.getRequestURI().getPath();
+            String query = exchange.getRequestURI().getRawQuery();
+            if (path.length() > 1 && path.endsWith("/")) path = path.substring(0, path.length() - 1);
+
+            if ("GET".equals(method) || "HEAD".equals(method)) {
+                byte[] body = query == null ? GET_RESPONSES.get(path) : filtered(path, query);
+                if (body != null) send(exchange, 200, body);
+                else send(exchange, 404, EMPTY_OBJECT);
+                return;
+            }
+
+            String[] parts = path.substring(1).split("/");
+            if (!RESOURCES.containsKey(parts[0]) || parts.length > 2) {
+                send(exchange, 404, EMPTY_OBJECT);
+                return;
+            }
+            List<ObjectNode> rows = RESOURCES.get(parts[0]);
+            if (parts.length == 1) {
+                if ("POST".equals(method)) {
+                    ObjectNode created = readObject(exchange);
+                    created.put("id", rows.size() + 1);
+                    send(exchange, 201, JSON.writeValueAsBytes(created));
+                } else {
+                    send(exchange, 404, EMPTY_OBJECT);
+                }
+                return;
+            }
+
+            ObjectNode existing = find(rows, parts[1]);
+            switch (method) {
+                case "PUT": {
+                    if (existing == null) {
+                        send(exchange, 500, EMPTY_OBJECT);
+                        return;
+                    }
+                    ObjectNode replaced = readObject(exchange);
+                    replaced.put("id", existing.get("id").asInt());
+                    send(exchange, 200, JSON.writeValueAsBytes(replaced));
+                    return;
+                }
+                case "PATCH": {
+                    ObjectNode patched = existing == null ? JSON.createObjectNode() : existing.deepCopy();
+                    patched.setAll(readObject(exchange));
+                    send(exchange, 200, JSON.writeValueAsBytes(patched));
+                    return;
+                }
+                case "DELETE":
+                    send(exchange, 200, EMPTY_OBJECT);
+                    return;
+                default:
+                    send(exchange, 404, EMPTY_OBJECT);
+            }
+        } catch (Exception e) {
+            send(exchange, 500, JSON.writeValueAsBytes(Map.of("error", String.valueOf(e.getMessage()))));
+        } finally {
+            exchange.close();
+        }
+    }
+
+    // Collections filtered by ?field=value (repeatable), serialized on first use
+    private static byte[] filtered(String path, String query) throws IOException {
+        String key = path + '?' + query;
+        byte[] cached = FILTERED.get(key);
+        if (cached != null) return cached;
+
+        String[] parts = path.substring(1).split("/");
+        List<ObjectNode> rows;
+        if (parts.length == 1 && RESOURCES.containsKey(parts[0])) rows = RESOURCES.get(parts[0]);
+        else if (GET_RESPONSES.containsKey(path)) rows = nested(parts);
+        else return null;
+        if (rows == null) return GET_RESPONSES.get(path);
+
+        ArrayNode result = JSON.createArrayNode();
+        for (ObjectNode row : rows) {
+            boolean match = true;
+            for (String pair : query.split("&")) {
+                int eq = pair.indexOf('=');
+                if (eq <= 0) continue;
+                String field = URLDecoder.decode(pair.substring(0, eq), StandardCharsets.UTF_8);
+                String value = URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8);
+                JsonNode actual = row.get(field);
+                if (actual == null || !actual.asText().equals(value)) {
+                    match = false;
+                    break;
+                }
+            }
+            if (match) result.add(row);
+        }
+        byte[] body = JSON.writeValueAsBytes(result);
+        if (FILTERED.size() < MAX_FILTER_CACHE) FILTERED.put(key, body);
+        return body;
+    }
+
+    // Rows behind a nested collection route such as /posts/1/comments, null for a single resource
+    private static List<ObjectNode> nested(String[] parts) {
+        if (parts.length != 3) return null;
+        String parentField = parts[0].substring(0, parts[0].length() - 1) + "Id";
+        List<ObjectNode> rows = new ArrayList<>();
+        for (ObjectNode row : RESOURCES.get(parts[2])) {
+            if (row.path(parentField).asText().equals(parts[1])) rows.add(row);
+        }
+        return rows;
+    }
+
+    private static ObjectNode find(List<ObjectNode> rows, String id) {
+        try {
+            int index = Integer.parseInt(id) - 1;
+            return index >= 0 && index < rows.size() ? rows.get(index) : null;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static ObjectNode readObject(HttpExchange exchange) throws IOException {
+        byte[] body = exchange.getRequestBody().readAllBytes();
+        if (body.length == 0) return JSON.createObjectNode();
+        JsonNode node = JSON.readTree(body);
+        return node instanceof ObjectNode ? (ObjectNode) node : JSON.createObjectNode();
+    }
+
+    private static void send(HttpExchange exchange, int status, byte[] body) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", JSON_TYPE);
+        boolean head = "HEAD".equals(exchange.getRequestMethod());
+        exchange.sendResponseHeaders(status, head ? -1 : body.length);
+        if (!head) {
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        }
+    }
+
+    private static void delay() throws InterruptedException {
+        long ms = latencyMs + (jitterMs > 0 ? ThreadLocalRandom.current().nextLong(jitterMs + 1) : 0);
+        if (ms > 0) Thread.sleep(ms);
+    }
+
+    // ---------- Data ----------
+    // Same shape and counts as JSONPlaceholder: 10 users, 100 posts (10 per user), 500 comments (5 per post)
+    private static void seed() throws IOException {
+        List<ObjectNode> users = new ArrayList<>();
+        for (int id = 1; id <= 10; id++) {
+            ObjectNode user = JSON.createObjectNode();
+            user.put("id", id);
+            user.put("name", "User " + id);
+            user.put("username", "user" + id);
+            user.put("email", "user" + id + "@example.com");
+            ObjectNode address = user.putObject("address");
+            address.put("street", id + " Main Street");
+            address.put("suite", "Apt. " + (100 + id));
+            address.put("city", "Testville");
+            address.put("zipcode", String.format("%05d", 10000 + id));
+            ObjectNode geo = address.putObject("geo");
+            geo.put("lat", String.valueOf(-37.3159 + id));
+            geo.put("lng", String.valueOf(81.1496 - id));
+            user.put("phone", "1-770-736-80" + String.format("%02d", id));
+            user.put("website", "user" + id + ".example.org");
+            ObjectNode company = user.putObject("company");
+            company.put("name", "Company " + id);
+            company.put("catchPhrase", "Deterministic test data " + id);
+            company.put("bs", "synergize test fixtures");
+            users.add(user);
+        }
+
+        List<ObjectNode> posts = new ArrayList<>();
+        for (int id = 1; id <= 100; id++) {
+            ObjectNode post = JSON.createObjectNode();
+            post.put("userId", (id - 1) / 10 + 1);
+            post.put("id", id);
+            post.put("title", "post title " + id);
+            post.put("body", "post body " + id + "\nwith a second line");
+            posts.add(post);
+        }
+
+        List<ObjectNode> comments = new ArrayList<>();
+        for (int id = 1; id <= 500; id++) {
+            ObjectNode comment = JSON.createObjectNode();
+            comment.put("postId", (id - 1) / 5 + 1);
+            comment.put("id", id);
+            comment.put("name", "comment name " + id);
+            comment.put("email", "commenter" + id + "@example.com");
+            comment.put("body", "comment body " + id);
+            comments.add(comment);
+        }
+
+        RESOURCES.put("posts", posts);
+        RESOURCES.put("comments", comments);
+        RESOURCES.put("users", users);
+
+        // Every unfiltered GET the routes can produce, serialized once
+        for (Map.Entry<String, List<ObjectNode>> resource : RESOURCES.entrySet()) {
+            String name = resource.getKey();
+            GET_RESPONSES.put("/" + name, JSON.writeValueAsBytes(resource.getValue()));
+            for (ObjectNode row : resource.getValue()) {
+                GET_RESPONSES.put("/" + name + "/" + row.get("id").asInt(), JSON.writeValueAsBytes(row));
+            }
+        }
+        for (ObjectNode post : posts) {
+            String[] route = {"posts", post.get("id").asText(), "comments"};
+            GET_RESPONSES.put("/posts/" + route[1] + "/comments", JSON.writeValueAsBytes(nested(route)));
+        }
+        for (ObjectNode user : users) {
+            String[] route = {"users", user.get("id").asText(), "posts"};
+            GET_RESPONSES.put("/users/" + route[1] + "/posts", JSON.writeValueAsBytes(nested(route)));
+        }
+    }
+}
@@ -0,0 +1,196 @@
+package org.automation.server;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import org.automation.config.ConfigManager;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Live test events (start, finish with status/duration/screenshot) published by TestSuiteListener and streamed to
+ * the dashboard by {@link AnalyticsServer} over /analytics/live.
+ *
+ * Events go into a fixed ring of analytics.live.bufferSize slots. Publishing claims a sequence number and stores
+ * the event – no locks, no waiting – so neither a slow nor a stalled client can hold up a test thread; readers that
+ * fall more than a ring behind simply find their events overwritten. {@link #read} hands each reader what it has
+ * not seen yet, coalesced to the latest event per test when the backlog is large, together with running counters
+ * so a lagging or reconnecting client can catch up in one step.
+ */
+public final class RunEventBus {
+
+    /** Per-JVM prefix of event ids, so a client reconnecting to a restarted JVM starts over instead of resuming. */
+    static final String EPOCH = Long.toString(System.currentTimeMillis(), 36);
+
+    private static final JsonFactory JSON = new JsonFactory();
+    private static final int CAPACITY = ringSize(ConfigManager.getInt("analytics.live.bufferSize", 4096));
+    private static final int COALESCE_THRESHOLD = Math.max(1, ConfigManager.getInt("analytics.live.coalesceThreshold", 256));
+    private static final AtomicReferenceArray<Event> RING = new AtomicReferenceArray<>(CAPACITY);
+    private static final AtomicLong NEXT = new AtomicLong();
+
+    private static final LongAdder STARTED = new LongAdder();
+    private static final LongAdder PASSED = new LongAdder();
+    private static final LongAdder FAILED = new LongAdder();
+    private static final LongAdder SKIPPED = new LongAdder();
+
+    private RunEventBus() {
+    }
+
+    // ---------- Publishing ----------
+    public static void testStarted(String runKey, String testKey, String testName) {
+        STARTED.increment();
+        publish("start", runKey, testKey, testName, "RUNNING", 0, null);
+    }
+
+    public static void testFinished(String runKey, String testKey, String testName, String status,
+                                    long durationMs, String screenshotPath) {
+        String s = status == null ? "" : status.toUpperCase();
+        if (s.startsWith("PASS")) PASSED.increment();
+        else if (s.startsWith("FAIL")) FAILED.increment();
+        else SKIPPED.increment();
+        publish("finish", runKey, testKey, testName, status, durationMs,
+                screenshotPath == null || screenshotPath.isEmpty() ? null : screenshotPath);
+    }
+
+    private static void publish(String type, String runKey, String testKey, String testName, String status,
+                                long durationMs, String screenshot) {
+        long seq = NEXT.getAndIncrement();
+        RING.set((int) (seq & (CAPACITY - 1)), new Event(seq, type, runKey, testKey, testName, status, durationMs,
+                screenshot, System.currentTimeMillis()));
+    }
+
+    // ---------- Reading ----------
+    /** Sequence number the next published event will get. */
+    static long head() {
+        return NEXT.get();
+    }
+
+    /**
+     * Events from sequence from (inclusive) up to the current head. The batch is coalesced – one event per test,
+     * the latest – when the backlog exceeds analytics.live.coalesceThreshold or part of it has been overwritten.
+     */
+    static Batch read(long from) {
+        long head = NEXT.get();
+        long oldest = Math.max(0, head - CAPACITY);
+        boolean lost = from < oldest;
+        long start = Math.max(from, oldest);
+
+        List<Event> events = new ArrayList<>();
+        for (long seq = start; seq < head; seq++) {
+            Event event = RING.get((int) (seq & (CAPACITY - 1)));
+            // Claimed but not stored yet: stop here and pick it up next time
+            if (event == null || event.seq < seq) {
+                head = seq;
+                break;
+            }
+            // Overwritten while we were reading
+            if (event.seq > seq) {
+                lost = true;
+                continue;
+            }
+            events.add(event);
+        }
+
+        boolean coalesced = lost || events.size() > COALESCE_THRESHOLD;
+        if (coalesced) {
+            Map<String, Event> latest = new LinkedHashMap<>();
+            for (Event event : events) {
+                String key = event.runKey + '\u0000' + event.testKey;
+                latest.remove(key);
+                latest.put(key, event);
+            }
+            events = new ArrayList<>(latest.values());
+        }
+        return new Batch(events, Math.max(head, start), coalesced);
+    }
+
+    static String progressJson() throws IOException {
+        StringWriter out = new StringWriter();
+        try (JsonGenerator json = JSON.createGenerator(out)) {
+            long passed = PASSED.sum(), failed = FAILED.sum(), skipped = SKIPPED.sum(), started = STARTED.sum();
+            long finished = passed + failed + skipped;
+            json.writeStartObject();
+            json.writeNumberField("started", started);
+            json.writeNumberField("finished", finished);
+            json.writeNumberField("running", Math.max(0, started - finished));
+            json.writeNumberField("passed", passed);
+            json.writeNumberField("failed", failed);
+            json.writeNumberField("skipped", skipped);
+            json.writeEndObject();
+        }
+        return out.toString();
+    }
+
+    private static int ringSize(int requested) {
+        int size = Integer.highestOneBit(Math.max(64, requested));
+        return size < requested ? size << 1 : size;
+    }
+
+    // ---------- Types ----------
+    static final class Batch {
+        final List<Event> events;
+        /** Sequence to read from next time. */
+        final long next;
+        final boolean coalesced;
+
+        Batch(List<Event> events, long next, boolean coalesced) {
+            this.events = events;
+            this.next = next;
+            this.coalesced = coalesced;
+        }
+    }
+
+    static final class Event {
+        final long seq;
+        final String type;
+        final String runKey;
+        final String testKey;
+        final String testName;
+        final String status;
+        final long durationMs;
+        final String screenshot;
+        final long timestamp;
+        private volatile String json;
+
+        Event(long seq, String type, String runKey, String testKey, String testName, String status,
+              long durationMs, String screenshot, long timestamp) {
+            this.seq = seq;
+            this.type = type;
+            this.runKey = runKey;
+            this.testKey = testKey;
+            this.testName = testName;
+            this.status = status;
+            this.durationMs = durationMs;
+            this.screenshot = screenshot;
+            this.timestamp = timestamp;
+        }
+
+        // Serialized by the first reader that needs it, never on the test thread
+        String json() throws IOException {
+            String cached = json;
+            if (cached != null) return cached;
+            StringWriter out = new StringWriter();
+            try (JsonGenerator gen = JSON.createGenerator(out)) {
+                gen.writeStartObject();
+                gen.writeStringField("type", type);
+                gen.writeStringField("runKey", runKey);
+                gen.writeStringField("testKey", testKey);
+                gen.writeStringField("testName", testName);
+                gen.writeStringField("status", status);
+                gen.writeNumberField("durationMs", durationMs);
+                gen.writeStringField("screenshot", screenshot);
+                gen.writeNumberField("timestamp", timestamp);
+                gen.writeEndObject();
+            }
+            json = out.toString();
+            return json;
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package org.automation.server;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.automation.config.ConfigManager;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Resuming and coalescing reads of {@link RunEventBus}. The bus is process-wide, so every test reads from the head it
+ * found on entry rather than from 0.
+ */
+@Test(singleThreaded = true)
+public class RunEventBusTests {
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    @Test(description = "A reader resuming from the sequence it was given sees each event once, in order")
+    public void testResumeFromNext() {
+        long from = RunEventBus.head();
+        RunEventBus.testStarted("run", "a", "testA");
+        RunEventBus.testStarted("run", "b", "testB");
+        RunEventBus.testFinished("run", "a", "testA", "PASS", 12, null);
+
+        RunEventBus.Batch first = RunEventBus.read(from);
+        Assert.assertFalse(first.coalesced);
+        Assert.assertEquals(types(first), List.of("start:a", "start:b", "finish:a"));
+        Assert.assertEquals(first.next, RunEventBus.head());
+
+        RunEventBus.Batch idle = RunEventBus.read(first.next);
+        Assert.assertTrue(idle.events.isEmpty());
+        Assert.assertEquals(idle.next, first.next);
+
+        RunEventBus.testFinished("run", "b", "testB", "FAIL", 30, "cas:abc.png");
+        RunEventBus.Batch resumed = RunEventBus.read(idle.next);
+        Assert.assertEquals(types(resumed), List.of("finish:b"));
+        Assert.assertEquals(resumed.events.get(0).seq, first.next);
+    }
+
+    @Test(description = "A large backlog is coalesced to the latest event per test")
+    public void testLargeBacklogIsCoalesced() {
+        long from = RunEventBus.head();
+        int events = ConfigManager.getInt("analytics.live.coalesceThreshold", 256) + 1;
+        for (int i = 0; i < events; i++) RunEventBus.testStarted("run", i % 2 == 0 ? "even" : "odd", "test");
+        RunEventBus.testFinished("run", "even", "test", "PASS", 1, null);
+
+        RunEventBus.Batch batch = RunEventBus.read(from);
+        Assert.assertTrue(batch.coalesced);
+        Assert.assertEquals(types(batch), List.of("start:odd", "finish:even"));
+        Assert.assertEquals(batch.next, RunEventBus.head());
+    }
+
+    @Test(description = "A reader that fell more than a ring behind gets the latest events per test and the current head")
+    public void testOverwrittenBacklogIsCoalesced() {
+        long from = RunEventBus.head();
+        int events = 2 * ConfigManager.getInt("analytics.live.bufferSize", 4096) + 1;
+        for (int i = 0; i < events; i++) RunEventBus.testStarted("run", "k" + (i % 3), "test");
+
+        RunEventBus.Batch batch = RunEventBus.read(from);
+        Assert.assertTrue(batch.coalesced);
+        Assert.assertEquals(batch.events.size(), 3);
+        Assert.assertEquals(batch.next, RunEventBus.head());
+        Assert.assertEquals(batch.events.get(batch.events.size() - 1).seq, batch.next - 1);
+    }
+
+    @Test(description = "Events and progress serialize to the JSON the dashboard reads")
+    public void testJson() throws IOException {
+        JsonNode before = JSON.readTree(RunEventBus.progressJson());
+        long from = RunEventBus.head();
+        RunEventBus.testStarted("run", "json", "testJson");
+        RunEventBus.testFinished("run", "json", "testJson", "SKIP", 5, "");
+
+        JsonNode after = JSON.readTree(RunEventBus.progressJson());
+        Assert.assertEquals(after.get("started").asLong() - before.get("started").asLong(), 1);
+        Assert.assertEquals(after.get("skipped").asLong() - before.get("skipped").asLong(), 1);
+
+        JsonNode finish = JSON.readTree(RunEventBus.read(from).events.get(1).json());
+        Assert.assertEquals(finish.get("type").asText(), "finish");
+        Assert.assertEquals(finish.get("testKey").asText(), "json");
+        Assert.assertEquals(finish.get("durationMs").asLong(), 5);
+        Assert.assertTrue(finish.get("screenshot").isNull(), "an empty screenshot path is sent as null");
+    }
+
+    private static List<String> types(RunEventBus.Batch batch) {
+        return batch.events.stream().map(e -> e.type + ":" + e.testKey).collect(Collectors.toList());
+    }
+}
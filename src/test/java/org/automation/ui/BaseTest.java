@@ -1,79 +1,66 @@
 package org.automation.ui;
 
-import org.apache.commons.io.FileUtils;
 import org.automation.utils.ScreenshotUtils;
-import org.openqa.selenium.OutputType;
-import org.openqa.selenium.TakesScreenshot;
 import org.openqa.selenium.WebDriver;
-import org.openqa.selenium.chrome.ChromeDriver;
-import org.openqa.selenium.chrome.ChromeOptions;
+import org.testng.ITestContext;
 import org.testng.ITestResult;
 import org.testng.annotations.AfterMethod;
 import org.testng.annotations.BeforeMethod;
+import org.testng.xml.XmlTest;
 
-import java.io.File;
-import java.io.IOException;
+import java.lang.reflect.Method;
+import java.util.concurrent.CompletableFuture;
 
 public class BaseTest {
 
     @BeforeMethod(alwaysRun = true)
-    public void setUp() {
-        ChromeOptions options = new ChromeOptions();
+    public void setUp(ITestContext context, Method method) {
+        // ✅ Lease a warm browser – the pool grows to one browser per TestNG thread
+        XmlTest xmlTest = context.getCurrentXmlTest();
+        boolean parallel = xmlTest != null && xmlTest.getParallel() != null && xmlTest.getParallel().isParallel();
+        int threads = parallel ? Math.max(1, xmlTest.getThreadCount()) : 1;
 
-        // ✅ Detect environment – if running in CI (GitHub Actions), use headless
-        String ciEnv = System.getenv("CI");
-        boolean isCI = ciEnv != null && ciEnv.equalsIgnoreCase("true");
-
-        if (isCI) {
-            System.out.println("🚀 Running in CI mode – enabling headless Chrome...");
-            options.addArguments("--headless", "--no-sandbox", "--disable-dev-shm-usage");
-        } else {
-            System.out.println("🖥️ Running locally – launching full Chrome browser...");
-            options.addArguments("--start-maximized");
-        }
-
-        // Optional: use CHROME_BIN and CHROMEDRIVER_BIN if provided by CI
-        String chromeBinary = System.getenv("CHROME_BIN");
-        if (chromeBinary != null && !chromeBinary.isEmpty()) {
-            options.setBinary(chromeBinary);
-        }
-
-        WebDriver webDriver = new ChromeDriver(options);
-        DriverManager.setDriver(webDriver); // Save driver in ThreadLocal
+        // ✅ @BrowserProfile picks the page-load strategy and the resources to block
+        BrowserProfile profile = Navigation.profileFor(getClass(), method);
+        WebDriver driver = DriverManager.startSession(threads, Navigation.pageLoad(profile));
+        Navigation.begin(driver, profile);
     }
 
     public WebDriver getDriver() {
         return DriverManager.getDriver();
     }
 
+    /** Navigates (timed) and waits until the page is ready for the test's page-load strategy. */
+    protected void open(String url) {
+        Navigation.open(getDriver(), url);
+    }
+
     @AfterMethod(alwaysRun = true)
     public void tearDown(ITestResult result) {
         WebDriver driver = DriverManager.getDriver();
 
-        // ✅ Capture screenshot ONLY if test failed
+        Navigation.Stats navigation = Navigation.end();
+        if (navigation.count > 0) {
+            result.setAttribute("navigations", navigation.count);
+            result.setAttribute("navigationMs", navigation.totalMs);
+            System.out.println("⏱️ " + result.getMethod().getMethodName() + ": " + navigation.count + " navigation(s) in "
+                    + navigation.totalMs + " ms (slowest " + navigation.slowestMs + " ms)");
+        }
+
+        // ✅ Capture screenshot ONLY if test failed – the same capture TestSuiteListener records, if it already took one
         if (result.getStatus() == ITestResult.FAILURE && driver != null) {
-            String testName = result.getMethod().getMethodName();
-            ScreenshotUtils.capture(driver, testName);
+            ScreenshotUtils.captureFailure(result, driver);
         }
 
+        // Back to the pool right away – the screenshot is encoded in the background
+        // Reset for the next test, or recycled if the browser itself failed
         if (driver != null) {
-            driver.quit();
-            DriverManager.removeDriver();
+            DriverManager.endSession(result.getThrowable());
         }
     }
 
-    // Manual screenshot helper
-    public void takeScreenshot(String name) {
-        WebDriver driver = DriverManager.getDriver();
-        if (driver == null) return;
-
-        File srcFile = ((TakesScreenshot) driver).getScreenshotAs(OutputType.FILE);
-        File destFile = new File("target/screenshots/" + name + ".png");
-        destFile.getParentFile().mkdirs();
-        try {
-            FileUtils.copyFile(srcFile, destFile);
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
+    // Manual screenshot helper – stored like failure screenshots; the future yields its content id
+    public CompletableFuture<String> takeScreenshot(String name) {
+        return ScreenshotUtils.capture(DriverManager.getDriver(), name);
     }
 }
@@ -0,0 +1,50 @@
+package org.automation.ui;
+
+import org.openqa.selenium.PageLoadStrategy;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * How the browser loads pages for a UI test class or method (a method annotation wins over the class one).
+ *
+ * block and blockUrls are applied to the test's tab through DevTools before the test runs; pageLoad picks the
+ * session's page-load strategy, and readySelector is the element {@link BaseTest#open} waits for after each
+ * navigation when the strategy no longer waits for the page itself.
+ */
+@Inherited
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE, ElementType.METHOD})
+public @interface BrowserProfile {
+
+    Resource[] block() default {};
+
+    /** Extra DevTools URL patterns to block, e.g. "*google-analytics.com*". */
+    String[] blockUrls() default {};
+
+    PageLoadStrategy pageLoad() default PageLoadStrategy.NORMAL;
+
+    /** CSS selector that marks the page as ready; empty waits for the DOM to be parsed. */
+    String readySelector() default "";
+
+    /** Resource kinds blocked by file extension, since setBlockedURLs matches URLs rather than request types. */
+    enum Resource {
+        IMAGE("*.png", "*.jpg", "*.jpeg", "*.gif", "*.webp", "*.svg", "*.ico", "*.bmp"),
+        FONT("*.woff", "*.woff2", "*.ttf", "*.otf", "*.eot"),
+        MEDIA("*.mp4", "*.webm", "*.ogg", "*.mp3", "*.wav"),
+        STYLESHEET("*.css");
+
+        private final String[] patterns;
+
+        Resource(String... patterns) {
+            this.patterns = patterns;
+        }
+
+        public String[] patterns() {
+            return patterns.clone();
+        }
+    }
+}
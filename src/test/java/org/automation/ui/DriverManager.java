@@ -1,10 +1,14 @@
 package org.automation.ui;
 
+import org.automation.drivers.WebDriverFactory;
+import org.automation.drivers.WebDriverPool;
+import org.openqa.selenium.PageLoadStrategy;
 import org.openqa.selenium.WebDriver;
 
 public class DriverManager {
 
     private static final ThreadLocal<WebDriver> driverThreadLocal = new ThreadLocal<>();
+    private static final ThreadLocal<WebDriverPool.Session> sessionThreadLocal = new ThreadLocal<>();
 
     public static void setDriver(WebDriver driver) {
         driverThreadLocal.set(driver);
@@ -17,4 +21,38 @@ public class DriverManager {
     public static void removeDriver() {
         driverThreadLocal.remove();
     }
+
+    // ---------- Per-test sessions ----------
+    public static WebDriver startSession(int threadCount) {
+        return startSession(threadCount, PageLoadStrategy.NORMAL);
+    }
+
+    /** Gives this thread a browser: leased from the warm pool (sized to threadCount), or a fresh one with ui.pool.enabled=false. */
+    public static WebDriver startSession(int threadCount, PageLoadStrategy pageLoad) {
+        WebDriver driver;
+        if (WebDriverPool.isEnabled()) {
+            WebDriverPool pool = WebDriverPool.getInstance();
+            pool.ensureCapacity(threadCount, pageLoad);
+            WebDriverPool.Session session = pool.lease(pageLoad);
+            sessionThreadLocal.set(session);
+            driver = session.getDriver();
+        } else {
+            driver = WebDriverFactory.createChromeDriver(pageLoad);
+        }
+        setDriver(driver);
+        return driver;
+    }
+
+    /** Hands this thread's browser back to the pool (or quits it); testError decides whether a pooled one is recycled. */
+    public static void endSession(Throwable testError) {
+        WebDriverPool.Session session = sessionThreadLocal.get();
+        WebDriver driver = getDriver();
+        sessionThreadLocal.remove();
+        removeDriver();
+        if (session != null) {
+            session.release(testError);
+        } else if (driver != null) {
+            driver.quit();
+        }
+    }
 }
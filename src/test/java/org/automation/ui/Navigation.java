@@ -0,0 +1,116 @@
+package org.automation.ui;
+
+import org.automation.config.ConfigManager;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.PageLoadStrategy;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chromium.HasCdp;
+import org.openqa.selenium.support.ui.ExpectedConditions;
+import org.openqa.selenium.support.ui.WebDriverWait;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Applies a test's {@link BrowserProfile} to its browser and times every navigation made through
+ * {@link BaseTest#open}, so the effect of blocking and of the page-load strategy shows up per test.
+ */
+public final class Navigation {
+
+    private static final ThreadLocal<State> STATE = new ThreadLocal<>();
+    private static volatile boolean warnedNoCdp;
+
+    private Navigation() {
+    }
+
+    /** The method's profile, else the test class's (including inherited ones), else null for plain defaults. */
+    public static BrowserProfile profileFor(Class<?> testClass, Method method) {
+        BrowserProfile profile = method.getAnnotation(BrowserProfile.class);
+        return profile != null ? profile : testClass.getAnnotation(BrowserProfile.class);
+    }
+
+    public static PageLoadStrategy pageLoad(BrowserProfile profile) {
+        return profile == null ? PageLoadStrategy.NORMAL : profile.pageLoad();
+    }
+
+    // ---------- Per test ----------
+    /** Blocks the profile's resources in the driver's current tab and starts the navigation timings. */
+    public static void begin(WebDriver driver, BrowserProfile profile) {
+        STATE.set(new State(profile));
+        if (profile == null) return;
+
+        List<String> patterns = new ArrayList<>();
+        for (BrowserProfile.Resource resource : profile.block()) patterns.addAll(Arrays.asList(resource.patterns()));
+        patterns.addAll(Arrays.asList(profile.blockUrls()));
+        if (patterns.isEmpty()) return;
+
+        if (driver instanceof HasCdp) {
+            HasCdp cdp = (HasCdp) driver;
+            cdp.executeCdpCommand("Network.enable", Collections.emptyMap());
+            cdp.executeCdpCommand("Network.setBlockedURLs", Map.of("urls", patterns));
+        } else if (!warnedNoCdp) {
+            warnedNoCdp = true;
+            System.err.println("[Navigation] ⚠️ " + driver.getClass().getSimpleName() + " has no DevTools – resource blocking skipped");
+        }
+    }
+
+    /** Navigates, then waits for the profile's readiness condition when the page-load strategy did not. */
+    public static void open(WebDriver driver, String url) {
+        State state = STATE.get();
+        long start = System.nanoTime();
+        driver.get(url);
+
+        BrowserProfile profile = state == null ? null : state.profile;
+        if (pageLoad(profile) != PageLoadStrategy.NORMAL) {
+            WebDriverWait wait = new WebDriverWait(driver, Duration.ofMillis(ConfigManager.getLong("ui.profile.readyTimeoutMs", 30000)));
+            if (profile.readySelector().isEmpty()) {
+                wait.until(d -> !"loading".equals(((JavascriptExecutor) d).executeScript("return document.readyState")));
+            } else {
+                wait.until(ExpectedConditions.presenceOfElementLocated(By.cssSelector(profile.readySelector())));
+            }
+        }
+
+        if (state != null) {
+            long elapsed = (System.nanoTime() - start) / 1_000_000;
+            state.count++;
+            state.totalMs += elapsed;
+            state.slowestMs = Math.max(state.slowestMs, elapsed);
+        }
+    }
+
+    /** Timings of this thread's test so far; clears them. */
+    public static Stats end() {
+        State state = STATE.get();
+        STATE.remove();
+        return state == null ? new Stats(0, 0, 0) : new Stats(state.count, state.totalMs, state.slowestMs);
+    }
+
+    private static final class State {
+        final BrowserProfile profile;
+        int count;
+        long totalMs;
+        long slowestMs;
+
+        State(BrowserProfile profile) {
+            this.profile = profile;
+        }
+    }
+
+    public static final class Stats {
+        public final int count;
+        public final long totalMs;
+        public final long slowestMs;
+
+        Stats(int count, long totalMs, long slowestMs) {
+            this.count = count;
+            this.totalMs = totalMs;
+            this.slowestMs = slowestMs;
+        }
+    }
+}
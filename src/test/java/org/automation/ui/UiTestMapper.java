@@ -1,14 +1,18 @@
 package org.automation.ui;
 
+import org.automation.server.FixtureServer;
+
 import java.util.HashMap;
 import java.util.Map;
 
 public class UiTestMapper {
 
-    public static final String HOME_URL = "https://blazedemo.com";
-    public static final String FLIGHTS_URL = "https://blazedemo.com/reserve.php";
-    public static final String PURCHASE_URL = "https://blazedemo.com/purchase.php";
-    public static final String CONFIRMATION_URL = "https://blazedemo.com/confirmation.php";
+    // ui.baseUrl, or the local FixtureServer when ui.fixtures.mode is record/replay
+    public static final String BASE_URL = FixtureServer.baseUrl();
+    public static final String HOME_URL = BASE_URL;
+    public static final String FLIGHTS_URL = BASE_URL + "/reserve.php";
+    public static final String PURCHASE_URL = BASE_URL + "/purchase.php";
+    public static final String CONFIRMATION_URL = BASE_URL + "/confirmation.php";
 
     public static Map<String, String> uiTests() {
         Map<String, String> map = new HashMap<>();
@@ -0,0 +1,308 @@
+package org.automation.utils;
+
+import org.automation.config.ConfigManager;
+
+import javax.sql.DataSource;
+import java.io.PrintWriter;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.SQLNonTransientConnectionException;
+import java.sql.SQLTransientConnectionException;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+/**
+ * Process-wide JDBC connection pool shared by every listener, inserter and report generator.
+ * Settings come from config/db.properties, overridable through -D properties or environment variables:
+ * db.url, db.username, db.password, db.pool.size, db.pool.acquireTimeoutMs,
+ * db.pool.validationTimeoutSec, db.pool.validateAfterIdleMs, db.pool.maxIdleMs, db.pool.leakThresholdMs.
+ */
+public final class ConnectionPool implements DataSource {
+
+    private static volatile ConnectionPool instance;
+
+    private final String url;
+    private final String user;
+    private final String password;
+    private final int maxSize;
+    private final long acquireTimeoutMs;
+    private final int validationTimeoutSec;
+    private final long validateAfterIdleMs;
+    private final long maxIdleMs;
+    private final long leakThresholdMs;
+
+    private final Semaphore permits;
+    private final LinkedBlockingDeque<PhysicalConnection> idle = new LinkedBlockingDeque<>();
+    private final Set<Lease> leases = ConcurrentHashMap.newKeySet();
+    private final ScheduledExecutorService housekeeper;
+    private volatile boolean closed;
+
+    public static ConnectionPool getInstance() {
+        ConnectionPool pool = instance;
+        if (pool == null) {
+            synchronized (ConnectionPool.class) {
+                pool = instance;
+                if (pool == null) {
+                    pool = new ConnectionPool();
+                    instance = pool;
+                }
+            }
+        }
+        return pool;
+    }
+
+    private ConnectionPool() {
+        this(ConfigManager.DB_URL, ConfigManager.getInt("db.pool.size", 10),
+                ConfigManager.getLong("db.pool.acquireTimeoutMs", 10_000), ConfigManager.getLong("db.pool.validateAfterIdleMs", 5_000));
+    }
+
+    // A pool of its own, independent of getInstance() (ConnectionPoolTests); the other settings come from the config
+    ConnectionPool(String url, int maxSize, long acquireTimeoutMs, long validateAfterIdleMs) {
+        this.url = url;
+        this.user = ConfigManager.DB_USER;
+        this.password = ConfigManager.DB_PASS;
+        this.maxSize = Math.max(1, maxSize);
+        this.acquireTimeoutMs = acquireTimeoutMs;
+        this.validationTimeoutSec = ConfigManager.getInt("db.pool.validationTimeoutSec", 2);
+        this.validateAfterIdleMs = validateAfterIdleMs;
+        this.maxIdleMs = ConfigManager.getLong("db.pool.maxIdleMs", 300_000);
+        this.leakThresholdMs = ConfigManager.getLong("db.pool.leakThresholdMs", 60_000);
+        this.permits = new Semaphore(maxSize, true);
+
+        this.housekeeper = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "db-pool-housekeeper");
+            t.setDaemon(true);
+            return t;
+        });
+        long period = Math.max(1_000, Math.min(leakThresholdMs, maxIdleMs) / 2);
+        housekeeper.scheduleWithFixedDelay(this::housekeep, period, period, TimeUnit.MILLISECONDS);
+
+        System.out.println("[ConnectionPool] Initialized (size=" + maxSize + ", url=" + url + ")");
+    }
+
+    // ---------- DataSource ----------
+    @Override
+    public Connection getConnection() throws SQLException {
+        // Connection exception types, so callers can tell "no connection" from a failing statement
+        if (closed) throw new SQLNonTransientConnectionException("Connection pool is closed");
+        try {
+            if (!permits.tryAcquire(acquireTimeoutMs, TimeUnit.MILLISECONDS)) {
+                throw new SQLTransientConnectionException("Timed out after " + acquireTimeoutMs + " ms waiting for a pooled connection (size=" + maxSize + ")");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Interrupted while waiting for a pooled connection", e);
+        }
+
+        try {
+            PhysicalConnection physical = takeValidIdle();
+            if (physical == null) physical = new PhysicalConnection(java.sql.DriverManager.getConnection(url, connectionProperties()));
+            Lease lease = new Lease(physical);
+            leases.add(lease);
+            return lease.proxy;
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Pooled connections use the configured credentials");
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public int getActiveCount() {
+        return leases.size();
+    }
+
+    public int getIdleCount() {
+        return idle.size();
+    }
+
+    public void close() {
+        if (closed) return;
+        closed = true;
+        housekeeper.shutdownNow();
+        PhysicalConnection physical;
+        while ((physical = idle.pollFirst()) != null) physical.closeQuietly();
+    }
+
+    // ---------- Pool internals ----------
+    private Properties connectionProperties() {
+        Properties props = new Properties();
+        props.setProperty("user", user);
+        props.setProperty("password", password);
+        // Lets ResultWriter's addBatch/executeBatch go out as multi-row INSERTs
+        props.setProperty("rewriteBatchedStatements", "true");
+        return props;
+    }
+
+    private PhysicalConnection takeValidIdle() {
+        PhysicalConnection physical;
+        while ((physical = idle.pollFirst()) != null) {
+            if (System.currentTimeMillis() - physical.lastReturned < validateAfterIdleMs) return physical;
+            try {
+                if (physical.connection.isValid(validationTimeoutSec)) return physical;
+            } catch (SQLException ignored) {
+                // fall through and discard
+            }
+            System.out.println("[ConnectionPool] Discarding stale connection");
+            physical.closeQuietly();
+        }
+        return null;
+    }
+
+    private void release(Lease lease, boolean broken) {
+        if (!leases.remove(lease)) return;
+        PhysicalConnection physical = lease.physical;
+        try {
+            if (broken || closed || physical.connection.isClosed()) {
+                physical.closeQuietly();
+            } else {
+                if (!physical.connection.getAutoCommit()) {
+                    physical.connection.rollback();
+                    physical.connection.setAutoCommit(true);
+                }
+                physical.lastReturned = System.currentTimeMillis();
+                idle.offerFirst(physical);
+            }
+        } catch (SQLException e) {
+            physical.closeQuietly();
+        } finally {
+            permits.release();
+        }
+    }
+
+    private void housekeep() {
+        long now = System.currentTimeMillis();
+        for (Lease lease : leases) {
+            if (!lease.leakReported && now - lease.borrowedAt > leakThresholdMs) {
+                lease.leakReported = true;
+                System.err.println("[ConnectionPool] Possible connection leak: held for " + (now - lease.borrowedAt)
+                        + " ms by " + lease.owner + ", borrowed at:");
+                lease.borrowSite.printStackTrace();
+            }
+        }
+        for (PhysicalConnection physical : idle) {
+            if (now - physical.lastReturned > maxIdleMs && idle.remove(physical)) physical.closeQuietly();
+        }
+    }
+
+    private static final class PhysicalConnection {
+        final Connection connection;
+        volatile long lastReturned = System.currentTimeMillis();
+
+        PhysicalConnection(Connection connection) {
+            this.connection = connection;
+        }
+
+        void closeQuietly() {
+            try {
+                connection.close();
+            } catch (SQLException ignored) {
+            }
+        }
+    }
+
+    // A single borrow of a physical connection; close() on the proxy hands it back to the pool
+    private final class Lease implements InvocationHandler {
+        final PhysicalConnection physical;
+        final long borrowedAt = System.currentTimeMillis();
+        final String owner = Thread.currentThread().getName();
+        final Throwable borrowSite = new Throwable("Connection borrowed here");
+        final Connection proxy;
+        volatile boolean leakReported;
+        private volatile boolean returned;
+        private volatile boolean broken;
+
+        Lease(PhysicalConnection physical) {
+            this.physical = physical;
+            this.proxy = (Connection) Proxy.newProxyInstance(
+                    Connection.class.getClassLoader(), new Class<?>[]{Connection.class}, this);
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (!returned) {
+                        returned = true;
+                        release(this, broken);
+                    }
+                    return null;
+                case "isClosed":
+                    return returned || physical.connection.isClosed();
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "PooledConnection[" + physical.connection + "]";
+                default:
+                    if (returned) throw new SQLException("Connection has already been returned to the pool");
+                    try {
+                        return method.invoke(physical.connection, args);
+                    } catch (InvocationTargetException e) {
+                        Throwable cause = e.getCause();
+                        // SQLState class 08 = connection exception; never hand such a connection out again
+                        if (cause instanceof SQLException sql && sql.getSQLState() != null && sql.getSQLState().startsWith("08")) {
+                            broken = true;
+                        }
+                        throw cause;
+                    }
+            }
+        }
+    }
+
+    // ---------- Unused DataSource plumbing ----------
+    @Override
+    public PrintWriter getLogWriter() {
+        return null;
+    }
+
+    @Override
+    public void setLogWriter(PrintWriter out) {
+    }
+
+    @Override
+    public void setLoginTimeout(int seconds) {
+        java.sql.DriverManager.setLoginTimeout(seconds);
+    }
+
+    @Override
+    public int getLoginTimeout() {
+        return java.sql.DriverManager.getLoginTimeout();
+    }
+
+    @Override
+    public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+        throw new SQLFeatureNotSupportedException();
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        if (iface.isInstance(this)) return iface.cast(this);
+        throw new SQLException("Not a wrapper for " + iface.getName());
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) {
+        return iface.isInstance(this);
+    }
+}
@@ -0,0 +1,201 @@
+package org.automation.utils;
+
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.Driver;
+import java.sql.DriverManager;
+import java.sql.DriverPropertyInfo;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.SQLNonTransientConnectionException;
+import java.sql.SQLTransientConnectionException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+
+/**
+ * Permit and idle accounting of {@link ConnectionPool}, on a pool of its own (not the shared instance) over an
+ * in-memory JDBC driver registered for jdbc:fake: URLs.
+ */
+@Test(singleThreaded = true)
+public class ConnectionPoolTests {
+
+    private static final String URL = "jdbc:fake:pool";
+    private final FakeDriver driver = new FakeDriver();
+    private ConnectionPool pool;
+
+    @BeforeClass
+    public void createPool() throws SQLException {
+        DriverManager.registerDriver(driver);
+        // A short acquire timeout keeps the exhaustion test fast; idle connections are validated on every borrow
+        pool = new ConnectionPool(URL, 3, 200, 0);
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void closePool() throws SQLException {
+        if (pool != null) pool.close();
+        DriverManager.deregisterDriver(driver);
+    }
+
+    @Test(description = "A returned connection goes back to the idle list and is handed out again")
+    public void testReturnedConnectionIsReused() throws SQLException {
+        Connection first = pool.getConnection();
+        Assert.assertEquals(pool.getActiveCount(), 1);
+        first.close();
+        Assert.assertEquals(pool.getActiveCount(), 0);
+        int idle = pool.getIdleCount();
+        Assert.assertTrue(idle >= 1, "returned connection should be idle");
+
+        int opened = driver.opened.get();
+        try (Connection second = pool.getConnection()) {
+            Assert.assertFalse(second.isClosed());
+            Assert.assertEquals(driver.opened.get(), opened, "an idle connection should be reused");
+            Assert.assertEquals(pool.getIdleCount(), idle - 1);
+        }
+    }
+
+    @Test(description = "Closing a connection twice returns its permit once")
+    public void testDoubleCloseReleasesOnce() throws SQLException {
+        Connection connection = pool.getConnection();
+        connection.close();
+        connection.close();
+        Assert.assertTrue(connection.isClosed());
+        Assert.assertEquals(pool.getActiveCount(), 0);
+        assertAllPermitsAvailable();
+    }
+
+    @Test(description = "An exhausted pool times out with a connection exception and recovers once a lease is returned")
+    public void testExhaustedPoolTimesOut() throws SQLException {
+        List<Connection> held = borrowAll();
+        try {
+            SQLException timeout = Assert.expectThrows(SQLException.class, pool::getConnection);
+            Assert.assertTrue(timeout instanceof SQLTransientConnectionException, "got " + timeout);
+            Assert.assertTrue(DatabaseUtils.isConnectionFailure(timeout));
+            Assert.assertEquals(pool.getActiveCount(), pool.getMaxSize());
+        } finally {
+            for (Connection connection : held) connection.close();
+        }
+        assertAllPermitsAvailable();
+    }
+
+    @Test(description = "A failed connect gives its permit back")
+    public void testFailedConnectReleasesPermit() throws SQLException {
+        // Idle connections fail validation and are discarded, so every borrow has to connect
+        driver.valid = false;
+        driver.failures.set(pool.getMaxSize() * 2);
+        try {
+            for (int i = 0; i < pool.getMaxSize() * 2; i++) {
+                SQLException failure = Assert.expectThrows(SQLException.class, pool::getConnection);
+                Assert.assertTrue(DatabaseUtils.isConnectionFailure(failure));
+            }
+        } finally {
+            driver.valid = true;
+            driver.failures.set(0);
+        }
+        Assert.assertEquals(pool.getActiveCount(), 0);
+        Assert.assertEquals(pool.getIdleCount(), 0);
+        assertAllPermitsAvailable();
+    }
+
+    @Test(description = "A closed pool refuses connections with a connection exception and closes its idle ones")
+    public void testClosedPoolRefusesConnections() throws SQLException {
+        ConnectionPool closing = new ConnectionPool(URL, 1, 200, 0);
+        Connection connection = closing.getConnection();
+        connection.close();
+        Assert.assertEquals(closing.getIdleCount(), 1);
+
+        closing.close();
+        Assert.assertEquals(closing.getIdleCount(), 0);
+        SQLException refused = Assert.expectThrows(SQLException.class, closing::getConnection);
+        Assert.assertTrue(refused instanceof SQLNonTransientConnectionException, "got " + refused);
+    }
+
+    // ---------- Helpers ----------
+    private List<Connection> borrowAll() throws SQLException {
+        List<Connection> held = new ArrayList<>();
+        for (int i = 0; i < pool.getMaxSize(); i++) held.add(pool.getConnection());
+        return held;
+    }
+
+    private void assertAllPermitsAvailable() throws SQLException {
+        List<Connection> held = borrowAll();
+        Assert.assertEquals(held.size(), pool.getMaxSize());
+        for (Connection connection : held) connection.close();
+    }
+
+    /** Accepts jdbc:fake: URLs. Fails a connect while failures is positive; connections are valid until closed or valid is cleared. */
+    private static final class FakeDriver implements Driver {
+        final AtomicInteger opened = new AtomicInteger();
+        final AtomicInteger failures = new AtomicInteger();
+        volatile boolean valid = true;
+
+        @Override
+        public Connection connect(String url, Properties info) throws SQLException {
+            if (!acceptsURL(url)) return null;
+            if (failures.getAndUpdate(n -> Math.max(0, n - 1)) > 0) {
+                throw new SQLException("Communications link failure", "08S01");
+            }
+            opened.incrementAndGet();
+            boolean[] closed = new boolean[1];
+            return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                    (proxy, method, args) -> {
+                        switch (method.getName()) {
+                            case "close":
+                                closed[0] = true;
+                                return null;
+                            case "isClosed":
+                                return closed[0];
+                            case "isValid":
+                                return valid && !closed[0];
+                            case "getAutoCommit":
+                                return true;
+                            case "equals":
+                                return proxy == args[0];
+                            case "hashCode":
+                                return System.identityHashCode(proxy);
+                            case "toString":
+                                return "FakeConnection";
+                            default:
+                                return null;
+                        }
+                    });
+        }
+
+        @Override
+        public boolean acceptsURL(String url) {
+            return url.startsWith("jdbc:fake:");
+        }
+
+        @Override
+        public DriverPropertyInfo[] getPropertyInfo(String url, Properties info) {
+            return new DriverPropertyInfo[0];
+        }
+
+        @Override
+        public int getMajorVersion() {
+            return 1;
+        }
+
+        @Override
+        public int getMinorVersion() {
+            return 0;
+        }
+
+        @Override
+        public boolean jdbcCompliant() {
+            return false;
+        }
+
+        @Override
+        public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+            throw new SQLFeatureNotSupportedException();
+        }
+    }
+}
@@ -1,17 +1,59 @@
 package org.automation.utils;
 
+import org.automation.config.ConfigManager;
+
 import java.sql.*;
 
 public class DatabaseUtils {
 
-    // Fetch DB details from environment variables (fallback to defaults)
-    private static final String DB_URL = System.getenv().getOrDefault("DB_URL", "jdbc:mysql://localhost:3306/automation_tests");
-    private static final String DB_USER = System.getenv().getOrDefault("DB_USER", "root");
-    private static final String DB_PASS = System.getenv().getOrDefault("DB_PASS", "Ck@709136");
-
     // ---------- Get Connection ----------
+    // Borrowed from the shared pool; closing the connection returns it to the pool
     public static Connection getConnection() throws SQLException {
-        return DriverManager.getConnection(DB_URL, DB_USER, DB_PASS);
+        return ConnectionPool.getInstance().getConnection();
+    }
+
+    // ---------- Failure Classification ----------
+    // Connection-class failures (SQLState 08xxx, or a pool/driver timeout getting a connection) mean the database is
+    // unreachable and a retry may succeed; anything else is a problem with the statement or the data
+    public static boolean isConnectionFailure(SQLException e) {
+        for (Throwable t = e; t != null; t = t.getCause()) {
+            if (t instanceof SQLTransientConnectionException || t instanceof SQLNonTransientConnectionException) return true;
+            if (t instanceof SQLException) {
+                String state = ((SQLException) t).getSQLState();
+                if (state != null && state.startsWith("08")) return true;
+            }
+        }
+        return false;
+    }
+
+    // Deadlocks (40001 / 1213), lock-wait timeouts (1205) and writes refused during a read-only failover (1290, 1792,
+    // 1836) roll back a batch that is itself valid; the same batch can simply be written again
+    public static boolean isTransientFailure(SQLException e) {
+        if (isConnectionFailure(e)) return false;
+        for (Throwable t = e; t != null; t = t.getCause()) {
+            if (t instanceof SQLTransientException || t instanceof SQLTransactionRollbackException) return true;
+            if (t instanceof SQLException) {
+                String state = ((SQLException) t).getSQLState();
+                int code = ((SQLException) t).getErrorCode();
+                if (state != null && state.startsWith("40")) return true;
+                if (code == 1205 || code == 1213 || code == 1290 || code == 1792 || code == 1836) return true;
+            }
+        }
+        return false;
+    }
+
+    // ---------- Streaming Query ----------
+    // Forward-only and read-only with MySQL's streaming fetch size, so large scans are read row by row
+    public static Statement streamingStatement(Connection conn) throws SQLException {
+        Statement stmt = conn.createStatement(ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+        stmt.setFetchSize(ConfigManager.getInt("report.fetchSize", Integer.MIN_VALUE));
+        return stmt;
+    }
+
+    public static PreparedStatement streamingStatement(Connection conn, String sql) throws SQLException {
+        PreparedStatement stmt = conn.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+        stmt.setFetchSize(ConfigManager.getInt("report.fetchSize", Integer.MIN_VALUE));
+        return stmt;
     }
 
     // ---------- Insert UI Test ----------
@@ -76,20 +118,6 @@ public class DatabaseUtils {
         }
     }
 
-    // ---------- Update Screenshot Path ----------
-    public static void updateScreenshotPath(String testName, String screenshotPath) {
-        String sql = "UPDATE execution_logs SET screenshot_path = ? WHERE test_name = ? ORDER BY log_time DESC LIMIT 1";
-        try (Connection conn = getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-
-            stmt.setString(1, screenshotPath);
-            stmt.setString(2, testName);
-            stmt.executeUpdate();
-        } catch (SQLException e) {
-            e.printStackTrace();
-        }
-    }
-
     // ---------- Clear All Tables ----------
     public static void clearAllTables() {
         try (Connection conn = getConnection();
@@ -0,0 +1,281 @@
+package org.automation.utils;
+
+import org.testng.ITestResult;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * One test result captured on the test thread and handed to {@link ResultWriter}.
+ * Values are fixed at capture time so a delayed batch write stores the same data a synchronous insert would have.
+ */
+public final class ExecutionRecord {
+
+    public enum Target {
+        // (run_key, test_key) is unique: replaying a journaled record never duplicates a row, and a later record
+        // for the same run and test (e.g. with its screenshot) replaces the earlier one in place
+        EXECUTION_LOG(1, "INSERT INTO execution_log " +
+                "(test_name, status, test_type, us_id, tc_id, artifact, screenshot_path, execution_time, " +
+                "start_time, end_time, duration, run_key, test_key, run_id, suite_id) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, " +
+                "(SELECT r.run_id FROM test_run r WHERE r.run_key = ?), (SELECT r.suite_id FROM test_run r WHERE r.run_key = ?)) " +
+                "ON DUPLICATE KEY UPDATE status = VALUES(status), " +
+                "artifact = COALESCE(NULLIF(VALUES(artifact), ''), artifact), " +
+                "screenshot_path = COALESCE(NULLIF(VALUES(screenshot_path), ''), screenshot_path), " +
+                "start_time = VALUES(start_time), end_time = VALUES(end_time), duration = VALUES(duration), " +
+                "run_id = COALESCE(run_id, VALUES(run_id)), suite_id = COALESCE(suite_id, VALUES(suite_id))"),
+        EXECUTION_LOGS(2, "INSERT INTO execution_logs " +
+                "(test_type, us_id, test_case_id, message, level, log_time, tc_id, screenshot_path, start_time, end_time, duration, run_key, test_key) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?) ON DUPLICATE KEY UPDATE id = id"),
+        // Written before results in every batch so their run_id/suite_id subqueries find the run row
+        TEST_RUN(0, "INSERT INTO test_suite (suite_name) VALUES (?) ON DUPLICATE KEY UPDATE suite_id = suite_id",
+                "INSERT INTO test_run (run_key, suite_id, suite_name, status, started_at, finished_at) " +
+                "VALUES (?, (SELECT s.suite_id FROM test_suite s WHERE s.suite_name = ?), ?, ?, ?, ?) " +
+                "ON DUPLICATE KEY UPDATE status = VALUES(status), finished_at = COALESCE(VALUES(finished_at), finished_at)");
+
+        private final int writeOrder;
+        private final String[] statements;
+
+        Target(int writeOrder, String... statements) {
+            this.writeOrder = writeOrder;
+            this.statements = statements;
+        }
+
+        public int writeOrder() {
+            return writeOrder;
+        }
+
+        /** Runs every statement of this target as one JDBC batch on the caller's connection and transaction. */
+        public void executeBatch(Connection conn, List<ExecutionRecord> records) throws SQLException {
+            // Rollups compare against the rows as they are before this batch, so they go first
+            if (this == EXECUTION_LOG) ResultRollups.apply(conn, records);
+            for (int i = 0; i < statements.length; i++) {
+                try (PreparedStatement ps = conn.prepareStatement(statements[i])) {
+                    for (ExecutionRecord record : records) {
+                        record.bind(ps, i);
+                        ps.addBatch();
+                    }
+                    ps.executeBatch();
+                }
+            }
+        }
+    }
+
+    /** Groups records by target in write order (runs first), keeping arrival order within each target. */
+    public static Map<Target, List<ExecutionRecord>> groupForWrite(List<ExecutionRecord> records) {
+        Map<Target, List<ExecutionRecord>> byTarget = new TreeMap<>(Comparator.comparingInt(Target::writeOrder));
+        for (ExecutionRecord record : records) {
+            byTarget.computeIfAbsent(record.getTarget(), t -> new ArrayList<>()).add(record);
+        }
+        return byTarget;
+    }
+
+    private final Target target;
+    private final String runKey;
+    private final String testKey;
+    private final String testName;
+    private final String status;
+    private final String testType;
+    private final String usId;
+    private final String tcId;
+    private final String testCaseId;
+    private final String artifact;
+    private final String screenshotPath;
+    private final String message;
+    private final String level;
+    private final long startMillis;
+    private final long endMillis;
+    private final long recordedAt;
+
+    private ExecutionRecord(Target target, String runKey, String testKey, String testName, String status,
+                            String testType, String usId, String tcId, String testCaseId, String artifact,
+                            String screenshotPath, String message, String level, long startMillis, long endMillis, long recordedAt) {
+        this.target = target;
+        this.runKey = runKey;
+        this.testKey = testKey;
+        this.testName = testName;
+        this.status = status;
+        this.testType = testType;
+        this.usId = usId;
+        this.tcId = tcId;
+        this.testCaseId = testCaseId;
+        this.artifact = artifact;
+        this.screenshotPath = screenshotPath;
+        this.message = message;
+        this.level = level;
+        this.startMillis = startMillis;
+        this.endMillis = endMillis;
+        this.recordedAt = recordedAt;
+    }
+
+    // ---------- Factories ----------
+    public static ExecutionRecord executionLog(String runKey, String testKey, String testName, String status, String testType,
+                                               String usId, String tcId, String artifact, String screenshotPath,
+                                               long startMillis, long endMillis) {
+        return new ExecutionRecord(Target.EXECUTION_LOG, runKey, testKey, testName, status, testType,
+                usId, tcId, null, artifact, screenshotPath, null, null, startMillis, endMillis, System.currentTimeMillis());
+    }
+
+    public static ExecutionRecord executionLogs(String runKey, String testKey, String testType, String usId, String testCaseId,
+                                                String message, String level, String tcId, String screenshotPath,
+                                                long startMillis, long endMillis) {
+        return new ExecutionRecord(Target.EXECUTION_LOGS, runKey, testKey, null, null, testType,
+                usId, tcId, testCaseId, null, screenshotPath, message, level, startMillis, endMillis, System.currentTimeMillis());
+    }
+
+    // Suite name travels in testName; endMillis is 0 while the run is still in progress
+    public static ExecutionRecord testRun(String runKey, String suiteName, String status, long startMillis, long endMillis) {
+        return new ExecutionRecord(Target.TEST_RUN, runKey, null, suiteName, status, null,
+                null, null, null, null, null, null, null, startMillis, endMillis, System.currentTimeMillis());
+    }
+
+    // ---------- JDBC binding ----------
+    public void bind(PreparedStatement ps, int statement) throws SQLException {
+        switch (target) {
+            case EXECUTION_LOG:
+                ps.setString(1, testName);
+                ps.setString(2, status);
+                ps.setString(3, testType);
+                ps.setString(4, usId);
+                ps.setString(5, tcId);
+                ps.setString(6, artifact);
+                ps.setString(7, screenshotPath);
+                // Part of the partitioned table's unique key, so it must be the same every time this test is written
+                ps.setTimestamp(8, new Timestamp(getExecutionTimeMillis()));
+                setTime(ps, 9, startMillis);
+                setTime(ps, 10, endMillis);
+                ps.setLong(11, getDurationMillis());
+                ps.setString(12, runKey);
+                ps.setString(13, testKey);
+                ps.setString(14, runKey);
+                ps.setString(15, runKey);
+                break;
+            case EXECUTION_LOGS:
+                ps.setString(1, testType);
+                ps.setString(2, usId);
+                ps.setString(3, testCaseId);
+                ps.setString(4, message);
+                ps.setString(5, level);
+                ps.setTimestamp(6, new Timestamp(recordedAt));
+                ps.setString(7, tcId);
+                ps.setString(8, screenshotPath);
+                ps.setTimestamp(9, new Timestamp(startMillis));
+                ps.setTimestamp(10, new Timestamp(endMillis));
+                ps.setLong(11, Math.max(0, endMillis - startMillis));
+                ps.setString(12, runKey);
+                ps.setString(13, testKey);
+                break;
+            case TEST_RUN:
+                if (statement == 0) {
+                    ps.setString(1, testName);
+                    break;
+                }
+                ps.setString(1, runKey);
+                ps.setString(2, testName);
+                ps.setString(3, testName);
+                ps.setString(4, status);
+                setTime(ps, 5, startMillis);
+                setTime(ps, 6, endMillis);
+                break;
+        }
+    }
+
+    private static void setTime(PreparedStatement ps, int index, long millis) throws SQLException {
+        if (millis > 0) ps.setTimestamp(index, new Timestamp(millis));
+        else ps.setNull(index, Types.TIMESTAMP);
+    }
+
+    // Identifies one invocation of a test method within a run
+    public static String testKey(ITestResult result) {
+        StringBuilder key = new StringBuilder(result.getTestClass().getName())
+                .append('#').append(result.getMethod().getMethodName());
+        Object[] params = result.getParameters();
+        if (params != null && params.length > 0) key.append('[').append(Arrays.deepHashCode(params)).append(']');
+        key.append('@').append(result.getMethod().getCurrentInvocationCount());
+        return key.length() > 255 ? key.substring(0, 255) : key.toString();
+    }
+
+    // ---------- Journal serialization ----------
+    public void writeTo(DataOutput out) throws IOException {
+        out.writeByte(target.ordinal());
+        writeString(out, runKey);
+        writeString(out, testKey);
+        writeString(out, testName);
+        writeString(out, status);
+        writeString(out, testType);
+        writeString(out, usId);
+        writeString(out, tcId);
+        writeString(out, testCaseId);
+        writeString(out, artifact);
+        writeString(out, screenshotPath);
+        writeString(out, message);
+        writeString(out, level);
+        out.writeLong(startMillis);
+        out.writeLong(endMillis);
+        out.writeLong(recordedAt);
+    }
+
+    public static ExecutionRecord readFrom(DataInput in) throws IOException {
+        Target target = Target.values()[in.readByte()];
+        return new ExecutionRecord(target, readString(in), readString(in), readString(in), readString(in),
+                readString(in), readString(in), readString(in), readString(in), readString(in), readString(in),
+                readString(in), readString(in), in.readLong(), in.readLong(), in.readLong());
+    }
+
+    private static void writeString(DataOutput out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInput in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) return null;
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    // ---------- Getters ----------
+    public Target getTarget() { return target; }
+    public String getRunKey() { return runKey; }
+    public String getTestKey() { return testKey; }
+    public String getTestName() { return testName; }
+    public String getStatus() { return status; }
+    public String getTestType() { return testType; }
+    public String getUsId() { return usId; }
+    public String getTcId() { return tcId; }
+    public String getTestCaseId() { return testCaseId; }
+    public String getArtifact() { return artifact; }
+    public String getScreenshotPath() { return screenshotPath; }
+    public String getMessage() { return message; }
+    public String getLevel() { return level; }
+    public long getStartMillis() { return startMillis; }
+    public long getEndMillis() { return endMillis; }
+    public long getRecordedAt() { return recordedAt; }
+    // Milliseconds, as DATETIME(3) stores it, so lookups by (run_key, test_key, execution_time) match exactly
+    public long getExecutionTimeMillis() { return startMillis > 0 ? startMillis : recordedAt; }
+    public long getDurationMillis() { return Math.max(0, endMillis - startMillis); }
+
+    @Override
+    public String toString() {
+        return target + "[" + (testName != null ? testName : tcId) + ", " + (status != null ? status : level) + "]";
+    }
+}
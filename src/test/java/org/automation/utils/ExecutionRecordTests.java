@@ -0,0 +1,101 @@
+package org.automation.utils;
+
+import org.testng.Assert;
+import org.testng.IClass;
+import org.testng.ITestNGMethod;
+import org.testng.ITestResult;
+import org.testng.annotations.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.Map;
+
+/** Test keys, write grouping and the derived time fields of {@link ExecutionRecord}. */
+public class ExecutionRecordTests {
+
+    // ---------- Test keys ----------
+    @Test(description = "The key names class, method and invocation")
+    public void testKeyOfPlainMethod() {
+        Assert.assertEquals(ExecutionRecord.testKey(result("org.example.LoginTests", "testLogin", null, 0)),
+                "org.example.LoginTests#testLogin@0");
+    }
+
+    @Test(description = "Equal parameters give equal keys, different parameters or invocations different ones")
+    public void testKeyOfParameterizedMethod() {
+        String first = ExecutionRecord.testKey(result("C", "m", new Object[]{"a", new int[]{1, 2}}, 0));
+        Assert.assertEquals(ExecutionRecord.testKey(result("C", "m", new Object[]{"a", new int[]{1, 2}}, 0)), first);
+        Assert.assertNotEquals(ExecutionRecord.testKey(result("C", "m", new Object[]{"a", new int[]{2, 1}}, 0)), first);
+        Assert.assertNotEquals(ExecutionRecord.testKey(result("C", "m", new Object[]{"a", new int[]{1, 2}}, 1)), first);
+    }
+
+    @Test(description = "Keys are cut to the 255 characters of the test_key column")
+    public void testKeyIsTruncated() {
+        String key = ExecutionRecord.testKey(result("C".repeat(300), "m", null, 0));
+        Assert.assertEquals(key.length(), 255);
+    }
+
+    // ---------- Write grouping ----------
+    @Test(description = "Runs are written first, and records keep their arrival order within a target")
+    public void testGroupForWrite() {
+        ExecutionRecord result1 = log("k1");
+        ExecutionRecord detail = ExecutionRecord.executionLogs("run", "k1", "API", "US1", "TC1", "msg", "INFO", "TC1", null, 1, 2);
+        ExecutionRecord result2 = log("k2");
+        ExecutionRecord run = ExecutionRecord.testRun("run", "Suite", "RUNNING", 1, 0);
+
+        Map<ExecutionRecord.Target, List<ExecutionRecord>> groups = ExecutionRecord.groupForWrite(List.of(result1, detail, result2, run));
+        Assert.assertEquals(List.copyOf(groups.keySet()), List.of(ExecutionRecord.Target.TEST_RUN,
+                ExecutionRecord.Target.EXECUTION_LOG, ExecutionRecord.Target.EXECUTION_LOGS));
+        Assert.assertEquals(groups.get(ExecutionRecord.Target.EXECUTION_LOG), List.of(result1, result2));
+        Assert.assertEquals(groups.get(ExecutionRecord.Target.EXECUTION_LOGS), List.of(detail));
+    }
+
+    // ---------- Derived fields ----------
+    @Test(description = "execution_time is the start to the millisecond, so every write of a test hits the same row")
+    public void testExecutionTimeKeepsMilliseconds() {
+        ExecutionRecord record = ExecutionRecord.executionLog("run", "k", "t", "PASS", "API", null, null, null, null,
+                1_700_000_000_999L, 1_700_000_001_500L);
+        Assert.assertEquals(record.getExecutionTimeMillis(), 1_700_000_000_999L);
+        Assert.assertEquals(record.getDurationMillis(), 501);
+    }
+
+    @Test(description = "Without a start time the capture time is used, and the duration is never negative")
+    public void testMissingStartTime() {
+        ExecutionRecord record = ExecutionRecord.executionLog("run", "k", "t", "SKIP", "API", null, null, null, null, 0, 0);
+        Assert.assertEquals(record.getExecutionTimeMillis(), record.getRecordedAt());
+        Assert.assertEquals(record.getDurationMillis(), 0);
+    }
+
+    // ---------- Helpers ----------
+    private static ExecutionRecord log(String testKey) {
+        return ExecutionRecord.executionLog("run", testKey, testKey, "PASS", "API", "US1", "TC1", null, null, 1, 2);
+    }
+
+    // Only the calls testKey makes are answered
+    private static ITestResult result(String className, String methodName, Object[] params, int invocation) {
+        IClass testClass = stub(IClass.class, "getName", className);
+        ITestNGMethod method = (ITestNGMethod) Proxy.newProxyInstance(ITestNGMethod.class.getClassLoader(),
+                new Class<?>[]{ITestNGMethod.class}, (proxy, m, args) -> {
+                    switch (m.getName()) {
+                        case "getMethodName": return methodName;
+                        case "getCurrentInvocationCount": return invocation;
+                        default: throw new UnsupportedOperationException(m.getName());
+                    }
+                });
+        return (ITestResult) Proxy.newProxyInstance(ITestResult.class.getClassLoader(),
+                new Class<?>[]{ITestResult.class}, (proxy, m, args) -> {
+                    switch (m.getName()) {
+                        case "getTestClass": return testClass;
+                        case "getMethod": return method;
+                        case "getParameters": return params;
+                        default: throw new UnsupportedOperationException(m.getName());
+                    }
+                });
+    }
+
+    private static <T> T stub(Class<T> type, String methodName, Object value) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, m, args) -> {
+            if (m.getName().equals(methodName)) return value;
+            throw new UnsupportedOperationException(m.getName());
+        }));
+    }
+}
@@ -0,0 +1,220 @@
+package org.automation.utils;
+
+import org.automation.config.ConfigManager;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Streams {@link ResultJournal} files into MySQL. The inserts are idempotent on (run_key, test_key), so a journal
+ * can be replayed any number of times – including records that already reached the database before an outage.
+ *
+ * Only connection failures (see {@link DatabaseUtils#isConnectionFailure}) stop a replay. Transient failures
+ * (deadlocks, lock-wait timeouts, see {@link DatabaseUtils#isTransientFailure}) retry the same batch up to
+ * db.writer.transientRetries times, db.writer.transientBackoffMs apart and doubling, and are never quarantined.
+ * A batch rejected for any other reason is retried record by record, and the records the database refuses (data
+ * too long, a constraint) are quarantined to journal.dir/rejected.log instead of blocking every later record.
+ */
+public final class JournalReplayer {
+
+    private static final int BATCH_SIZE = 500;
+
+    // Where write() gets its connections; replaced by JournalReplayerTests
+    static volatile ConnectionSource connections = DatabaseUtils::getConnection;
+
+    private JournalReplayer() {
+    }
+
+    // ---------- Replay a single journal ----------
+    /** Writes every record of the journal; throws SQLException when the database is unreachable or stays in conflict. */
+    public static long replay(Path journal) throws IOException, SQLException {
+        List<ExecutionRecord> pending = new ArrayList<>(BATCH_SIZE);
+        long[] written = {0};
+        try {
+            ResultJournal.read(journal, record -> {
+                pending.add(record);
+                if (pending.size() >= BATCH_SIZE) written[0] += writeBatch(pending);
+            });
+            if (!pending.isEmpty()) written[0] += writeBatch(pending);
+        } catch (UncheckedSqlException e) {
+            throw e.getCause();
+        }
+        return written[0];
+    }
+
+    // ---------- Replay journals left behind by earlier runs ----------
+    public static void replayLeftovers(Path directory, Path currentJournal) {
+        if (!Files.isDirectory(directory)) return;
+        try (DirectoryStream<Path> journals = Files.newDirectoryStream(directory, "*.journal")) {
+            for (Path journal : journals) {
+                if (journal.equals(currentJournal) || ownerAlive(journal)) continue;
+                try {
+                    if (!ResultJournal.isPersisted(journal)) {
+                        long count = replay(journal);
+                        System.out.println("[JournalReplayer] Replayed " + count + " result(s) from " + journal);
+                    }
+                    Files.deleteIfExists(journal);
+                } catch (SQLException e) {
+                    String reason = DatabaseUtils.isTransientFailure(e) ? "Writes still conflicting" : "Database still unavailable";
+                    System.err.println("[JournalReplayer] " + reason + ", keeping " + journal + ": " + e.getMessage());
+                } catch (IOException e) {
+                    System.err.println("[JournalReplayer] Could not replay " + journal + ": " + e.getMessage());
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("[JournalReplayer] Could not list " + directory + ": " + e.getMessage());
+        }
+    }
+
+    // ---------- Helpers ----------
+    // Journals are named results_<timestamp>_<pid>.journal; a parallel fork's live journal must not be touched
+    private static boolean ownerAlive(Path journal) {
+        String name = journal.getFileName().toString();
+        int start = name.lastIndexOf('_') + 1;
+        int end = name.lastIndexOf('.');
+        try {
+            long pid = Long.parseLong(name.substring(start, end));
+            return pid != ProcessHandle.current().pid() && ProcessHandle.of(pid).map(ProcessHandle::isAlive).orElse(false);
+        } catch (RuntimeException e) {
+            return false;
+        }
+    }
+
+    private static int writeBatch(List<ExecutionRecord> batch) {
+        try {
+            int size = batch.size();
+            int rejected = write(batch);
+            batch.clear();
+            return size - rejected;
+        } catch (SQLException e) {
+            throw new UncheckedSqlException(e);
+        }
+    }
+
+    // ---------- Writing with isolation ----------
+    /**
+     * Writes the records in one transaction; if the database rejects them for a reason other than the connection
+     * or a transient conflict, each record is retried in its own transaction and the refused ones are quarantined.
+     * Returns how many were refused; throws for connection failures and for transient failures that outlast the
+     * retries.
+     */
+    static int write(List<ExecutionRecord> records) throws SQLException {
+        try {
+            writeWithRetry(records);
+            return 0;
+        } catch (SQLException e) {
+            if (DatabaseUtils.isConnectionFailure(e) || DatabaseUtils.isTransientFailure(e)) throw e;
+            if (records.size() == 1) {
+                quarantine(records.get(0), e);
+                return 1;
+            }
+        }
+        int rejected = 0;
+        for (ExecutionRecord record : ExecutionRecord.groupForWrite(records).values().stream().flatMap(List::stream).toList()) {
+            try {
+                writeWithRetry(List.of(record));
+            } catch (SQLException e) {
+                if (DatabaseUtils.isConnectionFailure(e) || DatabaseUtils.isTransientFailure(e)) throw e;
+                quarantine(record, e);
+                rejected++;
+            }
+        }
+        return rejected;
+    }
+
+    // A deadlock or lock-wait timeout rolled back the whole transaction, so the same batch is written again
+    private static void writeWithRetry(List<ExecutionRecord> records) throws SQLException {
+        int retries = ConfigManager.getInt("db.writer.transientRetries", 5);
+        long backoffMs = ConfigManager.getLong("db.writer.transientBackoffMs", 50);
+        for (int attempt = 0; ; attempt++) {
+            try {
+                writeTransaction(records);
+                return;
+            } catch (SQLException e) {
+                if (attempt >= retries || !DatabaseUtils.isTransientFailure(e)) throw e;
+                try {
+                    // Jittered so writers that deadlocked each other do not collide again
+                    Thread.sleep((backoffMs << Math.min(attempt, 10)) + ThreadLocalRandom.current().nextLong(backoffMs + 1));
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    throw e;
+                }
+            }
+        }
+    }
+
+    // Mixed targets are written in write order (runs first) so result rows can resolve their run_id.
+    // READ COMMITTED keeps the rollup read and the upserts from taking gap locks that block other forks.
+    private static void writeTransaction(List<ExecutionRecord> records) throws SQLException {
+        try (Connection conn = connections.get()) {
+            int isolation = conn.getTransactionIsolation();
+            conn.setTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+            conn.setAutoCommit(false);
+            try {
+                for (Map.Entry<ExecutionRecord.Target, List<ExecutionRecord>> entry : ExecutionRecord.groupForWrite(records).entrySet()) {
+                    entry.getKey().executeBatch(conn, entry.getValue());
+                }
+                conn.commit();
+                ResultVersion.bump();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                restoreIsolation(conn, isolation);
+            }
+        }
+    }
+
+    // The pool hands the connection to other callers; a connection that cannot take it is broken and discarded anyway
+    private static void restoreIsolation(Connection conn, int isolation) {
+        try {
+            conn.setAutoCommit(true);
+            conn.setTransactionIsolation(isolation);
+        } catch (SQLException ignored) {
+            // the original failure is the one reported
+        }
+    }
+
+    // One line per refused record: when, why and what, for a manual fix-up; replaying never retries them
+    private static synchronized void quarantine(ExecutionRecord record, SQLException e) {
+        Path file = Paths.get(ConfigManager.get("journal.dir", "artifacts/journal"), "rejected.log");
+        String line = LocalDateTime.now() + " [" + e.getSQLState() + "] " + e.getMessage().replace('\n', ' ') + " | " + record + "\n";
+        System.err.println("[JournalReplayer] ❌ Record refused by the database, quarantined to " + file + ": " + record + " – " + e.getMessage());
+        try {
+            Files.createDirectories(file.getParent());
+            Files.write(file, line.getBytes(StandardCharsets.UTF_8), StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException io) {
+            System.err.println("[JournalReplayer] Could not write " + file + ": " + io.getMessage());
+        }
+    }
+
+    @FunctionalInterface
+    interface ConnectionSource {
+        Connection get() throws SQLException;
+    }
+
+    private static final class UncheckedSqlException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        UncheckedSqlException(SQLException cause) {
+            super(cause);
+        }
+
+        @Override
+        public synchronized SQLException getCause() {
+            return (SQLException) super.getCause();
+        }
+    }
+}
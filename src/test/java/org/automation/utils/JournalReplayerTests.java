@@ -0,0 +1,149 @@
+package org.automation.utils;
+
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLDataException;
+import java.sql.SQLException;
+import java.sql.SQLNonTransientConnectionException;
+import java.sql.SQLTransactionRollbackException;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Failure handling of {@link JournalReplayer#write} against a stub connection whose batches fail with queued
+ * exceptions: transient conflicts are retried and never quarantined, refused records are.
+ */
+@Test(singleThreaded = true)
+public class JournalReplayerTests {
+
+    private final Deque<SQLException> failures = new LinkedList<>();
+    private Path dir;
+    private int batches;
+    private int commits;
+
+    @BeforeMethod
+    public void install() throws IOException {
+        dir = Files.createTempDirectory("replayer-test");
+        System.setProperty("journal.dir", dir.toString());
+        System.setProperty("db.writer.transientRetries", "3");
+        System.setProperty("db.writer.transientBackoffMs", "1");
+        failures.clear();
+        batches = 0;
+        commits = 0;
+        JournalReplayer.connections = this::connection;
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void restore() throws IOException {
+        JournalReplayer.connections = DatabaseUtils::getConnection;
+        System.clearProperty("journal.dir");
+        System.clearProperty("db.writer.transientRetries");
+        System.clearProperty("db.writer.transientBackoffMs");
+        try (Stream<Path> files = Files.walk(dir)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) Files.deleteIfExists(file);
+        }
+    }
+
+    // ---------- Transient failures ----------
+    @Test(description = "A batch rolled back by a deadlock (40001) is written again and nothing is quarantined")
+    public void testDeadlockIsRetried() throws SQLException {
+        failures.add(deadlock());
+        failures.add(deadlock());
+
+        Assert.assertEquals(JournalReplayer.write(List.of(detail("k1"), detail("k2"))), 0);
+        Assert.assertEquals(batches, 3);
+        Assert.assertEquals(commits, 1);
+        Assert.assertFalse(Files.exists(rejectedLog()));
+    }
+
+    @Test(description = "A deadlock that outlasts the retries is thrown for the caller to keep journaled, not quarantined")
+    public void testPersistentDeadlockIsThrown() {
+        for (int i = 0; i < 10; i++) failures.add(deadlock());
+
+        SQLException e = Assert.expectThrows(SQLException.class, () -> JournalReplayer.write(List.of(detail("k1"), detail("k2"))));
+        Assert.assertTrue(DatabaseUtils.isTransientFailure(e));
+        Assert.assertFalse(DatabaseUtils.isConnectionFailure(e));
+        // One attempt plus three retries of the whole batch, never record by record
+        Assert.assertEquals(batches, 4);
+        Assert.assertEquals(commits, 0);
+        Assert.assertFalse(Files.exists(rejectedLog()));
+    }
+
+    // ---------- Other failures ----------
+    @Test(description = "A record the database refuses is quarantined and the rest of the batch is written")
+    public void testRefusedRecordIsQuarantined() throws SQLException, IOException {
+        failures.add(new SQLDataException("Data too long for column 'message'", "22001", 1406));
+        failures.add(null);
+        failures.add(new SQLDataException("Data too long for column 'message'", "22001", 1406));
+
+        Assert.assertEquals(JournalReplayer.write(List.of(detail("k1"), detail("k2"))), 1);
+        Assert.assertEquals(commits, 1);
+        Assert.assertTrue(Files.readString(rejectedLog()).contains("[22001]"));
+    }
+
+    @Test(description = "A connection failure is thrown at once, without retries or quarantine")
+    public void testConnectionFailureIsThrown() {
+        failures.add(new SQLNonTransientConnectionException("Communications link failure", "08S01"));
+
+        SQLException e = Assert.expectThrows(SQLException.class, () -> JournalReplayer.write(List.of(detail("k1"))));
+        Assert.assertTrue(DatabaseUtils.isConnectionFailure(e));
+        Assert.assertFalse(DatabaseUtils.isTransientFailure(e));
+        Assert.assertEquals(batches, 1);
+        Assert.assertFalse(Files.exists(rejectedLog()));
+    }
+
+    @Test(description = "Lock-wait timeouts and read-only failover count as transient by vendor code")
+    public void testTransientVendorCodes() {
+        Assert.assertTrue(DatabaseUtils.isTransientFailure(new SQLException("Lock wait timeout exceeded", "HY000", 1205)));
+        Assert.assertTrue(DatabaseUtils.isTransientFailure(new SQLException("running with --read-only", "HY000", 1290)));
+        Assert.assertTrue(DatabaseUtils.isTransientFailure(new SQLException("wrapped", new SQLTransactionRollbackException("x", "40001", 1213))));
+        Assert.assertFalse(DatabaseUtils.isTransientFailure(new SQLException("Duplicate entry", "23000", 1062)));
+    }
+
+    // ---------- Helpers ----------
+    private Path rejectedLog() {
+        return dir.resolve("rejected.log");
+    }
+
+    private static SQLException deadlock() {
+        return new SQLTransactionRollbackException("Deadlock found when trying to get lock", "40001", 1213);
+    }
+
+    // Detail rows are written with a single statement and no rollup read
+    private static ExecutionRecord detail(String testKey) {
+        return ExecutionRecord.executionLogs("run", testKey, "API", "US1", "TC1", "msg", "INFO", "TC1", null, 1, 2);
+    }
+
+    // Each executeBatch takes the next queued failure (null or none = success)
+    private Connection connection() {
+        PreparedStatement statement = (PreparedStatement) Proxy.newProxyInstance(PreparedStatement.class.getClassLoader(),
+                new Class<?>[]{PreparedStatement.class}, (proxy, m, args) -> {
+                    if (!m.getName().equals("executeBatch")) return null;
+                    batches++;
+                    SQLException failure = failures.poll();
+                    if (failure != null) throw failure;
+                    return new int[0];
+                });
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, (proxy, m, args) -> {
+                    switch (m.getName()) {
+                        case "prepareStatement": return statement;
+                        case "getTransactionIsolation": return Connection.TRANSACTION_REPEATABLE_READ;
+                        case "commit": commits++; return null;
+                        default: return null;
+                    }
+                });
+    }
+}
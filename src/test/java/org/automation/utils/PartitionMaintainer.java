@@ -0,0 +1,96 @@
+package org.automation.utils;
+
+import org.automation.config.ConfigManager;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeSet;
+
+/**
+ * Keeps execution_log's monthly RANGE partitions rolling: p&lt;yyyyMM&gt; holds one month, p_future (MAXVALUE) catches
+ * anything later. Each run splits months out of p_future up to db.partition.monthsAhead ahead of now, and drops
+ * months older than db.partition.retentionMonths (0 keeps everything). Tables that are not partitioned are left alone.
+ */
+public final class PartitionMaintainer {
+
+    private static final String TABLE = "execution_log";
+    private static final String FUTURE = "p_future";
+    private static final DateTimeFormatter NAME = DateTimeFormatter.ofPattern("'p'yyyyMM");
+
+    private PartitionMaintainer() {
+    }
+
+    public static void maintain(Connection conn) throws SQLException {
+        TreeSet<YearMonth> months = new TreeSet<>();
+        boolean hasFuture = false;
+        try (PreparedStatement ps = conn.prepareStatement("SELECT PARTITION_NAME FROM information_schema.PARTITIONS " +
+                "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ? AND PARTITION_NAME IS NOT NULL")) {
+            ps.setString(1, TABLE);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    String name = rs.getString(1);
+                    if (FUTURE.equals(name)) hasFuture = true;
+                    else if (name.matches("p\\d{6}")) months.add(YearMonth.parse(name, NAME));
+                }
+            }
+        }
+        if (!hasFuture) return;
+
+        YearMonth current = YearMonth.now();
+        addMonths(conn, months, current.plusMonths(Math.max(0, ConfigManager.getInt("db.partition.monthsAhead", 3))));
+        int retention = ConfigManager.getInt("db.partition.retentionMonths", 0);
+        if (retention > 0) dropMonths(conn, months, current.minusMonths(retention));
+    }
+
+    // ---------- Creation ----------
+    private static void addMonths(Connection conn, TreeSet<YearMonth> existing, YearMonth until) throws SQLException {
+        YearMonth from = existing.isEmpty() ? oldestMonthInFuture(conn) : existing.last().plusMonths(1);
+        if (from.isAfter(until)) return;
+
+        List<String> partitions = new ArrayList<>();
+        for (YearMonth month = from; !month.isAfter(until); month = month.plusMonths(1)) {
+            partitions.add("PARTITION " + month.format(NAME) + " VALUES LESS THAN ('" + month.plusMonths(1).atDay(1) + "')");
+        }
+        partitions.add("PARTITION " + FUTURE + " VALUES LESS THAN (MAXVALUE)");
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("ALTER TABLE " + TABLE + " REORGANIZE PARTITION " + FUTURE + " INTO (" + String.join(", ", partitions) + ")");
+        }
+        System.out.println("[PartitionMaintainer] Added " + (partitions.size() - 1) + " monthly partition(s) "
+                + from.format(NAME) + ".." + until.format(NAME));
+    }
+
+    // First split: start at the oldest month already sitting in p_future so no month stays lumped together
+    private static YearMonth oldestMonthInFuture(Connection conn) throws SQLException {
+        YearMonth current = YearMonth.now();
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT MIN(execution_time) FROM " + TABLE + " PARTITION (" + FUTURE + ")")) {
+            if (rs.next()) {
+                Timestamp oldest = rs.getTimestamp(1);
+                if (oldest != null) {
+                    YearMonth month = YearMonth.from(oldest.toLocalDateTime());
+                    return month.isBefore(current) ? month : current;
+                }
+            }
+        }
+        return current;
+    }
+
+    // ---------- Retention ----------
+    private static void dropMonths(Connection conn, TreeSet<YearMonth> existing, YearMonth keepFrom) throws SQLException {
+        List<String> expired = new ArrayList<>();
+        for (YearMonth month : existing.headSet(keepFrom)) expired.add(month.format(NAME));
+        if (expired.isEmpty()) return;
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("ALTER TABLE " + TABLE + " DROP PARTITION " + String.join(", ", expired));
+        }
+        System.out.println("[PartitionMaintainer] Dropped expired partition(s) " + expired);
+    }
+}
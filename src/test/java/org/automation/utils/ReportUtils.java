@@ -15,10 +15,17 @@ public class ReportUtils {
     // Centralized timestamp for all reports in a run
     private static final String TIMESTAMP = new SimpleDateFormat("yyyyMMdd_HHmmss").format(new Date());
 
+    // Identifies this JVM's run; forks started in the same second still get distinct keys
+    private static final String RUN_KEY = TIMESTAMP + "_" + ProcessHandle.current().pid();
+
     public static String getTimestamp() {
         return TIMESTAMP;
     }
 
+    public static String getRunKey() {
+        return RUN_KEY;
+    }
+
     // Initialize ExtentReports
     public static ExtentReports initReports() {
         if (extent == null) {
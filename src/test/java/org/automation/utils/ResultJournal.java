@@ -0,0 +1,229 @@
+package org.automation.utils;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only, memory-mapped journal of {@link ExecutionRecord}s. Every result is written here before it is queued
+ * for MySQL, so nothing is lost when the database is down or the JVM dies mid-run.
+ *
+ * File layout: a 16-byte header (magic, version, chunk size, state) followed by fixed-size mapped chunks of
+ * records [int length][long sequence][int crc32][payload]. A length of 0 marks the end of the journal and
+ * {@link #NEXT_CHUNK} means "continue at the next chunk". The length is written last, so a torn record fails its
+ * checksum and ends the replay there.
+ *
+ * Appends never fsync; a background thread forces dirty pages every syncIntervalMs (group commit).
+ */
+public final class ResultJournal implements AutoCloseable {
+
+    private static final int MAGIC = 0x524A4E4C; // "RJNL"
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 16;
+    private static final int RECORD_HEADER_BYTES = 16;
+    private static final int STATE_OFFSET = 12;
+    private static final int STATE_OPEN = 0;
+    private static final int STATE_PERSISTED = 1;
+    private static final int NEXT_CHUNK = -1;
+
+    private final Path path;
+    private final FileChannel channel;
+    private final int chunkSize;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Queue<MappedByteBuffer> retired = new ConcurrentLinkedQueue<>();
+    private final ScheduledExecutorService syncer;
+
+    private MappedByteBuffer current;
+    private long chunkIndex;
+    private long sequence;
+    private volatile boolean dirty;
+    private volatile boolean closed;
+
+    private ResultJournal(Path path, int chunkSize, long syncIntervalMs) throws IOException {
+        this.path = path;
+        this.chunkSize = chunkSize;
+        Files.createDirectories(path.getParent());
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE);
+
+        mapChunk(0);
+        current.putInt(MAGIC).putInt(VERSION).putInt(chunkSize).putInt(STATE_OPEN);
+
+        this.syncer = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "result-journal-sync");
+            t.setDaemon(true);
+            return t;
+        });
+        syncer.scheduleWithFixedDelay(this::sync, syncIntervalMs, syncIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    public static ResultJournal create(Path path, int chunkSize, long syncIntervalMs) throws IOException {
+        return new ResultJournal(path, chunkSize, syncIntervalMs);
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    // ---------- Append ----------
+    public long append(ExecutionRecord record) throws IOException {
+        byte[] payload = serialize(record);
+        int needed = RECORD_HEADER_BYTES + payload.length;
+        // Always leave 4 bytes behind the record for an end-of-journal or next-chunk marker
+        if (needed + 4 > chunkSize - HEADER_BYTES) {
+            throw new IOException("Record of " + payload.length + " bytes exceeds journal chunk size " + chunkSize);
+        }
+
+        lock.lock();
+        try {
+            if (closed) throw new IOException("Journal is closed: " + path);
+            if (current.remaining() < needed + 4) {
+                current.putInt(current.position(), NEXT_CHUNK);
+                retired.add(current);
+                mapChunk(++chunkIndex);
+            }
+            long seq = ++sequence;
+            int pos = current.position();
+            current.putLong(pos + 4, seq);
+            current.putInt(pos + 12, checksum(seq, payload));
+            current.put(pos + RECORD_HEADER_BYTES, payload);
+            current.putInt(pos, payload.length);
+            current.position(pos + needed);
+            dirty = true;
+            return seq;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    // ---------- Lifecycle ----------
+    /** Records that every entry reached the database; replay at the next startup will skip (and delete) this file. */
+    public void markPersisted() {
+        lock.lock();
+        try {
+            if (closed) return;
+            MappedByteBuffer first = chunkIndex == 0 ? current : channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_BYTES);
+            first.putInt(STATE_OFFSET, STATE_PERSISTED);
+            first.force();
+        } catch (IOException e) {
+            System.err.println("[ResultJournal] Could not mark " + path + " as persisted: " + e.getMessage());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void close() {
+        lock.lock();
+        try {
+            if (closed) return;
+            closed = true;
+            syncer.shutdownNow();
+            forceAll();
+            channel.close();
+        } catch (IOException e) {
+            System.err.println("[ResultJournal] Error closing " + path + ": " + e.getMessage());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void sync() {
+        if (!dirty || closed) return;
+        dirty = false;
+        forceAll();
+    }
+
+    private void forceAll() {
+        MappedByteBuffer buffer;
+        while ((buffer = retired.poll()) != null) buffer.force();
+        MappedByteBuffer active = current;
+        if (active != null) active.force();
+    }
+
+    private void mapChunk(long index) throws IOException {
+        current = channel.map(FileChannel.MapMode.READ_WRITE, index * chunkSize, chunkSize);
+    }
+
+    // ---------- Reading ----------
+    public static boolean isPersisted(Path journal) throws IOException {
+        try (FileChannel ch = FileChannel.open(journal, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+            if (ch.read(header, 0) < HEADER_BYTES) return false;
+            return header.getInt(0) == MAGIC && header.getInt(STATE_OFFSET) == STATE_PERSISTED;
+        }
+    }
+
+    /**
+     * Streams every intact record to {@code consumer} in sequence order and returns how many were read.
+     * Stops at the end marker or at the first record whose checksum does not match (a write torn by a crash).
+     */
+    public static long read(Path journal, Consumer<ExecutionRecord> consumer) throws IOException {
+        long count = 0;
+        try (FileChannel ch = FileChannel.open(journal, StandardOpenOption.READ)) {
+            long size = ch.size();
+            if (size < HEADER_BYTES) return 0;
+            MappedByteBuffer chunk = ch.map(FileChannel.MapMode.READ_ONLY, 0, Math.min(size, HEADER_BYTES));
+            if (chunk.getInt(0) != MAGIC) throw new IOException("Not a result journal: " + journal);
+            int chunkSize = chunk.getInt(8);
+
+            for (long index = 0; index * chunkSize < size; index++) {
+                chunk = ch.map(FileChannel.MapMode.READ_ONLY, index * chunkSize, Math.min(chunkSize, size - index * chunkSize));
+                int pos = index == 0 ? HEADER_BYTES : 0;
+                while (pos + 4 <= chunk.limit()) {
+                    int length = chunk.getInt(pos);
+                    if (length == NEXT_CHUNK) break;
+                    if (length <= 0 || pos + RECORD_HEADER_BYTES + length > chunk.limit()) return count;
+
+                    long seq = chunk.getLong(pos + 4);
+                    int crc = chunk.getInt(pos + 12);
+                    byte[] payload = new byte[length];
+                    chunk.get(pos + RECORD_HEADER_BYTES, payload);
+                    if (checksum(seq, payload) != crc) {
+                        System.err.println("[ResultJournal] Checksum mismatch at sequence " + seq + " in " + journal + " – stopping replay");
+                        return count;
+                    }
+                    consumer.accept(ExecutionRecord.readFrom(new DataInputStream(new ByteArrayInputStream(payload))));
+                    count++;
+                    pos += RECORD_HEADER_BYTES + length;
+                }
+            }
+        }
+        return count;
+    }
+
+    // ---------- Helpers ----------
+    private static byte[] serialize(ExecutionRecord record) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            record.writeTo(out);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static int checksum(long seq, byte[] payload) {
+        CRC32 crc = new CRC32();
+        crc.update(ByteBuffer.allocate(8).putLong(0, seq));
+        crc.update(payload);
+        return (int) crc.getValue();
+    }
+}
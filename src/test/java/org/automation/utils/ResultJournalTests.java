@@ -0,0 +1,150 @@
+package org.automation.utils;
+
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/** Record codec, chunking and crash handling of {@link ResultJournal}, on journals in a temporary directory. */
+@Test(singleThreaded = true)
+public class ResultJournalTests {
+
+    private static final int CHUNK = 1024;
+    private Path dir;
+
+    @BeforeMethod
+    public void createDir() throws IOException {
+        dir = Files.createTempDirectory("journal-test");
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void deleteDir() throws IOException {
+        try (Stream<Path> files = Files.walk(dir)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) Files.deleteIfExists(file);
+        }
+    }
+
+    @Test(description = "Every field, nulls and non-ASCII text included, reads back as written")
+    public void testRecordRoundTrip() throws IOException {
+        ExecutionRecord result = ExecutionRecord.executionLog("run_1", "C#m@0", "testÄrger ✓", "FAIL", "UI", "US1", "TC1",
+                null, "cas:abc.png", 1_000L, 2_500L);
+        ExecutionRecord detail = ExecutionRecord.executionLogs("run_1", "C#m@0", "UI", "US1", "C#m", "boom\nline 2", "ERROR",
+                "TC1", null, 1_000L, 2_500L);
+        ExecutionRecord run = ExecutionRecord.testRun("run_1", "Suite", "RUNNING", 1_000L, 0);
+
+        List<ExecutionRecord> read = writeAndRead(journal(), List.of(result, detail, run));
+        Assert.assertEquals(read.size(), 3);
+        assertSameRecord(read.get(0), result);
+        assertSameRecord(read.get(1), detail);
+        assertSameRecord(read.get(2), run);
+    }
+
+    @Test(description = "Records continue across chunk boundaries in append order")
+    public void testRecordsSpanChunks() throws IOException {
+        List<ExecutionRecord> written = new ArrayList<>();
+        for (int i = 0; i < 100; i++) written.add(record("k" + i));
+        Path path = journal();
+        List<ExecutionRecord> read = writeAndRead(path, written);
+
+        Assert.assertTrue(Files.size(path) > CHUNK * 5L, "expected several chunks, file is " + Files.size(path) + " bytes");
+        Assert.assertEquals(read.size(), written.size());
+        for (int i = 0; i < written.size(); i++) Assert.assertEquals(read.get(i).getTestKey(), "k" + i);
+    }
+
+    @Test(description = "A record torn by a crash fails its checksum and ends the replay before it")
+    public void testTornRecordStopsReplay() throws IOException {
+        Path path = journal();
+        writeAndRead(path, List.of(record("k0"), record("k1"), record("k2")));
+
+        // The third record starts after the header and two records of the same size
+        long third = 16 + 2L * (16 + serialized(record("k0")).length);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[]{0x7f}), third + 16 + 3);
+        }
+        List<ExecutionRecord> read = new ArrayList<>();
+        Assert.assertEquals(ResultJournal.read(path, read::add), 2);
+        Assert.assertEquals(read.get(1).getTestKey(), "k1");
+    }
+
+    @Test(description = "Only a journal marked persisted is reported as such")
+    public void testMarkPersisted() throws IOException {
+        Path path = journal();
+        try (ResultJournal journal = ResultJournal.create(path, CHUNK, 60_000)) {
+            journal.append(record("k0"));
+            Assert.assertFalse(ResultJournal.isPersisted(path));
+            journal.markPersisted();
+        }
+        Assert.assertTrue(ResultJournal.isPersisted(path));
+    }
+
+    @Test(description = "A record larger than a chunk is refused instead of corrupting the journal")
+    public void testOversizedRecordIsRefused() throws IOException {
+        Path path = journal();
+        try (ResultJournal journal = ResultJournal.create(path, CHUNK, 60_000)) {
+            ExecutionRecord huge = ExecutionRecord.executionLogs("run", "k", "API", null, null, "x".repeat(CHUNK), "INFO",
+                    null, null, 1, 2);
+            Assert.expectThrows(IOException.class, () -> journal.append(huge));
+            journal.append(record("k0"));
+        }
+        Assert.assertEquals(ResultJournal.read(path, r -> { }), 1);
+    }
+
+    @Test(description = "A file that is not a journal is rejected")
+    public void testForeignFileIsRejected() throws IOException {
+        Path path = dir.resolve("foreign.bin");
+        Files.write(path, new byte[64]);
+        Assert.expectThrows(IOException.class, () -> ResultJournal.read(path, r -> { }));
+    }
+
+    // ---------- Helpers ----------
+    private Path journal() {
+        return dir.resolve("results.journal");
+    }
+
+    private static List<ExecutionRecord> writeAndRead(Path path, List<ExecutionRecord> records) throws IOException {
+        try (ResultJournal journal = ResultJournal.create(path, CHUNK, 60_000)) {
+            long seq = 0;
+            for (ExecutionRecord record : records) Assert.assertEquals(journal.append(record), ++seq);
+        }
+        List<ExecutionRecord> read = new ArrayList<>();
+        ResultJournal.read(path, read::add);
+        return read;
+    }
+
+    private static ExecutionRecord record(String testKey) {
+        return ExecutionRecord.executionLog("run", testKey, "test", "PASS", "API", "US1", "TC1", null, null, 1_000L, 2_000L);
+    }
+
+    private static byte[] serialized(ExecutionRecord record) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            record.writeTo(out);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static void assertSameRecord(ExecutionRecord actual, ExecutionRecord expected) throws IOException {
+        Assert.assertEquals(actual.getTarget(), expected.getTarget());
+        Assert.assertEquals(actual.getTestName(), expected.getTestName());
+        Assert.assertEquals(actual.getMessage(), expected.getMessage());
+        Assert.assertEquals(actual.getArtifact(), expected.getArtifact());
+        Assert.assertEquals(actual.getScreenshotPath(), expected.getScreenshotPath());
+        Assert.assertEquals(actual.getEndMillis(), expected.getEndMillis());
+        Assert.assertEquals(actual.getRecordedAt(), expected.getRecordedAt());
+        // Covers the remaining fields
+        Assert.assertEquals(serialized(actual), serialized(expected));
+    }
+}
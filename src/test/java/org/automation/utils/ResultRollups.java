@@ -0,0 +1,188 @@
+package org.automation.utils;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Keeps result_rollup_daily and result_rollup_weekly (date, test_type, status → count, total/min/max duration) in
+ * step with execution_log, in the same transaction as each result batch.
+ *
+ * The rows a batch is about to upsert are read first: a re-written result moves its count from the old bucket to
+ * the new one, and a replayed journal record that is already stored nets out to zero, so rollups stay exact under
+ * retries and replay. Min/max only ever widen – a superseded attempt still counts towards them.
+ * The read takes no locks (no FOR UPDATE, and the caller writes under READ COMMITTED): a result row is only ever
+ * written by the run that owns its run_key, and a locking read under REPEATABLE READ gap-locked the key ranges of
+ * every concurrent fork, deadlocking their batches. {@link RollupBackfill} rebuilds both tables from history.
+ */
+public final class ResultRollups {
+
+    static final String UNKNOWN = "UNKNOWN";
+
+    private static final String UPSERT = "INSERT INTO %s (%s, test_type, status, result_count, total_duration_ms, " +
+            "min_duration_ms, max_duration_ms) VALUES (?, ?, ?, ?, ?, ?, ?) ON DUPLICATE KEY UPDATE " +
+            "result_count = result_count + VALUES(result_count), " +
+            "total_duration_ms = total_duration_ms + VALUES(total_duration_ms), " +
+            "min_duration_ms = COALESCE(LEAST(min_duration_ms, VALUES(min_duration_ms)), min_duration_ms, VALUES(min_duration_ms)), " +
+            "max_duration_ms = COALESCE(GREATEST(max_duration_ms, VALUES(max_duration_ms)), max_duration_ms, VALUES(max_duration_ms))";
+
+    private ResultRollups() {
+    }
+
+    public static void apply(Connection conn, List<ExecutionRecord> records) throws SQLException {
+        Map<String, Stored> current = loadStored(conn, records);
+        Map<Bucket, Delta> daily = new TreeMap<>();
+
+        for (ExecutionRecord record : records) {
+            String key = key(record.getRunKey(), record.getTestKey(), record.getExecutionTimeMillis());
+            Stored previous = current.get(key);
+            if (previous != null) daily.computeIfAbsent(previous.bucket, b -> new Delta()).remove(previous.durationMs);
+
+            Stored next = new Stored(new Bucket(toDate(record.getExecutionTimeMillis()), record.getTestType(), record.getStatus()),
+                    record.getDurationMillis());
+            daily.computeIfAbsent(next.bucket, b -> new Delta()).add(next.durationMs);
+            current.put(key, next);
+        }
+
+        Map<Bucket, Delta> weekly = new TreeMap<>();
+        for (Map.Entry<Bucket, Delta> entry : daily.entrySet()) {
+            Bucket day = entry.getKey();
+            weekly.computeIfAbsent(new Bucket(weekStart(day.date), day.testType, day.status), b -> new Delta()).merge(entry.getValue());
+        }
+        upsert(conn, "result_rollup_daily", "bucket_date", daily);
+        upsert(conn, "result_rollup_weekly", "week_start", weekly);
+    }
+
+    // ---------- Current state ----------
+    private static Map<String, Stored> loadStored(Connection conn, List<ExecutionRecord> records) throws SQLException {
+        Map<String, Stored> stored = new HashMap<>();
+        StringBuilder sql = new StringBuilder("SELECT run_key, test_key, execution_time, test_type, status, duration " +
+                "FROM execution_log WHERE (run_key, test_key, execution_time) IN (");
+        for (int i = 0; i < records.size(); i++) sql.append(i == 0 ? "(?, ?, ?)" : ", (?, ?, ?)");
+        sql.append(")");
+
+        try (PreparedStatement ps = conn.prepareStatement(sql.toString())) {
+            int i = 1;
+            for (ExecutionRecord record : records) {
+                ps.setString(i++, record.getRunKey());
+                ps.setString(i++, record.getTestKey());
+                ps.setTimestamp(i++, new Timestamp(record.getExecutionTimeMillis()));
+            }
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    long time = rs.getTimestamp("execution_time").getTime();
+                    stored.put(key(rs.getString("run_key"), rs.getString("test_key"), time),
+                            new Stored(new Bucket(toDate(time), rs.getString("test_type"), rs.getString("status")), rs.getLong("duration")));
+                }
+            }
+        }
+        return stored;
+    }
+
+    // ---------- Upsert ----------
+    // Buckets are sorted so concurrent writers lock rollup rows in the same order
+    private static void upsert(Connection conn, String table, String dateColumn, Map<Bucket, Delta> deltas) throws SQLException {
+        try (PreparedStatement ps = conn.prepareStatement(String.format(UPSERT, table, dateColumn))) {
+            for (Map.Entry<Bucket, Delta> entry : deltas.entrySet()) {
+                Delta delta = entry.getValue();
+                if (delta.count == 0 && delta.totalMs == 0 && delta.minMs == null) continue;
+                ps.setObject(1, entry.getKey().date);
+                ps.setString(2, entry.getKey().testType);
+                ps.setString(3, entry.getKey().status);
+                ps.setLong(4, delta.count);
+                ps.setLong(5, delta.totalMs);
+                ps.setObject(6, delta.minMs);
+                ps.setObject(7, delta.maxMs);
+                ps.addBatch();
+            }
+            ps.executeBatch();
+        }
+    }
+
+    // ---------- Helpers ----------
+    public static LocalDate weekStart(LocalDate date) {
+        return date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+    }
+
+    private static LocalDate toDate(long millis) {
+        return new Timestamp(millis).toLocalDateTime().toLocalDate();
+    }
+
+    private static String key(String runKey, String testKey, long executionTime) {
+        return runKey + '\u0000' + testKey + '\u0000' + executionTime;
+    }
+
+    private static final class Stored {
+        final Bucket bucket;
+        final long durationMs;
+
+        Stored(Bucket bucket, long durationMs) {
+            this.bucket = bucket;
+            this.durationMs = durationMs;
+        }
+    }
+
+    private static final class Bucket implements Comparable<Bucket> {
+        final LocalDate date;
+        final String testType;
+        final String status;
+
+        Bucket(LocalDate date, String testType, String status) {
+            this.date = date;
+            this.testType = testType != null ? testType : UNKNOWN;
+            this.status = status != null ? status : UNKNOWN;
+        }
+
+        @Override
+        public int compareTo(Bucket o) {
+            int c = date.compareTo(o.date);
+            if (c == 0) c = testType.compareTo(o.testType);
+            return c != 0 ? c : status.compareTo(o.status);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Bucket && compareTo((Bucket) o) == 0;
+        }
+
+        @Override
+        public int hashCode() {
+            return (date.hashCode() * 31 + testType.hashCode()) * 31 + status.hashCode();
+        }
+    }
+
+    private static final class Delta {
+        long count;
+        long totalMs;
+        Long minMs;
+        Long maxMs;
+
+        void add(long durationMs) {
+            count++;
+            totalMs += durationMs;
+            minMs = minMs == null ? durationMs : Math.min(minMs, durationMs);
+            maxMs = maxMs == null ? durationMs : Math.max(maxMs, durationMs);
+        }
+
+        void remove(long durationMs) {
+            count--;
+            totalMs -= durationMs;
+        }
+
+        void merge(Delta other) {
+            count += other.count;
+            totalMs += other.totalMs;
+            if (other.minMs != null) minMs = minMs == null ? other.minMs : Math.min(minMs, other.minMs);
+            if (other.maxMs != null) maxMs = maxMs == null ? other.maxMs : Math.max(maxMs, other.maxMs);
+        }
+    }
+}
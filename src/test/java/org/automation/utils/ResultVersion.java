@@ -0,0 +1,23 @@
+package org.automation.utils;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bumped after every commit that changes the result tables in this JVM, so in-process readers (the analytics
+ * cache) can tell their copy is stale without asking MySQL. Writes from other processes are not seen here.
+ */
+public final class ResultVersion {
+
+    private static final AtomicLong VERSION = new AtomicLong();
+
+    private ResultVersion() {
+    }
+
+    public static void bump() {
+        VERSION.incrementAndGet();
+    }
+
+    public static long current() {
+        return VERSION.get();
+    }
+}
@@ -0,0 +1,298 @@
+package org.automation.utils;
+
+import org.automation.config.ConfigManager;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Takes result inserts off the TestNG worker threads. Listeners {@link #enqueue} records into a bounded queue
+ * and a single background thread writes them with addBatch/executeBatch (the pool enables
+ * rewriteBatchedStatements, so MySQL receives multi-row INSERTs).
+ *
+ * Backpressure: when the queue is full, enqueue waits up to db.writer.offerTimeoutMs and then writes the record
+ * on the calling thread, so results are slowed down rather than dropped.
+ * Tuning: db.writer.queueCapacity, db.writer.batchSize, db.writer.lingerMs, db.writer.offerTimeoutMs.
+ *
+ * Durability: each record is first appended to a {@link ResultJournal} under artifacts/journal/. If MySQL is
+ * unreachable, batches are acknowledged from the journal alone and the database is probed every
+ * db.writer.retryIntervalMs; once it answers, the journal is replayed idempotently. Journals that could not be
+ * replayed before the JVM exited are picked up by the next run. Disable with journal.enabled=false.
+ * Only connection failures count as "down"; a record the database refuses is quarantined (see JournalReplayer).
+ * A batch that still deadlocks or times out on locks after JournalReplayer's retries stays in the journal and is
+ * written by the next replay, at most every db.writer.retryIntervalMs and always on flush; the database is not
+ * marked down for it and later batches are written as usual.
+ */
+public final class ResultWriter {
+
+    private static volatile ResultWriter instance;
+
+    private final BlockingQueue<ExecutionRecord> queue;
+    private final int batchSize;
+    private final long lingerNanos;
+    private final long offerTimeoutMs;
+    private final Thread worker;
+    private final ResultJournal journal;
+    private final long retryIntervalMs;
+    private final Object replayLock = new Object();
+
+    private final AtomicLong accepted = new AtomicLong();
+    private final AtomicLong completed = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong callerRuns = new AtomicLong();
+    private final AtomicInteger flushWaiters = new AtomicInteger();
+    private final Object progress = new Object();
+    private volatile boolean running = true;
+    private volatile boolean dbAvailable = true;
+    private volatile boolean replayNeeded;
+    private volatile long nextProbeAt;
+    private volatile long nextReplayAt;
+
+    public static ResultWriter getInstance() {
+        ResultWriter writer = instance;
+        if (writer == null) {
+            synchronized (ResultWriter.class) {
+                writer = instance;
+                if (writer == null) {
+                    writer = new ResultWriter();
+                    instance = writer;
+                }
+            }
+        }
+        return writer;
+    }
+
+    private ResultWriter() {
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, ConfigManager.getInt("db.writer.queueCapacity", 10_000)));
+        this.batchSize = Math.max(1, ConfigManager.getInt("db.writer.batchSize", 100));
+        this.lingerNanos = TimeUnit.MILLISECONDS.toNanos(ConfigManager.getLong("db.writer.lingerMs", 50));
+        this.offerTimeoutMs = ConfigManager.getLong("db.writer.offerTimeoutMs", 500);
+        this.retryIntervalMs = ConfigManager.getLong("db.writer.retryIntervalMs", 5_000);
+        this.journal = openJournal();
+
+        this.worker = new Thread(this::drainLoop, "result-writer");
+        worker.setDaemon(true);
+        worker.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(this::shutdown, "result-writer-shutdown"));
+
+        if (journal != null) {
+            Thread leftovers = new Thread(() -> JournalReplayer.replayLeftovers(journal.getPath().getParent(), journal.getPath()),
+                    "journal-leftover-replay");
+            leftovers.setDaemon(true);
+            leftovers.start();
+        }
+    }
+
+    private static ResultJournal openJournal() {
+        if (!ConfigManager.getBoolean("journal.enabled", true)) return null;
+        Path path = Paths.get(ConfigManager.get("journal.dir", "artifacts/journal"), "results_" + ReportUtils.getRunKey() + ".journal");
+        try {
+            return ResultJournal.create(path,
+                    ConfigManager.getInt("journal.chunkBytes", 4 * 1024 * 1024),
+                    ConfigManager.getLong("journal.syncIntervalMs", 200));
+        } catch (IOException e) {
+            System.err.println("[ResultWriter] Journal disabled, could not create " + path + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    // ---------- Producer side ----------
+    public void enqueue(ExecutionRecord record) {
+        accepted.incrementAndGet();
+        if (journal != null) {
+            try {
+                journal.append(record);
+            } catch (IOException e) {
+                // Only journaled records may be acknowledged without the DB, so write this one directly
+                System.err.println("[ResultWriter] Journal append failed for " + record + ": " + e.getMessage());
+                write(List.of(record), false);
+                return;
+            }
+        }
+        try {
+            if (queue.offer(record, offerTimeoutMs, TimeUnit.MILLISECONDS)) return;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (callerRuns.incrementAndGet() == 1) {
+            System.err.println("[ResultWriter] Queue full – writing on the test thread (backpressure)");
+        }
+        write(List.of(record), journal != null);
+    }
+
+    /**
+     * Blocks until every record enqueued before this call has been written (or has failed).
+     * Called from ISuiteListener.onFinish so reports never read a partially written table.
+     */
+    public boolean flush(long timeoutMs) {
+        long target = accepted.get();
+        long deadline = System.currentTimeMillis() + timeoutMs;
+        flushWaiters.incrementAndGet();
+        try {
+            synchronized (progress) {
+                while (completed.get() < target) {
+                    long remaining = deadline - System.currentTimeMillis();
+                    if (remaining <= 0) {
+                        System.err.println("[ResultWriter] Flush timed out with " + (target - completed.get()) + " record(s) pending");
+                        return false;
+                    }
+                    progress.wait(remaining);
+                }
+            }
+            if (replayNeeded) replayJournal();
+            return !replayNeeded;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } finally {
+            flushWaiters.decrementAndGet();
+        }
+    }
+
+    public boolean flush() {
+        return flush(ConfigManager.getLong("db.writer.flushTimeoutMs", 30_000));
+    }
+
+    public String stats() {
+        return "accepted=" + accepted.get() + ", completed=" + completed.get() + ", failed=" + failed.get()
+                + ", callerRuns=" + callerRuns.get() + ", queued=" + queue.size() + ", replayPending=" + replayNeeded;
+    }
+
+    // ---------- Consumer side ----------
+    private void drainLoop() {
+        List<ExecutionRecord> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                ExecutionRecord first = queue.poll(200, TimeUnit.MILLISECONDS);
+                if (first == null) continue;
+                batch.add(first);
+
+                // Linger briefly so records from parallel test threads share one round trip
+                long deadline = System.nanoTime() + lingerNanos;
+                while (batch.size() < batchSize) {
+                    queue.drainTo(batch, batchSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= batchSize || remaining <= 0 || flushWaiters.get() > 0) break;
+                    ExecutionRecord next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) break;
+                    batch.add(next);
+                }
+                write(batch, journal != null);
+            } catch (InterruptedException e) {
+                if (!running) break;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void write(List<ExecutionRecord> records, boolean journaled) {
+        // While the DB is known to be down, journaled records are acknowledged without a connection attempt
+        if (journaled && !dbAvailable && System.currentTimeMillis() < nextProbeAt) {
+            markCompleted(records.size());
+            return;
+        }
+
+        Map<ExecutionRecord.Target, List<ExecutionRecord>> byTarget = ExecutionRecord.groupForWrite(records);
+
+        // Only an unreachable database marks it down; records it refuses are quarantined and counted as failed
+        for (Map.Entry<ExecutionRecord.Target, List<ExecutionRecord>> entry : byTarget.entrySet()) {
+            try {
+                failed.addAndGet(JournalReplayer.write(entry.getValue()));
+            } catch (SQLException e) {
+                if (journaled && DatabaseUtils.isTransientFailure(e)) {
+                    onTransientFailure(e, entry.getValue().size() + " result(s)");
+                    continue;
+                }
+                if (journaled) {
+                    onDatabaseDown(e);
+                    markCompleted(records.size());
+                    return;
+                }
+                failed.addAndGet(entry.getValue().size());
+                System.err.println("[ResultWriter] Failed to persist " + entry.getValue().size()
+                        + " result(s) to " + entry.getKey() + ": " + e.getMessage());
+            }
+        }
+
+        if (!dbAvailable) {
+            dbAvailable = true;
+            System.out.println("[ResultWriter] Database reachable again – replaying journal");
+        }
+        if (replayNeeded && journaled && System.currentTimeMillis() >= nextReplayAt) replayJournal();
+        markCompleted(records.size());
+    }
+
+    private void markCompleted(int count) {
+        completed.addAndGet(count);
+        synchronized (progress) {
+            progress.notifyAll();
+        }
+    }
+
+    private void onDatabaseDown(SQLException e) {
+        nextProbeAt = System.currentTimeMillis() + retryIntervalMs;
+        replayNeeded = true;
+        if (dbAvailable) {
+            dbAvailable = false;
+            System.err.println("[ResultWriter] Database unavailable (" + e.getMessage() + ") – results are kept in "
+                    + journal.getPath() + " and will be replayed");
+        }
+    }
+
+    // The records are already journaled: the next replay writes them, without treating the database as down
+    private void onTransientFailure(SQLException e, String what) {
+        nextReplayAt = System.currentTimeMillis() + retryIntervalMs;
+        replayNeeded = true;
+        System.err.println("[ResultWriter] " + what + " kept in the journal after repeated write conflicts ("
+                + e.getMessage() + ") – retried with the next replay");
+    }
+
+    // Replays the whole journal; inserts are idempotent so rows that already made it are left untouched
+    private void replayJournal() {
+        synchronized (replayLock) {
+            if (!replayNeeded) return;
+            try {
+                long count = JournalReplayer.replay(journal.getPath());
+                replayNeeded = false;
+                dbAvailable = true;
+                System.out.println("[ResultWriter] Replayed " + count + " journaled result(s) into the database");
+            } catch (SQLException e) {
+                if (DatabaseUtils.isTransientFailure(e)) onTransientFailure(e, "Journaled results");
+                else onDatabaseDown(e);
+            } catch (IOException e) {
+                System.err.println("[ResultWriter] Journal replay failed: " + e.getMessage());
+            }
+        }
+    }
+
+    private void shutdown() {
+        flush();
+        running = false;
+        worker.interrupt();
+        if (journal == null) return;
+        if (replayNeeded) {
+            System.err.println("[ResultWriter] Database still unavailable – " + journal.getPath() + " will be replayed by the next run");
+            journal.close();
+        } else {
+            journal.markPersisted();
+            journal.close();
+            try {
+                Files.deleteIfExists(journal.getPath());
+            } catch (IOException ignored) {
+                // still mapped on some platforms; the next run deletes persisted journals
+            }
+        }
+    }
+}
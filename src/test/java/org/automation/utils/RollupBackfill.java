@@ -0,0 +1,89 @@
+package org.automation.utils;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.YearMonth;
+
+/**
+ * Rebuilds result_rollup_daily and result_rollup_weekly from execution_log, one month at a time so each
+ * transaction touches a single partition. Use it after importing history or if the rollups are ever in doubt;
+ * day-to-day the rollups are kept current by {@link ResultRollups}. Best run while no suite is writing results.
+ */
+public final class RollupBackfill {
+
+    private static final String DAILY_FROM_LOG =
+            "INSERT INTO result_rollup_daily (bucket_date, test_type, status, result_count, total_duration_ms, min_duration_ms, max_duration_ms) " +
+            "SELECT DATE(execution_time), COALESCE(test_type, '" + ResultRollups.UNKNOWN + "'), COALESCE(status, '" + ResultRollups.UNKNOWN + "'), " +
+            "COUNT(*), COALESCE(SUM(duration), 0), MIN(duration), MAX(duration) FROM execution_log " +
+            "WHERE execution_time >= ? AND execution_time < ? " +
+            "GROUP BY DATE(execution_time), COALESCE(test_type, '" + ResultRollups.UNKNOWN + "'), COALESCE(status, '" + ResultRollups.UNKNOWN + "')";
+
+    private static final String WEEKLY_FROM_DAILY =
+            "INSERT INTO result_rollup_weekly (week_start, test_type, status, result_count, total_duration_ms, min_duration_ms, max_duration_ms) " +
+            "SELECT DATE_SUB(bucket_date, INTERVAL WEEKDAY(bucket_date) DAY), test_type, status, " +
+            "SUM(result_count), SUM(total_duration_ms), MIN(min_duration_ms), MAX(max_duration_ms) FROM result_rollup_daily " +
+            "GROUP BY DATE_SUB(bucket_date, INTERVAL WEEKDAY(bucket_date) DAY), test_type, status";
+
+    private RollupBackfill() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        run();
+    }
+
+    public static void run() throws SQLException {
+        long start = System.currentTimeMillis();
+        try (Connection conn = DatabaseUtils.getConnection()) {
+            YearMonth first;
+            YearMonth last;
+            try (Statement stmt = conn.createStatement();
+                 ResultSet rs = stmt.executeQuery("SELECT MIN(execution_time), MAX(execution_time) FROM execution_log")) {
+                rs.next();
+                if (rs.getTimestamp(1) == null) {
+                    System.out.println("[RollupBackfill] execution_log is empty – nothing to backfill");
+                    return;
+                }
+                first = YearMonth.from(rs.getTimestamp(1).toLocalDateTime());
+                last = YearMonth.from(rs.getTimestamp(2).toLocalDateTime());
+            }
+
+            conn.setAutoCommit(false);
+            try {
+                for (YearMonth month = first; !month.isAfter(last); month = month.plusMonths(1)) {
+                    rebuildDaily(conn, month.atDay(1), month.plusMonths(1).atDay(1));
+                    conn.commit();
+                }
+                try (Statement stmt = conn.createStatement()) {
+                    stmt.executeUpdate("DELETE FROM result_rollup_weekly");
+                    stmt.executeUpdate(WEEKLY_FROM_DAILY);
+                }
+                conn.commit();
+                ResultVersion.bump();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
+            System.out.println("[RollupBackfill] Rebuilt rollups for " + first + ".." + last + " in "
+                    + (System.currentTimeMillis() - start) + " ms");
+        }
+    }
+
+    // Half-open [from, to) so the scan stays inside one monthly partition
+    private static void rebuildDaily(Connection conn, LocalDate from, LocalDate to) throws SQLException {
+        try (PreparedStatement delete = conn.prepareStatement(
+                "DELETE FROM result_rollup_daily WHERE bucket_date >= ? AND bucket_date < ?");
+             PreparedStatement insert = conn.prepareStatement(DAILY_FROM_LOG)) {
+            delete.setObject(1, from);
+            delete.setObject(2, to);
+            delete.executeUpdate();
+            insert.setTimestamp(1, Timestamp.valueOf(from.atStartOfDay()));
+            insert.setTimestamp(2, Timestamp.valueOf(to.atStartOfDay()));
+            insert.executeUpdate();
+        }
+    }
+}
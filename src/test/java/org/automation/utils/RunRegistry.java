@@ -0,0 +1,84 @@
+package org.automation.utils;
+
+import org.testng.ISuite;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Gives every ISuite execution its own run. The run key (JVM run key + suite name) is assigned in memory at onStart
+ * and stamped on every result record; the test_run row that owns the numeric run_id/suite_id is written through
+ * {@link ResultWriter} ahead of those results, so registration survives a database outage like any other record.
+ */
+public final class RunRegistry {
+
+    private static final int MAX_RUN_KEY_LENGTH = 64;
+    private static final Map<ISuite, Run> RUNS = new ConcurrentHashMap<>();
+
+    private RunRegistry() {
+    }
+
+    // ---------- Lifecycle ----------
+    // Idempotent: whichever listener sees the suite first registers it
+    public static String start(ISuite suite) {
+        SchemaMigrator.ensureMigrated();
+        return RUNS.computeIfAbsent(suite, s -> {
+            Run run = new Run(runKey(s.getName()), s.getName(), System.currentTimeMillis());
+            ResultWriter.getInstance().enqueue(ExecutionRecord.testRun(run.key, run.suiteName, "RUNNING", run.startMillis, 0));
+            System.out.println("[RunRegistry] Run " + run.key + " started for suite " + run.suiteName);
+            return run;
+        }).key;
+    }
+
+    public static void finish(ISuite suite) {
+        Run run = RUNS.get(suite);
+        if (run == null || run.finished) return;
+        synchronized (run) {
+            if (run.finished) return;
+            run.finished = true;
+        }
+        ResultWriter.getInstance().enqueue(ExecutionRecord.testRun(run.key, run.suiteName, "FINISHED",
+                run.startMillis, System.currentTimeMillis()));
+    }
+
+    public static String runKey(ISuite suite) {
+        return start(suite);
+    }
+
+    // ---------- Lookup ----------
+    /** Numeric run_id of a registered run, or null when its test_run row has not been written yet. */
+    public static Integer findRunId(String runKey) {
+        try (Connection conn = DatabaseUtils.getConnection();
+             PreparedStatement ps = conn.prepareStatement("SELECT run_id FROM test_run WHERE run_key = ?")) {
+            ps.setString(1, runKey);
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next() ? rs.getInt(1) : null;
+            }
+        } catch (SQLException e) {
+            System.err.println("[RunRegistry] Could not look up run " + runKey + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    private static String runKey(String suiteName) {
+        String key = ReportUtils.getRunKey() + "_" + suiteName.replaceAll("[^A-Za-z0-9_.-]", "_");
+        return key.length() > MAX_RUN_KEY_LENGTH ? key.substring(0, MAX_RUN_KEY_LENGTH) : key;
+    }
+
+    private static final class Run {
+        final String key;
+        final String suiteName;
+        final long startMillis;
+        volatile boolean finished;
+
+        Run(String key, String suiteName, long startMillis) {
+            this.key = key;
+            this.suiteName = suiteName;
+            this.startMillis = startMillis;
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package org.automation.utils;
+
+import org.automation.config.ConfigManager;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.temporal.WeekFields;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Compares the report queries on the original execution_log layout (primary key only, YEAR()/WEEK() filters)
+ * with the V3 layout (composite indexes, monthly partitions, half-open ranges). Seeds two scratch tables with the
+ * same rows, runs each query bench.iterations times and prints the median. Run it against a scratch database:
+ *
+ *   java -Dbench.rows=3000000 -cp ... org.automation.utils.SchemaBenchmark
+ *
+ * Settings: bench.rows (default 2,000,000), bench.months (24), bench.iterations (5), bench.keep (false).
+ */
+public final class SchemaBenchmark {
+
+    private static final String FLAT = "bench_execution_log_flat";
+    private static final String PARTITIONED = "bench_execution_log_partitioned";
+    private static final String[] STATUSES = {"PASS", "PASS", "PASS", "PASS", "FAIL", "SKIP"};
+    private static final String[] TYPES = {"UI", "API"};
+
+    private SchemaBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int rows = ConfigManager.getInt("bench.rows", 2_000_000);
+        int months = ConfigManager.getInt("bench.months", 24);
+        int iterations = ConfigManager.getInt("bench.iterations", 5);
+        LocalDateTime end = LocalDate.now().plusDays(1).atStartOfDay();
+        LocalDateTime start = end.minusMonths(months);
+
+        try (Connection conn = DatabaseUtils.getConnection()) {
+            createTables(conn, start, end);
+            seed(conn, rows, start, end);
+
+            LocalDate weekStart = LocalDate.now().minusWeeks(2).with(WeekFields.ISO.dayOfWeek(), 1);
+            LocalDateTime from30 = end.minusDays(30);
+            System.out.printf("%n%-34s %14s %14s%n", "Query (" + rows + " rows)", "before (ms)", "after (ms)");
+
+            compare(conn, iterations, "Weekly status counts",
+                    "SELECT status, COUNT(*) FROM " + FLAT + " WHERE YEAR(execution_time) = ? AND WEEK(execution_time, 1) = ? GROUP BY status",
+                    new Object[]{weekStart.getYear(), weekStart.get(WeekFields.ISO.weekOfWeekBasedYear())},
+                    "SELECT status, COUNT(*) FROM " + PARTITIONED + " WHERE execution_time >= ? AND execution_time < ? GROUP BY status",
+                    new Object[]{weekStart.atStartOfDay(), weekStart.plusWeeks(1).atStartOfDay()});
+
+            compare(conn, iterations, "Last 30 days by type/status",
+                    "SELECT test_type, status, COUNT(*) FROM " + FLAT + " WHERE DATE(execution_time) >= ? GROUP BY test_type, status",
+                    new Object[]{from30.toLocalDate()},
+                    "SELECT test_type, status, COUNT(*) FROM " + PARTITIONED + " WHERE execution_time >= ? AND execution_time < ? GROUP BY test_type, status",
+                    new Object[]{from30, end});
+
+            int runId = rows / 200;
+            compare(conn, iterations, "Single run",
+                    "SELECT id, status FROM " + FLAT + " WHERE run_id = ?", new Object[]{runId},
+                    "SELECT id, status FROM " + PARTITIONED + " WHERE run_id = ?", new Object[]{runId});
+
+            compare(conn, iterations, "Test history (latest 50)",
+                    "SELECT id, status, execution_time FROM " + FLAT + " WHERE test_name = ? ORDER BY execution_time DESC LIMIT 50",
+                    new Object[]{"test_42"},
+                    "SELECT id, status, execution_time FROM " + PARTITIONED + " WHERE test_name = ? ORDER BY execution_time DESC LIMIT 50",
+                    new Object[]{"test_42"});
+
+            if (!ConfigManager.getBoolean("bench.keep", false)) {
+                try (Statement stmt = conn.createStatement()) {
+                    stmt.execute("DROP TABLE " + FLAT);
+                    stmt.execute("DROP TABLE " + PARTITIONED);
+                }
+            }
+        }
+    }
+
+    // ---------- Setup ----------
+    private static void createTables(Connection conn, LocalDateTime start, LocalDateTime end) throws SQLException {
+        String columns = "test_name VARCHAR(255), status VARCHAR(20), test_type VARCHAR(50), us_id VARCHAR(50), " +
+                "tc_id VARCHAR(255), artifact LONGTEXT, screenshot_path VARCHAR(500), run_id INT, suite_id INT, " +
+                "run_key VARCHAR(64), test_key VARCHAR(255)";
+
+        StringBuilder partitions = new StringBuilder();
+        for (YearMonth m = YearMonth.from(start); !m.isAfter(YearMonth.from(end)); m = m.plusMonths(1)) {
+            partitions.append("PARTITION p").append(m.toString().replace("-", ""))
+                    .append(" VALUES LESS THAN ('").append(m.plusMonths(1).atDay(1)).append("'), ");
+        }
+
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("DROP TABLE IF EXISTS " + FLAT);
+            stmt.execute("DROP TABLE IF EXISTS " + PARTITIONED);
+            stmt.execute("CREATE TABLE " + FLAT + " (id INT AUTO_INCREMENT PRIMARY KEY, " + columns +
+                    ", execution_time DATETIME DEFAULT CURRENT_TIMESTAMP)");
+            stmt.execute("CREATE TABLE " + PARTITIONED + " (id INT AUTO_INCREMENT, " + columns +
+                    ", execution_time DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP, " +
+                    "PRIMARY KEY (id, execution_time), " +
+                    "KEY idx_execution_log_run (run_id, execution_time), " +
+                    "KEY idx_execution_log_time_status (execution_time, status, test_type), " +
+                    "KEY idx_execution_log_test_time (test_name, execution_time)) " +
+                    "PARTITION BY RANGE COLUMNS (execution_time) (PARTITION p_start VALUES LESS THAN ('2000-01-01'), " +
+                    partitions + "PARTITION p_future VALUES LESS THAN (MAXVALUE))");
+        }
+    }
+
+    // Same pseudo-random rows in both tables; roughly 200 results per run, 1,000 distinct test names
+    private static void seed(Connection conn, int rows, LocalDateTime start, LocalDateTime end) throws SQLException {
+        long seedStart = System.currentTimeMillis();
+        long startMs = Timestamp.valueOf(start).getTime();
+        long spanMs = Timestamp.valueOf(end).getTime() - startMs;
+        Random random = new Random(42);
+        String insert = "INSERT INTO %s (test_name, status, test_type, us_id, tc_id, run_id, suite_id, run_key, test_key, execution_time) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+        conn.setAutoCommit(false);
+        try (PreparedStatement flat = conn.prepareStatement(String.format(insert, FLAT));
+             PreparedStatement partitioned = conn.prepareStatement(String.format(insert, PARTITIONED))) {
+            for (int i = 0; i < rows; i++) {
+                int runId = i / 200 + 1;
+                // runs are contiguous in time, like real suites
+                long time = startMs + (long) ((double) i / rows * spanMs) + random.nextInt(60_000);
+                Object[] values = {"test_" + random.nextInt(1000), STATUSES[random.nextInt(STATUSES.length)],
+                        TYPES[random.nextInt(TYPES.length)], "US_" + random.nextInt(50), "TC_" + random.nextInt(500),
+                        runId, 1 + runId % 3, "bench_" + runId, "key_" + i, new Timestamp(Math.min(time, startMs + spanMs - 1))};
+                for (PreparedStatement ps : Arrays.asList(flat, partitioned)) {
+                    for (int c = 0; c < values.length; c++) ps.setObject(c + 1, values[c]);
+                    ps.addBatch();
+                }
+                if ((i + 1) % 5_000 == 0 || i == rows - 1) {
+                    flat.executeBatch();
+                    partitioned.executeBatch();
+                    conn.commit();
+                }
+            }
+        } finally {
+            conn.setAutoCommit(true);
+        }
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("ANALYZE TABLE " + FLAT + ", " + PARTITIONED);
+        }
+        System.out.println("[SchemaBenchmark] Seeded " + rows + " rows per table in "
+                + (System.currentTimeMillis() - seedStart) / 1000 + " s");
+    }
+
+    // ---------- Measurement ----------
+    private static void compare(Connection conn, int iterations, String label,
+                                String before, Object[] beforeArgs, String after, Object[] afterArgs) throws SQLException {
+        double beforeMs = median(conn, iterations, before, beforeArgs);
+        double afterMs = median(conn, iterations, after, afterArgs);
+        System.out.printf("%-34s %14.1f %14.1f   (%.1fx)%n", label, beforeMs, afterMs, afterMs == 0 ? 0 : beforeMs / afterMs);
+    }
+
+    private static double median(Connection conn, int iterations, String sql, Object[] args) throws SQLException {
+        List<Double> samples = new ArrayList<>();
+        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+            for (int c = 0; c < args.length; c++) ps.setObject(c + 1, args[c]);
+            for (int i = 0; i < Math.max(1, iterations); i++) {
+                long t0 = System.nanoTime();
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) {
+                        // drain
+                    }
+                }
+                samples.add((System.nanoTime() - t0) / 1_000_000.0);
+            }
+        }
+        samples.sort(Double::compare);
+        return samples.get(samples.size() / 2);
+    }
+}
@@ -0,0 +1,229 @@
+package org.automation.utils;
+
+import org.automation.config.ConfigManager;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Applies the versioned scripts in sql/migrations (V&lt;n&gt;__&lt;description&gt;.sql) that schema_version has not
+ * recorded yet, then lets {@link PartitionMaintainer} roll the execution_log partitions forward.
+ * Runs once per JVM from {@link RunRegistry#start}; parallel forks serialize on a MySQL named lock.
+ * Disable with db.migrate.enabled=false.
+ *
+ * An unreachable database only defers migration (results are journaled and replayed later, and the next suite
+ * start tries again); a script that fails stops the suite, since every result write would fail after it.
+ */
+public final class SchemaMigrator {
+
+    private static final String MIGRATIONS = "/sql/migrations";
+    private static final Pattern SCRIPT_NAME = Pattern.compile("V(\\d+)__(.+)\\.sql");
+    private static final String LOCK_NAME = "automation_schema_migration";
+    // V2 (run keys) was inserted after V2-V4 had shipped; databases that recorded the old numbering are shifted once
+    private static final String LEGACY_V2 = "execution log indexes and partitions";
+    private static boolean done;
+    private static long nextAttemptAt;
+
+    private SchemaMigrator() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        migrate();
+    }
+
+    // Synchronized so listeners on other threads wait for the schema instead of writing ahead of it
+    public static synchronized void ensureMigrated() {
+        if (done || !ConfigManager.getBoolean("db.migrate.enabled", true)) return;
+        // Called on every run-key lookup, so an unreachable database is retried at the writer's probe interval only
+        if (System.currentTimeMillis() < nextAttemptAt) return;
+        try {
+            migrate();
+            done = true;
+        } catch (SQLException e) {
+            if (DatabaseUtils.isConnectionFailure(e)) {
+                nextAttemptAt = System.currentTimeMillis() + ConfigManager.getLong("db.writer.retryIntervalMs", 5_000);
+                System.err.println("[SchemaMigrator] ⚠️ Database unreachable, migration deferred (results are journaled): " + e.getMessage());
+                return;
+            }
+            throw new IllegalStateException("[SchemaMigrator] ❌ Schema migration failed, results cannot be written: " + e.getMessage(), e);
+        } catch (IOException e) {
+            throw new IllegalStateException("[SchemaMigrator] ❌ Migration scripts unreadable: " + e.getMessage(), e);
+        }
+    }
+
+    // ---------- Migration ----------
+    public static void migrate() throws SQLException, IOException {
+        List<Script> scripts = loadScripts();
+        try (Connection conn = DatabaseUtils.getConnection()) {
+            lock(conn);
+            try {
+                try (Statement stmt = conn.createStatement()) {
+                    stmt.execute("CREATE TABLE IF NOT EXISTS schema_version (" +
+                            "version INT PRIMARY KEY, description VARCHAR(255), checksum BIGINT, " +
+                            "installed_at DATETIME DEFAULT CURRENT_TIMESTAMP)");
+                }
+                renumberLegacyVersions(conn);
+                Set<Integer> applied = appliedVersions(conn);
+                for (Script script : scripts) {
+                    if (applied.contains(script.version)) continue;
+                    apply(conn, script);
+                }
+                PartitionMaintainer.maintain(conn);
+            } finally {
+                unlock(conn);
+            }
+        }
+    }
+
+    // DDL commits implicitly, so a failing script stops here and is retried from its first statement next time
+    private static void apply(Connection conn, Script script) throws SQLException {
+        long start = System.currentTimeMillis();
+        try (Statement stmt = conn.createStatement()) {
+            for (String sql : script.statements()) {
+                stmt.execute(sql);
+            }
+        } catch (SQLException e) {
+            throw new SQLException("Migration V" + script.version + " (" + script.description + ") failed: " + e.getMessage(), e);
+        }
+        try (PreparedStatement ps = conn.prepareStatement(
+                "INSERT INTO schema_version (version, description, checksum) VALUES (?, ?, ?)")) {
+            ps.setInt(1, script.version);
+            ps.setString(2, script.description);
+            ps.setLong(3, script.checksum());
+            ps.executeUpdate();
+        }
+        System.out.println("[SchemaMigrator] Applied V" + script.version + " " + script.description
+                + " in " + (System.currentTimeMillis() - start) + " ms");
+    }
+
+    // Old V2-V4 become V3-V5; their V2 is recorded as applied because V1 then created the keys V2 now adds
+    private static void renumberLegacyVersions(Connection conn) throws SQLException {
+        try (PreparedStatement ps = conn.prepareStatement("SELECT 1 FROM schema_version WHERE version = 2 AND description = ?")) {
+            ps.setString(1, LEGACY_V2);
+            try (ResultSet rs = ps.executeQuery()) {
+                if (!rs.next()) return;
+            }
+        }
+        try (Statement stmt = conn.createStatement()) {
+            stmt.executeUpdate("UPDATE schema_version SET version = version + 1 WHERE version >= 2 ORDER BY version DESC");
+            stmt.executeUpdate("INSERT INTO schema_version (version, description, checksum) VALUES (2, 'run keys and run tables', 0)");
+        }
+        System.out.println("[SchemaMigrator] Renumbered schema_version for the inserted V2");
+    }
+
+    private static Set<Integer> appliedVersions(Connection conn) throws SQLException {
+        Set<Integer> versions = new HashSet<>();
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT version FROM schema_version")) {
+            while (rs.next()) versions.add(rs.getInt(1));
+        }
+        return versions;
+    }
+
+    private static void lock(Connection conn) throws SQLException {
+        try (PreparedStatement ps = conn.prepareStatement("SELECT GET_LOCK(?, 120)")) {
+            ps.setString(1, LOCK_NAME);
+            try (ResultSet rs = ps.executeQuery()) {
+                if (!rs.next() || rs.getInt(1) != 1) throw new SQLException("Timed out waiting for lock " + LOCK_NAME);
+            }
+        }
+    }
+
+    private static void unlock(Connection conn) {
+        try (PreparedStatement ps = conn.prepareStatement("SELECT RELEASE_LOCK(?)")) {
+            ps.setString(1, LOCK_NAME);
+            ps.executeQuery().close();
+        } catch (SQLException e) {
+            System.err.println("[SchemaMigrator] Could not release " + LOCK_NAME + ": " + e.getMessage());
+        }
+    }
+
+    // ---------- Script loading ----------
+    private static List<Script> loadScripts() throws IOException {
+        URL url = SchemaMigrator.class.getResource(MIGRATIONS);
+        if (url == null) throw new IOException("Migrations not found on classpath: " + MIGRATIONS);
+        try {
+            URI uri = url.toURI();
+            if ("jar".equals(uri.getScheme())) {
+                try (FileSystem fs = FileSystems.newFileSystem(uri, Collections.emptyMap())) {
+                    return readScripts(fs.getPath(MIGRATIONS));
+                }
+            }
+            return readScripts(Paths.get(uri));
+        } catch (URISyntaxException e) {
+            throw new IOException(e);
+        }
+    }
+
+    private static List<Script> readScripts(Path dir) throws IOException {
+        List<Script> scripts = new ArrayList<>();
+        try (Stream<Path> files = Files.list(dir)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                Matcher m = SCRIPT_NAME.matcher(file.getFileName().toString());
+                if (!m.matches()) continue;
+                scripts.add(new Script(Integer.parseInt(m.group(1)), m.group(2).replace('_', ' '),
+                        new String(Files.readAllBytes(file), StandardCharsets.UTF_8)));
+            }
+        }
+        scripts.sort((a, b) -> Integer.compare(a.version, b.version));
+        return scripts;
+    }
+
+    private static final class Script {
+        final int version;
+        final String description;
+        final String sql;
+
+        Script(int version, String description, String sql) {
+            this.version = version;
+            this.description = description;
+            this.sql = sql;
+        }
+
+        // Statements end with ';' at the end of a line; whole-line "--" comments are dropped
+        List<String> statements() {
+            List<String> statements = new ArrayList<>();
+            StringBuilder current = new StringBuilder();
+            for (String line : sql.split("\\R")) {
+                String trimmed = line.trim();
+                if (trimmed.isEmpty() || trimmed.startsWith("--")) continue;
+                current.append(line).append('\n');
+                if (trimmed.endsWith(";")) {
+                    String statement = current.toString().trim();
+                    statements.add(statement.substring(0, statement.length() - 1));
+                    current.setLength(0);
+                }
+            }
+            if (current.toString().trim().length() > 0) statements.add(current.toString().trim());
+            return statements;
+        }
+
+        long checksum() {
+            CRC32 crc = new CRC32();
+            crc.update(sql.getBytes(StandardCharsets.UTF_8));
+            return crc.getValue();
+        }
+    }
+}
@@ -0,0 +1,219 @@
+package org.automation.utils;
+
+import org.automation.artifacts.ArtifactStore;
+import org.automation.config.ConfigManager;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Background pool that turns raw PNG screenshots from {@link ScreenshotUtils} into stored artifacts: downscaled to
+ * ui.screenshot.maxWidth, re-encoded as ui.screenshot.format (jpg at ui.screenshot.quality, or png) and put into the
+ * {@link ArtifactStore}. A PNG that needs neither is stored as captured, without decoding it, and so is one that
+ * re-encoding would not shrink (flat, text-heavy pages can be smaller as PNG than as JPEG).
+ *
+ * At most ui.screenshot.queueCapacity captures wait; beyond that the capturing thread encodes its own (backpressure,
+ * as in ResultWriter). Per-capture timings are printed as each one is stored, totals by {@link #flushPending}.
+ */
+public final class ScreenshotEncoder {
+
+    private static volatile ScreenshotEncoder instance;
+
+    private final ThreadPoolExecutor pool;
+    private final String format;
+    private final float quality;
+    private final int maxWidth;
+    private final AtomicLong submitted = new AtomicLong();
+    private final AtomicLong finished = new AtomicLong();
+    private final AtomicLong stored = new AtomicLong();
+    private final AtomicLong reported = new AtomicLong();
+    private final AtomicLong captureMs = new AtomicLong();
+    private final AtomicLong encodeMs = new AtomicLong();
+    private final AtomicLong rawBytes = new AtomicLong();
+    private final AtomicLong storedBytes = new AtomicLong();
+    private final Object progress = new Object();
+
+    public static ScreenshotEncoder getInstance() {
+        ScreenshotEncoder encoder = instance;
+        if (encoder == null) {
+            synchronized (ScreenshotEncoder.class) {
+                encoder = instance;
+                if (encoder == null) {
+                    encoder = new ScreenshotEncoder();
+                    instance = encoder;
+                }
+            }
+        }
+        return encoder;
+    }
+
+    /** Waits for queued screenshots if any were ever taken; a no-op for suites without UI failures. */
+    public static void flushPending() {
+        ScreenshotEncoder encoder = instance;
+        if (encoder != null) encoder.flush(ConfigManager.getLong("ui.screenshot.flushTimeoutMs", 30_000));
+    }
+
+    private ScreenshotEncoder() {
+        String configured = ConfigManager.get("ui.screenshot.format", "jpg").toLowerCase(Locale.ROOT);
+        this.format = "jpeg".equals(configured) ? "jpg" : configured;
+        if (!"jpg".equals(format) && !"png".equals(format)) {
+            throw new IllegalStateException("ui.screenshot.format must be jpg or png, not " + configured);
+        }
+        this.quality = Math.min(100, Math.max(1, ConfigManager.getInt("ui.screenshot.quality", 80))) / 100f;
+        this.maxWidth = Math.max(0, ConfigManager.getInt("ui.screenshot.maxWidth", 1280));
+        int threads = ConfigManager.getInt("ui.screenshot.encoderThreads", 0);
+        if (threads <= 0) threads = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+
+        AtomicInteger ids = new AtomicInteger();
+        this.pool = new ThreadPoolExecutor(threads, threads, 30, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, ConfigManager.getInt("ui.screenshot.queueCapacity", 32))),
+                task -> {
+                    Thread t = new Thread(task, "screenshot-encoder-" + ids.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        pool.allowCoreThreadTimeOut(true);
+        // Decoded screenshots are large; keep ImageIO off its temp-file cache
+        ImageIO.setUseCache(false);
+        Runtime.getRuntime().addShutdownHook(new Thread(this::shutdown, "screenshot-encoder-shutdown"));
+    }
+
+    // ---------- Producer side ----------
+    /**
+     * Queues one capture; the future yields its content id (or loose-file path with the store disabled), or "" when
+     * it could not be encoded or stored.
+     */
+    public CompletableFuture<String> submit(String name, byte[] png, long captureMillis) {
+        CompletableFuture<String> future = new CompletableFuture<>();
+        long queuedAt = System.nanoTime();
+        submitted.incrementAndGet();
+        pool.execute(() -> {
+            long queueMs = (System.nanoTime() - queuedAt) / 1_000_000;
+            String id = "";
+            try {
+                long start = System.nanoTime();
+                byte[] encoded = encode(png);
+                long encodeMillis = (System.nanoTime() - start) / 1_000_000;
+                id = ArtifactStore.put(encoded, "screenshots/" + name + "." + extension(encoded, png));
+
+                stored.incrementAndGet();
+                captureMs.addAndGet(captureMillis);
+                encodeMs.addAndGet(encodeMillis);
+                rawBytes.addAndGet(png.length);
+                storedBytes.addAndGet(encoded.length);
+                System.out.println("[Screenshot] 📸 " + name + ": capture " + captureMillis + " ms, queued " + queueMs
+                        + " ms, encode " + encodeMillis + " ms, " + kb(png.length) + " → " + kb(encoded.length) + " → " + id);
+            } catch (IOException | RuntimeException e) {
+                System.err.println("[ScreenshotEncoder] ❌ " + name + " not stored: " + e.getMessage());
+            } finally {
+                future.complete(id);
+                synchronized (progress) {
+                    finished.incrementAndGet();
+                    progress.notifyAll();
+                }
+            }
+        });
+        return future;
+    }
+
+    /** Blocks until every screenshot submitted before this call has been stored (or has failed). */
+    public boolean flush(long timeoutMs) {
+        long target = submitted.get();
+        long deadline = System.currentTimeMillis() + timeoutMs;
+        try {
+            synchronized (progress) {
+                while (finished.get() < target) {
+                    long remaining = deadline - System.currentTimeMillis();
+                    if (remaining <= 0) {
+                        System.err.println("[ScreenshotEncoder] Flush timed out with " + (target - finished.get()) + " screenshot(s) pending");
+                        return false;
+                    }
+                    progress.wait(remaining);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+        long n = stored.get();
+        if (n > 0 && reported.getAndSet(n) != n) {
+            System.out.println("[ScreenshotEncoder] ⏱️ " + n + " screenshot(s): avg capture " + captureMs.get() / n
+                    + " ms, avg encode " + encodeMs.get() / n + " ms, " + kb(rawBytes.get()) + " captured → "
+                    + kb(storedBytes.get()) + " stored");
+        }
+        return true;
+    }
+
+    // ---------- Encoding ----------
+    private byte[] encode(byte[] png) throws IOException {
+        if ("png".equals(format) && maxWidth == 0) return png;
+        BufferedImage image = ImageIO.read(new ByteArrayInputStream(png));
+        if (image == null) throw new IOException("capture is not a readable image");
+        boolean downscale = maxWidth > 0 && image.getWidth() > maxWidth;
+        if ("png".equals(format) && !downscale) return png;
+
+        int width = downscale ? maxWidth : image.getWidth();
+        int height = downscale ? Math.max(1, (int) ((long) image.getHeight() * maxWidth / image.getWidth())) : image.getHeight();
+        // JPEG has no alpha channel, so both paths draw into an opaque RGB image
+        BufferedImage target = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = target.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.drawImage(image, 0, 0, width, height, null);
+        } finally {
+            g.dispose();
+        }
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream(png.length / 4 + 1024);
+        if ("png".equals(format)) {
+            ImageIO.write(target, "png", out);
+            return smaller(out.toByteArray(), png);
+        }
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        try (ImageOutputStream stream = ImageIO.createImageOutputStream(out)) {
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(quality);
+            writer.setOutput(stream);
+            writer.write(null, new IIOImage(target, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return smaller(out.toByteArray(), png);
+    }
+
+    private static byte[] smaller(byte[] encoded, byte[] png) {
+        return encoded.length < png.length ? encoded : png;
+    }
+
+    // The untouched capture keeps its .png name whatever the configured format
+    private String extension(byte[] encoded, byte[] png) {
+        return encoded == png ? "png" : format;
+    }
+
+    private static String kb(long bytes) {
+        return (bytes + 512) / 1024 + " KB";
+    }
+
+    private void shutdown() {
+        flush(ConfigManager.getLong("ui.screenshot.flushTimeoutMs", 30_000));
+        pool.shutdown();
+    }
+}
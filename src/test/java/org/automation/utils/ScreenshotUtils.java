@@ -1,35 +1,113 @@
 package org.automation.utils;
 
+import org.automation.config.ConfigManager;
+import org.openqa.selenium.JavascriptExecutor;
 import org.openqa.selenium.OutputType;
 import org.openqa.selenium.TakesScreenshot;
 import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.chromium.HasCdp;
+import org.testng.ITestResult;
 
-import java.io.File;
-import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Paths;
-import java.text.SimpleDateFormat;
-import java.util.Date;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
+/**
+ * The one place screenshots are taken. The browser is only needed for the grab itself – the raw PNG bytes – so it can
+ * go back to the pool at once; {@link ScreenshotEncoder} scales, encodes and stores them in the background.
+ *
+ * ui.screenshot.mode picks what is grabbed: viewport (WebDriver), fullpage (the whole document through DevTools) or
+ * element (the ui.screenshot.element CSS selector's box through DevTools, the viewport when nothing matches).
+ */
 public class ScreenshotUtils {
 
-    public static String capture(WebDriver driver, String testName) {
-        if (driver == null) return null;
+    private static final String FAILURE_ATTRIBUTE = "failureScreenshot";
+    // Chrome refuses captures taller or wider than this
+    private static final int MAX_CAPTURE_PX = 16384;
+    private static volatile boolean warnedNoCdp;
+
+    // ---------- Capture ----------
+    /**
+     * The screenshot of a failed test, taken on the first call: TestSuiteListener (which records it) and
+     * BaseTest.tearDown (which runs after it) share one capture. Null without a browser or when the grab failed.
+     */
+    @SuppressWarnings("unchecked")
+    public static CompletableFuture<String> captureFailure(ITestResult result, WebDriver driver) {
+        synchronized (result) {
+            Object pending = result.getAttribute(FAILURE_ATTRIBUTE);
+            if (pending != null) return (CompletableFuture<String>) pending;
+            String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss"));
+            CompletableFuture<String> screenshot = capture(driver, result.getMethod().getMethodName() + "_FAILED_" + timestamp);
+            if (screenshot != null) result.setAttribute(FAILURE_ATTRIBUTE, screenshot);
+            return screenshot;
+        }
+    }
 
+    /** Grabs the browser now and queues the encoding; the future yields the stored screenshot's content id. */
+    public static CompletableFuture<String> capture(WebDriver driver, String name) {
+        if (driver == null) return null;
+        long start = System.nanoTime();
+        byte[] png;
         try {
-            String timestamp = new SimpleDateFormat("yyyyMMdd_HHmmss").format(new Date());
-            String folderPath = "target/screenshots/";
-            Files.createDirectories(Paths.get(folderPath));
-
-            String path = folderPath + testName + "_FAILED_" + timestamp + ".png";
-            File src = ((TakesScreenshot) driver).getScreenshotAs(OutputType.FILE);
-            Files.copy(src.toPath(), Paths.get(path));
-
-            System.out.println("📸 Screenshot captured for failed test: " + path);
-            return path;
-        } catch (IOException e) {
-            e.printStackTrace();
+            png = grab(driver);
+        } catch (WebDriverException | ClassCastException e) {
+            System.err.println("[ScreenshotUtils] ⚠️ No screenshot for " + name + ": " + e.getMessage());
             return null;
         }
+        return ScreenshotEncoder.getInstance().submit(name, png, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private static byte[] grab(WebDriver driver) {
+        String mode = ConfigManager.get("ui.screenshot.mode", "viewport");
+        if (!"viewport".equals(mode)) {
+            if (driver instanceof HasCdp) {
+                HasCdp cdp = (HasCdp) driver;
+                Map<String, Object> clip = "fullpage".equals(mode) ? pageClip(cdp)
+                        : elementClip(driver, ConfigManager.get("ui.screenshot.element", "body"));
+                if (clip != null) {
+                    Map<String, Object> shot = cdp.executeCdpCommand("Page.captureScreenshot",
+                            Map.of("format", "png", "captureBeyondViewport", true, "clip", clip));
+                    return Base64.getDecoder().decode((String) shot.get("data"));
+                }
+            } else if (!warnedNoCdp) {
+                warnedNoCdp = true;
+                System.err.println("[ScreenshotUtils] ⚠️ " + driver.getClass().getSimpleName() + " has no DevTools – "
+                        + mode + " screenshots fall back to the viewport");
+            }
+        }
+        return ((TakesScreenshot) driver).getScreenshotAs(OutputType.BYTES);
+    }
+
+    // ---------- DevTools clips ----------
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> pageClip(HasCdp cdp) {
+        Map<String, Object> metrics = cdp.executeCdpCommand("Page.getLayoutMetrics", Collections.emptyMap());
+        Object size = metrics.containsKey("cssContentSize") ? metrics.get("cssContentSize") : metrics.get("contentSize");
+        if (!(size instanceof Map)) return null;
+        Map<String, Object> content = (Map<String, Object>) size;
+        return clip(0, 0, ((Number) content.get("width")).doubleValue(), ((Number) content.get("height")).doubleValue());
+    }
+
+    // The element's box in document coordinates, or null when the selector matches nothing visible
+    private static Map<String, Object> elementClip(WebDriver driver, String selector) {
+        Object box = ((JavascriptExecutor) driver).executeScript(
+                "const e = document.querySelector(arguments[0]); if (!e) return null;"
+                        + " const r = e.getBoundingClientRect();"
+                        + " return [r.left + window.scrollX, r.top + window.scrollY, r.width, r.height];", selector);
+        if (!(box instanceof List) || ((List<?>) box).size() != 4) return null;
+        List<?> r = (List<?>) box;
+        return clip(((Number) r.get(0)).doubleValue(), ((Number) r.get(1)).doubleValue(),
+                ((Number) r.get(2)).doubleValue(), ((Number) r.get(3)).doubleValue());
+    }
+
+    private static Map<String, Object> clip(double x, double y, double width, double height) {
+        if (width < 1 || height < 1) return null;
+        return Map.of("x", x, "y", y, "width", Math.min(width, MAX_CAPTURE_PX),
+                "height", Math.min(height, MAX_CAPTURE_PX), "scale", 1);
     }
 }